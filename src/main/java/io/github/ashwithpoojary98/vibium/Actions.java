@@ -0,0 +1,446 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.internal.LocalValues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A sequence of pointer, keyboard and wheel input sent to the browser in a
+ * single {@code input.performActions} command.
+ *
+ * <p>Each method appends one step; steps run one after the other, and keys or
+ * buttons pressed in one step stay down until released in a later one. The
+ * whole gesture, such as a drag, a chord or filling several fields, costs one
+ * round trip however many steps it has. Run it with
+ * {@link VibeAsync#perform(Actions)}; {@link VibeAsync#releaseActions()}
+ * releases anything still pressed.
+ *
+ * <p>Elements are addressed by their shared reference, so they must come from
+ * {@link VibeAsync#find(String)}, {@link VibeAsync#findAll(String)} or a
+ * locator. A builder is not thread-safe, but can be performed many times.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * vibe.perform(new Actions()
+ *         .dragAndDrop(vibe.find("#card-3").join(), vibe.find("#done").join())
+ *         .keyDown(Keys.SHIFT).click(vibe.find("#row-1").join()).click(vibe.find("#row-9").join())
+ *         .keyUp(Keys.SHIFT)).join();
+ * }</pre>
+ */
+public final class Actions {
+
+    private static final String POINTER = "vibium-mouse";
+    private static final String KEYBOARD = "vibium-keyboard";
+    private static final String WHEEL = "vibium-wheel";
+
+    /** Left mouse button */
+    public static final int LEFT = 0;
+    /** Middle mouse button */
+    public static final int MIDDLE = 1;
+    /** Right mouse button */
+    public static final int RIGHT = 2;
+
+    /** One entry per step: the source ID and its action */
+    private final List<String> sources = new ArrayList<>();
+    private final List<JsonObject> steps = new ArrayList<>();
+
+    /**
+     * Move the pointer to the center of an element.
+     *
+     * @param element the target element
+     * @return this builder
+     */
+    public Actions moveTo(ElementAsync element) {
+        return moveTo(element, 0, 0);
+    }
+
+    /**
+     * Move the pointer to the center of an element.
+     *
+     * @param element the target element
+     * @return this builder
+     */
+    public Actions moveTo(Element element) {
+        return moveTo(element.async());
+    }
+
+    /**
+     * Move the pointer to an offset from the center of an element.
+     *
+     * @param element the target element
+     * @param x       horizontal offset in CSS pixels
+     * @param y       vertical offset in CSS pixels
+     * @return this builder
+     */
+    public Actions moveTo(ElementAsync element, int x, int y) {
+        JsonObject move = move(x, y);
+        move.add("origin", elementOrigin(element));
+        return add(POINTER, move);
+    }
+
+    /**
+     * Move the pointer to a point of the viewport.
+     *
+     * @param x horizontal position in CSS pixels
+     * @param y vertical position in CSS pixels
+     * @return this builder
+     */
+    public Actions moveTo(int x, int y) {
+        JsonObject move = move(x, y);
+        move.addProperty("origin", "viewport");
+        return add(POINTER, move);
+    }
+
+    /**
+     * Move the pointer relative to its current position.
+     *
+     * @param dx horizontal distance in CSS pixels
+     * @param dy vertical distance in CSS pixels
+     * @return this builder
+     */
+    public Actions moveBy(int dx, int dy) {
+        JsonObject move = move(dx, dy);
+        move.addProperty("origin", "pointer");
+        return add(POINTER, move);
+    }
+
+    /**
+     * Press the left button at the current pointer position.
+     *
+     * @return this builder
+     */
+    public Actions pointerDown() {
+        return pointerDown(LEFT);
+    }
+
+    /**
+     * Press a button at the current pointer position.
+     *
+     * @param button the button, e.g. {@link #RIGHT}
+     * @return this builder
+     */
+    public Actions pointerDown(int button) {
+        return add(POINTER, button("pointerDown", button));
+    }
+
+    /**
+     * Release the left button.
+     *
+     * @return this builder
+     */
+    public Actions pointerUp() {
+        return pointerUp(LEFT);
+    }
+
+    /**
+     * Release a button.
+     *
+     * @param button the button, e.g. {@link #RIGHT}
+     * @return this builder
+     */
+    public Actions pointerUp(int button) {
+        return add(POINTER, button("pointerUp", button));
+    }
+
+    /**
+     * Click the left button at the current pointer position.
+     *
+     * @return this builder
+     */
+    public Actions click() {
+        return pointerDown().pointerUp();
+    }
+
+    /**
+     * Move to the center of an element and click it.
+     *
+     * @param element the element to click
+     * @return this builder
+     */
+    public Actions click(ElementAsync element) {
+        return moveTo(element).click();
+    }
+
+    /**
+     * Move to the center of an element and click it.
+     *
+     * @param element the element to click
+     * @return this builder
+     */
+    public Actions click(Element element) {
+        return click(element.async());
+    }
+
+    /**
+     * Move to the center of an element and double-click it.
+     *
+     * @param element the element to double-click
+     * @return this builder
+     */
+    public Actions doubleClick(ElementAsync element) {
+        return moveTo(element).click().click();
+    }
+
+    /**
+     * Move to the center of an element and double-click it.
+     *
+     * @param element the element to double-click
+     * @return this builder
+     */
+    public Actions doubleClick(Element element) {
+        return doubleClick(element.async());
+    }
+
+    /**
+     * Press the left button on one element, move to another and release it there.
+     *
+     * @param source the element to drag
+     * @param target the element to drop onto
+     * @return this builder
+     */
+    public Actions dragAndDrop(ElementAsync source, ElementAsync target) {
+        return moveTo(source).pointerDown().moveTo(target).pointerUp();
+    }
+
+    /**
+     * Press the left button on one element, move to another and release it there.
+     *
+     * @param source the element to drag
+     * @param target the element to drop onto
+     * @return this builder
+     */
+    public Actions dragAndDrop(Element source, Element target) {
+        return dragAndDrop(source.async(), target.async());
+    }
+
+    /**
+     * Press a key, e.g. {@link Keys#SHIFT}, and keep it down.
+     *
+     * @param key a single character or a {@link Keys} value
+     * @return this builder
+     */
+    public Actions keyDown(String key) {
+        return add(KEYBOARD, key("keyDown", key));
+    }
+
+    /**
+     * Release a key.
+     *
+     * @param key a single character or a {@link Keys} value
+     * @return this builder
+     */
+    public Actions keyUp(String key) {
+        return add(KEYBOARD, key("keyUp", key));
+    }
+
+    /**
+     * Type text into the focused element. Newlines and tabs press Enter and Tab.
+     *
+     * @param text the text to type
+     * @return this builder
+     */
+    public Actions sendKeys(String text) {
+        Objects.requireNonNull(text, "text").codePoints().forEach(codePoint -> {
+            String key = keyValue(codePoint);
+            keyDown(key);
+            keyUp(key);
+        });
+        return this;
+    }
+
+    /**
+     * Click an element to focus it, then type text into it.
+     *
+     * @param element the element to type into
+     * @param text    the text to type
+     * @return this builder
+     */
+    public Actions sendKeys(ElementAsync element, String text) {
+        return click(element).sendKeys(text);
+    }
+
+    /**
+     * Click an element to focus it, then type text into it.
+     *
+     * @param element the element to type into
+     * @param text    the text to type
+     * @return this builder
+     */
+    public Actions sendKeys(Element element, String text) {
+        return sendKeys(element.async(), text);
+    }
+
+    /**
+     * Scroll with the mouse wheel over a point of the viewport.
+     *
+     * @param x      horizontal position in CSS pixels
+     * @param y      vertical position in CSS pixels
+     * @param deltaX horizontal scroll amount in CSS pixels
+     * @param deltaY vertical scroll amount in CSS pixels
+     * @return this builder
+     */
+    public Actions scroll(int x, int y, int deltaX, int deltaY) {
+        JsonObject scroll = scroll(x, y, deltaX, deltaY, null);
+        scroll.addProperty("origin", "viewport");
+        return add(WHEEL, scroll);
+    }
+
+    /**
+     * Scroll with the mouse wheel over the center of an element.
+     *
+     * @param element the element to scroll over
+     * @param deltaX  horizontal scroll amount in CSS pixels
+     * @param deltaY  vertical scroll amount in CSS pixels
+     * @return this builder
+     */
+    public Actions scroll(ElementAsync element, int deltaX, int deltaY) {
+        return add(WHEEL, scroll(0, 0, deltaX, deltaY, elementOrigin(element)));
+    }
+
+    /**
+     * Scroll with the mouse wheel over the center of an element.
+     *
+     * @param element the element to scroll over
+     * @param deltaX  horizontal scroll amount in CSS pixels
+     * @param deltaY  vertical scroll amount in CSS pixels
+     * @return this builder
+     */
+    public Actions scroll(Element element, int deltaX, int deltaY) {
+        return scroll(element.async(), deltaX, deltaY);
+    }
+
+    /**
+     * Wait before the next step.
+     *
+     * @param duration how long to wait
+     * @return this builder
+     */
+    public Actions pause(Duration duration) {
+        JsonObject pause = new JsonObject();
+        pause.addProperty("type", "pause");
+        pause.addProperty("duration", duration.toMillis());
+        return add(POINTER, pause);
+    }
+
+    /**
+     * Check whether no step was added.
+     *
+     * @return true if there is nothing to perform
+     */
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * Compile the steps into BiDi input sources. Every source gets one action per
+     * step, a pause where another source acts, so the steps run in order.
+     *
+     * @return the {@code actions} parameter of {@code input.performActions}
+     */
+    JsonArray toJson() {
+        JsonArray result = new JsonArray();
+        for (String id : new String[]{POINTER, KEYBOARD, WHEEL}) {
+            if (!sources.contains(id)) {
+                continue;
+            }
+            JsonArray actions = new JsonArray();
+            for (int i = 0; i < steps.size(); i++) {
+                if (sources.get(i).equals(id)) {
+                    actions.add(steps.get(i));
+                } else {
+                    JsonObject pause = new JsonObject();
+                    pause.addProperty("type", "pause");
+                    actions.add(pause);
+                }
+            }
+            JsonObject source = new JsonObject();
+            source.addProperty("id", id);
+            if (id.equals(POINTER)) {
+                JsonObject parameters = new JsonObject();
+                parameters.addProperty("pointerType", "mouse");
+                source.addProperty("type", "pointer");
+                source.add("parameters", parameters);
+            } else {
+                source.addProperty("type", id.equals(KEYBOARD) ? "key" : "wheel");
+            }
+            source.add("actions", actions);
+            result.add(source);
+        }
+        return result;
+    }
+
+    private Actions add(String source, JsonObject action) {
+        sources.add(source);
+        steps.add(action);
+        return this;
+    }
+
+    private static JsonObject move(int x, int y) {
+        JsonObject move = new JsonObject();
+        move.addProperty("type", "pointerMove");
+        move.addProperty("x", x);
+        move.addProperty("y", y);
+        return move;
+    }
+
+    private static JsonObject button(String type, int button) {
+        JsonObject action = new JsonObject();
+        action.addProperty("type", type);
+        action.addProperty("button", button);
+        return action;
+    }
+
+    private static JsonObject key(String type, String key) {
+        if (Objects.requireNonNull(key, "key").codePointCount(0, key.length()) != 1) {
+            throw new IllegalArgumentException("key must be a single character or a Keys value: " + key);
+        }
+        JsonObject action = new JsonObject();
+        action.addProperty("type", type);
+        action.addProperty("value", key);
+        return action;
+    }
+
+    /**
+     * The WebDriver key value typed for a code point: Enter for a newline, Tab
+     * for a tab, the character itself otherwise.
+     */
+    private static String keyValue(int codePoint) {
+        switch (codePoint) {
+            case '\n':
+                return Keys.ENTER;
+            case '\t':
+                return Keys.TAB;
+            default:
+                return new String(Character.toChars(codePoint));
+        }
+    }
+
+    private static JsonObject scroll(int x, int y, int deltaX, int deltaY, JsonObject origin) {
+        JsonObject scroll = new JsonObject();
+        scroll.addProperty("type", "scroll");
+        scroll.addProperty("x", x);
+        scroll.addProperty("y", y);
+        scroll.addProperty("deltaX", deltaX);
+        scroll.addProperty("deltaY", deltaY);
+        if (origin != null) {
+            scroll.add("origin", origin);
+        }
+        return scroll;
+    }
+
+    private static JsonObject elementOrigin(ElementAsync element) {
+        String sharedId = element.getInfo().getSharedId();
+        if (sharedId == null) {
+            throw new IllegalArgumentException("Element has no shared reference: " + element);
+        }
+        JsonObject origin = new JsonObject();
+        origin.addProperty("type", "element");
+        origin.add("element", LocalValues.reference(sharedId));
+        return origin;
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.ashwithpoojary98.vibium;
 
 import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.model.LaunchStats;
+import io.github.ashwithpoojary98.vibium.options.LaunchLimits;
 import io.github.ashwithpoojary98.vibium.options.LaunchOptions;
 
 import java.util.concurrent.CompletionException;
@@ -41,6 +43,25 @@ public final class Browser {
         return async;
     }
 
+    /**
+     * Configure JVM-wide launch admission limits.
+     *
+     * @param limits the limits applied to all subsequent and queued launches
+     * @see BrowserAsync#setLaunchLimits(LaunchLimits)
+     */
+    public static void setLaunchLimits(LaunchLimits limits) {
+        BrowserAsync.setLaunchLimits(limits);
+    }
+
+    /**
+     * Get a snapshot of the JVM-wide launch queue, including wait times.
+     *
+     * @return the launch statistics
+     */
+    public static LaunchStats getLaunchStats() {
+        return BrowserAsync.getLaunchStats();
+    }
+
     /**
      * Launch a browser with default options.
      *
@@ -1,11 +1,22 @@
 package io.github.ashwithpoojary98.vibium;
 
 import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.BrowsingContextCache;
 import io.github.ashwithpoojary98.vibium.internal.ClickerProcess;
+import io.github.ashwithpoojary98.vibium.internal.ProcessManager;
+import io.github.ashwithpoojary98.vibium.model.LaunchStats;
+import io.github.ashwithpoojary98.vibium.network.NetworkInterceptor;
+import io.github.ashwithpoojary98.vibium.network.RequestHandler;
+import io.github.ashwithpoojary98.vibium.network.RequestRules;
+import io.github.ashwithpoojary98.vibium.network.ResponseCache;
+import io.github.ashwithpoojary98.vibium.options.LaunchLimits;
 import io.github.ashwithpoojary98.vibium.options.LaunchOptions;
+import io.github.ashwithpoojary98.vibium.options.ResourceLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -35,6 +46,27 @@ public final class BrowserAsync {
 
     private static final Logger log = LoggerFactory.getLogger(BrowserAsync.class);
 
+    /**
+     * Configure JVM-wide launch admission limits.
+     *
+     * <p>Launches beyond the limits wait in a FIFO queue shared by all
+     * {@link BrowserAsync} and {@link Browser} instances.
+     *
+     * @param limits the limits applied to all subsequent and queued launches
+     */
+    public static void setLaunchLimits(LaunchLimits limits) {
+        ProcessManager.setLaunchLimits(limits);
+    }
+
+    /**
+     * Get a snapshot of the JVM-wide launch queue, including wait times.
+     *
+     * @return the launch statistics
+     */
+    public static LaunchStats getLaunchStats() {
+        return ProcessManager.getLaunchStats();
+    }
+
     /**
      * Launch a browser with default options.
      *
@@ -54,16 +86,37 @@ public final class BrowserAsync {
         boolean headless = options != null && options.isHeadless();
         Integer port = options != null ? options.getPort() : null;
         String executablePath = options != null ? options.getExecutablePath() : null;
+        ResourceLimits resourceLimits = options != null ? options.getResourceLimits() : null;
+        List<RequestHandler> handlers = new ArrayList<>();
+        RequestRules requestRules = options != null ? options.getRequestRules() : null;
+        if (requestRules != null) {
+            handlers.add(requestRules);
+        }
+        ResponseCache responseCache = options != null ? options.getResponseCache() : null;
+        if (responseCache != null) {
+            handlers.add(responseCache);
+        }
 
         log.info("Launching browser (headless={}, port={})", headless, port);
 
         return ClickerProcess.start(headless, port, executablePath)
                 .thenCompose(process -> {
+                    if (resourceLimits != null) {
+                        process.monitor(resourceLimits);
+                    }
+
                     String wsUrl = "ws://localhost:" + process.getPort();
                     log.debug("Connecting to browser at {}", wsUrl);
 
-                    return BiDiClient.connect(wsUrl)
-                            .thenApply(client -> new VibeAsync(client, process));
+                    return BiDiClient.connect(wsUrl).thenCompose(client -> {
+                        if (handlers.isEmpty()) {
+                            return CompletableFuture.completedFuture(new VibeAsync(client, process));
+                        }
+                        BrowsingContextCache contexts = new BrowsingContextCache(client);
+                        return contexts.ready()
+                                .thenCompose(v -> NetworkInterceptor.start(client, contexts, List.of(), handlers))
+                                .thenApply(interceptor -> new VibeAsync(client, process, contexts));
+                    });
                 });
     }
 
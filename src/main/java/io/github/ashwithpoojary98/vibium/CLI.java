@@ -2,6 +2,7 @@ package io.github.ashwithpoojary98.vibium;
 
 import io.github.ashwithpoojary98.vibium.exception.ClickerNotFoundException;
 import io.github.ashwithpoojary98.vibium.internal.Clicker;
+import io.github.ashwithpoojary98.vibium.internal.ProcessManager;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -13,6 +14,7 @@ import java.util.Properties;
  * <p>Usage:
  * <pre>
  * java -jar vibium.jar install   # Download Chrome for Testing
+ * java -jar vibium.jar reap      # Kill browsers leaked by crashed JVMs
  * java -jar vibium.jar version   # Show version
  * java -jar vibium.jar help      # Show help
  * </pre>
@@ -53,6 +55,8 @@ public final class CLI {
             switch (command) {
                 case INSTALL:
                     return installBrowser();
+                case REAP:
+                    return reapOrphans();
                 case VERSION:
                     printVersion();
                     return 0;
@@ -74,6 +78,7 @@ public final class CLI {
         System.out.println();
         System.out.println("Commands:");
         System.out.println("  install    Download Chrome for Testing");
+        System.out.println("  reap       Kill browser processes left behind by crashed JVMs");
         System.out.println("  version    Show version");
         System.out.println("  help       Show this help message");
     }
@@ -100,6 +105,12 @@ public final class CLI {
         return 1;
     }
 
+    private static int reapOrphans() {
+        int reaped = ProcessManager.reapOrphans();
+        System.out.printf("Reaped %d orphaned process tree(s).%n", reaped);
+        return 0;
+    }
+
     private static String loadVersion() {
         // Try to load from properties file
         try (InputStream is = CLI.class.getResourceAsStream("/vibium.properties")) {
@@ -129,6 +140,7 @@ public final class CLI {
      */
     enum Command {
         INSTALL,
+        REAP,
         VERSION,
         HELP;
 
@@ -146,6 +158,8 @@ public final class CLI {
             switch (value.toLowerCase()) {
                 case "install":
                     return INSTALL;
+                case "reap":
+                    return REAP;
                 case "version":
                 case "-v":
                 case "--version":
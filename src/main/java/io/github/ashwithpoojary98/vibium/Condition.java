@@ -0,0 +1,221 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * A page state to wait for with {@link VibeAsync#waitFor(Condition, java.time.Duration)}.
+ *
+ * <p>Conditions are evaluated inside the page: the browser re-checks the
+ * condition whenever the DOM changes, so the wait ends within a frame of the
+ * change and costs a single round trip however long it lasts. Selectors are
+ * CSS, or XPath when they start with {@code /} or {@code (}; element conditions
+ * apply to the first match.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * vibe.waitFor(Condition.visible("#results")
+ *         .and(Condition.countAtLeast("#results li", 10))
+ *         .and(Condition.detached(".spinner")), Duration.ofSeconds(10)).join();
+ * }</pre>
+ */
+public final class Condition {
+
+    private final JsonObject spec;
+    private final String description;
+
+    private Condition(JsonObject spec, String description) {
+        this.spec = spec;
+        this.description = description;
+    }
+
+    /**
+     * An element matching the selector exists.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the condition
+     */
+    public static Condition attached(String selector) {
+        return element("attached", selector);
+    }
+
+    /**
+     * No element matches the selector.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the condition
+     */
+    public static Condition detached(String selector) {
+        return element("detached", selector);
+    }
+
+    /**
+     * The first match has a non-empty box and is not {@code visibility: hidden}.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the condition
+     */
+    public static Condition visible(String selector) {
+        return element("visible", selector);
+    }
+
+    /**
+     * Nothing matches the selector, or the first match is not visible.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the condition
+     */
+    public static Condition hidden(String selector) {
+        return element("hidden", selector);
+    }
+
+    /**
+     * The text content of the first match contains a string.
+     *
+     * @param selector CSS selector or XPath expression
+     * @param text     the expected substring
+     * @return the condition
+     */
+    public static Condition textContains(String selector, String text) {
+        JsonObject spec = spec("text", selector);
+        spec.addProperty("text", Objects.requireNonNull(text, "text"));
+        return new Condition(spec, "textContains(" + selector + ", \"" + text + "\")");
+    }
+
+    /**
+     * The text content of the first match matches a JavaScript regular expression.
+     *
+     * @param selector CSS selector or XPath expression
+     * @param pattern  the regular expression source, e.g. {@code ^\d+ results$}
+     * @return the condition
+     */
+    public static Condition textMatches(String selector, String pattern) {
+        JsonObject spec = spec("textMatches", selector);
+        spec.addProperty("pattern", Objects.requireNonNull(pattern, "pattern"));
+        return new Condition(spec, "textMatches(" + selector + ", /" + pattern + "/)");
+    }
+
+    /**
+     * An attribute of the first match has a value.
+     *
+     * @param selector CSS selector or XPath expression
+     * @param name     the attribute name
+     * @param value    the expected value, or null for the attribute to be absent
+     * @return the condition
+     */
+    public static Condition attribute(String selector, String name, String value) {
+        JsonObject spec = spec("attribute", selector);
+        spec.addProperty("name", Objects.requireNonNull(name, "name"));
+        spec.addProperty("value", value);
+        return new Condition(spec, "attribute(" + selector + ", " + name + "=" + value + ")");
+    }
+
+    /**
+     * Exactly {@code count} elements match the selector.
+     *
+     * @param selector CSS selector or XPath expression
+     * @param count    the expected number of matches
+     * @return the condition
+     */
+    public static Condition count(String selector, int count) {
+        JsonObject spec = spec("count", selector);
+        spec.addProperty("count", count);
+        return new Condition(spec, "count(" + selector + ") == " + count);
+    }
+
+    /**
+     * At least {@code min} elements match the selector.
+     *
+     * @param selector CSS selector or XPath expression
+     * @param min      the minimum number of matches
+     * @return the condition
+     */
+    public static Condition countAtLeast(String selector, int min) {
+        JsonObject spec = spec("countAtLeast", selector);
+        spec.addProperty("count", min);
+        return new Condition(spec, "count(" + selector + ") >= " + min);
+    }
+
+    /**
+     * The document URL contains a string.
+     *
+     * @param text the expected substring
+     * @return the condition
+     */
+    public static Condition urlContains(String text) {
+        JsonObject spec = new JsonObject();
+        spec.addProperty("op", "url");
+        spec.addProperty("text", Objects.requireNonNull(text, "text"));
+        return new Condition(spec, "urlContains(\"" + text + "\")");
+    }
+
+    /**
+     * The condition does not hold.
+     *
+     * @param condition the condition to negate
+     * @return the condition
+     */
+    public static Condition not(Condition condition) {
+        JsonObject spec = new JsonObject();
+        spec.addProperty("op", "not");
+        spec.add("condition", condition.spec);
+        return new Condition(spec, "not(" + condition + ")");
+    }
+
+    /**
+     * Both this and another condition hold at the same time.
+     *
+     * @param other the other condition
+     * @return the combined condition
+     */
+    public Condition and(Condition other) {
+        return combine("and", other);
+    }
+
+    /**
+     * This or another condition holds.
+     *
+     * @param other the other condition
+     * @return the combined condition
+     */
+    public Condition or(Condition other) {
+        return combine("or", other);
+    }
+
+    /**
+     * The JSON form evaluated by the page.
+     *
+     * @return the condition as a JSON string
+     */
+    String toJson() {
+        return spec.toString();
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private Condition combine(String op, Condition other) {
+        JsonArray all = new JsonArray();
+        all.add(spec);
+        all.add(other.spec);
+        JsonObject combined = new JsonObject();
+        combined.addProperty("op", op);
+        combined.add("all", all);
+        return new Condition(combined, "(" + description + " " + op + " " + other + ")");
+    }
+
+    private static Condition element(String op, String selector) {
+        return new Condition(spec(op, selector), op + "(" + selector + ")");
+    }
+
+    private static JsonObject spec(String op, String selector) {
+        JsonObject spec = new JsonObject();
+        spec.addProperty("op", op);
+        spec.addProperty("selector", Objects.requireNonNull(selector, "selector"));
+        return spec;
+    }
+}
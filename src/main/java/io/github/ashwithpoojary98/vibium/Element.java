@@ -3,6 +3,7 @@ package io.github.ashwithpoojary98.vibium;
 import io.github.ashwithpoojary98.vibium.exception.VibiumException;
 import io.github.ashwithpoojary98.vibium.model.Box;
 import io.github.ashwithpoojary98.vibium.model.ElementInfo;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
 
 import java.util.concurrent.CompletionException;
 
@@ -138,6 +139,35 @@ public final class Element {
         return async.isVisible().join();
     }
 
+    /**
+     * Capture a PNG screenshot of just this element.
+     *
+     * @return PNG image data as bytes
+     * @throws VibiumException if screenshot fails
+     */
+    public byte[] screenshot() {
+        try {
+            return async.screenshot().join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Capture a screenshot of just this element, e.g. as JPEG.
+     *
+     * @param options the format and quality
+     * @return encoded image data as bytes
+     * @throws VibiumException if screenshot fails
+     */
+    public byte[] screenshot(ScreenshotOptions options) {
+        try {
+            return async.screenshot(options).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("Element[%s selector='%s']", getTagName(), async.getSelector());
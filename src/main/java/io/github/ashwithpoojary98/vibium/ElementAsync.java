@@ -2,11 +2,21 @@ package io.github.ashwithpoojary98.vibium;
 
 import com.google.gson.JsonObject;
 import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.LocalValues;
+import io.github.ashwithpoojary98.vibium.internal.PageScripts;
+import io.github.ashwithpoojary98.vibium.internal.RemoteValues;
+import io.github.ashwithpoojary98.vibium.internal.Screenshots;
 import io.github.ashwithpoojary98.vibium.model.Box;
 import io.github.ashwithpoojary98.vibium.model.ElementInfo;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
 import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Async representation of a DOM element in the browser.
@@ -16,11 +26,21 @@ import java.util.concurrent.CompletableFuture;
  * <p>Provides async methods to interact with the element such as clicking,
  * typing, and retrieving properties.
  *
+ * <p>When the element was found with a BiDi shared reference (see
+ * {@link ElementInfo#getSharedId()}), actions address that node directly instead
+ * of re-running the selector. The selector is only used again if the reference
+ * has gone stale, e.g. because the page re-rendered the node.
+ *
  * @see Element
  */
 @Getter
 public final class ElementAsync {
 
+    private static final Logger log = LoggerFactory.getLogger(ElementAsync.class);
+
+    /** How long an element addressed by reference may take to become actionable */
+    private static final long ACTIONABLE_TIMEOUT_MS = 5000;
+
     private final BiDiClient client;
     private final String contextId;
     private final String selector;
@@ -60,12 +80,28 @@ public final class ElementAsync {
         return info.getBox();
     }
 
+    /**
+     * Get the BiDi shared reference of the element.
+     *
+     * @return the sharedId, or null if the element is addressed by selector only
+     */
+    public String getSharedId() {
+        return info.getSharedId();
+    }
+
     /**
      * Click the element at its center point.
      *
+     * <p>The element is scrolled into view and must be actionable first: visible,
+     * enabled and not covered.
+     *
      * @return CompletableFuture that completes when the click is done
      */
     public CompletableFuture<Void> click() {
+        return withHandle(sharedId -> perform(sharedId, new Actions().click(this)), this::clickBySelector);
+    }
+
+    private CompletableFuture<Void> clickBySelector() {
         JsonObject params = new JsonObject();
         params.addProperty("context", contextId);
         params.addProperty("selector", selector);
@@ -78,10 +114,18 @@ public final class ElementAsync {
     /**
      * Type text into the element.
      *
+     * <p>The element is scrolled into view and must be actionable first; it is
+     * then clicked to focus it and the text is typed key by key.
+     *
      * @param text the text to type
      * @return CompletableFuture that completes when typing is done
      */
     public CompletableFuture<Void> type(String text) {
+        return withHandle(sharedId -> perform(sharedId, new Actions().sendKeys(this, text)),
+                () -> typeBySelector(text));
+    }
+
+    private CompletableFuture<Void> typeBySelector(String text) {
         JsonObject params = new JsonObject();
         params.addProperty("context", contextId);
         params.addProperty("selector", selector);
@@ -97,6 +141,15 @@ public final class ElementAsync {
      * @return CompletableFuture that completes when clearing is done
      */
     public CompletableFuture<Void> clear() {
+        return withHandle(sharedId -> client.sendCommand("script.callFunction",
+                        PageScripts.callParams(contextId, PageScripts.CLEAR, LocalValues.reference(sharedId)))
+                .thenApply(result -> {
+                    RemoteValues.result(result);
+                    return (Void) null;
+                }), this::clearBySelector);
+    }
+
+    private CompletableFuture<Void> clearBySelector() {
         JsonObject params = new JsonObject();
         params.addProperty("context", contextId);
         params.addProperty("selector", selector);
@@ -112,6 +165,14 @@ public final class ElementAsync {
      * @return CompletableFuture containing the attribute value or null
      */
     public CompletableFuture<String> getAttribute(String name) {
+        return withHandle(sharedId -> client.sendCommand("script.callFunction",
+                        PageScripts.callParams(contextId, PageScripts.GET_ATTRIBUTE,
+                                LocalValues.reference(sharedId), LocalValues.of(name)))
+                .thenApply(result -> (String) RemoteValues.decode(RemoteValues.result(result))),
+                () -> getAttributeBySelector(name));
+    }
+
+    private CompletableFuture<String> getAttributeBySelector(String name) {
         JsonObject params = new JsonObject();
         params.addProperty("context", contextId);
         params.addProperty("selector", selector);
@@ -138,6 +199,93 @@ public final class ElementAsync {
         );
     }
 
+    /**
+     * Capture a PNG screenshot of just this element.
+     *
+     * @return CompletableFuture containing the PNG image bytes
+     */
+    public CompletableFuture<byte[]> screenshot() {
+        return screenshot(ScreenshotOptions.builder().build());
+    }
+
+    /**
+     * Capture a screenshot of just this element, e.g. as JPEG.
+     *
+     * <p>The element is clipped by its shared reference when known, so the
+     * capture follows the node if it moved; otherwise by the {@link Box} it had
+     * when it was found. Any clip set in the options is replaced.
+     *
+     * @param options the format and quality
+     * @return CompletableFuture containing the encoded image bytes
+     */
+    public CompletableFuture<byte[]> screenshot(ScreenshotOptions options) {
+        ScreenshotOptions.Builder clipped = options.toBuilder();
+        if (info.getSharedId() != null) {
+            clipped.clipElement(info.getSharedId());
+        } else {
+            clipped.clip(info.getBox()).origin(ScreenshotOptions.Origin.VIEWPORT);
+        }
+        return Screenshots.capture(client, contextId, clipped.build());
+    }
+
+    /**
+     * Bring the referenced node into an actionable state, then dispatch the input
+     * in one {@code input.performActions} command.
+     */
+    private CompletableFuture<Void> perform(String sharedId, Actions actions) {
+        JsonObject prepare = PageScripts.callParams(contextId, PageScripts.PREPARE_ACTION,
+                LocalValues.reference(sharedId), LocalValues.of(ACTIONABLE_TIMEOUT_MS));
+
+        return client.sendCommand("script.callFunction", prepare)
+                .thenCompose(result -> {
+                    RemoteValues.result(result);
+                    JsonObject params = new JsonObject();
+                    params.addProperty("context", contextId);
+                    params.add("actions", actions.toJson());
+                    return client.sendCommand("input.performActions", params);
+                })
+                .thenApply(result -> null);
+    }
+
+    /**
+     * Run an action by shared reference if one is known, falling back to the
+     * selector-based command when the reference is missing or stale.
+     */
+    private <T> CompletableFuture<T> withHandle(
+            Function<String, CompletableFuture<T>> byReference,
+            Supplier<CompletableFuture<T>> bySelector
+    ) {
+        String sharedId = info.getSharedId();
+        if (sharedId == null) {
+            return bySelector.get();
+        }
+
+        return byReference.apply(sharedId)
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (isStaleReference(cause)) {
+                        log.debug("Stale reference for {}, re-resolving by selector", selector);
+                        return bySelector.get();
+                    }
+                    return CompletableFuture.<T>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Check for the BiDi {@code no such node} error of a reference whose node
+     * was removed or whose document was replaced.
+     */
+    private static boolean isStaleReference(Throwable error) {
+        String message = error.getMessage();
+        return message != null && (message.contains("no such node") || message.contains("stale element"));
+    }
+
     @Override
     public String toString() {
         return String.format("ElementAsync[%s selector='%s']", info.getTagName(), selector);
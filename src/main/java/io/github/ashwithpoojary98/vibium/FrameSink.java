@@ -0,0 +1,76 @@
+package io.github.ashwithpoojary98.vibium;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Destination of the frames of a {@link Screencast}.
+ *
+ * <p>Frames are written one at a time, in capture order, from a single
+ * worker thread.
+ */
+public interface FrameSink extends Closeable {
+
+    /**
+     * Write one encoded frame.
+     *
+     * @param sequence  the frame number, starting at 0 without gaps
+     * @param timestamp when the frame was requested, relative to the start
+     * @param image     the encoded image
+     * @throws IOException if the frame cannot be written
+     */
+    void write(long sequence, Duration timestamp, byte[] image) throws IOException;
+
+    /**
+     * Write each frame to its own file, {@code frame-000000.<ext>}, in a directory.
+     *
+     * @param directory the directory, created if needed
+     * @param extension the file extension, e.g. {@code "jpg"}
+     * @return the sink
+     * @throws IOException if the directory cannot be created
+     */
+    static FrameSink imageSequence(Path directory, String extension) throws IOException {
+        Files.createDirectories(directory);
+        return new FrameSink() {
+            @Override
+            public void write(long sequence, Duration timestamp, byte[] image) throws IOException {
+                Files.write(directory.resolve(String.format("frame-%06d.%s", sequence, extension)), image);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * Write all frames to one Motion JPEG file: the JPEG images back to back, as
+     * read by ffmpeg ({@code -f mjpeg}) and most players. Frames must be JPEG.
+     *
+     * @param file the output file, replaced if it exists
+     * @return the sink
+     * @throws IOException if the file cannot be opened
+     */
+    static FrameSink mjpeg(Path file) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+        return new FrameSink() {
+            @Override
+            public void write(long sequence, Duration timestamp, byte[] image) throws IOException {
+                if (image.length < 2 || (image[0] & 0xFF) != 0xFF || (image[1] & 0xFF) != 0xD8) {
+                    throw new IOException("MJPEG frames must be JPEG images");
+                }
+                out.write(image);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+}
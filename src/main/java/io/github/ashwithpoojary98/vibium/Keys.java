@@ -0,0 +1,36 @@
+package io.github.ashwithpoojary98.vibium;
+
+/**
+ * WebDriver key values for keys that have no character, for use with
+ * {@link Actions#keyDown(String)}, {@link Actions#keyUp(String)} and
+ * {@link Actions#sendKeys(String)}.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * vibe.perform(new Actions().keyDown(Keys.CONTROL).sendKeys("a").keyUp(Keys.CONTROL));
+ * }</pre>
+ */
+public final class Keys {
+
+    public static final String BACKSPACE = "\uE003";
+    public static final String TAB = "\uE004";
+    public static final String ENTER = "\uE007";
+    public static final String SHIFT = "\uE008";
+    public static final String CONTROL = "\uE009";
+    public static final String ALT = "\uE00A";
+    public static final String ESCAPE = "\uE00C";
+    public static final String SPACE = "\uE00D";
+    public static final String PAGE_UP = "\uE00E";
+    public static final String PAGE_DOWN = "\uE00F";
+    public static final String END = "\uE010";
+    public static final String HOME = "\uE011";
+    public static final String ARROW_LEFT = "\uE012";
+    public static final String ARROW_UP = "\uE013";
+    public static final String ARROW_RIGHT = "\uE014";
+    public static final String ARROW_DOWN = "\uE015";
+    public static final String DELETE = "\uE017";
+    public static final String META = "\uE03D";
+
+    private Keys() {
+    }
+}
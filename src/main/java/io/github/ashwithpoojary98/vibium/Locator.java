@@ -0,0 +1,236 @@
+package io.github.ashwithpoojary98.vibium;
+
+import io.github.ashwithpoojary98.vibium.exception.ElementNotFoundException;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * A lazy, reusable description of how to reach elements in the page, with
+ * synchronous (blocking) API.
+ *
+ * <p>For non-blocking async operations, use {@link LocatorAsync} instead.
+ *
+ * <p>Building a locator never talks to the browser; the whole chain is
+ * resolved in one page call each time it is acted on.
+ *
+ * @see LocatorAsync
+ * @see Vibe#locator(String)
+ */
+public final class Locator {
+
+    private final LocatorAsync async;
+
+    /**
+     * Create a new Locator instance wrapping an async instance.
+     *
+     * @param async the async instance to wrap
+     */
+    public Locator(LocatorAsync async) {
+        this.async = async;
+    }
+
+    /**
+     * Get the underlying async instance for advanced operations.
+     *
+     * @return the LocatorAsync instance
+     */
+    public LocatorAsync async() {
+        return async;
+    }
+
+    /**
+     * Match elements inside the matches of this locator.
+     *
+     * @param selector CSS selector or relative XPath expression
+     * @return the refined locator
+     */
+    public Locator locator(String selector) {
+        return new Locator(async.locator(selector));
+    }
+
+    /**
+     * Keep only one match.
+     *
+     * @param index zero-based index of the match, or negative to count from the end
+     * @return the refined locator
+     */
+    public Locator nth(int index) {
+        return new Locator(async.nth(index));
+    }
+
+    /**
+     * Keep only the first match.
+     *
+     * @return the refined locator
+     */
+    public Locator first() {
+        return new Locator(async.first());
+    }
+
+    /**
+     * Keep only the last match.
+     *
+     * @return the refined locator
+     */
+    public Locator last() {
+        return new Locator(async.last());
+    }
+
+    /**
+     * Keep only the matches accepted by a filter.
+     *
+     * @param filter the filter, e.g. {@link LocatorFilter#hasText(String)}
+     * @return the refined locator
+     */
+    public Locator filter(LocatorFilter filter) {
+        return new Locator(async.filter(filter));
+    }
+
+    /**
+     * Resolve the first match, waiting for one to appear (default 30 second timeout).
+     *
+     * @return the element
+     * @throws ElementNotFoundException if nothing matches in time
+     */
+    public Element element() {
+        try {
+            return new Element(async.element().join());
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Resolve the first match, waiting for one to appear.
+     *
+     * @param timeout maximum time to wait
+     * @return the element
+     * @throws ElementNotFoundException if nothing matches in time
+     */
+    public Element element(Duration timeout) {
+        try {
+            return new Element(async.element(timeout).join());
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Resolve all current matches without waiting.
+     *
+     * @return the matches in document order
+     * @throws VibiumException if the operation fails
+     */
+    public List<Element> all() {
+        try {
+            return async.all().join().stream()
+                    .map(Element::new)
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Count the current matches without transferring them.
+     *
+     * @return the number of matches
+     * @throws VibiumException if the operation fails
+     */
+    public int count() {
+        try {
+            return async.count().join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Click the first match.
+     *
+     * @throws VibiumException if nothing matches or the click fails
+     */
+    public void click() {
+        try {
+            async.click().join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Type text into the first match.
+     *
+     * @param text the text to type
+     * @throws VibiumException if nothing matches or typing fails
+     */
+    public void type(String text) {
+        try {
+            async.type(text).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Clear the value of the first match.
+     *
+     * @throws VibiumException if nothing matches or clearing fails
+     */
+    public void clear() {
+        try {
+            async.clear().join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Get an attribute value of the first match.
+     *
+     * @param name the attribute name
+     * @return the attribute value or null
+     * @throws VibiumException if nothing matches or the operation fails
+     */
+    public String getAttribute(String name) {
+        try {
+            return async.getAttribute(name).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Get the trimmed text content of the first match.
+     *
+     * @return the text content
+     * @throws VibiumException if nothing matches
+     */
+    public String getText() {
+        try {
+            return async.getText().join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return async.toString();
+    }
+
+    /**
+     * Unwrap CompletionException to get the actual cause.
+     */
+    private RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new VibiumException(cause.getMessage(), cause);
+    }
+}
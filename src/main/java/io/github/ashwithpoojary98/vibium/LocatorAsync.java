@@ -0,0 +1,240 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.exception.ElementNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A lazy, reusable description of how to reach elements in the page.
+ *
+ * <p>For a simpler blocking API, use {@link Locator} instead.
+ *
+ * <p>A locator only records a chain of steps; building and refining it never
+ * talks to the browser. When it is acted on, the whole chain is sent as one
+ * page call that runs every step in the page, waits there for a first match if
+ * needed, and returns the matched element with its tag, text and box. Each
+ * action resolves the chain again, so a locator stays valid across navigations
+ * and re-renders. Locators are immutable and safe to share between threads.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * LocatorAsync search = vibe.locator("form").locator("input[name=q]");
+ * search.type("vibium").join();
+ * vibe.locator("li").filter(LocatorFilter.hasText("Checkout")).nth(2).click().join();
+ * }</pre>
+ *
+ * @see Locator
+ * @see VibeAsync#locator(String)
+ */
+public final class LocatorAsync {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final VibeAsync vibe;
+    private final LocatorAsync parent;
+    private final JsonObject step;
+    private final String description;
+
+    private LocatorAsync(VibeAsync vibe, LocatorAsync parent, JsonObject step, String description) {
+        this.vibe = vibe;
+        this.parent = parent;
+        this.step = step;
+        this.description = description;
+    }
+
+    /**
+     * Create the first step of a chain.
+     *
+     * @param vibe     the session to resolve in
+     * @param selector CSS selector or XPath expression
+     * @return the locator
+     */
+    static LocatorAsync root(VibeAsync vibe, String selector) {
+        return new LocatorAsync(vibe, null, selectorStep(selector), "locator(" + selector + ")");
+    }
+
+    /**
+     * Match elements inside the matches of this locator.
+     *
+     * <p>XPath expressions are evaluated with each match as context node, so use
+     * a relative path such as {@code .//input}.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the refined locator
+     */
+    public LocatorAsync locator(String selector) {
+        return then(selectorStep(selector), "locator(" + selector + ")");
+    }
+
+    /**
+     * Keep only one match.
+     *
+     * @param index zero-based index of the match, or negative to count from the end
+     * @return the refined locator
+     */
+    public LocatorAsync nth(int index) {
+        JsonObject next = new JsonObject();
+        next.addProperty("op", "nth");
+        next.addProperty("index", index);
+        return then(next, "nth(" + index + ")");
+    }
+
+    /**
+     * Keep only the first match.
+     *
+     * @return the refined locator
+     */
+    public LocatorAsync first() {
+        return nth(0);
+    }
+
+    /**
+     * Keep only the last match.
+     *
+     * @return the refined locator
+     */
+    public LocatorAsync last() {
+        return nth(-1);
+    }
+
+    /**
+     * Keep only the matches accepted by a filter.
+     *
+     * @param filter the filter, e.g. {@link LocatorFilter#hasText(String)}
+     * @return the refined locator
+     */
+    public LocatorAsync filter(LocatorFilter filter) {
+        return then(filter.step(), "filter(" + filter + ")");
+    }
+
+    /**
+     * Resolve the first match, waiting for one to appear (default 30 second timeout).
+     *
+     * @return CompletableFuture containing the element
+     */
+    public CompletableFuture<ElementAsync> element() {
+        return element(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Resolve the first match, waiting for one to appear.
+     *
+     * @param timeout maximum time to wait
+     * @return CompletableFuture containing the element, failing with
+     *         {@link ElementNotFoundException} if nothing matches in time
+     */
+    public CompletableFuture<ElementAsync> element(Duration timeout) {
+        return vibe.locate(this, timeout, 1).thenApply(elements -> {
+            if (elements.isEmpty()) {
+                throw new ElementNotFoundException(toString());
+            }
+            return elements.get(0);
+        });
+    }
+
+    /**
+     * Resolve all current matches. Unlike {@link #element()}, this does not wait.
+     *
+     * @return CompletableFuture containing the matches in document order
+     */
+    public CompletableFuture<List<ElementAsync>> all() {
+        return vibe.locate(this, Duration.ZERO, -1);
+    }
+
+    /**
+     * Count the current matches without transferring them.
+     *
+     * @return CompletableFuture containing the number of matches
+     */
+    public CompletableFuture<Integer> count() {
+        return vibe.countLocated(this);
+    }
+
+    /**
+     * Click the first match.
+     *
+     * @return CompletableFuture that completes when the click is done
+     */
+    public CompletableFuture<Void> click() {
+        return element().thenCompose(ElementAsync::click);
+    }
+
+    /**
+     * Type text into the first match.
+     *
+     * @param text the text to type
+     * @return CompletableFuture that completes when typing is done
+     */
+    public CompletableFuture<Void> type(String text) {
+        return element().thenCompose(element -> element.type(text));
+    }
+
+    /**
+     * Clear the value of the first match.
+     *
+     * @return CompletableFuture that completes when the value is cleared
+     */
+    public CompletableFuture<Void> clear() {
+        return element().thenCompose(ElementAsync::clear);
+    }
+
+    /**
+     * Get an attribute value of the first match.
+     *
+     * @param name the attribute name
+     * @return CompletableFuture containing the attribute value or null
+     */
+    public CompletableFuture<String> getAttribute(String name) {
+        return element().thenCompose(element -> element.getAttribute(name));
+    }
+
+    /**
+     * Get the trimmed text content of the first match.
+     *
+     * @return CompletableFuture containing the text content
+     */
+    public CompletableFuture<String> getText() {
+        return element().thenApply(ElementAsync::getText);
+    }
+
+    /**
+     * The JSON form of the chain evaluated by the page.
+     *
+     * @return the steps as a JSON string
+     */
+    String toJson() {
+        Deque<JsonObject> steps = new ArrayDeque<>();
+        for (LocatorAsync current = this; current != null; current = current.parent) {
+            steps.addFirst(current.step);
+        }
+        JsonArray array = new JsonArray();
+        steps.forEach(array::add);
+        return array.toString();
+    }
+
+    @Override
+    public String toString() {
+        return parent == null ? description : parent + " >> " + description;
+    }
+
+    static JsonObject selectorStep(String selector) {
+        Objects.requireNonNull(selector, "selector");
+        boolean xpath = selector.startsWith("/") || selector.startsWith("(")
+                || selector.startsWith("./") || selector.startsWith("../");
+        JsonObject step = new JsonObject();
+        step.addProperty("op", xpath ? "xpath" : "css");
+        step.addProperty("selector", selector);
+        return step;
+    }
+
+    private LocatorAsync then(JsonObject next, String nextDescription) {
+        return new LocatorAsync(vibe, this, next, nextDescription);
+    }
+}
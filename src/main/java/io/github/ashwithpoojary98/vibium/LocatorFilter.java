@@ -0,0 +1,95 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * A filter narrowing the matches of a locator, applied with
+ * {@link LocatorAsync#filter(LocatorFilter)}.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * import static io.github.ashwithpoojary98.vibium.LocatorFilter.hasText;
+ *
+ * vibe.locator("li").filter(hasText("Checkout")).click().join();
+ * }</pre>
+ */
+public final class LocatorFilter {
+
+    private final JsonObject step;
+    private final String description;
+
+    private LocatorFilter(JsonObject step, String description) {
+        this.step = step;
+        this.description = description;
+    }
+
+    /**
+     * Keep the matches whose text content contains a string.
+     *
+     * @param text the expected substring
+     * @return the filter
+     */
+    public static LocatorFilter hasText(String text) {
+        return text("hasText", text);
+    }
+
+    /**
+     * Keep the matches whose text content does not contain a string.
+     *
+     * @param text the excluded substring
+     * @return the filter
+     */
+    public static LocatorFilter hasNotText(String text) {
+        return text("hasNotText", text);
+    }
+
+    /**
+     * Keep the matches that contain an element matching a selector.
+     *
+     * @param selector CSS selector or XPath expression, evaluated inside each match
+     * @return the filter
+     */
+    public static LocatorFilter has(String selector) {
+        JsonArray steps = new JsonArray();
+        steps.add(LocatorAsync.selectorStep(selector));
+        JsonObject step = new JsonObject();
+        step.addProperty("op", "has");
+        step.add("steps", steps);
+        return new LocatorFilter(step, "has(" + selector + ")");
+    }
+
+    /**
+     * Keep the matches that have a non-empty box and are not {@code visibility: hidden}.
+     *
+     * @return the filter
+     */
+    public static LocatorFilter visible() {
+        JsonObject step = new JsonObject();
+        step.addProperty("op", "visible");
+        return new LocatorFilter(step, "visible()");
+    }
+
+    /**
+     * The step evaluated by the page.
+     *
+     * @return the filter step
+     */
+    JsonObject step() {
+        return step;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static LocatorFilter text(String op, String text) {
+        JsonObject step = new JsonObject();
+        step.addProperty("op", op);
+        step.addProperty("text", Objects.requireNonNull(text, "text"));
+        return new LocatorFilter(step, op + "(\"" + text + "\")");
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.Screenshots;
+import io.github.ashwithpoojary98.vibium.model.ScreencastStats;
+import io.github.ashwithpoojary98.vibium.options.ScreencastOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A running screencast started with {@link VibeAsync#startScreencast(ScreencastOptions, FrameSink)}.
+ *
+ * <p>A frame is requested at the configured rate. To keep up with the target
+ * frame rate without piling up work, the pipeline drops frames instead of
+ * queueing them:
+ * <ul>
+ *   <li>a frame that is due while {@code maxInflight} captures are pending is
+ *       not requested, and</li>
+ *   <li>a captured frame is discarded if the writer is still busy with
+ *       {@code maxInflight} earlier frames.</li>
+ * </ul>
+ * Frames are decoded and written on a dedicated worker thread, so neither the
+ * caller nor the WebSocket thread does any image work.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Screencast screencast = vibe.startScreencast(10, ScreenshotOptions.Format.JPEG,
+ *         FrameSink.mjpeg(Path.of("session.mjpeg")));
+ * // ... drive the page ...
+ * ScreencastStats stats = screencast.stop().join();
+ * }</pre>
+ */
+public final class Screencast implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Screencast.class);
+    private static final Duration CAPTURE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final BiDiClient client;
+    private final JsonObject captureParams;
+    private final ScreencastOptions options;
+    private final FrameSink sink;
+    private final long startNanos = System.nanoTime();
+
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor writer;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Set<CompletableFuture<Void>> captures = ConcurrentHashMap.newKeySet();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private volatile CompletableFuture<ScreencastStats> stopped;
+    private volatile IOException failure;
+
+    Screencast(BiDiClient client, String contextId, ScreencastOptions options, FrameSink sink) {
+        this.client = client;
+        this.captureParams = Screenshots.params(contextId, options.toScreenshotOptions());
+        this.options = options;
+        this.sink = sink;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vibium-screencast-ticker");
+            t.setDaemon(true);
+            return t;
+        });
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(options.getMaxInflight()), r -> {
+            Thread t = new Thread(r, "vibium-screencast-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    void start() {
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.getFps());
+        ticker.scheduleAtFixedRate(this::tick, 0, periodNanos, TimeUnit.NANOSECONDS);
+        log.debug("Screencast started at {} fps", options.getFps());
+    }
+
+    /**
+     * Get the statistics so far.
+     *
+     * @return the frames written and dropped, and the achieved frame rate
+     */
+    public ScreencastStats getStats() {
+        return new ScreencastStats(written.get(), dropped.get(), bytes.get(), elapsed());
+    }
+
+    /**
+     * Stop capturing, wait for pending frames to be written and close the sink.
+     *
+     * @return CompletableFuture containing the final statistics; fails if a
+     *         frame could not be written
+     */
+    public synchronized CompletableFuture<ScreencastStats> stop() {
+        if (stopped != null) {
+            return stopped;
+        }
+        // Runs after a tick in progress, so it sees every capture that was started
+        CompletableFuture<Void> ticked = new CompletableFuture<>();
+        ticker.execute(() -> ticked.complete(null));
+        ticker.shutdown();
+
+        stopped = ticked.thenCompose(v -> CompletableFuture.allOf(captures.toArray(new CompletableFuture<?>[0])))
+                .handle((v, error) -> (Void) null)
+                .thenApplyAsync(v -> finish());
+        return stopped;
+    }
+
+    /**
+     * Write the frames still queued once all captures are done, then close the sink.
+     */
+    private ScreencastStats finish() {
+        try {
+            writer.shutdown();
+            writer.awaitTermination(CAPTURE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+
+        ScreencastStats stats = getStats();
+        try {
+            sink.close();
+        } catch (IOException e) {
+            throw new VibiumException("Failed to close screencast sink: " + e.getMessage(), e);
+        }
+        if (failure != null) {
+            throw new VibiumException("Failed to write screencast frame: " + failure.getMessage(), failure);
+        }
+        log.debug("Screencast stopped: {}", stats);
+        return stats;
+    }
+
+    /**
+     * Stop the screencast and wait for it to finish.
+     */
+    @Override
+    public void close() {
+        stop().join();
+    }
+
+    private void tick() {
+        if (inflight.incrementAndGet() > options.getMaxInflight()) {
+            inflight.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+
+        Duration timestamp = elapsed();
+        CompletableFuture<Void> capture = client.sendCommand("browsingContext.captureScreenshot",
+                        captureParams, CAPTURE_TIMEOUT)
+                .handle((result, error) -> {
+                    try {
+                        if (error != null) {
+                            log.debug("Screencast capture failed: {}", error.getMessage());
+                            dropped.incrementAndGet();
+                            return null;
+                        }
+                        enqueue(timestamp, result.get("data").getAsString());
+                        return null;
+                    } finally {
+                        inflight.decrementAndGet();
+                    }
+                });
+        captures.add(capture);
+        capture.whenComplete((v, error) -> captures.remove(capture));
+    }
+
+    private void enqueue(Duration timestamp, String data) {
+        try {
+            writer.execute(() -> {
+                if (failure != null) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                byte[] image = Base64.getDecoder().decode(data);
+                try {
+                    sink.write(written.get(), timestamp, image);
+                    written.incrementAndGet();
+                    bytes.addAndGet(image.length);
+                } catch (IOException e) {
+                    failure = e;
+                    log.warn("Screencast frame could not be written: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
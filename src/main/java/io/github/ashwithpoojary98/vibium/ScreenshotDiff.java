@@ -0,0 +1,476 @@
+package io.github.ashwithpoojary98.vibium;
+
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.model.Box;
+import io.github.ashwithpoojary98.vibium.model.DiffResult;
+import io.github.ashwithpoojary98.vibium.options.DiffOptions;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compares screenshots pixel by pixel.
+ *
+ * <p>Images are decoded into {@code int[]} ARGB rasters and compared in square
+ * tiles on a fork/join pool. Colors are compared by their perceived (YIQ)
+ * difference, so the tolerance behaves the same for all hues, and pixels that
+ * only differ by anti-aliasing can be ignored.
+ *
+ * <p>Changed pixels are grouped into regions by joining adjacent tiles that
+ * contain changes; each region is the bounding box of its changed pixels.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ScreenshotDiff diff = new ScreenshotDiff(DiffOptions.builder().threshold(0.1).build());
+ * DiffResult result = diff.compare(baselinePng, vibe.screenshot());
+ * if (!result.isIdentical()) {
+ *     ImageIO.write(result.toMaskImage(), "png", new File("diff.png"));
+ * }
+ * }</pre>
+ */
+public final class ScreenshotDiff {
+
+    /** The largest possible YIQ delta, between black and white */
+    private static final double MAX_YIQ_DELTA = 35215;
+
+    /** Tiles compared by one fork/join task without splitting further */
+    private static final int TILES_PER_TASK = 4;
+
+    private final DiffOptions options;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a diff engine using the common fork/join pool.
+     *
+     * @param options the tolerance, anti-aliasing and ignore regions
+     */
+    public ScreenshotDiff(DiffOptions options) {
+        this(options, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a diff engine using a specific fork/join pool.
+     *
+     * @param options the tolerance, anti-aliasing and ignore regions
+     * @param pool    the pool comparing tiles
+     */
+    public ScreenshotDiff(DiffOptions options, ForkJoinPool pool) {
+        this.options = options;
+        this.pool = pool;
+    }
+
+    /**
+     * Compare two encoded images, e.g. PNG screenshots. Both are decoded in parallel.
+     *
+     * @param expected the baseline image
+     * @param actual   the new image
+     * @return the comparison result
+     * @throws VibiumException          if an image cannot be decoded
+     * @throws IllegalArgumentException if the images differ in size
+     */
+    public DiffResult compare(byte[] expected, byte[] actual) {
+        CompletableFuture<BufferedImage> first = CompletableFuture.supplyAsync(() -> decode(expected), pool);
+        BufferedImage second = decode(actual);
+        try {
+            return compare(first.join(), second);
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Compare two images.
+     *
+     * @param expected the baseline image
+     * @param actual   the new image
+     * @return the comparison result
+     * @throws IllegalArgumentException if the images differ in size
+     */
+    public DiffResult compare(BufferedImage expected, BufferedImage actual) {
+        return compare(raster(expected), raster(actual), expected.getWidth(), expected.getHeight(),
+                actual.getWidth(), actual.getHeight());
+    }
+
+    /**
+     * Compare two ARGB rasters in row-major order.
+     *
+     * @param expected the baseline pixels
+     * @param actual   the new pixels
+     * @param width    the image width
+     * @param height   the image height
+     * @return the comparison result
+     * @throws IllegalArgumentException if a raster does not have {@code width * height} pixels
+     */
+    public DiffResult compare(int[] expected, int[] actual, int width, int height) {
+        if (expected.length != (long) width * height || actual.length != expected.length) {
+            throw new IllegalArgumentException("Rasters must have width * height pixels");
+        }
+
+        Tiles tiles = new Tiles(expected, actual, width, height);
+        pool.invoke(new TileTask(tiles, 0, tiles.count));
+        return tiles.result();
+    }
+
+    private DiffResult compare(int[] expected, int[] actual, int width, int height,
+                               int actualWidth, int actualHeight) {
+        if (width != actualWidth || height != actualHeight) {
+            throw new IllegalArgumentException(String.format("Image sizes do not match: %dx%d vs %dx%d",
+                    width, height, actualWidth, actualHeight));
+        }
+        return compare(expected, actual, width, height);
+    }
+
+    private static BufferedImage decode(byte[] encoded) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(encoded));
+            if (image == null) {
+                throw new VibiumException("Unsupported image format");
+            }
+            return image;
+        } catch (IOException e) {
+            throw new VibiumException("Failed to decode image: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the ARGB pixels, without copying when the image is already stored that way.
+     */
+    private static int[] raster(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB
+                && image.getRaster().getDataBuffer() instanceof DataBufferInt
+                && image.getRaster().getDataBuffer().getSize() == image.getWidth() * image.getHeight()) {
+            return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        }
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    /**
+     * Compares a range of tiles, splitting it in halves until it is small enough.
+     */
+    private static final class TileTask extends RecursiveAction {
+
+        private final Tiles tiles;
+        private final int from;
+        private final int to;
+
+        TileTask(Tiles tiles, int from, int to) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TILES_PER_TASK) {
+                for (int tile = from; tile < to; tile++) {
+                    tiles.compare(tile);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileTask(tiles, from, middle), new TileTask(tiles, middle, to));
+        }
+    }
+
+    /**
+     * The state of one comparison. Each tile only writes its own slots, so
+     * tiles can be compared concurrently without locking.
+     */
+    private final class Tiles {
+
+        final int[] expected;
+        final int[] actual;
+        final int width;
+        final int height;
+        final int size = options.getTileSize();
+        final int columns;
+        final int rows;
+        final int count;
+        final double maxDelta;
+        final int[][] ignored;
+
+        final byte[] mask;
+        final long[] changed;
+        final long[] antiAliased;
+        final long[] compared;
+        final int[] minX;
+        final int[] minY;
+        final int[] maxX;
+        final int[] maxY;
+
+        Tiles(int[] expected, int[] actual, int width, int height) {
+            this.expected = expected;
+            this.actual = actual;
+            this.width = width;
+            this.height = height;
+            this.columns = (width + size - 1) / size;
+            this.rows = (height + size - 1) / size;
+            this.count = columns * rows;
+            this.maxDelta = MAX_YIQ_DELTA * options.getThreshold() * options.getThreshold();
+
+            List<int[]> regions = new ArrayList<>();
+            for (Box box : options.getIgnoreRegions()) {
+                regions.add(new int[]{
+                        (int) Math.floor(box.getX()), (int) Math.floor(box.getY()),
+                        (int) Math.ceil(box.getX() + box.getWidth()), (int) Math.ceil(box.getY() + box.getHeight())
+                });
+            }
+            this.ignored = regions.toArray(new int[0][]);
+
+            this.mask = new byte[width * height];
+            this.changed = new long[count];
+            this.antiAliased = new long[count];
+            this.compared = new long[count];
+            this.minX = new int[count];
+            this.minY = new int[count];
+            this.maxX = new int[count];
+            this.maxY = new int[count];
+        }
+
+        void compare(int tile) {
+            int x0 = (tile % columns) * size;
+            int y0 = (tile / columns) * size;
+            int x1 = Math.min(x0 + size, width);
+            int y1 = Math.min(y0 + size, height);
+            int[][] tileIgnored = ignoredWithin(x0, y0, x1, y1);
+
+            int left = Integer.MAX_VALUE;
+            int top = Integer.MAX_VALUE;
+            int right = -1;
+            int bottom = -1;
+            long changedCount = 0;
+            long antiAliasedCount = 0;
+            long comparedCount = 0;
+
+            for (int y = y0; y < y1; y++) {
+                int row = y * width;
+                for (int x = x0; x < x1; x++) {
+                    int i = row + x;
+                    if (tileIgnored.length > 0 && isIgnored(tileIgnored, x, y)) {
+                        mask[i] = DiffResult.IGNORED;
+                        continue;
+                    }
+                    comparedCount++;
+                    if (expected[i] == actual[i]
+                            || Math.abs(colorDelta(expected[i], actual[i], false)) <= maxDelta) {
+                        continue;
+                    }
+                    if (options.isDetectAntiAliasing()
+                            && (isAntiAliased(expected, actual, x, y) || isAntiAliased(actual, expected, x, y))) {
+                        mask[i] = DiffResult.ANTI_ALIASED;
+                        antiAliasedCount++;
+                        continue;
+                    }
+                    mask[i] = DiffResult.CHANGED;
+                    changedCount++;
+                    left = Math.min(left, x);
+                    top = Math.min(top, y);
+                    right = Math.max(right, x);
+                    bottom = Math.max(bottom, y);
+                }
+            }
+
+            changed[tile] = changedCount;
+            antiAliased[tile] = antiAliasedCount;
+            compared[tile] = comparedCount;
+            minX[tile] = left;
+            minY[tile] = top;
+            maxX[tile] = right;
+            maxY[tile] = bottom;
+        }
+
+        DiffResult result() {
+            long changedTotal = 0;
+            long antiAliasedTotal = 0;
+            long comparedTotal = 0;
+            for (int tile = 0; tile < count; tile++) {
+                changedTotal += changed[tile];
+                antiAliasedTotal += antiAliased[tile];
+                comparedTotal += compared[tile];
+            }
+            return new DiffResult(width, height, changedTotal, antiAliasedTotal, comparedTotal, regions(), mask);
+        }
+
+        /**
+         * Group tiles with changes into 8-connected components, each becoming
+         * the bounding box of its changed pixels.
+         */
+        private List<Box> regions() {
+            List<Box> regions = new ArrayList<>();
+            boolean[] visited = new boolean[count];
+            int[] stack = new int[count];
+
+            for (int start = 0; start < count; start++) {
+                if (visited[start] || changed[start] == 0) {
+                    continue;
+                }
+                int left = Integer.MAX_VALUE;
+                int top = Integer.MAX_VALUE;
+                int right = -1;
+                int bottom = -1;
+
+                int depth = 0;
+                stack[depth++] = start;
+                visited[start] = true;
+                while (depth > 0) {
+                    int tile = stack[--depth];
+                    left = Math.min(left, minX[tile]);
+                    top = Math.min(top, minY[tile]);
+                    right = Math.max(right, maxX[tile]);
+                    bottom = Math.max(bottom, maxY[tile]);
+
+                    int column = tile % columns;
+                    int row = tile / columns;
+                    for (int dy = -1; dy <= 1; dy++) {
+                        for (int dx = -1; dx <= 1; dx++) {
+                            int c = column + dx;
+                            int r = row + dy;
+                            if (c < 0 || r < 0 || c >= columns || r >= rows) {
+                                continue;
+                            }
+                            int neighbor = r * columns + c;
+                            if (!visited[neighbor] && changed[neighbor] > 0) {
+                                visited[neighbor] = true;
+                                stack[depth++] = neighbor;
+                            }
+                        }
+                    }
+                }
+                regions.add(new Box(left, top, right - left + 1, bottom - top + 1));
+            }
+            return regions;
+        }
+
+        private int[][] ignoredWithin(int x0, int y0, int x1, int y1) {
+            List<int[]> within = new ArrayList<>();
+            for (int[] region : ignored) {
+                if (region[0] < x1 && region[2] > x0 && region[1] < y1 && region[3] > y0) {
+                    within.add(region);
+                }
+            }
+            return within.toArray(new int[0][]);
+        }
+
+        private boolean isIgnored(int[][] regions, int x, int y) {
+            for (int[] region : regions) {
+                if (x >= region[0] && x < region[2] && y >= region[1] && y < region[3]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Check whether a pixel of {@code image} is likely part of an anti-aliased
+         * edge: its neighbors contain both a darker and a brighter pixel, and at
+         * least one of those sits in a flat area in both images.
+         */
+        private boolean isAntiAliased(int[] image, int[] other, int x1, int y1) {
+            int x0 = Math.max(x1 - 1, 0);
+            int y0 = Math.max(y1 - 1, 0);
+            int x2 = Math.min(x1 + 1, width - 1);
+            int y2 = Math.min(y1 + 1, height - 1);
+            int pixel = image[y1 * width + x1];
+            int zeroes = x1 == x0 || x1 == x2 || y1 == y0 || y1 == y2 ? 1 : 0;
+            double min = 0;
+            double max = 0;
+            int minX = 0;
+            int minY = 0;
+            int maxX = 0;
+            int maxY = 0;
+
+            for (int x = x0; x <= x2; x++) {
+                for (int y = y0; y <= y2; y++) {
+                    if (x == x1 && y == y1) {
+                        continue;
+                    }
+                    double delta = colorDelta(pixel, image[y * width + x], true);
+                    if (delta == 0) {
+                        if (++zeroes > 2) {
+                            return false;
+                        }
+                    } else if (delta < min) {
+                        min = delta;
+                        minX = x;
+                        minY = y;
+                    } else if (delta > max) {
+                        max = delta;
+                        maxX = x;
+                        maxY = y;
+                    }
+                }
+            }
+            if (min == 0 || max == 0) {
+                return false;
+            }
+            return (hasManySiblings(image, minX, minY) && hasManySiblings(other, minX, minY))
+                    || (hasManySiblings(image, maxX, maxY) && hasManySiblings(other, maxX, maxY));
+        }
+
+        /**
+         * Check whether at least 3 neighbors of a pixel have exactly its color.
+         */
+        private boolean hasManySiblings(int[] image, int x1, int y1) {
+            int x0 = Math.max(x1 - 1, 0);
+            int y0 = Math.max(y1 - 1, 0);
+            int x2 = Math.min(x1 + 1, width - 1);
+            int y2 = Math.min(y1 + 1, height - 1);
+            int pixel = image[y1 * width + x1];
+            int zeroes = x1 == x0 || x1 == x2 || y1 == y0 || y1 == y2 ? 1 : 0;
+
+            for (int x = x0; x <= x2; x++) {
+                for (int y = y0; y <= y2; y++) {
+                    if ((x != x1 || y != y1) && image[y * width + x] == pixel && ++zeroes > 2) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Perceived color difference of two ARGB pixels, blended onto white. Positive
+     * when the second pixel is darker. With {@code brightnessOnly}, only the
+     * luma difference is returned.
+     */
+    static double colorDelta(int first, int second, boolean brightnessOnly) {
+        if (first == second) {
+            return 0;
+        }
+        double a1 = (first >>> 24) / 255.0;
+        double a2 = (second >>> 24) / 255.0;
+        double r1 = blend((first >> 16) & 0xFF, a1);
+        double g1 = blend((first >> 8) & 0xFF, a1);
+        double b1 = blend(first & 0xFF, a1);
+        double r2 = blend((second >> 16) & 0xFF, a2);
+        double g2 = blend((second >> 8) & 0xFF, a2);
+        double b2 = blend(second & 0xFF, a2);
+
+        double y1 = r1 * 0.29889531 + g1 * 0.58662247 + b1 * 0.11448223;
+        double y2 = r2 * 0.29889531 + g2 * 0.58662247 + b2 * 0.11448223;
+        double y = y1 - y2;
+        if (brightnessOnly) {
+            return y;
+        }
+        double i = (r1 * 0.59597799 - g1 * 0.27417610 - b1 * 0.32180189)
+                - (r2 * 0.59597799 - g2 * 0.27417610 - b2 * 0.32180189);
+        double q = (r1 * 0.21147017 - g1 * 0.52261711 + b1 * 0.31114694)
+                - (r2 * 0.21147017 - g2 * 0.52261711 + b2 * 0.31114694);
+        double delta = 0.5053 * y * y + 0.299 * i * i + 0.1957 * q * q;
+        return y1 > y2 ? -delta : delta;
+    }
+
+    private static double blend(int channel, double alpha) {
+        return 255 + (channel - 255) * alpha;
+    }
+}
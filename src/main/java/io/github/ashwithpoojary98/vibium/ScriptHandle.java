@@ -0,0 +1,80 @@
+package io.github.ashwithpoojary98.vibium;
+
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A JavaScript helper installed in the page with
+ * {@link VibeAsync#registerFunction(String, String, Class)}.
+ *
+ * <p>Calls only send the helper name and the arguments; the helper source is
+ * parsed once per realm instead of on every call.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ScriptHandle<Integer> countLinks = vibe.registerFunction("countLinks",
+ *         "(selector) => document.querySelectorAll(selector).length", Integer.class).join();
+ * int links = countLinks.call("a[href]").join();
+ * }</pre>
+ *
+ * @param <T> the type of the helper's result
+ */
+@Getter
+public final class ScriptHandle<T> {
+
+    private final VibeAsync vibe;
+    private final String name;
+    private final Class<T> type;
+
+    /**
+     * The installer sent again when the helper is missing from a realm.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String installer;
+
+    ScriptHandle(VibeAsync vibe, String name, Class<T> type, String installer) {
+        this.vibe = vibe;
+        this.name = name;
+        this.type = type;
+        this.installer = installer;
+    }
+
+    String installer() {
+        return installer;
+    }
+
+    /**
+     * Call the helper in the current browsing context.
+     *
+     * <p>Arguments are encoded as for {@link VibeAsync#evaluateFunction(String, Class, Object...)}.
+     *
+     * @param args the arguments passed to the helper
+     * @return CompletableFuture containing the helper's result
+     */
+    public CompletableFuture<T> call(Object... args) {
+        return vibe.callRegistered(this, args);
+    }
+
+    /**
+     * Call the helper in the current browsing context and wait for the result.
+     *
+     * @param args the arguments passed to the helper
+     * @return the helper's result
+     * @throws VibiumException if the helper throws or the call fails
+     */
+    public T invoke(Object... args) {
+        try {
+            return call(args).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new VibiumException(cause.getMessage(), cause);
+        }
+    }
+}
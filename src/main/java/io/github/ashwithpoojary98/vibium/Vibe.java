@@ -1,11 +1,37 @@
 package io.github.ashwithpoojary98.vibium;
 
+import io.github.ashwithpoojary98.vibium.exception.ElementNotFoundException;
 import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.exception.WaitTimeoutException;
 import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.PublisherIterator;
+import io.github.ashwithpoojary98.vibium.model.ConsoleEntry;
+import io.github.ashwithpoojary98.vibium.model.FillResult;
+import io.github.ashwithpoojary98.vibium.model.NavigationResult;
+import io.github.ashwithpoojary98.vibium.model.ResourceUsage;
+import io.github.ashwithpoojary98.vibium.network.HarRecorder;
+import io.github.ashwithpoojary98.vibium.network.NetworkInterceptor;
+import io.github.ashwithpoojary98.vibium.network.RequestHandler;
+import io.github.ashwithpoojary98.vibium.network.RequestRules;
+import io.github.ashwithpoojary98.vibium.options.ConsoleOptions;
+import io.github.ashwithpoojary98.vibium.options.FillOptions;
 import io.github.ashwithpoojary98.vibium.options.FindOptions;
+import io.github.ashwithpoojary98.vibium.options.HarOptions;
+import io.github.ashwithpoojary98.vibium.options.NavigateOptions;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
+import io.github.ashwithpoojary98.vibium.options.SnapshotOptions;
+import io.github.ashwithpoojary98.vibium.snapshot.DomSnapshot;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Main browser automation interface with synchronous (blocking) API.
@@ -26,6 +52,8 @@ import java.util.concurrent.CompletionException;
  */
 public final class Vibe implements AutoCloseable {
 
+    private static final int STREAM_BATCH_SIZE = 256;
+
     private final VibeAsync async;
 
     /**
@@ -50,11 +78,28 @@ public final class Vibe implements AutoCloseable {
      * Navigate to a URL.
      *
      * @param url the URL to navigate to
+     * @return the navigation ID, final URL and phase timings
      * @throws VibiumException if navigation fails
      */
-    public void go(String url) {
+    public NavigationResult go(String url) {
         try {
-            async.go(url).join();
+            return async.go(url).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Navigate to a URL and wait as configured.
+     *
+     * @param url     the URL to navigate to
+     * @param options when to consider the navigation finished
+     * @return the navigation ID, final URL and phase timings
+     * @throws VibiumException if navigation fails or times out
+     */
+    public NavigationResult go(String url, NavigateOptions options) {
+        try {
+            return async.go(url, options).join();
         } catch (CompletionException e) {
             throw unwrap(e);
         }
@@ -74,6 +119,166 @@ public final class Vibe implements AutoCloseable {
         }
     }
 
+    /**
+     * Capture a screenshot with a clip rectangle, origin or image format.
+     *
+     * @param options the clip, origin and format
+     * @return encoded image data as bytes
+     * @throws VibiumException if screenshot fails
+     */
+    public byte[] screenshot(ScreenshotOptions options) {
+        try {
+            return async.screenshot(options).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Copy the DOM subtree of an element in one round trip, to be queried locally.
+     *
+     * @param rootSelector CSS selector or XPath of the root element, or null for the whole document
+     * @param options      whether to include boxes and text, and the node limit
+     * @return the snapshot
+     * @throws ElementNotFoundException if no element matches
+     */
+    public DomSnapshot snapshot(String rootSelector, SnapshotOptions options) {
+        try {
+            return async.snapshot(rootSelector, options).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Pause this session's requests and pass each one through a handler chain,
+     * e.g. {@link RequestRules} to block images and trackers.
+     *
+     * @param handlers the handler chain, run in order until one resolves the request
+     * @return the running interceptor; close it to stop intercepting
+     * @throws VibiumException if the intercept cannot be added
+     */
+    public NetworkInterceptor intercept(RequestHandler... handlers) {
+        try {
+            return async.intercept(handlers).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Wait until a condition holds in the page.
+     *
+     * @param condition the page state to wait for
+     * @param timeout   maximum time to wait
+     * @throws WaitTimeoutException if the condition does not hold in time
+     * @see VibeAsync#waitFor(Condition, Duration)
+     */
+    public void waitFor(Condition condition, Duration timeout) {
+        try {
+            async.waitFor(condition, timeout).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Wait until a condition holds in the page (default 30 second timeout).
+     *
+     * @param condition the page state to wait for
+     * @throws WaitTimeoutException if the condition does not hold in time
+     */
+    public void waitFor(Condition condition) {
+        try {
+            async.waitFor(condition).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Start keeping this session's recent console messages and JavaScript errors.
+     *
+     * @param options the buffer capacity and minimum level
+     * @throws VibiumException if log events cannot be enabled
+     * @see VibeAsync#captureConsole(ConsoleOptions)
+     */
+    public void captureConsole(ConsoleOptions options) {
+        try {
+            async.captureConsole(options).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Start keeping this session's recent console messages and JavaScript errors.
+     *
+     * @throws VibiumException if log events cannot be enabled
+     */
+    public void captureConsole() {
+        captureConsole(ConsoleOptions.builder().build());
+    }
+
+    /**
+     * Get the console messages and JavaScript errors kept so far, oldest first.
+     *
+     * @return the entries, or an empty list if console capture was not started
+     */
+    public List<ConsoleEntry> consoleEntries() {
+        return async.consoleEntries();
+    }
+
+    /**
+     * Record this session's requests to a HAR file, without response bodies.
+     *
+     * @param file the HAR file to write
+     * @return the running recorder; call {@link HarRecorder#stop()} to close the file
+     * @throws VibiumException if the file cannot be created
+     */
+    public HarRecorder recordHar(Path file) {
+        try {
+            return async.recordHar(file).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Record this session's requests to a HAR file.
+     *
+     * @param file    the HAR file to write
+     * @param options the body capture options
+     * @return the running recorder; call {@link HarRecorder#stop()} to close the file
+     * @throws VibiumException if the file cannot be created
+     * @see VibeAsync#recordHar(Path, HarOptions)
+     */
+    public HarRecorder recordHar(Path file, HarOptions options) {
+        try {
+            return async.recordHar(file, options).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Start capturing frames continuously.
+     *
+     * @param fps    the target frame rate
+     * @param format the image encoding of each frame
+     * @param sink   where frames are written
+     * @return the running screencast; call {@link Screencast#stop()} to finish
+     * @throws VibiumException if the screencast cannot be started
+     * @see VibeAsync#startScreencast(ScreencastOptions, FrameSink)
+     */
+    public Screencast startScreencast(double fps, ScreenshotOptions.Format format, FrameSink sink) {
+        try {
+            return async.startScreencast(fps, format, sink).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
     /**
      * Find an element by CSS selector or XPath.
      *
@@ -135,6 +340,137 @@ public final class Vibe implements AutoCloseable {
         }
     }
 
+    /**
+     * Create a locator for a CSS selector or XPath. Nothing is sent to the
+     * browser until the locator is acted on.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the locator
+     * @see VibeAsync#locator(String)
+     */
+    public Locator locator(String selector) {
+        return new Locator(async.locator(selector));
+    }
+
+    /**
+     * Save the cookies and web storage of this session to a file.
+     *
+     * @param file the state file to write
+     * @throws VibiumException if the state cannot be read or written
+     * @see VibeAsync#saveStorageState(Path)
+     */
+    public void saveStorageState(Path file) {
+        try {
+            async.saveStorageState(file).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Restore cookies and web storage saved by {@link #saveStorageState(Path)}.
+     * Call it before navigating.
+     *
+     * @param file the state file to read
+     * @throws VibiumException if the file cannot be read or the state cannot be set
+     * @see VibeAsync#loadStorageState(Path)
+     */
+    public void loadStorageState(Path file) {
+        try {
+            async.loadStorageState(file).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Fill form fields in one round trip.
+     *
+     * @param fields  values by CSS selector or XPath of the field, filled in iteration order
+     * @param options how long to wait for the fields and whether to type text
+     * @return the fields set and the failures
+     * @throws VibiumException if the page call fails
+     * @see VibeAsync#fill(Map, FillOptions)
+     */
+    public FillResult fill(Map<String, ?> fields, FillOptions options) {
+        try {
+            return async.fill(fields, options).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Fill form fields in one round trip (default options).
+     *
+     * @param fields values by CSS selector or XPath of the field, filled in iteration order
+     * @return the fields set and the failures
+     * @throws VibiumException if the page call fails
+     */
+    public FillResult fill(Map<String, ?> fields) {
+        return fill(fields, FillOptions.builder().build());
+    }
+
+    /**
+     * Perform a sequence of pointer, keyboard and wheel input in one command.
+     *
+     * @param actions the input steps
+     * @throws VibiumException if the browser rejects the actions
+     * @see VibeAsync#perform(Actions)
+     */
+    public void perform(Actions actions) {
+        try {
+            async.perform(actions).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Release every key and button still pressed by earlier actions.
+     *
+     * @throws VibiumException if the operation fails
+     */
+    public void releaseActions() {
+        try {
+            async.releaseActions().join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Find all elements matching a CSS selector or XPath in one round trip.
+     *
+     * <p>Does not wait: returns an empty list if nothing matches.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the matching elements in document order
+     * @throws VibiumException if the operation fails
+     */
+    public List<Element> findAll(String selector) {
+        return findAll(selector, 0, -1);
+    }
+
+    /**
+     * Find a page of the elements matching a CSS selector or XPath.
+     *
+     * @param selector CSS selector or XPath expression
+     * @param offset   number of matches to skip
+     * @param limit    maximum number of elements to return (negative for all)
+     * @return the matching elements in document order
+     * @throws VibiumException if the operation fails
+     */
+    public List<Element> findAll(String selector, int offset, int limit) {
+        try {
+            return async.findAll(selector, offset, limit).join().stream()
+                    .map(Element::new)
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
     /**
      * Evaluate JavaScript in the page context.
      *
@@ -167,6 +503,97 @@ public final class Vibe implements AutoCloseable {
         }
     }
 
+    /**
+     * Call a JavaScript function in the page context with arguments.
+     *
+     * @param functionDeclaration a JavaScript function expression
+     * @param type                the type to convert the result to
+     * @param args                the arguments passed to the function
+     * @param <T>                 the result type
+     * @return the result
+     * @throws VibiumException if the function throws or the call fails
+     * @see VibeAsync#evaluateFunction(String, Class, Object...)
+     */
+    public <T> T evaluateFunction(String functionDeclaration, Class<T> type, Object... args) {
+        try {
+            return async.evaluateFunction(functionDeclaration, type, args).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Stream the items produced by a JavaScript function.
+     *
+     * <p>Items are fetched lazily in batches of {@value #STREAM_BATCH_SIZE} as the
+     * stream is consumed. Close the stream to stop the page function early.
+     *
+     * @param function a JavaScript function expression {@code (emit, ...args) => ...}
+     * @param type     the type to convert each item to
+     * @param args     extra arguments passed to the function
+     * @param <T>      the item type
+     * @return a sequential stream of the items
+     * @throws VibiumException from the stream's terminal operation if the function fails
+     * @see VibeAsync#stream(String, Class, Object...)
+     */
+    public <T> Stream<T> stream(String function, Class<T> type, Object... args) {
+        PublisherIterator<T> items = new PublisherIterator<>(async.stream(function, type, args), STREAM_BATCH_SIZE);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false)
+                .onClose(items::close);
+    }
+
+    /**
+     * Register a JavaScript helper that can be called by name.
+     *
+     * @param name   the helper name
+     * @param source a JavaScript function expression, e.g. {@code (a, b) => a + b}
+     * @param type   the type to convert the helper's result to
+     * @param <T>    the result type
+     * @return a handle to call the helper, e.g. with {@link ScriptHandle#invoke(Object...)}
+     * @throws VibiumException if the helper cannot be installed
+     * @see VibeAsync#registerFunction(String, String, Class)
+     */
+    public <T> ScriptHandle<T> registerFunction(String name, String source, Class<T> type) {
+        try {
+            return async.registerFunction(name, source, type).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Reset the session to a clean state without relaunching the browser.
+     *
+     * <p>Closes all tabs and starts over in a fresh tab with empty cookies and storage.
+     * Console capture, HAR recordings, interceptors and registered functions
+     * carry over to the fresh tab; a loaded storage state does not.
+     *
+     * @throws VibiumException if the reset fails
+     */
+    public void reset() {
+        try {
+            async.reset().join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Open an isolated session (separate cookies and storage) in the same browser.
+     *
+     * <p>Quitting the returned session closes only its tabs, not the browser.
+     *
+     * @return the new session
+     * @throws VibiumException if the session cannot be created
+     */
+    public Vibe newIsolatedSession() {
+        try {
+            return new Vibe(async.newIsolatedSession().join());
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
     /**
      * Get the underlying BiDi client for advanced operations.
      *
@@ -176,6 +603,15 @@ public final class Vibe implements AutoCloseable {
         return async.getClient();
     }
 
+    /**
+     * Sample CPU time, resident memory and open files of the browser process tree.
+     *
+     * @return the current usage, or null when connected to an existing browser
+     */
+    public ResourceUsage getResourceUsage() {
+        return async.getResourceUsage();
+    }
+
     /**
      * Check if the browser is still connected.
      *
@@ -205,6 +641,7 @@ public final class Vibe implements AutoCloseable {
      */
     private RuntimeException unwrap(CompletionException e) {
         Throwable cause = e.getCause();
+        async.dumpConsole(cause);
         if (cause instanceof RuntimeException) {
             return (RuntimeException) cause;
         }
@@ -3,19 +3,65 @@ package io.github.ashwithpoojary98.vibium;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.ashwithpoojary98.vibium.exception.ElementNotFoundException;
+import io.github.ashwithpoojary98.vibium.exception.BiDiException;
 import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.exception.WaitTimeoutException;
 import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.BrowsingContextCache;
 import io.github.ashwithpoojary98.vibium.internal.ClickerProcess;
+import io.github.ashwithpoojary98.vibium.internal.ConsoleCollector;
+import io.github.ashwithpoojary98.vibium.internal.LocalValues;
+import io.github.ashwithpoojary98.vibium.internal.NavigationTracker;
+import io.github.ashwithpoojary98.vibium.internal.PageScripts;
+import io.github.ashwithpoojary98.vibium.internal.RemoteValues;
+import io.github.ashwithpoojary98.vibium.internal.Screenshots;
+import io.github.ashwithpoojary98.vibium.internal.ScriptStream;
+import io.github.ashwithpoojary98.vibium.internal.StorageState;
 import io.github.ashwithpoojary98.vibium.model.Box;
-import io.github.ashwithpoojary98.vibium.model.BrowsingContextTree;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import io.github.ashwithpoojary98.vibium.model.ConsoleEntry;
 import io.github.ashwithpoojary98.vibium.model.ElementInfo;
+import io.github.ashwithpoojary98.vibium.model.FillResult;
+import io.github.ashwithpoojary98.vibium.model.NavigationResult;
+import io.github.ashwithpoojary98.vibium.model.ResourceUsage;
+import io.github.ashwithpoojary98.vibium.network.HarRecorder;
+import io.github.ashwithpoojary98.vibium.network.NetworkInterceptor;
+import io.github.ashwithpoojary98.vibium.network.RequestHandler;
+import io.github.ashwithpoojary98.vibium.network.RequestRules;
+import io.github.ashwithpoojary98.vibium.options.ConsoleOptions;
+import io.github.ashwithpoojary98.vibium.options.FillOptions;
 import io.github.ashwithpoojary98.vibium.options.FindOptions;
+import io.github.ashwithpoojary98.vibium.options.HarOptions;
+import io.github.ashwithpoojary98.vibium.options.NavigateOptions;
+import io.github.ashwithpoojary98.vibium.options.ScreencastOptions;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
+import io.github.ashwithpoojary98.vibium.options.SnapshotOptions;
+import io.github.ashwithpoojary98.vibium.snapshot.DomSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
 
 /**
  * Async browser automation interface using CompletableFuture.
@@ -39,13 +85,45 @@ public final class VibeAsync implements AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(VibeAsync.class);
     private static final Duration DEFAULT_FIND_TIMEOUT = Duration.ofSeconds(30);
+    private static final String DEFAULT_USER_CONTEXT = "default";
+    private static final Duration WAIT_GRACE = Duration.ofSeconds(5);
+    private static final int MAX_WAIT_ATTEMPTS = 5;
+    /** BiDi error messages for a script whose realm was destroyed by a navigation, lowercase */
+    private static final List<String> REALM_DESTROYED_ERRORS = List.of(
+            "no such realm",
+            "execution context was destroyed",
+            "cannot find context with specified id",
+            "inspected target navigated or closed");
 
     private final BiDiClient client;
     private final ClickerProcess process;
+    private final BrowsingContextCache contexts;
     private final Gson gson = new Gson();
 
+    /** Preload script IDs of registered functions, by function name */
+    private final Map<String, String> registeredFunctions = new ConcurrentHashMap<>();
+
+    /** Installer declarations of registered functions, by function name */
+    private final Map<String, String> functionInstallers = new ConcurrentHashMap<>();
+
+    /** HAR recorders and interceptors started for this session's tab, moved along by {@link #reset()} */
+    private final Set<HarRecorder> recorders = ConcurrentHashMap.newKeySet();
+    private final Set<NetworkInterceptor> interceptors = ConcurrentHashMap.newKeySet();
+
     private volatile String context;
 
+    /** User context owning this session's tabs, or null for the browser's default one */
+    private volatile String userContext;
+
+    /** Console collector started by {@link #captureConsole(ConsoleOptions)}, or null */
+    private volatile ConsoleCollector console;
+
+    /** Preload script restoring web storage, installed by {@link #loadStorageState(Path)}, or null */
+    private volatile String storageScript;
+
+    /** Whether this session shares the connection of another one (see {@link #newIsolatedSession()}) */
+    private final boolean isolated;
+
     /**
      * Create a new VibeAsync instance.
      *
@@ -53,8 +131,7 @@ public final class VibeAsync implements AutoCloseable {
      * @param process the browser process (may be null if connecting to existing browser)
      */
     public VibeAsync(BiDiClient client, ClickerProcess process) {
-        this.client = client;
-        this.process = process;
+        this(client, process, null, null, false, new BrowsingContextCache(client));
     }
 
     /**
@@ -65,49 +142,158 @@ public final class VibeAsync implements AutoCloseable {
      * @param context the browsing context ID
      */
     public VibeAsync(BiDiClient client, ClickerProcess process, String context) {
+        this(client, process, context, null, false, new BrowsingContextCache(client));
+    }
+
+    /**
+     * Create a VibeAsync instance sharing a context tree that is already in use,
+     * e.g. by a browser-wide {@link NetworkInterceptor}.
+     *
+     * @param client   the BiDi client
+     * @param process  the browser process
+     * @param contexts the context tree cache of the connection
+     */
+    VibeAsync(BiDiClient client, ClickerProcess process, BrowsingContextCache contexts) {
+        this(client, process, null, null, false, contexts);
+    }
+
+    private VibeAsync(BiDiClient client, ClickerProcess process, String context,
+                      String userContext, boolean isolated, BrowsingContextCache contexts) {
         this.client = client;
+        this.contexts = contexts;
         this.process = process;
         this.context = context;
+        this.userContext = userContext;
+        this.isolated = isolated;
     }
 
     /**
-     * Get or detect the browsing context ID.
+     * Get the current browsing context ID without resolving it.
+     *
+     * @return the context ID, or null if it has not been resolved yet
      */
     String getContext() {
-        if (context != null) {
-            return context;
-        }
-
-        log.debug("Fetching browsing context tree");
-        JsonObject result = client.sendCommand("browsingContext.getTree", null).join();
-        BrowsingContextTree tree = gson.fromJson(result, BrowsingContextTree.class);
+        return context;
+    }
 
-        if (tree.getContexts() == null || tree.getContexts().isEmpty()) {
-            throw new VibiumException("No browsing context available");
+    /**
+     * Get or detect the browsing context ID without blocking.
+     *
+     * <p>When no context was assigned, the first top-level context of this
+     * session's user context is taken from the {@link BrowsingContextCache}.
+     */
+    CompletableFuture<String> contextId() {
+        String current = context;
+        if (current != null) {
+            return CompletableFuture.completedFuture(current);
         }
 
-        context = tree.getContexts().get(0).getContext();
-        log.debug("Using browsing context: {}", context);
-        return context;
+        return contexts.ready().thenApply(v -> {
+            String owner = userContext != null ? userContext : DEFAULT_USER_CONTEXT;
+            BrowsingContextInfo info = contexts.getTopLevelContexts().stream()
+                    .filter(ctx -> owner.equals(
+                            Objects.requireNonNullElse(ctx.getUserContext(), DEFAULT_USER_CONTEXT)))
+                    .findFirst()
+                    .orElseThrow(() -> new VibiumException("No browsing context available"));
+
+            synchronized (this) {
+                if (context == null) {
+                    context = info.getContext();
+                    log.debug("Using browsing context: {}", context);
+                }
+                return context;
+            }
+        });
     }
 
     /**
      * Navigate to a URL.
      *
+     * <p>Waits for the page to load ({@link NavigateOptions.WaitUntil#COMPLETE}).
+     *
      * @param url the URL to navigate to
-     * @return CompletableFuture that completes when navigation is done
+     * @return CompletableFuture containing the navigation ID, final URL and phase timings
      */
-    public CompletableFuture<Void> go(String url) {
-        String contextId = getContext();
-        log.debug("Navigating to: {}", url);
+    public CompletableFuture<NavigationResult> go(String url) {
+        return go(url, NavigateOptions.builder().build());
+    }
 
-        JsonObject params = new JsonObject();
-        params.addProperty("context", contextId);
-        params.addProperty("url", url);
-        params.addProperty("wait", "complete");
+    /**
+     * Navigate to a URL and wait as configured.
+     *
+     * <p>With {@link NavigateOptions.WaitUntil#NETWORK_IDLE}, requests of the
+     * context and its frames are tracked from before the navigation starts, and the navigation
+     * finishes once the network stayed quiet after {@code load}.
+     *
+     * @param url     the URL to navigate to
+     * @param options when to consider the navigation finished
+     * @return CompletableFuture containing the navigation ID, final URL and phase timings
+     */
+    public CompletableFuture<NavigationResult> go(String url, NavigateOptions options) {
+        boolean networkIdle = options.getWaitUntil() == NavigateOptions.WaitUntil.NETWORK_IDLE;
+        // One budget for the navigation and the idle wait after it
+        long deadline = System.nanoTime() + options.getTimeout().toNanos();
+        // Frame requests are attributed to the tab through the context tree
+        CompletableFuture<Void> tree = networkIdle ? contexts.ready() : CompletableFuture.completedFuture(null);
 
-        return client.sendCommand("browsingContext.navigate", params)
-                .thenApply(result -> null);
+        return contextId().thenCompose(contextId -> tree
+                .thenCompose(v -> NavigationTracker.start(client, contextId, contexts, networkIdle,
+                        options.getQuietPeriod(), options.getMaxInflight()))
+                .thenCompose(tracker -> {
+                    log.debug("Navigating to: {} (wait: {})", url, options.getWaitUntil());
+
+                    JsonObject params = new JsonObject();
+                    params.addProperty("context", contextId);
+                    params.addProperty("url", url);
+                    params.addProperty("wait", readinessState(options.getWaitUntil()));
+
+                    return client.sendCommand("browsingContext.navigate", params, remaining(deadline))
+                            .thenCompose(result -> {
+                                String navigation = result.has("navigation") && !result.get("navigation").isJsonNull()
+                                        ? result.get("navigation").getAsString()
+                                        : null;
+                                String finalUrl = result.has("url") ? result.get("url").getAsString() : url;
+                                if (!networkIdle) {
+                                    return CompletableFuture.completedFuture(tracker.result(navigation, finalUrl));
+                                }
+                                return awaitNetworkIdle(tracker, url, deadline, options.getTimeout())
+                                        .thenApply(v -> tracker.result(navigation, finalUrl));
+                            })
+                            .whenComplete((result, error) -> tracker.close());
+                }));
+    }
+
+    /**
+     * Wait for network idle with the time left until the navigation deadline.
+     */
+    private static CompletableFuture<Void> awaitNetworkIdle(NavigationTracker tracker, String url,
+                                                            long deadline, Duration timeout) {
+        return tracker.awaitNetworkIdle()
+                .orTimeout(remaining(deadline).toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        throw new WaitTimeoutException("network idle after navigating to " + url, timeout);
+                    }
+                    throw error instanceof CompletionException ? (CompletionException) error
+                            : new CompletionException(error);
+                });
+    }
+
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+
+    private static String readinessState(NavigateOptions.WaitUntil waitUntil) {
+        switch (waitUntil) {
+            case NONE:
+                return "none";
+            case INTERACTIVE:
+                return "interactive";
+            default:
+                return "complete";
+        }
     }
 
     /**
@@ -116,19 +302,168 @@ public final class VibeAsync implements AutoCloseable {
      * @return CompletableFuture containing PNG image data as bytes
      */
     public CompletableFuture<byte[]> screenshot() {
-        String contextId = getContext();
-        log.debug("Capturing screenshot");
+        return screenshot(ScreenshotOptions.builder().build());
+    }
 
-        JsonObject params = new JsonObject();
-        params.addProperty("context", contextId);
+    /**
+     * Capture a screenshot with a clip rectangle, origin or image format.
+     *
+     * <p>Clipping to the region of interest and using JPEG or WebP reduces the
+     * encode time and the size of the transferred image considerably.
+     *
+     * @param options the clip, origin and format
+     * @return CompletableFuture containing the encoded image bytes
+     * @see ElementAsync#screenshot()
+     */
+    public CompletableFuture<byte[]> screenshot(ScreenshotOptions options) {
+        return contextId().thenCompose(contextId -> {
+            log.debug("Capturing screenshot ({})", options.getFormat());
+            return Screenshots.capture(client, contextId, options);
+        });
+    }
 
-        return client.sendCommand("browsingContext.captureScreenshot", params)
-                .thenApply(result -> {
-                    String data = result.get("data").getAsString();
-                    return Base64.getDecoder().decode(data);
+    /**
+     * Pause this session's requests and pass each one through a handler chain,
+     * e.g. {@link RequestRules} to block images and trackers.
+     *
+     * <p>Requests no handler resolves continue unchanged. Close the returned
+     * interceptor to stop intercepting.
+     *
+     * @param handlers the handler chain, run in order until one resolves the request
+     * @return CompletableFuture containing the running interceptor
+     */
+    public CompletableFuture<NetworkInterceptor> intercept(RequestHandler... handlers) {
+        return contextId().thenCompose(contextId -> contexts.ready().thenCompose(v -> {
+            log.debug("Intercepting requests in {} with {} handlers", contextId, handlers.length);
+            return NetworkInterceptor.start(client, contexts, List.of(contextId), Arrays.asList(handlers));
+        })).thenApply(interceptor -> {
+            interceptors.removeIf(NetworkInterceptor::isClosed);
+            interceptors.add(interceptor);
+            return interceptor;
+        });
+    }
+
+    /**
+     * Start keeping this session's recent console messages and JavaScript errors.
+     *
+     * @return CompletableFuture that completes once messages are captured
+     * @see #captureConsole(ConsoleOptions)
+     */
+    public CompletableFuture<Void> captureConsole() {
+        return captureConsole(ConsoleOptions.builder().build());
+    }
+
+    /**
+     * Start keeping this session's recent console messages and JavaScript
+     * errors, including those of its frames, replacing any previous capture.
+     *
+     * <p>Entries go to a fixed-size ring buffer that overwrites the oldest
+     * entries, so pages that log heavily cost no extra memory. When a
+     * {@link Vibe} call fails, the kept entries are logged unless disabled with
+     * {@link ConsoleOptions#isDumpOnFailure()}.
+     *
+     * @param options the buffer capacity and minimum level
+     * @return CompletableFuture that completes once messages are captured
+     */
+    public CompletableFuture<Void> captureConsole(ConsoleOptions options) {
+        return contextId()
+                .thenCompose(contextId -> contexts.ready()
+                        .thenCompose(v -> ConsoleCollector.start(client, contextId, contexts, options)))
+                .thenAccept(collector -> {
+                    ConsoleCollector previous = console;
+                    console = collector;
+                    if (previous != null) {
+                        previous.close();
+                    }
                 });
     }
 
+    /**
+     * Get the console messages and JavaScript errors kept so far, oldest first.
+     *
+     * @return the entries, or an empty list if {@link #captureConsole()} was not called
+     */
+    public List<ConsoleEntry> consoleEntries() {
+        ConsoleCollector collector = console;
+        return collector == null ? List.of() : collector.getEntries();
+    }
+
+    /**
+     * Log the kept console entries after a failure.
+     *
+     * @param failure the failure
+     */
+    void dumpConsole(Throwable failure) {
+        ConsoleCollector collector = console;
+        if (collector != null) {
+            collector.dump(failure);
+        }
+    }
+
+    /**
+     * Record this session's requests to a HAR file, without response bodies.
+     *
+     * @param file the HAR file to write
+     * @return CompletableFuture containing the running recorder
+     * @see #recordHar(Path, HarOptions)
+     */
+    public CompletableFuture<HarRecorder> recordHar(Path file) {
+        return recordHar(file, HarOptions.builder().build());
+    }
+
+    /**
+     * Record this session's requests, including its frames, to a HAR file.
+     *
+     * <p>Entries are streamed to the file as requests finish, so recordings of
+     * any length use constant memory. Call {@link HarRecorder#stop()} to close
+     * the file.
+     *
+     * @param file    the HAR file to write
+     * @param options the body capture options
+     * @return CompletableFuture containing the running recorder
+     */
+    public CompletableFuture<HarRecorder> recordHar(Path file, HarOptions options) {
+        return contextId().thenCompose(contextId -> HarRecorder.start(client, contextId, file, options))
+                .thenApply(recorder -> {
+                    recorders.removeIf(HarRecorder::isStopped);
+                    recorders.add(recorder);
+                    return recorder;
+                });
+    }
+
+    /**
+     * Start capturing frames continuously.
+     *
+     * @param fps    the target frame rate
+     * @param format the image encoding of each frame
+     * @param sink   where frames are written, e.g. {@link FrameSink#mjpeg(java.nio.file.Path)}
+     * @return CompletableFuture containing the running screencast
+     * @see #startScreencast(ScreencastOptions, FrameSink)
+     */
+    public CompletableFuture<Screencast> startScreencast(double fps, ScreenshotOptions.Format format, FrameSink sink) {
+        return startScreencast(ScreencastOptions.builder().fps(fps).format(format).build(), sink);
+    }
+
+    /**
+     * Start capturing frames continuously.
+     *
+     * <p>At most {@link ScreencastOptions#getMaxInflight()} captures are pending
+     * at any time; frames that would exceed it are dropped rather than delayed,
+     * so the pipeline never falls behind. Call {@link Screencast#stop()} to
+     * finish writing and get the achieved frame rate.
+     *
+     * @param options the frame rate, format and in-flight limit
+     * @param sink    where frames are written
+     * @return CompletableFuture containing the running screencast
+     */
+    public CompletableFuture<Screencast> startScreencast(ScreencastOptions options, FrameSink sink) {
+        return contextId().thenApply(contextId -> {
+            Screencast screencast = new Screencast(client, contextId, options, sink);
+            screencast.start();
+            return screencast;
+        });
+    }
+
     /**
      * Find an element by CSS selector or XPath.
      *
@@ -145,39 +480,24 @@ public final class VibeAsync implements AutoCloseable {
     /**
      * Find an element by CSS selector or XPath with custom timeout.
      *
+     * <p>The page waits for the first match and returns it together with its
+     * shared reference in a single {@code script.callFunction}, so later actions
+     * address exactly the node that was found.
+     *
      * @param selector CSS selector or XPath expression
      * @param timeout  maximum time to wait for the element
-     * @return CompletableFuture containing an ElementAsync instance
+     * @return CompletableFuture containing an ElementAsync instance, failing with
+     *         {@link ElementNotFoundException} if nothing matches in time
      */
     public CompletableFuture<ElementAsync> find(String selector, Duration timeout) {
-        String contextId = getContext();
         log.debug("Finding element: {} (timeout={}ms)", selector, timeout.toMillis());
-
-        JsonObject params = new JsonObject();
-        params.addProperty("context", contextId);
-        params.addProperty("selector", selector);
-        params.addProperty("timeout", timeout.toMillis());
-
-        return client.sendCommand("vibium:find", params)
-                .thenApply(result -> {
-                    log.trace("vibium:find result: {}", result);
-
-                    JsonObject boxData = result.getAsJsonObject("box");
-                    Box box = new Box(
-                            boxData.get("x").getAsDouble(),
-                            boxData.get("y").getAsDouble(),
-                            boxData.get("width").getAsDouble(),
-                            boxData.get("height").getAsDouble()
-                    );
-
-                    ElementInfo info = ElementInfo.builder()
-                            .tagName(result.get("tag").getAsString())
-                            .textContent(result.get("text").getAsString())
-                            .box(box)
-                            .build();
-
-                    return new ElementAsync(client, contextId, selector, info);
-                });
+        return locate(locator(selector), timeout, 1).thenApply(elements -> {
+            if (elements.isEmpty()) {
+                throw new ElementNotFoundException(selector);
+            }
+            ElementAsync found = elements.get(0);
+            return new ElementAsync(client, found.getContextId(), selector, found.getInfo());
+        });
     }
 
     /**
@@ -191,6 +511,361 @@ public final class VibeAsync implements AutoCloseable {
         return find(selector, options.getTimeout());
     }
 
+    /**
+     * Wait until a condition holds in the page (default 30 second timeout).
+     *
+     * @param condition the page state to wait for
+     * @return CompletableFuture that completes once the condition holds
+     * @see #waitFor(Condition, Duration)
+     */
+    public CompletableFuture<Void> waitFor(Condition condition) {
+        return waitFor(condition, DEFAULT_FIND_TIMEOUT);
+    }
+
+    /**
+     * Wait until a condition holds in the page.
+     *
+     * <p>The condition is watched inside the page, which re-checks it after DOM
+     * changes and answers as soon as it holds; only one command is in flight
+     * for the whole wait. If a navigation replaces the document meanwhile, the
+     * watcher is restarted in the new document with the remaining time.
+     *
+     * @param condition the page state to wait for
+     * @param timeout   maximum time to wait
+     * @return CompletableFuture that completes once the condition holds, or fails
+     *         with {@link WaitTimeoutException}
+     */
+    public CompletableFuture<Void> waitFor(Condition condition, Duration timeout) {
+        return contextId().thenCompose(contextId -> {
+            log.debug("Waiting for {} (timeout={}ms)", condition, timeout.toMillis());
+            return awaitCondition(contextId, condition, timeout, System.nanoTime() + timeout.toNanos());
+        });
+    }
+
+    private CompletableFuture<Void> awaitCondition(String contextId, Condition condition, Duration timeout,
+                                                   long deadline) {
+        return callWaiting(contextId, PageScripts.WAIT_FOR, condition, deadline, 1,
+                remaining -> new JsonObject[]{LocalValues.of(condition.toJson()), LocalValues.of(remaining)})
+                .thenCompose(value -> Boolean.TRUE.equals(RemoteValues.decode(value, Boolean.class))
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : CompletableFuture.<Void>failedFuture(new WaitTimeoutException(condition.toString(), timeout)));
+    }
+
+    /**
+     * Call a page function that waits inside the page, restarting it in the new
+     * document with the remaining time if a navigation replaces the page.
+     *
+     * @param subject   what is waited for, for logging
+     * @param arguments the function arguments, given the remaining milliseconds
+     * @return CompletableFuture containing the function's result value
+     */
+    private CompletableFuture<JsonObject> callWaiting(String contextId, String declaration, Object subject,
+                                                      long deadline, int attempt,
+                                                      LongFunction<JsonObject[]> arguments) {
+        long remaining = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        JsonObject params = PageScripts.callParams(contextId, declaration, arguments.apply(remaining));
+
+        return client.sendCommand("script.callFunction", params, Duration.ofMillis(remaining).plus(WAIT_GRACE))
+                .thenApply(RemoteValues::result)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(value);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    // The document was replaced while waiting: watch the new one
+                    if (isRealmDestroyed(cause) && attempt < MAX_WAIT_ATTEMPTS
+                            && deadline - System.nanoTime() > 0) {
+                        log.debug("Restarting wait for {} after: {}", subject, cause.getMessage());
+                        return callWaiting(contextId, declaration, subject, deadline, attempt + 1, arguments);
+                    }
+                    return CompletableFuture.<JsonObject>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Whether a command failed because a navigation destroyed the realm it ran in.
+     * Other errors, such as invalid arguments or a missing frame, are not retried.
+     */
+    private static boolean isRealmDestroyed(Throwable error) {
+        if (!(error instanceof BiDiException) || error.getMessage() == null) {
+            return false;
+        }
+        String message = error.getMessage().toLowerCase(Locale.ROOT);
+        return REALM_DESTROYED_ERRORS.stream().anyMatch(message::contains);
+    }
+
+    /**
+     * Fill form fields in one round trip (default options).
+     *
+     * @param fields values by CSS selector or XPath of the field
+     * @return CompletableFuture containing the fields set and the failures
+     * @see #fill(Map, FillOptions)
+     */
+    public CompletableFuture<FillResult> fill(Map<String, ?> fields) {
+        return fill(fields, FillOptions.builder().build());
+    }
+
+    /**
+     * Fill form fields in one round trip.
+     *
+     * <p>All fields are resolved and set by a single page call, which waits for
+     * missing fields as {@link #find(String)} would. Text controls take any
+     * value as a string; selects take an option value or label, or a list for
+     * multiple selects; checkboxes take a boolean; radio buttons take the
+     * value of the button to pick in their group. Listeners see {@code input}
+     * and {@code change} events as for user input. With
+     * {@link FillOptions#isKeystrokes()}, text fields are typed into with real
+     * key events, all in one more {@code input.performActions} command.
+     *
+     * <p>A field that cannot be set does not stop the others; it is reported in
+     * {@link FillResult#getFailures()}.
+     *
+     * @param fields  values by CSS selector or XPath of the field, filled in iteration order
+     * @param options how long to wait for the fields and whether to type text
+     * @return CompletableFuture containing the fields set and the failures
+     */
+    public CompletableFuture<FillResult> fill(Map<String, ?> fields, FillOptions options) {
+        List<String> selectors = new ArrayList<>(fields.keySet());
+        JsonArray entries = new JsonArray();
+        fields.forEach((selector, value) -> {
+            JsonArray entry = new JsonArray();
+            entry.add(selector);
+            entry.add(gson.toJsonTree(value));
+            entries.add(entry);
+        });
+        String json = entries.toString();
+
+        return contextId().thenCompose(contextId -> {
+            log.debug("Filling {} fields (keystrokes={})", selectors.size(), options.isKeystrokes());
+            long deadline = System.nanoTime() + options.getTimeout().toNanos();
+            return callWaiting(contextId, PageScripts.FILL, selectors.size() + " fields", deadline, 1,
+                    remaining -> new JsonObject[]{
+                            LocalValues.of(json), LocalValues.of(remaining), LocalValues.of(options.isKeystrokes())})
+                    .thenCompose(value -> {
+                        JsonArray items = value.getAsJsonArray("value");
+                        JsonArray results = JsonParser.parseString(
+                                items.get(0).getAsJsonObject().get("value").getAsString()).getAsJsonArray();
+
+                        List<String> filled = new ArrayList<>();
+                        Map<String, String> failures = new LinkedHashMap<>();
+                        Actions typing = new Actions();
+                        int typed = 0;
+                        for (int i = 0; i < results.size(); i++) {
+                            String selector = selectors.get(i);
+                            String error = results.get(i).isJsonNull() ? null : results.get(i).getAsString();
+                            if (PageScripts.FILL_TYPE.equals(error)) {
+                                String sharedId = RemoteValues.sharedId(items.get(++typed).getAsJsonObject());
+                                ElementAsync field = new ElementAsync(client, contextId, selector,
+                                        ElementInfo.builder().sharedId(sharedId).build());
+                                Object text = fields.get(selector);
+                                typing.sendKeys(field, text == null ? "" : String.valueOf(text));
+                                error = null;
+                            }
+                            if (error == null) {
+                                filled.add(selector);
+                            } else {
+                                failures.put(selector, error);
+                            }
+                        }
+                        FillResult result = new FillResult(filled, failures);
+                        return typing.isEmpty()
+                                ? CompletableFuture.completedFuture(result)
+                                : performActions(contextId, typing.toJson()).thenApply(v -> result);
+                    });
+        });
+    }
+
+    /**
+     * Create a locator for a CSS selector or XPath.
+     *
+     * <p>Creating and refining a locator does not touch the browser. The whole
+     * chain is resolved by a single page call each time the locator is acted
+     * on, so a locator can be kept and reused across navigations and re-renders.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return the locator
+     * @see LocatorAsync
+     */
+    public LocatorAsync locator(String selector) {
+        return LocatorAsync.root(this, selector);
+    }
+
+    /**
+     * Perform a sequence of pointer, keyboard and wheel input in one command.
+     *
+     * @param actions the input steps
+     * @return CompletableFuture that completes when all steps were dispatched
+     */
+    public CompletableFuture<Void> perform(Actions actions) {
+        if (actions.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        JsonArray sources = actions.toJson();
+        return contextId().thenCompose(contextId -> performActions(contextId, sources));
+    }
+
+    private CompletableFuture<Void> performActions(String contextId, JsonArray sources) {
+        JsonObject params = new JsonObject();
+        params.addProperty("context", contextId);
+        params.add("actions", sources);
+
+        return client.sendCommand("input.performActions", params)
+                .thenApply(result -> null);
+    }
+
+    /**
+     * Release every key and button still pressed by earlier actions.
+     *
+     * @return CompletableFuture that completes when the input state is reset
+     */
+    public CompletableFuture<Void> releaseActions() {
+        return contextId().thenCompose(contextId -> {
+            JsonObject params = new JsonObject();
+            params.addProperty("context", contextId);
+
+            return client.sendCommand("input.releaseActions", params)
+                    .thenApply(result -> null);
+        });
+    }
+
+    /**
+     * Resolve a locator chain in the current page.
+     *
+     * @param locator the locator
+     * @param timeout how long to wait for a first match, or zero not to wait
+     * @param limit   maximum number of elements to return (negative for all)
+     * @return CompletableFuture containing the matches in document order
+     */
+    CompletableFuture<List<ElementAsync>> locate(LocatorAsync locator, Duration timeout, int limit) {
+        return contextId().thenCompose(contextId -> {
+            log.debug("Resolving {} (timeout={}ms)", locator, timeout.toMillis());
+            String steps = locator.toJson();
+            if (timeout.isZero()) {
+                JsonObject params = PageScripts.callParams(contextId, PageScripts.LOCATE,
+                        LocalValues.of(steps), LocalValues.of(0), LocalValues.of(limit));
+                return client.sendCommand("script.callFunction", params)
+                        .thenApply(result -> decodeElements(contextId, RemoteValues.result(result)));
+            }
+            return callWaiting(contextId, PageScripts.LOCATE, locator, System.nanoTime() + timeout.toNanos(), 1,
+                    remaining -> new JsonObject[]{
+                            LocalValues.of(steps), LocalValues.of(Math.max(1, remaining)), LocalValues.of(limit)})
+                    .thenApply(value -> decodeElements(contextId, value));
+        });
+    }
+
+    /**
+     * Count the current matches of a locator chain without transferring them.
+     *
+     * @param locator the locator
+     * @return CompletableFuture containing the number of matches
+     */
+    CompletableFuture<Integer> countLocated(LocatorAsync locator) {
+        return contextId().thenCompose(contextId -> {
+            JsonObject params = PageScripts.callParams(contextId, PageScripts.LOCATE,
+                    LocalValues.of(locator.toJson()), LocalValues.of(0), LocalValues.of(0));
+            return client.sendCommand("script.callFunction", params)
+                    .thenApply(result -> summary(RemoteValues.result(result)).get("total").getAsInt());
+        });
+    }
+
+    /**
+     * Find all elements matching a CSS selector or XPath.
+     *
+     * <p>All matches are resolved in a single round trip. Unlike {@link #find(String)},
+     * this does not wait: an empty list is returned if nothing matches.
+     *
+     * @param selector CSS selector or XPath expression
+     * @return CompletableFuture containing the matching elements in document order
+     */
+    public CompletableFuture<List<ElementAsync>> findAll(String selector) {
+        return findAll(selector, 0, -1);
+    }
+
+    /**
+     * Find a page of the elements matching a CSS selector or XPath.
+     *
+     * @param selector CSS selector or XPath expression
+     * @param offset   number of matches to skip
+     * @param limit    maximum number of elements to return (negative for all)
+     * @return CompletableFuture containing the matching elements in document order
+     */
+    public CompletableFuture<List<ElementAsync>> findAll(String selector, int offset, int limit) {
+        return contextId().thenCompose(contextId -> {
+            log.debug("Finding all elements: {} (offset={}, limit={})", selector, offset, limit);
+
+            JsonObject params = PageScripts.callParams(contextId, PageScripts.FIND_ALL,
+                    LocalValues.of(selector), LocalValues.of(offset), LocalValues.of(limit));
+
+            return client.sendCommand("script.callFunction", params)
+                    .thenApply(result -> decodeElements(contextId, RemoteValues.result(result)));
+        });
+    }
+
+    /**
+     * Decode the {@link PageScripts#FIND_ALL} and {@link PageScripts#LOCATE} result: a JSON
+     * summary followed by the nodes.
+     */
+    private List<ElementAsync> decodeElements(String contextId, JsonObject value) {
+        JsonArray items = value.getAsJsonArray("value");
+        JsonObject summary = summary(value);
+        JsonArray tags = summary.getAsJsonArray("tags");
+        JsonArray rows = summary.getAsJsonArray("rows");
+
+        List<ElementAsync> elements = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            JsonArray row = rows.get(i).getAsJsonArray();
+            ElementInfo info = ElementInfo.builder()
+                    .tagName(tags.get(row.get(0).getAsInt()).getAsString())
+                    .textContent(row.get(1).getAsString())
+                    .box(new Box(
+                            row.get(2).getAsDouble(),
+                            row.get(3).getAsDouble(),
+                            row.get(4).getAsDouble(),
+                            row.get(5).getAsDouble()))
+                    .sharedId(RemoteValues.sharedId(items.get(i + 1).getAsJsonObject()))
+                    .build();
+            elements.add(new ElementAsync(client, contextId, row.get(6).getAsString(), info));
+        }
+        return elements;
+    }
+
+    private static JsonObject summary(JsonObject value) {
+        return JsonParser.parseString(value.getAsJsonArray("value").get(0).getAsJsonObject()
+                .get("value").getAsString()).getAsJsonObject();
+    }
+
+    /**
+     * Copy the DOM subtree of an element in one round trip, to be queried locally.
+     *
+     * <p>The page serializes the subtree with tag names and attribute strings
+     * interned into a shared dictionary; many queries can then run against the
+     * returned {@link DomSnapshot} without further browser calls.
+     *
+     * @param rootSelector CSS selector or XPath of the root element, or null for the whole document
+     * @param options      whether to include boxes and text, and the node limit
+     * @return CompletableFuture containing the snapshot, failing with
+     *         {@link ElementNotFoundException} if no element matches
+     */
+    public CompletableFuture<DomSnapshot> snapshot(String rootSelector, SnapshotOptions options) {
+        return contextId().thenCompose(contextId -> {
+            log.debug("Taking DOM snapshot of {}", rootSelector == null ? "document" : rootSelector);
+
+            JsonObject params = PageScripts.callParams(contextId, PageScripts.SNAPSHOT,
+                    LocalValues.of(rootSelector), LocalValues.of(options.isBoxes()),
+                    LocalValues.of(options.isText()), LocalValues.of(options.getMaxNodes()));
+
+            return client.sendCommand("script.callFunction", params).thenApply(result -> {
+                JsonObject value = RemoteValues.result(result);
+                if (!"string".equals(value.get("type").getAsString())) {
+                    throw new ElementNotFoundException(rootSelector);
+                }
+                return DomSnapshot.parse(value.get("value").getAsString());
+            });
+        });
+    }
+
     /**
      * Evaluate JavaScript in the page context.
      *
@@ -200,27 +875,23 @@ public final class VibeAsync implements AutoCloseable {
      * @return CompletableFuture containing the result
      */
     public <T> CompletableFuture<T> evaluate(String script, Class<T> clazz) {
-        String contextId = getContext();
-        log.debug("Evaluating script: {}", script.substring(0, Math.min(50, script.length())));
+        return contextId().thenCompose(contextId -> {
+            log.debug("Evaluating script: {}", script.substring(0, Math.min(50, script.length())));
 
-        JsonObject params = new JsonObject();
-        params.addProperty("functionDeclaration", "() => { " + script + " }");
+            JsonObject params = new JsonObject();
+            params.addProperty("functionDeclaration", "() => { " + script + " }");
 
-        JsonObject target = new JsonObject();
-        target.addProperty("context", contextId);
-        params.add("target", target);
+            JsonObject target = new JsonObject();
+            target.addProperty("context", contextId);
+            params.add("target", target);
 
-        params.add("arguments", new JsonArray());
-        params.addProperty("awaitPromise", true);
-        params.addProperty("resultOwnership", "root");
+            params.add("arguments", new JsonArray());
+            params.addProperty("awaitPromise", true);
+            params.addProperty("resultOwnership", "root");
 
-        return client.sendCommand("script.callFunction", params)
-                .thenApply(result -> {
-                    JsonObject res = result
-                            .getAsJsonObject("result")
-                            .getAsJsonObject("result");
-                    return gson.fromJson(res.get("value"), clazz);
-                });
+            return client.sendCommand("script.callFunction", params)
+                    .thenApply(result -> RemoteValues.decode(RemoteValues.result(result), clazz));
+        });
     }
 
     /**
@@ -230,23 +901,495 @@ public final class VibeAsync implements AutoCloseable {
      * @return CompletableFuture containing the result as Object
      */
     public CompletableFuture<Object> evaluate(String script) {
-        String contextId = getContext();
+        return contextId().thenCompose(contextId -> {
+            JsonObject params = new JsonObject();
+            params.addProperty("functionDeclaration", "() => { " + script + " }");
+
+            JsonObject target = new JsonObject();
+            target.addProperty("context", contextId);
+            params.add("target", target);
 
+            params.add("arguments", new JsonArray());
+            params.addProperty("awaitPromise", true);
+
+            return client.sendCommand("script.callFunction", params)
+                    .thenApply(result -> result
+                            .getAsJsonObject("result")
+                            .getAsJsonObject("result")
+                            .get("value"));
+        });
+    }
+
+    /**
+     * Call a JavaScript function in the page context with arguments.
+     *
+     * <p>Arguments are sent as BiDi values instead of being spliced into the
+     * source, so the declaration stays byte-identical across calls and the
+     * browser can reuse its compiled code. Supported arguments are null, strings,
+     * booleans, numbers, collections, arrays, maps and {@link ElementAsync} or
+     * {@link Element} handles, which arrive in the page as the DOM node.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * String value = vibe.evaluateFunction("(el, name) => el.dataset[name]",
+     *         String.class, element, "state").join();
+     * }</pre>
+     *
+     * @param functionDeclaration a JavaScript function expression
+     * @param type                the type to convert the result to
+     * @param args                the arguments passed to the function
+     * @param <T>                 the result type
+     * @return CompletableFuture containing the result
+     */
+    public <T> CompletableFuture<T> evaluateFunction(String functionDeclaration, Class<T> type, Object... args) {
+        JsonObject[] arguments = encodeArguments(args);
+        return contextId().thenCompose(contextId -> client.sendCommand("script.callFunction",
+                        PageScripts.callParams(contextId, functionDeclaration, arguments)))
+                .thenApply(response -> RemoteValues.decode(RemoteValues.result(response), type));
+    }
+
+    /**
+     * Stream the items produced by a JavaScript function.
+     *
+     * <p>The function is called as {@code (emit, ...args)} and pushes each item
+     * with {@code await emit(item)}; the stream completes when the function
+     * returns and fails if it throws. Items travel as separate
+     * {@code script.message} events instead of one large result, and
+     * {@code emit} only resolves once the subscriber has requested the item,
+     * so memory stays bounded on both sides.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * Flow.Publisher<String> links = vibe.stream(
+     *         "async (emit) => { for (const a of document.links) await emit(a.href); }",
+     *         String.class);
+     * }</pre>
+     *
+     * <p>The function starts when the publisher is subscribed; each publisher
+     * supports a single subscriber. A navigation of the page, or any other end of
+     * its realm, fails the stream with a {@link VibiumException}.
+     *
+     * @param function a JavaScript function expression {@code (emit, ...args) => ...}
+     * @param type     the type to convert each item to
+     * @param args     extra arguments, encoded as for {@link #evaluateFunction(String, Class, Object...)}
+     * @param <T>      the item type
+     * @return a publisher of the items
+     */
+    public <T> Flow.Publisher<T> stream(String function, Class<T> type, Object... args) {
+        return new ScriptStream<>(client, contextId(), function, type, encodeArguments(args));
+    }
+
+    private static JsonObject[] encodeArguments(Object... args) {
+        JsonObject[] arguments = new JsonObject[args.length];
+        for (int i = 0; i < args.length; i++) {
+            arguments[i] = LocalValues.of(args[i], VibeAsync::sharedIdOf);
+        }
+        return arguments;
+    }
+
+    private static String sharedIdOf(Object value) {
+        ElementAsync element = value instanceof Element ? ((Element) value).async()
+                : value instanceof ElementAsync ? (ElementAsync) value
+                : null;
+        if (element == null) {
+            return null;
+        }
+        if (element.getSharedId() == null) {
+            throw new VibiumException("Element has no browser handle: " + element.getSelector());
+        }
+        return element.getSharedId();
+    }
+
+    /**
+     * Register a JavaScript helper that can be called by name.
+     *
+     * @param name   the helper name
+     * @param source a JavaScript function expression, e.g. {@code (a, b) => a + b}
+     * @return CompletableFuture containing a handle to call the helper
+     * @see #registerFunction(String, String, Class)
+     */
+    public CompletableFuture<ScriptHandle<Object>> registerFunction(String name, String source) {
+        return registerFunction(name, source, Object.class);
+    }
+
+    /**
+     * Register a JavaScript helper that can be called by name.
+     *
+     * <p>The helper is installed once per realm with {@code script.addPreloadScript},
+     * so the browser re-installs it on every navigation and in every new tab or
+     * frame, and it is installed right away in the current context. Calls through
+     * the returned handle only send the helper name and arguments. Registering a
+     * name again replaces the previous helper.
+     *
+     * @param name   the helper name
+     * @param source a JavaScript function expression, e.g. {@code (a, b) => a + b}
+     * @param type   the type to convert the helper's result to
+     * @param <T>    the result type
+     * @return CompletableFuture containing a handle to call the helper
+     */
+    public <T> CompletableFuture<ScriptHandle<T>> registerFunction(String name, String source, Class<T> type) {
+        String installer = PageScripts.installer(name, source);
+
+        JsonObject params = preloadParams(installer, isolated ? userContext : null);
+        return client.sendCommand("script.addPreloadScript", params)
+                .thenCompose(result -> {
+                    functionInstallers.put(name, installer);
+                    removePreloadScript(registeredFunctions.put(name, result.get("script").getAsString()));
+                    return contextId();
+                })
+                .thenCompose(contextId -> install(contextId, installer))
+                .thenApply(v -> {
+                    log.debug("Registered function: {}", name);
+                    return new ScriptHandle<>(this, name, type, installer);
+                });
+    }
+
+    /**
+     * Call a registered helper. A realm that does not have the helper yet (e.g. a
+     * tab that was open before it was registered) gets it installed on the first
+     * call.
+     */
+    <T> CompletableFuture<T> callRegistered(ScriptHandle<T> handle, Object... args) {
+        return contextId().thenCompose(contextId -> invokeRegistered(contextId, handle, args)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(value);
+                    }
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    if (cause.getMessage() == null || !cause.getMessage().contains(PageScripts.UNREGISTERED)) {
+                        return CompletableFuture.<T>failedFuture(cause);
+                    }
+                    log.debug("Function {} missing in context {}, installing", handle.getName(), contextId);
+                    return install(contextId, handle.installer())
+                            .thenCompose(v -> invokeRegistered(contextId, handle, args));
+                })
+                .thenCompose(Function.identity()));
+    }
+
+    private <T> CompletableFuture<T> invokeRegistered(String contextId, ScriptHandle<T> handle, Object[] args) {
+        JsonObject[] encoded = encodeArguments(args);
+        JsonObject[] arguments = new JsonObject[encoded.length + 1];
+        arguments[0] = LocalValues.of(handle.getName());
+        System.arraycopy(encoded, 0, arguments, 1, encoded.length);
+
+        return client.sendCommand("script.callFunction",
+                        PageScripts.callParams(contextId, PageScripts.CALL_REGISTERED, arguments))
+                .thenApply(response -> RemoteValues.decode(RemoteValues.result(response), handle.getType()));
+    }
+
+    /**
+     * Build {@code script.addPreloadScript} parameters, scoped to a user context if given.
+     */
+    private static JsonObject preloadParams(String declaration, String scope) {
         JsonObject params = new JsonObject();
-        params.addProperty("functionDeclaration", "() => { " + script + " }");
+        params.addProperty("functionDeclaration", declaration);
+        if (scope != null) {
+            JsonArray userContexts = new JsonArray();
+            userContexts.add(scope);
+            params.add("userContexts", userContexts);
+        }
+        return params;
+    }
 
-        JsonObject target = new JsonObject();
-        target.addProperty("context", contextId);
-        params.add("target", target);
+    private void removePreloadScript(String script) {
+        if (script == null) {
+            return;
+        }
+        JsonObject params = new JsonObject();
+        params.addProperty("script", script);
+        client.sendCommand("script.removePreloadScript", params).exceptionally(error -> {
+            log.debug("Failed to remove preload script {}: {}", script, error.getMessage());
+            return null;
+        });
+    }
 
-        params.add("arguments", new JsonArray());
-        params.addProperty("awaitPromise", true);
+    private CompletableFuture<Void> install(String contextId, String installer) {
+        return client.sendCommand("script.callFunction", PageScripts.callParams(contextId, installer))
+                .thenAccept(RemoteValues::result);
+    }
 
-        return client.sendCommand("script.callFunction", params)
-                .thenApply(result -> result
-                        .getAsJsonObject("result")
-                        .getAsJsonObject("result")
-                        .get("value"));
+    /**
+     * Save the cookies and web storage of this session to a file, e.g. right
+     * after logging in, to be restored with {@link #loadStorageState(Path)}.
+     *
+     * <p>All cookies of the session's storage partition are saved, with the
+     * local and session storage of the origins loaded in the current tab and
+     * its frames. Cookies and storage are read concurrently, so saving costs
+     * about one round trip.
+     *
+     * @param file the state file to write
+     * @return CompletableFuture that completes when the file is written
+     */
+    public CompletableFuture<Void> saveStorageState(Path file) {
+        return contextId().thenCompose(contextId -> {
+            JsonObject params = new JsonObject();
+            params.add("partition", contextPartition(contextId));
+            CompletableFuture<JsonArray> cookies = client.sendCommand("storage.getCookies", params)
+                    .thenApply(result -> result.getAsJsonArray("cookies"));
+            CompletableFuture<JsonObject> origins = contexts.ready().thenCompose(v -> dumpWebStorage(contextId));
+            return cookies.thenCombine(origins, StorageState::new);
+        }).thenAccept(state -> {
+            try {
+                state.write(file);
+            } catch (IOException e) {
+                throw new VibiumException("Failed to write storage state " + file + ": " + e.getMessage(), e);
+            }
+            log.debug("Saved {} cookies and storage of {} origins to {}",
+                    state.getCookieCount(), state.getOriginCount(), file);
+        });
+    }
+
+    /**
+     * Restore cookies and web storage saved by {@link #saveStorageState(Path)}.
+     *
+     * <p>Cookies are set at once with pipelined {@code storage.setCookie}
+     * commands. Web storage is restored by a preload script as each saved
+     * origin is opened, so call this before navigating: local storage once per
+     * origin and session storage once per tab, so reloads and new tabs keep the
+     * page's own later changes. Loading another state replaces the previous
+     * preload script and is applied again.
+     *
+     * @param file the state file to read
+     * @return CompletableFuture that completes when the state is in place
+     */
+    public CompletableFuture<Void> loadStorageState(Path file) {
+        StorageState state;
+        try {
+            state = StorageState.read(file);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(
+                    new VibiumException("Failed to read storage state " + file + ": " + e.getMessage(), e));
+        }
+        return contextId().thenCompose(contextId -> {
+            log.debug("Loading {} cookies and storage of {} origins from {}",
+                    state.getCookieCount(), state.getOriginCount(), file);
+            List<CompletableFuture<JsonObject>> commands = new ArrayList<>();
+            for (JsonObject params : state.setCookieParams(contextPartition(contextId))) {
+                commands.add(client.sendCommand("storage.setCookie", params));
+            }
+            CompletableFuture<Void> cookies = CompletableFuture.allOf(commands.toArray(new CompletableFuture<?>[0]));
+            CompletableFuture<Void> storage = state.hasWebStorage()
+                    ? installStorageRestorer(contextId, state.restorer())
+                    : CompletableFuture.completedFuture(null);
+            return cookies.thenCombine(storage, (a, b) -> null);
+        });
+    }
+
+    private CompletableFuture<Void> installStorageRestorer(String contextId, String restorer) {
+        // Scoped to this session's user context, so other sessions never see the state
+        JsonObject params = preloadParams(restorer, userContext != null ? userContext : DEFAULT_USER_CONTEXT);
+
+        return client.sendCommand("script.addPreloadScript", params)
+                .thenCompose(result -> {
+                    String previous = storageScript;
+                    storageScript = result.get("script").getAsString();
+                    removePreloadScript(previous);
+                    return install(contextId, restorer);
+                });
+    }
+
+    /**
+     * Remove the storage restorer installed by {@link #loadStorageState(Path)}, if any.
+     */
+    private void removeStorageRestorer() {
+        String script = storageScript;
+        storageScript = null;
+        removePreloadScript(script);
+    }
+
+    /**
+     * Read the web storage of a tab and its frames, keeping the first document
+     * seen of each origin.
+     */
+    private CompletableFuture<JsonObject> dumpWebStorage(String contextId) {
+        List<String> frames = new ArrayList<>();
+        collectFrames(contextId, frames);
+        List<CompletableFuture<String>> dumps = frames.stream()
+                .map(frame -> client.sendCommand("script.callFunction",
+                                PageScripts.callParams(frame, PageScripts.STORAGE_DUMP))
+                        .thenApply(result -> RemoteValues.decode(RemoteValues.result(result), String.class))
+                        .exceptionally(e -> {
+                            log.debug("Could not read storage of {}: {}", frame, e.getMessage());
+                            return null;
+                        }))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(dumps.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            JsonObject origins = new JsonObject();
+            for (CompletableFuture<String> dump : dumps) {
+                String json = dump.join();
+                if (json == null) {
+                    continue;
+                }
+                JsonObject storage = JsonParser.parseString(json).getAsJsonObject();
+                String origin = storage.remove("origin").getAsString();
+                if (!origins.has(origin)) {
+                    origins.add(origin, storage);
+                }
+            }
+            return origins;
+        });
+    }
+
+    private void collectFrames(String contextId, List<String> frames) {
+        frames.add(contextId);
+        for (BrowsingContextInfo child : contexts.getChildren(contextId)) {
+            collectFrames(child.getContext(), frames);
+        }
+    }
+
+    private static JsonObject contextPartition(String contextId) {
+        JsonObject partition = new JsonObject();
+        partition.addProperty("type", "context");
+        partition.addProperty("context", contextId);
+        return partition;
+    }
+
+    /**
+     * Get the cache of browsing contexts (tabs and frames) of this browser.
+     *
+     * <p>The cache is shared by all isolated sessions of the same browser and
+     * is kept current from browser events, so lookups never need a round trip.
+     *
+     * @return CompletableFuture containing the cache once it is populated
+     */
+    public CompletableFuture<BrowsingContextCache> getBrowsingContexts() {
+        return contexts.ready().thenApply(v -> contexts);
+    }
+
+    /**
+     * Reset the session to a clean state without relaunching the browser.
+     *
+     * <p>Opens a fresh tab in a new user context (with empty cookies and storage),
+     * closes every tab of the previous user context and discards it. This takes a
+     * few round trips on the existing connection instead of a full browser start.
+     *
+     * <p>Console capture, running HAR recordings, interceptors started with
+     * {@link #intercept(RequestHandler...)} and registered functions move to the
+     * fresh tab. Screencasts and streams of the previous tab end with it, and a
+     * storage state loaded with {@link #loadStorageState(Path)} is dropped.
+     *
+     * @return CompletableFuture that completes when the session is reset
+     */
+    public CompletableFuture<Void> reset() {
+        log.debug("Resetting session");
+        String previousUserContext = userContext != null ? userContext : DEFAULT_USER_CONTEXT;
+
+        return client.sendCommand("browser.createUserContext", null)
+                .thenCompose(created -> {
+                    String newUserContext = created.get("userContext").getAsString();
+
+                    JsonObject params = new JsonObject();
+                    params.addProperty("type", "tab");
+                    params.addProperty("userContext", newUserContext);
+
+                    return client.sendCommand("browsingContext.create", params)
+                            .thenCompose(result -> {
+                                String newContext = result.get("context").getAsString();
+                                return closeUserContext(previousUserContext, newContext)
+                                        .thenRun(() -> {
+                                            removeStorageRestorer();
+                                            userContext = newUserContext;
+                                            context = newContext;
+                                            log.debug("Session reset to context {} in user context {}",
+                                                    newContext, newUserContext);
+                                        })
+                                        .thenCompose(v -> follow(newContext, newUserContext));
+                            });
+                });
+    }
+
+    /**
+     * Open an isolated session in the same browser.
+     *
+     * <p>The new session gets its own user context (separate cookies, storage and
+     * cache) and its own tab, but shares this session's connection and browser
+     * process. Many isolated sessions in one browser use far less memory than
+     * launching a browser for each.
+     *
+     * <p>Quitting an isolated session only closes its user context; the browser
+     * keeps running until the session that launched it quits.
+     *
+     * @return CompletableFuture containing the new session
+     */
+    public CompletableFuture<VibeAsync> newIsolatedSession() {
+        log.debug("Creating isolated session");
+
+        return client.sendCommand("browser.createUserContext", null)
+                .thenCompose(created -> {
+                    String newUserContext = created.get("userContext").getAsString();
+
+                    JsonObject params = new JsonObject();
+                    params.addProperty("type", "tab");
+                    params.addProperty("userContext", newUserContext);
+
+                    return client.sendCommand("browsingContext.create", params)
+                            .thenApply(result -> new VibeAsync(client, process,
+                                    result.get("context").getAsString(), newUserContext, true, contexts));
+                });
+    }
+
+    /**
+     * Check whether this session was created by {@link #newIsolatedSession()}.
+     *
+     * @return true if the session shares its browser with another session
+     */
+    public boolean isIsolated() {
+        return isolated;
+    }
+
+    /**
+     * Move the session-bound state of the previous tab to the fresh one after a reset.
+     */
+    private CompletableFuture<Void> follow(String newContext, String newUserContext) {
+        ConsoleCollector collector = console;
+        if (collector != null) {
+            collector.retarget(newContext);
+        }
+        recorders.removeIf(HarRecorder::isStopped);
+        interceptors.removeIf(NetworkInterceptor::isClosed);
+
+        List<CompletableFuture<Void>> steps = new ArrayList<>();
+        recorders.forEach(recorder -> steps.add(recorder.follow(newContext)));
+        interceptors.forEach(interceptor -> steps.add(interceptor.retarget(List.of(newContext))));
+        if (isolated) {
+            // Scoped to the removed user context, so re-added for the new one
+            functionInstallers.forEach((name, installer) -> steps.add(
+                    client.sendCommand("script.addPreloadScript", preloadParams(installer, newUserContext))
+                            .thenAccept(result -> removePreloadScript(
+                                    registeredFunctions.put(name, result.get("script").getAsString())))));
+        }
+        return CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Close all top-level contexts of a user context except one, then remove the
+     * user context itself unless it is the browser's default.
+     */
+    private CompletableFuture<Void> closeUserContext(String userContextId, String keepContext) {
+        return contexts.ready()
+                .thenCompose(ready -> {
+                    List<CompletableFuture<JsonObject>> closing = contexts.getTopLevelContexts().stream()
+                            .filter(info -> !info.getContext().equals(keepContext))
+                            .filter(info -> userContextId.equals(
+                                    Objects.requireNonNullElse(info.getUserContext(), DEFAULT_USER_CONTEXT)))
+                            .map(info -> {
+                                JsonObject params = new JsonObject();
+                                params.addProperty("context", info.getContext());
+                                return client.sendCommand("browsingContext.close", params);
+                            })
+                            .collect(Collectors.toList());
+                    return CompletableFuture.allOf(closing.toArray(new CompletableFuture<?>[0]));
+                })
+                .thenCompose(v -> {
+                    if (DEFAULT_USER_CONTEXT.equals(userContextId)) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    JsonObject params = new JsonObject();
+                    params.addProperty("userContext", userContextId);
+                    return client.sendCommand("browser.removeUserContext", params)
+                            .thenApply(result -> null);
+                });
     }
 
     /**
@@ -267,6 +1410,15 @@ public final class VibeAsync implements AutoCloseable {
         return process;
     }
 
+    /**
+     * Sample CPU time, resident memory and open files of the browser process tree.
+     *
+     * @return the current usage, or null when connected to an existing browser
+     */
+    public ResourceUsage getResourceUsage() {
+        return process != null ? process.sampleResources() : null;
+    }
+
     /**
      * Check if the browser is still connected.
      *
@@ -278,8 +1430,22 @@ public final class VibeAsync implements AutoCloseable {
 
     /**
      * Close the browser and release resources.
+     *
+     * <p>For an isolated session, only its user context and tabs are closed.
      */
     public void quit() {
+        ConsoleCollector collector = console;
+        if (collector != null) {
+            collector.close();
+        }
+        if (client.isConnected()) {
+            removeStorageRestorer();
+        }
+        if (isolated) {
+            closeIsolatedSession();
+            return;
+        }
+
         log.debug("Quitting browser");
 
         // Send browser.close command to properly terminate the browser
@@ -298,6 +1464,20 @@ public final class VibeAsync implements AutoCloseable {
         }
     }
 
+    private void closeIsolatedSession() {
+        log.debug("Closing isolated session {}", userContext);
+        if (!client.isConnected()) {
+            return;
+        }
+        try {
+            JsonObject params = new JsonObject();
+            params.addProperty("userContext", userContext);
+            client.sendCommand("browser.removeUserContext", params).join();
+        } catch (Exception e) {
+            log.debug("Error removing user context {}: {}", userContext, e.getMessage());
+        }
+    }
+
     /**
      * Close the browser (same as {@link #quit()}).
      */
@@ -0,0 +1,26 @@
+package io.github.ashwithpoojary98.vibium.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a condition does not hold within the timeout period.
+ */
+public class WaitTimeoutException extends VibiumException {
+
+    private final String condition;
+    private final Duration timeout;
+
+    public WaitTimeoutException(String condition, Duration timeout) {
+        super("Timed out after " + timeout.toMillis() + "ms waiting for " + condition);
+        this.condition = condition;
+        this.timeout = timeout;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds any of many substrings in a text in a single pass (Aho-Corasick).
+ *
+ * <p>Matching is case-insensitive and costs time proportional to the length of
+ * the text, regardless of the number of patterns. Each pattern carries an int
+ * value, e.g. a rule index.
+ *
+ * <p>Immutable and thread-safe once built.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class AhoCorasick {
+
+    /** Sorted transition labels of each state */
+    private final char[][] labels;
+    /** Target states, parallel to {@link #labels} */
+    private final int[][] targets;
+    /** Longest proper suffix state of each state */
+    private final int[] failure;
+    /** Value of the first pattern ending at each state or any of its suffix states, or -1 */
+    private final int[] output;
+
+    private AhoCorasick(char[][] labels, int[][] targets, int[] failure, int[] output) {
+        this.labels = labels;
+        this.targets = targets;
+        this.failure = failure;
+        this.output = output;
+    }
+
+    /**
+     * Create a new builder.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Find the pattern that ends first in a text.
+     *
+     * @param text the text to search
+     * @return the value of the earliest-ending match, or -1 if no pattern occurs
+     */
+    public int find(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = next(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = next(state, c);
+            }
+            state = Math.max(next, 0);
+            if (output[state] >= 0) {
+                return output[state];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of states of the automaton.
+     *
+     * @return the state count
+     */
+    public int size() {
+        return failure.length;
+    }
+
+    private int next(int state, char c) {
+        int i = Arrays.binarySearch(labels[state], c);
+        return i < 0 ? -1 : targets[state][i];
+    }
+
+    /**
+     * Builder for {@link AhoCorasick}.
+     */
+    public static final class Builder {
+
+        private final List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+        private final List<Integer> values = new ArrayList<>();
+
+        private Builder() {
+            newState();
+        }
+
+        /**
+         * Add a pattern. Empty patterns are ignored; a repeated pattern keeps its first value.
+         *
+         * @param pattern the substring to find
+         * @param value   the value returned when it is found
+         * @return this builder
+         */
+        public Builder add(String pattern, int value) {
+            if (pattern.isEmpty()) {
+                return this;
+            }
+            String lower = pattern.toLowerCase(Locale.ROOT);
+            int state = 0;
+            for (int i = 0; i < lower.length(); i++) {
+                char c = lower.charAt(i);
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            if (values.get(state) < 0) {
+                values.set(state, value);
+            }
+            return this;
+        }
+
+        /**
+         * Compute the failure links and compile the automaton.
+         *
+         * @return the automaton
+         */
+        public AhoCorasick build() {
+            int count = transitions.size();
+            char[][] labels = new char[count][];
+            int[][] targets = new int[count][];
+            int[] failure = new int[count];
+            int[] output = new int[count];
+
+            for (int state = 0; state < count; state++) {
+                TreeMap<Character, Integer> edges = transitions.get(state);
+                labels[state] = new char[edges.size()];
+                targets[state] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    labels[state][i] = edge.getKey();
+                    targets[state][i] = edge.getValue();
+                    i++;
+                }
+                output[state] = values.get(state);
+            }
+
+            // Breadth-first, so the failure state of a state is always final before its children
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                failure[child] = 0;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < labels[state].length; i++) {
+                    char c = labels[state][i];
+                    int child = targets[state][i];
+                    int fallback = failure[state];
+                    int next = edge(labels, targets, fallback, c);
+                    while (next < 0 && fallback != 0) {
+                        fallback = failure[fallback];
+                        next = edge(labels, targets, fallback, c);
+                    }
+                    failure[child] = Math.max(next, 0);
+                    if (output[child] < 0) {
+                        output[child] = output[failure[child]];
+                    }
+                    queue.add(child);
+                }
+            }
+            return new AhoCorasick(labels, targets, failure, output);
+        }
+
+        private int newState() {
+            transitions.add(new TreeMap<>());
+            values.add(-1);
+            return transitions.size() - 1;
+        }
+
+        private static int edge(char[][] labels, int[][] targets, int state, char c) {
+            int i = Arrays.binarySearch(labels[state], c);
+            return i < 0 ? -1 : targets[state][i];
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.ashwithpoojary98.vibium.internal;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.github.ashwithpoojary98.vibium.exception.BiDiException;
@@ -13,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -66,6 +68,13 @@ public final class BiDiClient extends WebSocketClient implements Closeable {
     private final ConcurrentHashMap<String, CopyOnWriteArrayList<Consumer<JsonObject>>> eventSubscribers =
             new ConcurrentHashMap<>();
 
+    /** eventName -> subscribers called on the WebSocket thread */
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<Consumer<JsonObject>>> inlineSubscribers =
+            new ConcurrentHashMap<>();
+
+    /** Acknowledgements of session.subscribe, by event, including those still in flight */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> subscriptions = new ConcurrentHashMap<>();
+
     private final CountDownLatch connectionLatch = new CountDownLatch(1);
 
     private volatile boolean connected = false;
@@ -264,7 +273,11 @@ public final class BiDiClient extends WebSocketClient implements Closeable {
                         ? error.get("code").getAsInt()
                         : -1;
             } else {
+                // Spec shape: an error code such as "unknown error" plus a separate message
                 message = errorElement.getAsString();
+                if (json.has("message") && !json.get("message").isJsonNull()) {
+                    message += ": " + json.get("message").getAsString();
+                }
             }
 
             log.debug("Command {} failed: {} (code={})", id, message, code);
@@ -294,6 +307,17 @@ public final class BiDiClient extends WebSocketClient implements Closeable {
                 ? json.getAsJsonObject("params")
                 : new JsonObject();
 
+        List<Consumer<JsonObject>> inline = inlineSubscribers.get(method);
+        if (inline != null) {
+            for (Consumer<JsonObject> handler : inline) {
+                try {
+                    handler.accept(params);
+                } catch (Exception e) {
+                    log.error("Error in inline event handler for {}", method, e);
+                }
+            }
+        }
+
         List<Consumer<JsonObject>> handlers = eventSubscribers.get(method);
         if (handlers == null || handlers.isEmpty()) {
             log.trace("No handlers for event: {}", method);
@@ -325,6 +349,66 @@ public final class BiDiClient extends WebSocketClient implements Closeable {
         log.debug("Subscribed to event: {}", event);
     }
 
+    /**
+     * Subscribe to a browser event with a handler called directly on the
+     * WebSocket thread, in event order, without a task per event.
+     *
+     * <p>Meant for high-volume events that only need to be recorded. The handler
+     * must be fast and must never block, e.g. by waiting for a command result,
+     * since no other message is read while it runs.
+     *
+     * @param event   the event name (e.g., "log.entryAdded")
+     * @param handler the callback to invoke when the event occurs
+     */
+    public void onInline(String event, Consumer<JsonObject> handler) {
+        inlineSubscribers
+                .computeIfAbsent(event, k -> new CopyOnWriteArrayList<>())
+                .add(handler);
+        log.debug("Subscribed inline to event: {}", event);
+    }
+
+    /**
+     * Ask the browser to emit events with {@code session.subscribe}.
+     *
+     * <p>Events that were already enabled on this connection are skipped, so
+     * callers can request what they need without coordinating with each other;
+     * an event whose subscription is still in flight is waited for. Handlers
+     * still have to be registered with {@link #on(String, Consumer)}.
+     *
+     * @param events the event names (e.g., "browsingContext.contextCreated")
+     * @return CompletableFuture that completes once the browser acknowledged
+     */
+    public CompletableFuture<Void> subscribe(String... events) {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        List<String> pending = new ArrayList<>();
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (String event : events) {
+            CompletableFuture<Void> existing = subscriptions.putIfAbsent(event, ack);
+            if (existing == null) {
+                pending.add(event);
+            } else {
+                acks.add(existing);
+            }
+        }
+        if (!pending.isEmpty()) {
+            acks.add(ack);
+            JsonArray names = new JsonArray();
+            pending.forEach(names::add);
+            JsonObject params = new JsonObject();
+            params.add("events", names);
+
+            sendCommand("session.subscribe", params).whenComplete((result, error) -> {
+                if (error != null) {
+                    pending.forEach(event -> subscriptions.remove(event, ack));
+                    ack.completeExceptionally(error);
+                } else {
+                    ack.complete(null);
+                }
+            });
+        }
+        return CompletableFuture.allOf(acks.toArray(new CompletableFuture<?>[0]));
+    }
+
     /**
      * Unsubscribe from a browser event.
      *
@@ -337,6 +421,10 @@ public final class BiDiClient extends WebSocketClient implements Closeable {
             handlers.remove(handler);
             log.debug("Unsubscribed from event: {}", event);
         }
+        List<Consumer<JsonObject>> inline = inlineSubscribers.get(event);
+        if (inline != null) {
+            inline.remove(handler);
+        }
     }
 
     /**
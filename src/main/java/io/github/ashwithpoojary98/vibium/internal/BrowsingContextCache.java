@@ -0,0 +1,230 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Event-maintained cache of the browsing context tree.
+ *
+ * <p>The tree is fetched once with {@code browsingContext.getTree} and then kept
+ * current from {@code browsingContext.contextCreated}, {@code contextDestroyed},
+ * {@code navigationStarted} and {@code load} events, so callers never need a
+ * round trip to find a context. A context's URL is the one it is navigating to
+ * from the start of the navigation on.
+ * Every context, including nested frames, can be looked up by ID in O(1).
+ *
+ * <p>Thread-safe: All public methods can be called from any thread.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class BrowsingContextCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BrowsingContextCache.class);
+    private static final int MAX_TOMBSTONES = 1024;
+
+    private final BiDiClient client;
+    private final Gson gson = new Gson();
+
+    /** id -> context info (children are tracked separately in {@link #children}) */
+    private final ConcurrentHashMap<String, BrowsingContextInfo> contexts = new ConcurrentHashMap<>();
+
+    /** parent id -> child ids */
+    private final ConcurrentHashMap<String, Set<String>> children = new ConcurrentHashMap<>();
+
+    /** Top-level context ids in creation order */
+    private final CopyOnWriteArrayList<String> topLevel = new CopyOnWriteArrayList<>();
+
+    /**
+     * Recently destroyed ids. Events are dispatched asynchronously and may be
+     * reordered, so a late contextCreated must not resurrect a destroyed context.
+     */
+    private final Set<String> tombstones = Collections.newSetFromMap(
+            Collections.synchronizedMap(new LinkedHashMap<String, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > MAX_TOMBSTONES;
+                }
+            }));
+
+    private CompletableFuture<Void> ready;
+    private boolean listening;
+
+    /**
+     * Create a cache for the given client. Nothing is fetched until {@link #ready()}.
+     *
+     * @param client the BiDi client
+     */
+    public BrowsingContextCache(BiDiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Populate the cache on first use and keep it current afterwards.
+     *
+     * <p>A failed load is not kept: the next call tries again.
+     *
+     * @return future that completes once the initial tree is loaded
+     */
+    public synchronized CompletableFuture<Void> ready() {
+        if (ready == null) {
+            if (!listening) {
+                client.on("browsingContext.contextCreated", this::onCreated);
+                client.on("browsingContext.contextDestroyed", this::onDestroyed);
+                client.on("browsingContext.navigationStarted", this::onNavigated);
+                client.on("browsingContext.load", this::onNavigated);
+                listening = true;
+            }
+
+            CompletableFuture<Void> loading = client.subscribe("browsingContext.contextCreated",
+                            "browsingContext.contextDestroyed", "browsingContext.navigationStarted",
+                            "browsingContext.load")
+                    .exceptionally(e -> {
+                        log.debug("Could not subscribe to browsing context events: {}", e.getMessage());
+                        return null;
+                    })
+                    .thenCompose(v -> client.sendCommand("browsingContext.getTree", null))
+                    .thenAccept(result -> {
+                        BrowsingContextTree tree = gson.fromJson(result, BrowsingContextTree.class);
+                        if (tree.getContexts() != null) {
+                            tree.getContexts().forEach(this::add);
+                        }
+                        log.debug("Loaded {} browsing contexts", contexts.size());
+                    });
+            ready = loading;
+            loading.whenComplete((v, error) -> {
+                if (error != null) {
+                    forget(loading);
+                }
+            });
+            return loading;
+        }
+        return ready;
+    }
+
+    private synchronized void forget(CompletableFuture<Void> failed) {
+        if (ready == failed) {
+            ready = null;
+        }
+    }
+
+    /**
+     * Look up a context or frame by ID.
+     *
+     * @param contextId the context ID
+     * @return the context info, or null if unknown
+     */
+    public BrowsingContextInfo get(String contextId) {
+        return contexts.get(contextId);
+    }
+
+    /**
+     * Check whether a context is known to exist.
+     *
+     * @param contextId the context ID
+     * @return true if the context is cached
+     */
+    public boolean contains(String contextId) {
+        return contexts.containsKey(contextId);
+    }
+
+    /**
+     * Get the direct child frames of a context.
+     *
+     * @param contextId the parent context ID
+     * @return the child contexts (empty if none)
+     */
+    public List<BrowsingContextInfo> getChildren(String contextId) {
+        Set<String> ids = children.get(contextId);
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        return ids.stream().map(contexts::get).filter(info -> info != null).collect(Collectors.toList());
+    }
+
+    /**
+     * Get all top-level contexts (tabs and windows) in creation order.
+     *
+     * @return the top-level contexts
+     */
+    public List<BrowsingContextInfo> getTopLevelContexts() {
+        List<BrowsingContextInfo> result = new ArrayList<>();
+        for (String id : topLevel) {
+            BrowsingContextInfo info = contexts.get(id);
+            if (info != null) {
+                result.add(info);
+            }
+        }
+        return result;
+    }
+
+    private void onCreated(JsonObject params) {
+        add(gson.fromJson(params, BrowsingContextInfo.class));
+    }
+
+    private void onDestroyed(JsonObject params) {
+        remove(params.get("context").getAsString());
+    }
+
+    private void onNavigated(JsonObject params) {
+        String id = params.get("context").getAsString();
+        contexts.computeIfPresent(id, (key, info) -> new BrowsingContextInfo(
+                info.getContext(), params.get("url").getAsString(), Collections.emptyList(),
+                info.getParent(), info.getUserContext()));
+    }
+
+    private void add(BrowsingContextInfo info) {
+        if (tombstones.contains(info.getContext())) {
+            return;
+        }
+
+        contexts.put(info.getContext(), new BrowsingContextInfo(
+                info.getContext(), info.getUrl(), Collections.emptyList(),
+                info.getParent(), info.getUserContext()));
+
+        if (info.getParent() == null) {
+            topLevel.addIfAbsent(info.getContext());
+        } else {
+            children.computeIfAbsent(info.getParent(), k -> ConcurrentHashMap.newKeySet())
+                    .add(info.getContext());
+        }
+
+        if (info.getChildren() != null) {
+            for (BrowsingContextInfo child : info.getChildren()) {
+                add(new BrowsingContextInfo(child.getContext(), child.getUrl(), child.getChildren(),
+                        info.getContext(), info.getUserContext()));
+            }
+        }
+    }
+
+    private void remove(String contextId) {
+        tombstones.add(contextId);
+        BrowsingContextInfo info = contexts.remove(contextId);
+        topLevel.remove(contextId);
+
+        Set<String> childIds = children.remove(contextId);
+        if (childIds != null) {
+            childIds.forEach(this::remove);
+        }
+        if (info != null && info.getParent() != null) {
+            Set<String> siblings = children.get(info.getParent());
+            if (siblings != null) {
+                siblings.remove(contextId);
+            }
+        }
+    }
+}
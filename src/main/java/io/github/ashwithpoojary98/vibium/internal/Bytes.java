@@ -0,0 +1,67 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Decoding of BiDi {@code network.BytesValue} objects and hex digests of byte content.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class Bytes {
+
+    private Bytes() {
+        // Utility class
+    }
+
+    /**
+     * Decode a bytes value.
+     *
+     * @param bytes a {@code network.BytesValue} of type {@code string} or {@code base64}
+     * @return the content; string values are encoded as UTF-8
+     */
+    public static byte[] decode(JsonObject bytes) {
+        String value = bytes.get("value").getAsString();
+        return "base64".equals(bytes.get("type").getAsString())
+                ? Base64.getDecoder().decode(value)
+                : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode a bytes value holding an HTTP header value.
+     *
+     * @param bytes a {@code network.BytesValue} of type {@code string} or {@code base64}
+     * @return the header value; base64 content is read as ISO-8859-1
+     */
+    public static String headerValue(JsonObject bytes) {
+        String value = bytes.get("value").getAsString();
+        return "base64".equals(bytes.get("type").getAsString())
+                ? new String(Base64.getDecoder().decode(value), StandardCharsets.ISO_8859_1)
+                : value;
+    }
+
+    /**
+     * Digest content as lowercase hex.
+     *
+     * @param algorithm a {@link MessageDigest} algorithm name, such as {@code SHA-256}
+     * @param value     the content
+     * @return the hex digest
+     * @throws IllegalStateException if the algorithm is not available
+     */
+    public static String digest(String algorithm, byte[] value) {
+        try {
+            byte[] digest = MessageDigest.getInstance(algorithm).digest(value);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " not available", e);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package io.github.ashwithpoojary98.vibium.internal;
 
+import io.github.ashwithpoojary98.vibium.model.ResourceUsage;
+import io.github.ashwithpoojary98.vibium.options.ResourceLimits;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -37,12 +41,26 @@ public final class ClickerProcess implements AutoCloseable {
     private final int port;
     private volatile boolean stopped = false;
 
-    private ClickerProcess(Process process, int port) {
+    @Getter(AccessLevel.NONE)
+    private volatile ScheduledFuture<?> monitorTask;
+
+    ClickerProcess(Process process, int port) {
         this.process = process;
         this.port = port;
 
         // Register with ProcessManager for automatic cleanup
         ProcessManager.register(this);
+        // A clicker that crashes is never stopped, so free its live-browser slot on exit
+        process.onExit().thenRun(() -> ProcessManager.unregister(this));
+    }
+
+    /**
+     * Get the operating system process ID of the clicker.
+     *
+     * @return the process ID
+     */
+    public long getPid() {
+        return process.pid();
     }
 
     /**
@@ -54,9 +72,43 @@ public final class ClickerProcess implements AutoCloseable {
         return process.isAlive();
     }
 
+    /**
+     * Sample CPU time, resident memory and open files of the clicker process
+     * and all of its descendants (driver and browser processes).
+     *
+     * @return the aggregated usage
+     */
+    public ResourceUsage sampleResources() {
+        return ResourceMonitor.sample(process.toHandle());
+    }
+
+    /**
+     * Periodically sample this process tree and act when limits are exceeded.
+     * Replaces any previously configured monitor.
+     *
+     * @param limits the limits to enforce
+     */
+    public synchronized void monitor(ResourceLimits limits) {
+        cancelMonitor();
+        if (!stopped) {
+            monitorTask = ResourceMonitor.watch(this, limits);
+        }
+    }
+
+    private void cancelMonitor() {
+        ScheduledFuture<?> task = monitorTask;
+        if (task != null) {
+            task.cancel(false);
+            monitorTask = null;
+        }
+    }
+
     /**
      * Start Clicker asynchronously.
      *
+     * <p>The start waits in the JVM-wide launch queue of {@link ProcessManager}
+     * first; the startup timeout only applies once the process is spawned.
+     *
      * @param headless       whether to run in headless mode
      * @param port           the port to use (null for automatic)
      * @param executablePath path to the clicker executable (null for auto-detect)
@@ -66,6 +118,16 @@ public final class ClickerProcess implements AutoCloseable {
             boolean headless,
             Integer port,
             String executablePath
+    ) {
+        return ProcessManager.acquireLaunchPermit()
+                .thenCompose(permit -> launch(headless, port, executablePath)
+                        .whenComplete((process, error) -> permit.release()));
+    }
+
+    private static CompletableFuture<ClickerProcess> launch(
+            boolean headless,
+            Integer port,
+            String executablePath
     ) {
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -200,6 +262,7 @@ public final class ClickerProcess implements AutoCloseable {
      * Does not unregister from ProcessManager to avoid ConcurrentModificationException.
      */
     void stopInternal() {
+        cancelMonitor();
         if (!process.isAlive()) {
             return;
         }
@@ -0,0 +1,185 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import io.github.ashwithpoojary98.vibium.model.ConsoleEntry;
+import io.github.ashwithpoojary98.vibium.options.ConsoleOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Records the console messages and JavaScript errors of one session from
+ * {@code log.entryAdded} into a {@link RingBuffer}.
+ *
+ * <p>Entries are handled inline on the WebSocket thread: entries of other
+ * contexts or below the minimum level are discarded before an entry is
+ * built, and kept entries cost one small object and one ring slot. A page
+ * logging thousands of messages per second therefore neither queues tasks nor
+ * grows memory; only the most recent {@link ConsoleOptions#getCapacity()}
+ * entries are kept.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class ConsoleCollector implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsoleCollector.class);
+
+    private static final String ENTRY_ADDED = "log.entryAdded";
+
+    private final BiDiClient client;
+    private volatile String context;
+    private final BrowsingContextCache contexts;
+    private final ConsoleOptions options;
+    private final RingBuffer<ConsoleEntry> entries;
+    private final Consumer<JsonObject> onEntry = this::onEntry;
+
+    private ConsoleCollector(BiDiClient client, String context, BrowsingContextCache contexts,
+                             ConsoleOptions options) {
+        this.client = client;
+        this.context = context;
+        this.contexts = contexts;
+        this.options = options;
+        this.entries = new RingBuffer<>(options.getCapacity());
+    }
+
+    /**
+     * Start collecting the entries of a top-level context and its frames.
+     *
+     * @param client   the BiDi client
+     * @param context  the top-level browsing context ID
+     * @param contexts the context tree, used to attribute frames to their tab
+     * @param options  the capacity and minimum level
+     * @return future completed with the collector once events are enabled
+     */
+    public static CompletableFuture<ConsoleCollector> start(BiDiClient client, String context,
+                                                            BrowsingContextCache contexts, ConsoleOptions options) {
+        ConsoleCollector collector = new ConsoleCollector(client, context, contexts, options);
+        client.onInline(ENTRY_ADDED, collector.onEntry);
+        return client.subscribe(ENTRY_ADDED)
+                .thenApply(v -> collector)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        collector.close();
+                    }
+                });
+    }
+
+    /**
+     * Collect the entries of another top-level context instead, e.g. the fresh
+     * tab of a session after a reset. Entries kept so far remain.
+     *
+     * @param context the top-level browsing context ID
+     */
+    public void retarget(String context) {
+        this.context = context;
+    }
+
+    /**
+     * Copy the entries currently kept, oldest first.
+     *
+     * @return the entries
+     */
+    public List<ConsoleEntry> getEntries() {
+        return entries.snapshot();
+    }
+
+    /**
+     * Forget the entries collected so far.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of entries lost because the buffer was full.
+     *
+     * @return the overwritten entry count
+     */
+    public long getOverwritten() {
+        return entries.getOverwritten();
+    }
+
+    /**
+     * Log the kept entries after a failure, if enabled in the options.
+     *
+     * @param failure the failure
+     */
+    public void dump(Throwable failure) {
+        if (!options.isDumpOnFailure()) {
+            return;
+        }
+        List<ConsoleEntry> snapshot = entries.snapshot();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (ConsoleEntry entry : snapshot) {
+            text.append(System.lineSeparator()).append("  ").append(entry);
+        }
+        long overwritten = entries.getOverwritten();
+        log.warn("Console of {} before \"{}\" ({} entries{}):{}", context, failure.getMessage(), snapshot.size(),
+                overwritten > 0 ? ", " + overwritten + " older dropped" : "", text);
+    }
+
+    /**
+     * Stop collecting. Entries already kept remain readable.
+     */
+    @Override
+    public void close() {
+        client.off(ENTRY_ADDED, onEntry);
+    }
+
+    private void onEntry(JsonObject params) {
+        ConsoleEntry.Level level = ConsoleEntry.Level.of(string(params, "level"));
+        if (level.compareTo(options.getMinLevel()) < 0) {
+            return;
+        }
+        JsonObject source = params.has("source") ? params.getAsJsonObject("source") : null;
+        String entryContext = source == null ? null : string(source, "context");
+        if (entryContext == null || !belongsToSession(entryContext)) {
+            return;
+        }
+
+        String url = null;
+        int line = -1;
+        if (params.has("stackTrace") && params.get("stackTrace").isJsonObject()) {
+            JsonArray frames = params.getAsJsonObject("stackTrace").getAsJsonArray("callFrames");
+            if (frames != null && frames.size() > 0) {
+                JsonObject top = frames.get(0).getAsJsonObject();
+                url = string(top, "url");
+                line = top.has("lineNumber") ? top.get("lineNumber").getAsInt() : -1;
+            }
+        }
+        entries.add(new ConsoleEntry(level,
+                string(params, "type"),
+                string(params, "method"),
+                string(params, "text"),
+                params.has("timestamp") ? params.get("timestamp").getAsLong() : System.currentTimeMillis(),
+                entryContext,
+                url,
+                line));
+    }
+
+    private boolean belongsToSession(String entryContext) {
+        String current = entryContext;
+        for (int depth = 0; current != null && depth < 32; depth++) {
+            if (current.equals(context)) {
+                return true;
+            }
+            BrowsingContextInfo info = contexts.get(current);
+            current = info == null ? null : info.getParent();
+        }
+        return false;
+    }
+
+    private static String string(JsonObject object, String key) {
+        JsonElement value = object.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+}
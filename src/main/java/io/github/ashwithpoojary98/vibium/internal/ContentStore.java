@@ -0,0 +1,354 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A disk-backed, content-addressed key/value store with an LRU size limit.
+ *
+ * <p>Values are stored once per distinct content as {@code blobs/ab/<sha-256>},
+ * so keys with identical content share one file. The index maps each key to
+ * its blob and a small JSON metadata object; it lives in memory and is
+ * persisted as an append-only journal ({@code index.log}) that is replayed on
+ * open and compacted when it grows.
+ *
+ * <p>When the total size of the blobs exceeds the limit, the least recently
+ * used keys are removed, and blobs no longer referenced are deleted.
+ *
+ * <p>Thread-safe. Blobs are written atomically, so a crash leaves no partial
+ * values behind.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class ContentStore implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentStore.class);
+
+    private static final String JOURNAL = "index.log";
+    private static final String BLOBS = "blobs";
+    private static final int COMPACT_SLACK = 1000;
+
+    /**
+     * An index entry.
+     */
+    @Getter
+    public static final class Entry {
+        private final String key;
+        private final String hash;
+        private final long size;
+        private final JsonObject metadata;
+
+        Entry(String key, String hash, long size, JsonObject metadata) {
+            this.key = key;
+            this.hash = hash;
+            this.size = size;
+            this.metadata = metadata;
+        }
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Integer> references = new HashMap<>();
+    private final Map<String, Long> blobSizes = new HashMap<>();
+    private long totalBytes;
+    private BufferedWriter journal;
+    private long journalLines;
+    private boolean replaying;
+
+    /**
+     * Open a store, creating the directory if needed.
+     *
+     * @param directory the store directory
+     * @param maxBytes  the maximum total size of the stored values
+     * @throws VibiumException if the directory cannot be read or created
+     */
+    public ContentStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory.resolve(BLOBS));
+            replaying = true;
+            replay();
+            replaying = false;
+            deleteOrphans();
+            compact();
+        } catch (IOException e) {
+            throw new VibiumException("Failed to open content store " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Look up a key and mark it as recently used.
+     *
+     * @param key the key
+     * @return the entry, or null
+     */
+    public synchronized Entry get(String key) {
+        return index.get(key);
+    }
+
+    /**
+     * Read the value of an entry.
+     *
+     * @param entry the entry
+     * @return the value, or null if it was evicted in the meantime
+     * @throws IOException if the blob cannot be read
+     */
+    public byte[] read(Entry entry) throws IOException {
+        try {
+            return Files.readAllBytes(blob(entry.getHash()));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Store a value, replacing any previous value of the key, then evict least
+     * recently used keys until the store fits its size limit.
+     *
+     * @param key      the key
+     * @param value    the value
+     * @param metadata small metadata stored in the index
+     * @return the new entry
+     * @throws IOException if the value cannot be written
+     */
+    public Entry put(String key, byte[] value, JsonObject metadata) throws IOException {
+        String hash = Bytes.digest("SHA-256", value);
+        Path target = blob(hash);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, value);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        Entry entry = new Entry(key, hash, value.length, metadata);
+        synchronized (this) {
+            link(entry);
+            append("put", entry);
+            evict();
+            return entry;
+        }
+    }
+
+    /**
+     * Replace the metadata of an entry, keeping its value.
+     *
+     * @param key      the key
+     * @param metadata the new metadata
+     * @return the updated entry, or null if the key is not stored
+     */
+    public synchronized Entry update(String key, JsonObject metadata) {
+        Entry current = index.get(key);
+        if (current == null) {
+            return null;
+        }
+        Entry entry = new Entry(key, current.getHash(), current.getSize(), metadata);
+        index.put(key, entry);
+        append("put", entry);
+        return entry;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key
+     */
+    public synchronized void remove(String key) {
+        if (unlink(key) != null) {
+            append("del", new Entry(key, null, 0, null));
+        }
+    }
+
+    /**
+     * Number of stored keys.
+     *
+     * @return the key count
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Total size of the stored values, counting shared content once.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Compact the journal and release it.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            compact();
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Failed to close content store {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void link(Entry entry) {
+        // Reference the new blob first, so replacing a key with the same content keeps the file
+        if (references.merge(entry.getHash(), 1, Integer::sum) == 1) {
+            blobSizes.put(entry.getHash(), entry.getSize());
+            totalBytes += entry.getSize();
+        }
+        Entry previous = index.put(entry.getKey(), entry);
+        if (previous != null) {
+            release(previous.getHash());
+        }
+    }
+
+    private Entry unlink(String key) {
+        Entry entry = index.remove(key);
+        if (entry != null) {
+            release(entry.getHash());
+        }
+        return entry;
+    }
+
+    private void release(String hash) {
+        if (references.merge(hash, -1, Integer::sum) > 0) {
+            return;
+        }
+        references.remove(hash);
+        totalBytes -= blobSizes.remove(hash);
+        if (replaying) {
+            // A later journal line may still need the file; orphans are deleted after the replay
+            return;
+        }
+        try {
+            Files.deleteIfExists(blob(hash));
+        } catch (IOException e) {
+            log.debug("Failed to delete blob {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> eldest = index.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            String key = eldest.next().getKey();
+            remove(key);
+            eldest = index.values().iterator();
+        }
+    }
+
+    private void replay() throws IOException {
+        Path file = directory.resolve(JOURNAL);
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            try {
+                JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+                String key = record.get("key").getAsString();
+                if ("del".equals(record.get("op").getAsString())) {
+                    unlink(key);
+                } else if (Files.exists(blob(record.get("hash").getAsString()))) {
+                    link(new Entry(key, record.get("hash").getAsString(), record.get("size").getAsLong(),
+                            record.getAsJsonObject("meta")));
+                }
+            } catch (JsonParseException | IllegalStateException | NullPointerException e) {
+                // A torn last line after a crash
+                log.debug("Skipping corrupt journal line in {}", directory);
+            }
+        }
+    }
+
+    /**
+     * Delete blobs that no entry references, e.g. left over after a crash.
+     */
+    private void deleteOrphans() throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory.resolve(BLOBS))) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            if (!references.containsKey(file.getFileName().toString())) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Rewrite the journal with one line per live entry, in LRU order.
+     */
+    private void compact() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        Path file = directory.resolve(JOURNAL);
+        Path temp = directory.resolve(JOURNAL + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Entry entry : index.values()) {
+                writer.write(record("put", entry));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        journalLines = index.size();
+        journal = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void append(String op, Entry entry) {
+        try {
+            journal.write(record(op, entry));
+            journal.newLine();
+            journal.flush();
+            if (++journalLines > 2L * index.size() + COMPACT_SLACK) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write content store journal {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static String record(String op, Entry entry) {
+        JsonObject record = new JsonObject();
+        record.addProperty("op", op);
+        record.addProperty("key", entry.getKey());
+        if (entry.getHash() != null) {
+            record.addProperty("hash", entry.getHash());
+            record.addProperty("size", entry.getSize());
+            record.add("meta", entry.getMetadata());
+        }
+        return record.toString();
+    }
+
+    private Path blob(String hash) {
+        return directory.resolve(BLOBS).resolve(hash.substring(0, 2)).resolve(hash);
+    }
+}
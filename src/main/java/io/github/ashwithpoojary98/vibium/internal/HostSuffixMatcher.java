@@ -0,0 +1,124 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Matches host names against a set of domains, where a domain also matches
+ * all of its subdomains: {@code doubleclick.net} matches
+ * {@code ad.doubleclick.net} but not {@code notdoubleclick.net}.
+ *
+ * <p>Domains are stored in a trie of labels from right to left, so a lookup
+ * costs one step per label of the host, regardless of how many domains are
+ * registered. Each domain carries an int value, e.g. a rule index.
+ *
+ * <p>Not thread-safe while domains are added; lookups may run concurrently
+ * once the matcher is fully built and safely published.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class HostSuffixMatcher {
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Add a domain.
+     *
+     * @param domain the domain, e.g. {@code example.com}; a leading dot or {@code *.} is ignored
+     * @param value  the value returned for hosts under this domain
+     */
+    public void add(String domain, int value) {
+        String normalized = normalize(domain);
+        if (normalized.startsWith("*.")) {
+            normalized = normalized.substring(2);
+        }
+        while (normalized.startsWith(".")) {
+            normalized = normalized.substring(1);
+        }
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        Node node = root;
+        int end = normalized.length();
+        while (end > 0) {
+            int dot = normalized.lastIndexOf('.', end - 1);
+            node = node.children.computeIfAbsent(normalized.substring(dot + 1, end), k -> new Node());
+            end = dot;
+        }
+        if (node.value < 0) {
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * Find the most specific registered domain containing a host.
+     *
+     * @param host the host name
+     * @return the value of the longest matching domain, or -1 if none matches
+     */
+    public int match(String host) {
+        if (host == null || host.isEmpty()) {
+            return -1;
+        }
+        String normalized = normalize(host);
+        int found = -1;
+        Node node = root;
+        int end = normalized.length();
+        while (end > 0) {
+            int dot = normalized.lastIndexOf('.', end - 1);
+            node = node.children.get(normalized.substring(dot + 1, end));
+            if (node == null) {
+                break;
+            }
+            if (node.value >= 0) {
+                found = node.value;
+            }
+            end = dot;
+        }
+        return found;
+    }
+
+    /**
+     * Copy the matcher, so that the copy is unaffected by later additions.
+     *
+     * @return an independent matcher with the same domains
+     */
+    public HostSuffixMatcher copy() {
+        HostSuffixMatcher copy = new HostSuffixMatcher();
+        copy.root.copyFrom(root);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Number of registered domains.
+     *
+     * @return the domain count
+     */
+    public int size() {
+        return size;
+    }
+
+    private static String normalize(String host) {
+        String lower = host.trim().toLowerCase(Locale.ROOT);
+        return lower.endsWith(".") ? lower.substring(0, lower.length() - 1) : lower;
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>(4);
+        int value = -1;
+
+        void copyFrom(Node other) {
+            value = other.value;
+            for (Map.Entry<String, Node> child : other.children.entrySet()) {
+                Node node = new Node();
+                node.copyFrom(child.getValue());
+                children.put(child.getKey(), node);
+            }
+        }
+    }
+}
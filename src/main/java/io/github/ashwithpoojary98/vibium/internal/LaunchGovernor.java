@@ -0,0 +1,213 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.model.LaunchStats;
+import io.github.ashwithpoojary98.vibium.options.LaunchLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * FIFO admission queue for browser launches.
+ *
+ * <p>A launch is admitted only when it is at the head of the queue, fewer than
+ * {@link LaunchLimits#getMaxConcurrentStarts()} browsers are starting, the live
+ * browser cap is not reached and the host has memory and CPU headroom. Later
+ * launches never overtake earlier ones.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+final class LaunchGovernor {
+
+    private static final Logger log = LoggerFactory.getLogger(LaunchGovernor.class);
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+
+    /** Shared scheduler for headroom re-checks and admission timeouts - uses a daemon thread */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "vibium-launch-governor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final IntSupplier liveBrowsers;
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+
+    private LaunchLimits limits;
+    private int starting = 0;
+    private long admitted = 0;
+    private long lastWaitNanos = 0;
+    private long maxWaitNanos = 0;
+    private long totalWaitNanos = 0;
+    private ScheduledFuture<?> recheck;
+
+    LaunchGovernor(LaunchLimits limits, IntSupplier liveBrowsers) {
+        this.limits = limits;
+        this.liveBrowsers = liveBrowsers;
+    }
+
+    /**
+     * Replace the limits. Queued launches are re-evaluated immediately.
+     */
+    void setLimits(LaunchLimits limits) {
+        synchronized (this) {
+            this.limits = limits;
+        }
+        drain();
+    }
+
+    /**
+     * Queue for a launch slot.
+     *
+     * @return future completed with a permit once the launch is admitted
+     */
+    CompletableFuture<Permit> acquire() {
+        Waiter waiter = new Waiter();
+        synchronized (this) {
+            queue.addLast(waiter);
+            long timeout = limits.getAdmissionTimeout().toMillis();
+            waiter.timeout = scheduler.schedule(() -> expire(waiter), timeout, TimeUnit.MILLISECONDS);
+        }
+        drain();
+        return waiter.future;
+    }
+
+    /**
+     * Re-evaluate the queue, e.g. after a browser exited.
+     */
+    void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        synchronized (this) {
+            while (!queue.isEmpty() && hasSlot()) {
+                if (!hasHostHeadroom()) {
+                    scheduleRecheck();
+                    break;
+                }
+                Waiter waiter = queue.pollFirst();
+                waiter.timeout.cancel(false);
+                starting++;
+                admitted++;
+                long waited = System.nanoTime() - waiter.enqueuedAt;
+                lastWaitNanos = waited;
+                maxWaitNanos = Math.max(maxWaitNanos, waited);
+                totalWaitNanos += waited;
+                ready.add(waiter);
+            }
+        }
+        // Complete outside the lock so that dependent stages never run while holding it
+        for (Waiter waiter : ready) {
+            log.debug("Launch admitted after {}ms", Duration.ofNanos(System.nanoTime() - waiter.enqueuedAt).toMillis());
+            waiter.future.complete(new Permit());
+        }
+    }
+
+    synchronized LaunchStats stats() {
+        return new LaunchStats(queue.size(), starting, admitted,
+                Duration.ofNanos(lastWaitNanos), Duration.ofNanos(maxWaitNanos), Duration.ofNanos(totalWaitNanos));
+    }
+
+    private boolean hasSlot() {
+        int maxStarts = limits.getMaxConcurrentStarts();
+        if (maxStarts > 0 && starting >= maxStarts) {
+            return false;
+        }
+        int maxLive = limits.getMaxLiveBrowsers();
+        return maxLive <= 0 || starting + liveBrowsers.getAsInt() < maxLive;
+    }
+
+    private boolean hasHostHeadroom() {
+        long minMemory = limits.getMinAvailableMemoryBytes();
+        if (minMemory > 0) {
+            long available = readAvailableMemory();
+            if (available >= 0 && available < minMemory) {
+                log.debug("Launch queued: {} bytes available, {} required", available, minMemory);
+                return false;
+            }
+        }
+
+        double maxLoad = limits.getMaxLoadPerCore();
+        if (maxLoad > 0) {
+            double load = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+            int cores = Runtime.getRuntime().availableProcessors();
+            if (load >= 0 && load / cores > maxLoad) {
+                log.debug("Launch queued: load average {} on {} cores", load, cores);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void scheduleRecheck() {
+        if (recheck == null || recheck.isDone()) {
+            recheck = scheduler.schedule(this::drain,
+                    limits.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void expire(Waiter waiter) {
+        boolean removed;
+        synchronized (this) {
+            removed = queue.remove(waiter);
+        }
+        if (removed) {
+            waiter.future.completeExceptionally(new VibiumException(
+                    "Timed out waiting for launch admission after " + limits.getAdmissionTimeout().toMillis() + "ms"));
+        }
+    }
+
+    /**
+     * Read MemAvailable from /proc/meminfo, or -1 if unavailable.
+     */
+    static long readAvailableMemory() {
+        try {
+            for (String line : Files.readAllLines(MEMINFO)) {
+                if (line.startsWith("MemAvailable:")) {
+                    String[] parts = line.substring(13).trim().split("\\s+");
+                    return Long.parseLong(parts[0]) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux or /proc is not readable
+        }
+        return -1;
+    }
+
+    private static final class Waiter {
+        final CompletableFuture<Permit> future = new CompletableFuture<>();
+        final long enqueuedAt = System.nanoTime();
+        ScheduledFuture<?> timeout;
+    }
+
+    /**
+     * A granted start slot. Must be released once the browser has started or failed to start.
+     */
+    final class Permit {
+
+        private boolean released = false;
+
+        void release() {
+            synchronized (LaunchGovernor.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                starting--;
+            }
+            drain();
+        }
+    }
+}
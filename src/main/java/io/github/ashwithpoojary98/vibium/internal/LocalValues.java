@@ -0,0 +1,129 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encoding of Java values as BiDi {@code script.LocalValue} arguments.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class LocalValues {
+
+    private LocalValues() {
+        // Utility class
+    }
+
+    /**
+     * Encode a Java value as a local value.
+     *
+     * @param value null, a {@link CharSequence}, {@link Character}, {@link Enum},
+     *              {@link Boolean}, {@link Number}, {@link Collection}, {@link Map}
+     *              or array of these
+     * @return the local value
+     * @throws IllegalArgumentException if the value type is not supported
+     */
+    public static JsonObject of(Object value) {
+        return of(value, v -> null);
+    }
+
+    /**
+     * Encode a Java value as a local value, encoding handles to browser nodes
+     * as remote references.
+     *
+     * @param value     the value; see {@link #of(Object)} for supported types
+     * @param sharedIds returns the shared ID of a node handle, or null if the
+     *                  object is not a handle
+     * @return the local value
+     * @throws IllegalArgumentException if the value type is not supported
+     */
+    public static JsonObject of(Object value, Function<Object, String> sharedIds) {
+        JsonObject local = new JsonObject();
+        if (value == null) {
+            local.addProperty("type", "null");
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof Enum) {
+            local.addProperty("type", "string");
+            local.addProperty("value", value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        } else if (value instanceof Boolean) {
+            local.addProperty("type", "boolean");
+            local.addProperty("value", (Boolean) value);
+        } else if (value instanceof BigInteger) {
+            local.addProperty("type", "bigint");
+            local.addProperty("value", value.toString());
+        } else if (value instanceof Number) {
+            local.addProperty("type", "number");
+            addNumber(local, (Number) value);
+        } else if (value instanceof Collection) {
+            JsonArray items = new JsonArray();
+            for (Object item : (Collection<?>) value) {
+                items.add(of(item, sharedIds));
+            }
+            local.addProperty("type", "array");
+            local.add("value", items);
+        } else if (value.getClass().isArray()) {
+            JsonArray items = new JsonArray();
+            for (int i = 0; i < Array.getLength(value); i++) {
+                items.add(of(Array.get(value, i), sharedIds));
+            }
+            local.addProperty("type", "array");
+            local.add("value", items);
+        } else if (value instanceof Map) {
+            JsonArray entries = new JsonArray();
+            boolean stringKeys = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                JsonArray pair = new JsonArray();
+                if (entry.getKey() instanceof String) {
+                    pair.add((String) entry.getKey());
+                } else {
+                    pair.add(of(entry.getKey(), sharedIds));
+                    stringKeys = false;
+                }
+                pair.add(of(entry.getValue(), sharedIds));
+                entries.add(pair);
+            }
+            local.addProperty("type", stringKeys ? "object" : "map");
+            local.add("value", entries);
+        } else {
+            String sharedId = sharedIds.apply(value);
+            if (sharedId == null) {
+                throw new IllegalArgumentException("Unsupported argument type: " + value.getClass().getName());
+            }
+            return reference(sharedId);
+        }
+        return local;
+    }
+
+    /**
+     * Encode a reference to a node previously returned by the browser.
+     *
+     * @param sharedId the node's shared ID
+     * @return the remote reference
+     */
+    public static JsonObject reference(String sharedId) {
+        JsonObject reference = new JsonObject();
+        reference.addProperty("sharedId", sharedId);
+        return reference;
+    }
+
+    /**
+     * Numbers that JSON cannot represent are sent as their BiDi string form.
+     */
+    private static void addNumber(JsonObject local, Number number) {
+        double d = number.doubleValue();
+        if (Double.isNaN(d)) {
+            local.addProperty("value", "NaN");
+        } else if (Double.isInfinite(d)) {
+            local.addProperty("value", d > 0 ? "Infinity" : "-Infinity");
+        } else if (d == 0 && 1 / d < 0) {
+            local.addProperty("value", "-0");
+        } else {
+            local.addProperty("value", number);
+        }
+    }
+}
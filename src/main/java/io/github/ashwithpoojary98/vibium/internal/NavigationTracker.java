@@ -0,0 +1,237 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import io.github.ashwithpoojary98.vibium.model.NavigationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Observes one navigation of a browsing context: records when
+ * {@code DOMContentLoaded} and {@code load} fire, and optionally detects when
+ * the context's network becomes idle.
+ *
+ * <p>Network idle is tracked client-side from {@code network.beforeRequestSent},
+ * {@code network.responseCompleted} and {@code network.fetchError}, counting
+ * the requests of the context and of its child frames: once
+ * {@link #awaitNetworkIdle()} is called, the network is idle when no more than
+ * {@code maxInflight} requests stayed in flight for the whole quiet period.
+ * Events may be dispatched out of order, so a request that finished before its
+ * start event was handled is remembered and never counted.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class NavigationTracker implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NavigationTracker.class);
+
+    private static final String DOM_CONTENT_LOADED = "browsingContext.domContentLoaded";
+    private static final String LOAD = "browsingContext.load";
+    private static final String REQUEST_STARTED = "network.beforeRequestSent";
+    private static final String RESPONSE_COMPLETED = "network.responseCompleted";
+    private static final String FETCH_ERROR = "network.fetchError";
+
+    private final BiDiClient client;
+    private final String context;
+    private final BrowsingContextCache contexts;
+    private final boolean trackNetwork;
+    private final Duration quietPeriod;
+    private final int maxInflight;
+    private final long startNanos = System.nanoTime();
+
+    private final Consumer<JsonObject> onDomContentLoaded = params -> mark(params, true);
+    private final Consumer<JsonObject> onLoad = params -> mark(params, false);
+    private final Consumer<JsonObject> onRequestStarted = params -> onRequest(params, true);
+    private final Consumer<JsonObject> onRequestFinished = params -> onRequest(params, false);
+
+    private final Set<String> inflight = new HashSet<>();
+    private final Set<String> finishedEarly = new HashSet<>();
+    private final CompletableFuture<Void> idle = new CompletableFuture<>();
+
+    private Duration domContentLoaded;
+    private Duration load;
+    private Duration networkIdle;
+    private boolean awaitingIdle;
+    private long quietGeneration;
+
+    private NavigationTracker(BiDiClient client, String context, BrowsingContextCache contexts,
+                              boolean trackNetwork, Duration quietPeriod, int maxInflight) {
+        this.client = client;
+        this.context = context;
+        this.contexts = contexts;
+        this.trackNetwork = trackNetwork;
+        this.quietPeriod = quietPeriod;
+        this.maxInflight = maxInflight;
+    }
+
+    /**
+     * Start observing a context before its navigation is requested.
+     *
+     * @param client       the BiDi client
+     * @param context      the browsing context ID
+     * @param contexts     the context tree, used to attribute frame requests to the context
+     * @param trackNetwork whether to track requests for network idle detection
+     * @param quietPeriod  how long the network must stay quiet
+     * @param maxInflight  the number of in-flight requests tolerated while quiet
+     * @return future completed with the tracker once events are enabled
+     */
+    public static CompletableFuture<NavigationTracker> start(BiDiClient client, String context,
+                                                             BrowsingContextCache contexts,
+                                                             boolean trackNetwork, Duration quietPeriod,
+                                                             int maxInflight) {
+        NavigationTracker tracker = new NavigationTracker(client, context, contexts, trackNetwork,
+                quietPeriod, maxInflight);
+        client.on(DOM_CONTENT_LOADED, tracker.onDomContentLoaded);
+        client.on(LOAD, tracker.onLoad);
+        if (!trackNetwork) {
+            return client.subscribe(DOM_CONTENT_LOADED, LOAD).thenApply(v -> tracker);
+        }
+
+        client.on(REQUEST_STARTED, tracker.onRequestStarted);
+        client.on(RESPONSE_COMPLETED, tracker.onRequestFinished);
+        client.on(FETCH_ERROR, tracker.onRequestFinished);
+        return client.subscribe(DOM_CONTENT_LOADED, LOAD, REQUEST_STARTED, RESPONSE_COMPLETED, FETCH_ERROR)
+                .thenApply(v -> tracker);
+    }
+
+    /**
+     * Wait until the network of the context is idle.
+     *
+     * @return future completed once the network stayed quiet for the quiet period
+     */
+    public CompletableFuture<Void> awaitNetworkIdle() {
+        if (!trackNetwork) {
+            throw new IllegalStateException("Network tracking was not enabled");
+        }
+        synchronized (this) {
+            awaitingIdle = true;
+            if (inflight.size() <= maxInflight) {
+                scheduleQuietCheck();
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * Number of requests of the context currently in flight.
+     *
+     * @return the in-flight request count
+     */
+    public synchronized int getInflightCount() {
+        return inflight.size();
+    }
+
+    /**
+     * Build the navigation result with the phase timings observed so far.
+     *
+     * @param navigation the navigation ID
+     * @param url        the final URL
+     * @return the result
+     */
+    public synchronized NavigationResult result(String navigation, String url) {
+        return new NavigationResult(navigation, url, domContentLoaded, load, networkIdle, elapsed());
+    }
+
+    /**
+     * Stop observing the context.
+     */
+    @Override
+    public void close() {
+        client.off(DOM_CONTENT_LOADED, onDomContentLoaded);
+        client.off(LOAD, onLoad);
+        if (trackNetwork) {
+            client.off(REQUEST_STARTED, onRequestStarted);
+            client.off(RESPONSE_COMPLETED, onRequestFinished);
+            client.off(FETCH_ERROR, onRequestFinished);
+        }
+        idle.cancel(false);
+    }
+
+    private synchronized void mark(JsonObject params, boolean interactive) {
+        if (!context.equals(stringOrNull(params, "context"))) {
+            return;
+        }
+        if (interactive && domContentLoaded == null) {
+            domContentLoaded = elapsed();
+        } else if (!interactive && load == null) {
+            load = elapsed();
+        }
+    }
+
+    private synchronized void onRequest(JsonObject params, boolean started) {
+        if (!params.has("request")) {
+            return;
+        }
+        String request = params.getAsJsonObject("request").get("request").getAsString();
+        if (started) {
+            if (!isOwnFrame(stringOrNull(params, "context"))) {
+                return;
+            }
+            if (!finishedEarly.remove(request)) {
+                inflight.add(request);
+            }
+        } else if (!inflight.remove(request)) {
+            // A frame may be gone by the time its request finishes, so only
+            // requests that were not counted are checked against the tree
+            if (!isOwnFrame(stringOrNull(params, "context"))) {
+                return;
+            }
+            finishedEarly.add(request);
+        }
+
+        if (awaitingIdle) {
+            if (inflight.size() <= maxInflight) {
+                scheduleQuietCheck();
+            } else {
+                quietGeneration++;
+            }
+        }
+    }
+
+    /**
+     * (Re)start the quiet period. Any later change of the in-flight set bumps
+     * the generation, which invalidates the pending check.
+     */
+    private void scheduleQuietCheck() {
+        long generation = ++quietGeneration;
+        Executor delayed = CompletableFuture.delayedExecutor(quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+        CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                if (generation != quietGeneration || inflight.size() > maxInflight) {
+                    return;
+                }
+                networkIdle = elapsed();
+            }
+            log.debug("Network idle in context {} after {} ms", context, networkIdle.toMillis());
+            idle.complete(null);
+        }, delayed);
+    }
+
+    private boolean isOwnFrame(String requestContext) {
+        String current = requestContext;
+        for (int depth = 0; current != null && depth < 32; depth++) {
+            if (current.equals(context)) {
+                return true;
+            }
+            BrowsingContextInfo info = contexts.get(current);
+            current = info == null ? null : info.getParent();
+        }
+        return false;
+    }
+
+    private Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private static String stringOrNull(JsonObject params, String key) {
+        return params.has(key) && !params.get(key).isJsonNull() ? params.get(key).getAsString() : null;
+    }
+}
@@ -0,0 +1,621 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JavaScript functions sent to the page with {@code script.callFunction}.
+ *
+ * <p>Each function is a constant so that the declaration is byte-identical on
+ * every call and the browser can reuse its compiled code; all variable input is
+ * passed as arguments.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class PageScripts {
+
+    /**
+     * {@code (el) => void}: clear the value of a form control or editable element
+     * and notify listeners the same way user input would.
+     */
+    public static final String CLEAR = String.join("\n",
+            "(el) => {",
+            "  if ('value' in el) { el.value = ''; } else if (el.isContentEditable) { el.textContent = ''; }",
+            "  el.dispatchEvent(new Event('input', { bubbles: true }));",
+            "  el.dispatchEvent(new Event('change', { bubbles: true }));",
+            "}");
+
+    /**
+     * {@code (el, name) => string|null}: read an attribute.
+     */
+    public static final String GET_ATTRIBUTE = "(el, name) => el.getAttribute(name)";
+
+    /**
+     * {@code async (el, timeoutMs) => void}: scroll an element into view and wait
+     * until it can receive input: connected, visible, enabled and not covered at
+     * its center point. Rejects with {@code vibium:not actionable} on timeout.
+     */
+    public static final String PREPARE_ACTION = String.join("\n",
+            "async (el, timeoutMs) => {",
+            "  const deadline = Date.now() + timeoutMs;",
+            "  let reason;",
+            "  for (;;) {",
+            "    reason = null;",
+            "    if (!el.isConnected) throw new Error('vibium:not actionable: detached');",
+            "    el.scrollIntoView({ block: 'center', inline: 'center' });",
+            "    const r = el.getBoundingClientRect();",
+            "    const style = getComputedStyle(el);",
+            "    if (r.width === 0 || r.height === 0 || style.visibility === 'hidden') {",
+            "      reason = 'not visible';",
+            "    } else if (el.disabled) {",
+            "      reason = 'disabled';",
+            "    } else {",
+            "      const hit = el.ownerDocument.elementFromPoint(r.left + r.width / 2, r.top + r.height / 2);",
+            "      if (hit && hit !== el && !el.contains(hit) && !(hit.shadowRoot && hit.contains(el))) {",
+            "        reason = 'covered by ' + hit.tagName.toLowerCase();",
+            "      }",
+            "    }",
+            "    if (!reason) return;",
+            "    if (Date.now() >= deadline) throw new Error('vibium:not actionable: ' + reason);",
+            "    await new Promise((resolve) => requestAnimationFrame(resolve));",
+            "  }",
+            "}");
+
+    /**
+     * Prefix of the error thrown by {@link #CALL_REGISTERED} when the called
+     * function is not installed in the target realm.
+     */
+    public static final String UNREGISTERED = "vibium:unregistered";
+
+    /**
+     * {@code (name, ...args) => any}: call a function installed by
+     * {@link #installer(String, String)}.
+     */
+    public static final String CALL_REGISTERED = String.join("\n",
+            "(name, ...args) => {",
+            "  const registry = window.__vibiumFunctions;",
+            "  const fn = registry && registry[name];",
+            "  if (typeof fn !== 'function') throw new Error('" + UNREGISTERED + " ' + name);",
+            "  return fn(...args);",
+            "}");
+
+    /**
+     * {@code (id, n) => void}: grant a running {@link #stream(String) stream} credit for n more items.
+     */
+    public static final String GRANT_STREAM = String.join("\n",
+            "(id, n) => {",
+            "  const stream = window.__vibiumStreams && window.__vibiumStreams[id];",
+            "  if (stream) stream.grant(n);",
+            "}");
+
+    /**
+     * {@code (id) => void}: cancel a running {@link #stream(String) stream}.
+     */
+    public static final String CANCEL_STREAM = String.join("\n",
+            "(id) => {",
+            "  const stream = window.__vibiumStreams && window.__vibiumStreams[id];",
+            "  if (stream) stream.cancel();",
+            "}");
+
+    private PageScripts() {
+        // Utility class
+    }
+
+    /**
+     * Build {@code script.callFunction} parameters targeting a browsing context.
+     *
+     * @param contextId           the browsing context ID
+     * @param functionDeclaration the function source
+     * @param arguments           the encoded arguments (see {@link LocalValues})
+     * @return the command parameters
+     */
+    public static JsonObject callParams(String contextId, String functionDeclaration, JsonObject... arguments) {
+        JsonObject params = new JsonObject();
+        params.addProperty("functionDeclaration", functionDeclaration);
+
+        JsonObject target = new JsonObject();
+        target.addProperty("context", contextId);
+        params.add("target", target);
+
+        JsonArray args = new JsonArray();
+        for (JsonObject argument : arguments) {
+            args.add(argument);
+        }
+        params.add("arguments", args);
+        params.addProperty("awaitPromise", true);
+        return params;
+    }
+
+    /**
+     * Build a function that installs a named helper into the non-enumerable
+     * {@code window.__vibiumFunctions} registry of the realm it runs in.
+     *
+     * @param name   the helper name
+     * @param source a JavaScript function expression
+     * @return the installer function declaration
+     */
+    public static String installer(String name, String source) {
+        return String.join("\n",
+                "() => {",
+                "  if (!Object.prototype.hasOwnProperty.call(window, '__vibiumFunctions')) {",
+                "    Object.defineProperty(window, '__vibiumFunctions', { value: Object.create(null) });",
+                "  }",
+                "  window.__vibiumFunctions[" + new JsonPrimitive(name) + "] = (",
+                source,
+                "  );",
+                "}");
+    }
+
+    /**
+     * Build a preload function that restores saved web storage. When a document
+     * of one of the saved origins starts, the saved local storage items of that
+     * origin are written unless the origin already got this state, and the saved
+     * session storage items unless the tab already got it. Both are tracked by a
+     * {@link #STORAGE_MARKER} key in the respective storage, holding a digest of
+     * the state, so the page's own later changes survive reloads and new tabs.
+     *
+     * @param origins JSON object of {@code {localStorage, sessionStorage}} item maps by origin
+     * @return the restorer function declaration
+     */
+    public static String storageRestorer(String origins) {
+        String token = Bytes.digest("SHA-1", origins.getBytes(StandardCharsets.UTF_8));
+        return String.join("\n",
+                "() => {",
+                "  const origins = JSON.parse(" + new JsonPrimitive(origins) + ");",
+                "  if (!Object.prototype.hasOwnProperty.call(origins, location.origin)) return;",
+                "  const state = origins[location.origin];",
+                "  const restore = (storage, items) => {",
+                "    if (storage.getItem('" + STORAGE_MARKER + "') === '" + token + "') return;",
+                "    for (const [k, v] of Object.entries(items || {})) storage.setItem(k, v);",
+                "    storage.setItem('" + STORAGE_MARKER + "', '" + token + "');",
+                "  };",
+                "  try {",
+                "    restore(localStorage, state.localStorage);",
+                "    restore(sessionStorage, state.sessionStorage);",
+                "  } catch (e) {",
+                "    // Storage is unavailable in sandboxed or opaque-origin documents",
+                "  }",
+                "}");
+    }
+
+    /**
+     * Wrap a producer function {@code async (emit, ...args) => ...} so that it
+     * pushes items through a BiDi channel. The wrapper is called as
+     * {@code (channel, id, ...args)} and sends {@code {seq, item}} for each
+     * {@code await emit(item)}, then {@code {seq, done: true}} or
+     * {@code {seq, error}}. {@code emit} waits until credit is granted with
+     * {@link #GRANT_STREAM}.
+     *
+     * @param producer the producer function expression
+     * @return the wrapper function declaration
+     */
+    public static String stream(String producer) {
+        return String.join("\n",
+                "async (channel, id, ...args) => {",
+                "  const producer = (",
+                producer,
+                "  );",
+                "  if (!Object.prototype.hasOwnProperty.call(window, '__vibiumStreams')) {",
+                "    Object.defineProperty(window, '__vibiumStreams', { value: Object.create(null) });",
+                "  }",
+                "  let credit = 0, seq = 0, cancelled = false, wake = null;",
+                "  const signal = () => { if (wake) { const w = wake; wake = null; w(); } };",
+                "  window.__vibiumStreams[id] = {",
+                "    grant(n) { credit += n; signal(); },",
+                "    cancel() { cancelled = true; signal(); }",
+                "  };",
+                "  const emit = async (item) => {",
+                "    while (credit <= 0 && !cancelled) await new Promise(resolve => { wake = resolve; });",
+                "    if (cancelled) throw new Error('vibium:cancelled');",
+                "    credit--;",
+                "    channel({ seq: seq++, item });",
+                "  };",
+                "  try {",
+                "    await producer(emit, ...args);",
+                "    if (!cancelled) channel({ seq: seq++, done: true });",
+                "  } catch (e) {",
+                "    if (!cancelled) channel({ seq: seq++, error: String(e && e.stack || e) });",
+                "  } finally {",
+                "    delete window.__vibiumStreams[id];",
+                "  }",
+                "}");
+    }
+
+    /**
+     * Body fragment defining {@code encode(total, els)}, which builds the
+     * {@code [json, ...elements]} result shared by {@link #FIND_ALL} and
+     * {@link #LOCATE}.
+     */
+    private static final String ENCODE_ELEMENTS = String.join("\n",
+            "  const path = el => {",
+            "    const parts = [];",
+            "    for (let n = el; n && n !== document.documentElement; n = n.parentElement) {",
+            "      let i = 1;",
+            "      for (let s = n.previousElementSibling; s; s = s.previousElementSibling) i++;",
+            "      parts.unshift(CSS.escape(n.localName) + ':nth-child(' + i + ')');",
+            "    }",
+            "    return ':root' + parts.map(p => ' > ' + p).join('');",
+            "  };",
+            "  const encode = (total, els) => {",
+            "    const tags = [], tagIndex = new Map();",
+            "    const rows = els.map(el => {",
+            "      const tag = el.localName;",
+            "      if (!tagIndex.has(tag)) { tagIndex.set(tag, tags.length); tags.push(tag); }",
+            "      const r = el.getBoundingClientRect();",
+            "      return [tagIndex.get(tag), (el.textContent || '').trim(), r.x, r.y, r.width, r.height, path(el)];",
+            "    });",
+            "    return [JSON.stringify({ total, tags, rows }), ...els];",
+            "  };");
+
+    /**
+     * {@code (selector, offset, limit) => [json, ...elements]}: resolve all matches
+     * of a CSS selector or XPath. The first item is a JSON string with the total
+     * match count, a tag dictionary and one compact row per returned element:
+     * {@code [tagIndex, text, x, y, width, height, path]}, where {@code path} is a
+     * CSS selector that uniquely addresses the element. The remaining items are
+     * the elements themselves, serialized by the browser as shared references.
+     */
+    public static final String FIND_ALL = String.join("\n",
+            "(selector, offset, limit) => {",
+            "  let all = [];",
+            "  if (selector.startsWith('/') || selector.startsWith('(')) {",
+            "    const r = document.evaluate(selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);",
+            "    for (let i = 0; i < r.snapshotLength; i++) {",
+            "      const n = r.snapshotItem(i);",
+            "      if (n.nodeType === 1) all.push(n);",
+            "    }",
+            "  } else {",
+            "    all = Array.from(document.querySelectorAll(selector));",
+            "  }",
+            ENCODE_ELEMENTS,
+            "  return encode(all.length, all.slice(offset, limit < 0 ? undefined : offset + limit));",
+            "}");
+
+    /**
+     * {@code (root, boxes, text, maxNodes) => json}: serialize the subtree of the
+     * element matching {@code root} (a CSS selector or XPath, null for the whole
+     * document), or return null when nothing matches. The JSON has a string
+     * dictionary shared by tag names, attribute names and attribute values, and
+     * one row per node in document order: {@code [parent, tag, [name, value, ...]]}
+     * followed by {@code x, y, width, height} when boxes are requested, or
+     * {@code [parent, -1, text]} for text nodes. {@code parent} is the row index of
+     * the parent element, -1 for the root.
+     */
+    public static final String SNAPSHOT = String.join("\n",
+            "(root, boxes, text, maxNodes) => {",
+            "  let start = document.documentElement;",
+            "  if (root !== null && (root.startsWith('/') || root.startsWith('('))) {",
+            "    start = document.evaluate(root, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;",
+            "  } else if (root !== null) {",
+            "    start = document.querySelector(root);",
+            "  }",
+            "  if (!start || start.nodeType !== 1) return null;",
+            "  const strings = [], index = new Map();",
+            "  const intern = s => {",
+            "    let i = index.get(s);",
+            "    if (i === undefined) { i = strings.length; index.set(s, i); strings.push(s); }",
+            "    return i;",
+            "  };",
+            "  const nodes = [], stack = [[start, -1]];",
+            "  let elements = 0, truncated = false;",
+            "  while (stack.length) {",
+            "    const [n, parent] = stack.pop();",
+            "    if (n.nodeType === 3) {",
+            "      if (text) nodes.push([parent, -1, n.data]);",
+            "      continue;",
+            "    }",
+            "    if (n.nodeType !== 1) continue;",
+            "    if (maxNodes > 0 && elements >= maxNodes) { truncated = true; continue; }",
+            "    elements++;",
+            "    const attrs = [];",
+            "    for (const a of n.attributes) attrs.push(intern(a.name), intern(a.value));",
+            "    const row = [parent, intern(n.localName), attrs];",
+            "    if (boxes) {",
+            "      const r = n.getBoundingClientRect();",
+            "      row.push(r.x, r.y, r.width, r.height);",
+            "    }",
+            "    const self = nodes.length;",
+            "    nodes.push(row);",
+            "    for (let c = n.lastChild; c; c = c.previousSibling) stack.push([c, self]);",
+            "  }",
+            "  return JSON.stringify({ strings, nodes, truncated });",
+            "}");
+
+    /**
+     * {@code (spec, timeout) => Promise<boolean>}: wait until a condition, given
+     * as the JSON form of {@code Condition}, holds in the page. The condition is
+     * checked at once, then after DOM mutations (at most once per animation
+     * frame) and on a slow timer for changes no mutation reports, such as
+     * layout or URL changes. Resolves true when it holds, or false after
+     * {@code timeout} milliseconds; invalid selectors reject.
+     */
+    public static final String WAIT_FOR = String.join("\n",
+            "(spec, timeout) => new Promise((resolve, reject) => {",
+            "  const isXPath = s => s.startsWith('/') || s.startsWith('(');",
+            "  const first = s => isXPath(s)",
+            "      ? document.evaluate(s, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue",
+            "      : document.querySelector(s);",
+            "  const count = s => isXPath(s)",
+            "      ? document.evaluate(s, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength",
+            "      : document.querySelectorAll(s).length;",
+            "  const visible = el => {",
+            "    if (!el || !el.isConnected || el.nodeType !== 1) return false;",
+            "    const r = el.getBoundingClientRect();",
+            "    return r.width > 0 && r.height > 0 && getComputedStyle(el).visibility !== 'hidden';",
+            "  };",
+            "  const text = el => el ? (el.textContent || '') : null;",
+            "  const compile = c => {",
+            "    switch (c.op) {",
+            "      case 'attached': return () => first(c.selector) !== null;",
+            "      case 'detached': return () => first(c.selector) === null;",
+            "      case 'visible': return () => visible(first(c.selector));",
+            "      case 'hidden': return () => !visible(first(c.selector));",
+            "      case 'text': return () => { const t = text(first(c.selector)); return t !== null && t.includes(c.text); };",
+            "      case 'textMatches': {",
+            "        const re = new RegExp(c.pattern);",
+            "        return () => { const t = text(first(c.selector)); return t !== null && re.test(t); };",
+            "      }",
+            "      case 'attribute': return () => { const el = first(c.selector); return !!el && el.getAttribute(c.name) === c.value; };",
+            "      case 'count': return () => count(c.selector) === c.count;",
+            "      case 'countAtLeast': return () => count(c.selector) >= c.count;",
+            "      case 'url': return () => location.href.includes(c.text);",
+            "      case 'not': { const p = compile(c.condition); return () => !p(); }",
+            "      case 'and': { const ps = c.all.map(compile); return () => ps.every(p => p()); }",
+            "      case 'or': { const ps = c.all.map(compile); return () => ps.some(p => p()); }",
+            "      default: throw new Error('vibium:condition unknown ' + c.op);",
+            "    }",
+            "  };",
+            "  let holds, observer = null, frame = 0, timer = 0, poll = 0, settled = false;",
+            "  const done = (result, error) => {",
+            "    if (settled) return;",
+            "    settled = true;",
+            "    if (observer) observer.disconnect();",
+            "    cancelAnimationFrame(frame);",
+            "    clearTimeout(timer);",
+            "    clearInterval(poll);",
+            "    if (error) reject(error); else resolve(result);",
+            "  };",
+            "  const check = () => {",
+            "    frame = 0;",
+            "    try { if (holds()) done(true); } catch (e) { done(false, e); }",
+            "  };",
+            "  try {",
+            "    holds = compile(JSON.parse(spec));",
+            "    if (holds()) { resolve(true); return; }",
+            "  } catch (e) { reject(e); return; }",
+            "  observer = new MutationObserver(() => { if (!frame) frame = requestAnimationFrame(check); });",
+            "  observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });",
+            "  poll = setInterval(check, 250);",
+            "  timer = setTimeout(() => done(false), timeout);",
+            "})");
+
+    /**
+     * {@code (steps, timeout, limit) => Promise<[json, ...elements]>}: run a
+     * locator chain, given as the JSON form of its steps, and return the match
+     * count and the first {@code limit} matches (negative for all) encoded like
+     * {@link #FIND_ALL}. Each {@code css} or {@code xpath} step queries
+     * inside every current match, {@code nth} keeps one match (negative from the
+     * end), and the filters {@code hasText}, {@code hasNotText}, {@code has}
+     * (a nested chain) and {@code visible} drop matches. With a positive
+     * {@code timeout} in milliseconds and no match yet, the chain is re-run after
+     * DOM mutations (at most once per animation frame) until something matches
+     * or the time is up, when the empty result is returned.
+     */
+    public static final String LOCATE = String.join("\n",
+            "(steps, timeout, limit) => new Promise((resolve, reject) => {",
+            "  const query = (roots, s) => {",
+            "    const out = [], seen = new Set();",
+            "    for (const root of roots) {",
+            "      let found = [];",
+            "      if (s.op === 'xpath') {",
+            "        const r = document.evaluate(s.selector, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);",
+            "        for (let i = 0; i < r.snapshotLength; i++) found.push(r.snapshotItem(i));",
+            "      } else {",
+            "        found = root.querySelectorAll(s.selector);",
+            "      }",
+            "      for (const n of found) if (n.nodeType === 1 && !seen.has(n)) { seen.add(n); out.push(n); }",
+            "    }",
+            "    if (roots.length > 1) {",
+            "      out.sort((a, b) => a.compareDocumentPosition(b) & Node.DOCUMENT_POSITION_FOLLOWING ? -1 : 1);",
+            "    }",
+            "    return out;",
+            "  };",
+            "  const visible = el => {",
+            "    const r = el.getBoundingClientRect();",
+            "    return r.width > 0 && r.height > 0 && getComputedStyle(el).visibility !== 'hidden';",
+            "  };",
+            "  const run = (chain, start) => {",
+            "    let els = start;",
+            "    for (const s of chain) {",
+            "      switch (s.op) {",
+            "        case 'css': case 'xpath': els = query(els, s); break;",
+            "        case 'nth': {",
+            "          const i = s.index < 0 ? els.length + s.index : s.index;",
+            "          els = i >= 0 && i < els.length ? [els[i]] : [];",
+            "          break;",
+            "        }",
+            "        case 'hasText': els = els.filter(el => (el.textContent || '').includes(s.text)); break;",
+            "        case 'hasNotText': els = els.filter(el => !(el.textContent || '').includes(s.text)); break;",
+            "        case 'has': els = els.filter(el => run(s.steps, [el]).length > 0); break;",
+            "        case 'visible': els = els.filter(visible); break;",
+            "        default: throw new Error('vibium:locator unknown ' + s.op);",
+            "      }",
+            "      if (!els.length) break;",
+            "    }",
+            "    return els;",
+            "  };",
+            ENCODE_ELEMENTS,
+            "  const found = els => encode(els.length, limit < 0 ? els : els.slice(0, limit));",
+            "  let chain, observer = null, frame = 0, timer = 0, settled = false;",
+            "  const done = (els, error) => {",
+            "    if (settled) return;",
+            "    settled = true;",
+            "    if (observer) observer.disconnect();",
+            "    cancelAnimationFrame(frame);",
+            "    clearTimeout(timer);",
+            "    if (error) reject(error); else resolve(found(els));",
+            "  };",
+            "  const check = () => {",
+            "    frame = 0;",
+            "    try { const els = run(chain, [document]); if (els.length) done(els); } catch (e) { done([], e); }",
+            "  };",
+            "  try {",
+            "    chain = JSON.parse(steps);",
+            "    const els = run(chain, [document]);",
+            "    if (els.length || timeout <= 0) { resolve(found(els)); return; }",
+            "  } catch (e) { reject(e); return; }",
+            "  observer = new MutationObserver(() => { if (!frame) frame = requestAnimationFrame(check); });",
+            "  observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });",
+            "  timer = setTimeout(() => done([]), timeout);",
+            "})");
+
+    /**
+     * Result code of {@link #FILL} for a text field left empty for the caller
+     * to type into.
+     */
+    public static final String FILL_TYPE = "vibium:type";
+
+    /**
+     * {@code (fields, timeout, keystrokes) => Promise<[json, ...elements]>}: fill
+     * form fields given as a JSON array of {@code [selector, value]} pairs. Waits
+     * up to {@code timeout} milliseconds for every selector to match, then sets
+     * each field: text controls through the native value setter, selects by
+     * option value or label (an array for multiple selects), checkboxes and
+     * radio buttons by clicking when their state must change (a radio value
+     * picks the button of that value in the group), and editable elements by
+     * text content; {@code input} and {@code change} are dispatched as user
+     * input would. The first item is a JSON array with one entry per field:
+     * null when set, an error message, or {@link #FILL_TYPE} when
+     * {@code keystrokes} is set and the text field was cleared to be typed into.
+     * The remaining items are the fields to type into, in order.
+     */
+    public static final String FILL = String.join("\n",
+            "(fields, timeout, keystrokes) => new Promise((resolve, reject) => {",
+            "  const find = s => s.startsWith('/') || s.startsWith('(')",
+            "      ? document.evaluate(s, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue",
+            "      : document.querySelector(s);",
+            "  const fire = el => {",
+            "    el.dispatchEvent(new Event('input', { bubbles: true }));",
+            "    el.dispatchEvent(new Event('change', { bubbles: true }));",
+            "  };",
+            "  const setValue = (el, v) => {",
+            "    const d = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value');",
+            "    if (d && d.set) d.set.call(el, v); else el.value = v;",
+            "  };",
+            "  const check = (el, on) => {",
+            "    if (el.checked !== on) el.click();",
+            "    return el.checked === on ? null : 'checked state did not change';",
+            "  };",
+            "  const typed = ['', 'text', 'search', 'email', 'url', 'tel', 'password', 'number'];",
+            "  const fill = (el, value) => {",
+            "    if (el.disabled) return 'disabled';",
+            "    const tag = el.localName, type = (el.getAttribute('type') || '').toLowerCase();",
+            "    if (tag === 'select') {",
+            "      const wanted = (Array.isArray(value) ? value : [value]).map(String);",
+            "      let found = 0;",
+            "      for (const o of el.options) {",
+            "        const hit = (el.multiple || !found) && (wanted.includes(o.value) || wanted.includes(o.label.trim()));",
+            "        if (hit) found++;",
+            "        if (el.multiple || hit) o.selected = hit;",
+            "      }",
+            "      if (found < (el.multiple ? wanted.length : 1)) return 'no option ' + JSON.stringify(value);",
+            "      fire(el);",
+            "      return null;",
+            "    }",
+            "    if (tag === 'input' && type === 'checkbox') return check(el, value === true || value === 'true');",
+            "    if (tag === 'input' && type === 'radio') {",
+            "      if (value === false) return 'a radio button cannot be unchecked';",
+            "      let target = el;",
+            "      if (value !== true && el.value !== String(value)) {",
+            "        target = Array.from((el.form || document).querySelectorAll('input[type=radio]'))",
+            "            .find(r => r.name === el.name && r.value === String(value));",
+            "        if (!target) return 'no radio button ' + JSON.stringify(value);",
+            "      }",
+            "      return check(target, true);",
+            "    }",
+            "    if (tag === 'input' && ['file', 'button', 'submit', 'reset', 'image'].includes(type)) {",
+            "      return 'unsupported input type ' + type;",
+            "    }",
+            "    if (el.readOnly) return 'read-only';",
+            "    const text = value === null || value === undefined ? '' : String(value);",
+            "    if (tag === 'input' || tag === 'textarea') {",
+            "      const typeable = tag === 'textarea' || typed.includes(type);",
+            "      setValue(el, keystrokes && typeable ? '' : text);",
+            "      fire(el);",
+            "      return keystrokes && typeable ? '" + FILL_TYPE + "' : null;",
+            "    }",
+            "    if (el.isContentEditable) {",
+            "      el.textContent = keystrokes ? '' : text;",
+            "      el.dispatchEvent(new Event('input', { bubbles: true }));",
+            "      return keystrokes ? '" + FILL_TYPE + "' : null;",
+            "    }",
+            "    return 'not a form field: ' + tag;",
+            "  };",
+            "  const run = () => {",
+            "    const results = [], els = [];",
+            "    for (const [selector, value] of entries) {",
+            "      try {",
+            "        const el = find(selector);",
+            "        if (!el || el.nodeType !== 1) { results.push('not found'); continue; }",
+            "        const result = fill(el, value);",
+            "        if (result === '" + FILL_TYPE + "') els.push(el);",
+            "        results.push(result);",
+            "      } catch (e) {",
+            "        results.push(String(e && e.message || e));",
+            "      }",
+            "    }",
+            "    return [JSON.stringify(results), ...els];",
+            "  };",
+            "  const ready = () => entries.every(([s]) => { try { return !!find(s); } catch (e) { return true; } });",
+            "  let entries, observer = null, frame = 0, timer = 0, settled = false;",
+            "  const done = () => {",
+            "    if (settled) return;",
+            "    settled = true;",
+            "    if (observer) observer.disconnect();",
+            "    cancelAnimationFrame(frame);",
+            "    clearTimeout(timer);",
+            "    try { resolve(run()); } catch (e) { reject(e); }",
+            "  };",
+            "  const recheck = () => { frame = 0; if (ready()) done(); };",
+            "  try {",
+            "    entries = JSON.parse(fields);",
+            "    if (timeout <= 0 || ready()) { resolve(run()); return; }",
+            "  } catch (e) { reject(e); return; }",
+            "  observer = new MutationObserver(() => { if (!frame) frame = requestAnimationFrame(recheck); });",
+            "  observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });",
+            "  timer = setTimeout(done, timeout);",
+            "})");
+
+    /**
+     * Local and session storage key set by {@link #storageRestorer(String)} once
+     * the origin or tab got its saved storage, so that the page's own changes are kept.
+     */
+    public static final String STORAGE_MARKER = "vibium:storage-restored";
+
+    /**
+     * {@code () => json|null}: the origin and the local and session storage
+     * items of the document, as {@code {origin, localStorage, sessionStorage}},
+     * or null for opaque origins and documents without storage access.
+     */
+    public static final String STORAGE_DUMP = String.join("\n",
+            "() => {",
+            "  if (location.origin === 'null') return null;",
+            "  const dump = s => {",
+            "    const items = {};",
+            "    for (let i = 0; i < s.length; i++) {",
+            "      const k = s.key(i);",
+            "      if (k !== '" + STORAGE_MARKER + "') items[k] = s.getItem(k);",
+            "    }",
+            "    return items;",
+            "  };",
+            "  try {",
+            "    return JSON.stringify({ origin: location.origin,",
+            "        localStorage: dump(localStorage), sessionStorage: dump(sessionStorage) });",
+            "  } catch (e) {",
+            "    return null;",
+            "  }",
+            "}");
+}
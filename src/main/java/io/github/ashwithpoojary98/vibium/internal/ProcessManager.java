@@ -1,10 +1,27 @@
 package io.github.ashwithpoojary98.vibium.internal;
 
+import io.github.ashwithpoojary98.vibium.model.LaunchStats;
+import io.github.ashwithpoojary98.vibium.options.LaunchLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Manages all Vibium browser processes for automatic cleanup.
@@ -12,15 +29,31 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>Ensures all Chrome/ChromeDriver processes are properly terminated
  * when the JVM exits, even if the user forgets to call quit().
  *
+ * <p>Every registered process is also recorded in a registry file in the
+ * {@link Clicker#getCacheDirectory() cache directory}, shared by all JVMs on the
+ * host. If a JVM dies without running its shutdown hook (e.g. {@code kill -9}),
+ * the next {@link #register(ClickerProcess)} in any JVM - or {@code vibium reap} -
+ * finds its entries and kills the leaked process trees.
+ *
+ * <p>Launches are also gated JVM-wide by a FIFO admission queue, configured
+ * with {@code BrowserAsync.setLaunchLimits(LaunchLimits)}, so that a burst of launches does
+ * not overload the host.
+ *
  * <p><b>Note:</b> This is an internal class and may change without notice.
  */
 public final class ProcessManager {
 
     private static final Logger log = LoggerFactory.getLogger(ProcessManager.class);
 
+    private static final String REGISTRY_FILE = "processes.registry";
+
     /** All active clicker processes */
     private static final Set<ClickerProcess> activeProcesses = ConcurrentHashMap.newKeySet();
 
+    /** JVM-wide launch admission queue */
+    private static final LaunchGovernor launchGovernor =
+            new LaunchGovernor(LaunchLimits.builder().build(), activeProcesses::size);
+
     /** Global shutdown hook registered flag */
     private static volatile boolean shutdownHookRegistered = false;
 
@@ -31,24 +64,59 @@ public final class ProcessManager {
     /**
      * Register a clicker process for automatic cleanup.
      *
+     * <p>Also reaps process trees left behind by JVMs that no longer exist.
+     *
      * @param process the process to register
      */
     public static synchronized void register(ClickerProcess process) {
         ensureShutdownHook();
+        reapOrphans();
         activeProcesses.add(process);
+        recordEntry(registryPath(), RegistryEntry.of(process));
         log.debug("Registered process on port {} (total active: {})",
                 process.getPort(), activeProcesses.size());
     }
 
     /**
-     * Unregister a clicker process (called when it's stopped).
+     * Unregister a clicker process (called when it's stopped or has exited).
      *
      * @param process the process to unregister
      */
     public static void unregister(ClickerProcess process) {
-        activeProcesses.remove(process);
+        if (!activeProcesses.remove(process)) {
+            return;
+        }
+        removeEntries(registryPath(), entry -> entry.clickerPid == process.getPid());
         log.debug("Unregistered process on port {} (total active: {})",
                 process.getPort(), activeProcesses.size());
+        launchGovernor.drain();
+    }
+
+    /**
+     * Configure JVM-wide launch admission limits.
+     *
+     * @param limits the limits applied to all subsequent and queued launches
+     */
+    public static void setLaunchLimits(LaunchLimits limits) {
+        launchGovernor.setLimits(limits);
+    }
+
+    /**
+     * Get a snapshot of the launch queue, including wait times.
+     *
+     * @return the launch statistics
+     */
+    public static LaunchStats getLaunchStats() {
+        return launchGovernor.stats();
+    }
+
+    /**
+     * Wait in the FIFO launch queue until a browser may be started.
+     *
+     * @return future completed with a permit to release once the start finished
+     */
+    static CompletableFuture<LaunchGovernor.Permit> acquireLaunchPermit() {
+        return launchGovernor.acquire();
     }
 
     /**
@@ -79,6 +147,144 @@ public final class ProcessManager {
             }
         }
         activeProcesses.clear();
+
+        long ownerPid = ProcessHandle.current().pid();
+        removeEntries(registryPath(), entry -> entry.ownerPid == ownerPid);
+    }
+
+    /**
+     * Kill process trees whose owning JVM is no longer running.
+     *
+     * @return number of process trees that were killed
+     */
+    public static int reapOrphans() {
+        return reapOrphans(registryPath());
+    }
+
+    static int reapOrphans(Path registry) {
+        int[] reaped = {0};
+        updateRegistry(registry, entries -> {
+            List<RegistryEntry> kept = new ArrayList<>();
+            for (RegistryEntry entry : entries) {
+                if (isOwnerAlive(entry)) {
+                    kept.add(entry);
+                } else if (killTree(entry)) {
+                    reaped[0]++;
+                }
+            }
+            return kept;
+        });
+        if (reaped[0] > 0) {
+            log.info("Reaped {} orphaned browser process tree(s)", reaped[0]);
+        }
+        return reaped[0];
+    }
+
+    static Path registryPath() {
+        return Clicker.getCacheDirectory().resolve(REGISTRY_FILE);
+    }
+
+    static void recordEntry(Path registry, RegistryEntry entry) {
+        updateRegistry(registry, entries -> {
+            entries.add(entry);
+            return entries;
+        });
+    }
+
+    private static void removeEntries(Path registry, Predicate<RegistryEntry> filter) {
+        updateRegistry(registry, entries -> {
+            entries.removeIf(filter);
+            return entries;
+        });
+    }
+
+    /**
+     * Read-modify-write the registry under an exclusive file lock, so that
+     * concurrent JVMs never lose each other's entries. Synchronized because
+     * file locks are held per JVM, not per thread.
+     */
+    private static synchronized void updateRegistry(Path registry, UnaryOperator<List<RegistryEntry>> update) {
+        try {
+            Files.createDirectories(registry.getParent());
+            try (FileChannel channel = FileChannel.open(registry,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    rewrite(channel, update);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not update process registry {}: {}", registry, e.getMessage());
+        }
+    }
+
+    private static void rewrite(FileChannel channel, UnaryOperator<List<RegistryEntry>> update) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        String content = new String(buffer.array(), StandardCharsets.UTF_8);
+
+        List<RegistryEntry> entries = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            RegistryEntry.parse(line).ifPresent(entries::add);
+        }
+
+        StringBuilder out = new StringBuilder();
+        for (RegistryEntry entry : update.apply(entries)) {
+            out.append(entry.format()).append('\n');
+        }
+
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap(out.toString().getBytes(StandardCharsets.UTF_8)), 0);
+    }
+
+    /**
+     * Check whether the JVM that recorded an entry still runs. Like
+     * {@link #killTree(RegistryEntry)}, a recorded start time that no longer
+     * matches means the pid was reused and the owner is gone.
+     */
+    private static boolean isOwnerAlive(RegistryEntry entry) {
+        Optional<ProcessHandle> owner = ProcessHandle.of(entry.ownerPid);
+        if (owner.isEmpty() || !owner.get().isAlive()) {
+            return false;
+        }
+        long startMillis = startMillis(owner.get());
+        return entry.ownerStartMillis == 0 || startMillis == 0 || startMillis == entry.ownerStartMillis;
+    }
+
+    /**
+     * Kill a leaked clicker and its descendants. The recorded start time guards
+     * against killing an unrelated process that has since reused the pid.
+     */
+    private static boolean killTree(RegistryEntry entry) {
+        Optional<ProcessHandle> handle = ProcessHandle.of(entry.clickerPid);
+        if (handle.isEmpty() || !handle.get().isAlive()) {
+            return false;
+        }
+
+        long startMillis = startMillis(handle.get());
+        if (startMillis == 0 || startMillis != entry.startMillis) {
+            log.debug("Skipping pid {}: start time does not match registry entry", entry.clickerPid);
+            return false;
+        }
+
+        log.debug("Reaping orphaned clicker process {} (owner {} is gone)", entry.clickerPid, entry.ownerPid);
+        handle.get().descendants().forEach(ph -> {
+            log.debug("Killing descendant process: {} ({})", ph.pid(),
+                    ph.info().command().orElse("unknown"));
+            ph.destroyForcibly();
+        });
+        handle.get().destroyForcibly();
+        return true;
+    }
+
+    static long startMillis(ProcessHandle handle) {
+        return handle.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
     }
 
     /**
@@ -97,4 +303,58 @@ public final class ProcessManager {
         shutdownHookRegistered = true;
         log.debug("Global shutdown hook registered");
     }
+
+    /**
+     * One line of the registry file:
+     * {@code <ownerPid> <ownerStartMillis> <clickerPid> <clickerStartMillis>}.
+     * Start times are 0 where the platform does not report them.
+     */
+    static final class RegistryEntry {
+
+        final long ownerPid;
+        final long ownerStartMillis;
+        final long clickerPid;
+        final long startMillis;
+
+        RegistryEntry(long ownerPid, long ownerStartMillis, long clickerPid, long startMillis) {
+            this.ownerPid = ownerPid;
+            this.ownerStartMillis = ownerStartMillis;
+            this.clickerPid = clickerPid;
+            this.startMillis = startMillis;
+        }
+
+        static RegistryEntry of(ClickerProcess process) {
+            return new RegistryEntry(
+                    ProcessHandle.current().pid(),
+                    startMillis(ProcessHandle.current()),
+                    process.getPid(),
+                    startMillis(process.getProcess().toHandle())
+            );
+        }
+
+        /**
+         * Parse a registry line. Malformed lines are corrupt and yield no entry,
+         * so the next rewrite of the registry drops them.
+         */
+        static Optional<RegistryEntry> parse(String line) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 4) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new RegistryEntry(
+                        Long.parseLong(parts[0]),
+                        Long.parseLong(parts[1]),
+                        Long.parseLong(parts[2]),
+                        Long.parseLong(parts[3])
+                ));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        String format() {
+            return ownerPid + " " + ownerStartMillis + " " + clickerPid + " " + startMillis;
+        }
+    }
 }
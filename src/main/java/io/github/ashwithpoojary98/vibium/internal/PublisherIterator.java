@@ -0,0 +1,135 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+
+/**
+ * A blocking {@link Iterator} over a {@link Flow.Publisher}.
+ *
+ * <p>Requests items in batches and asks for the next batch once half of the
+ * previous one was consumed, so at most {@code batchSize} items are buffered.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ *
+ * @param <T> the item type
+ */
+public final class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T>, AutoCloseable {
+
+    private final int batchSize;
+    private final Queue<T> buffer = new ArrayDeque<>();
+
+    private Flow.Subscription subscription;
+    private int consumed;
+    private boolean done;
+    private Throwable error;
+
+    /**
+     * Subscribe to a publisher.
+     *
+     * @param publisher the publisher
+     * @param batchSize the number of items requested at a time
+     */
+    public PublisherIterator(Flow.Publisher<T> publisher, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        publisher.subscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            this.subscription = subscription;
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public synchronized void onNext(T item) {
+        buffer.add(item);
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable) {
+        error = throwable;
+        done = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void onComplete() {
+        done = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        while (buffer.isEmpty() && !done) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new VibiumException("Interrupted while waiting for stream items", e);
+            }
+        }
+        if (buffer.isEmpty() && error != null) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            throw new VibiumException(error.getMessage(), error);
+        }
+        return !buffer.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The subscription is called outside of the lock, because the publisher
+     * may hold its own lock while delivering items.
+     */
+    @Override
+    public T next() {
+        T item;
+        boolean requestMore;
+        synchronized (this) {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            item = buffer.remove();
+            requestMore = ++consumed == (batchSize + 1) / 2;
+            if (requestMore) {
+                consumed = 0;
+            }
+        }
+        if (requestMore) {
+            subscription.request((batchSize + 1) / 2);
+        }
+        return item;
+    }
+
+    /**
+     * Cancel the subscription and drop buffered items.
+     */
+    @Override
+    public void close() {
+        Flow.Subscription toCancel;
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            done = true;
+            buffer.clear();
+            toCancel = subscription;
+        }
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoding of BiDi {@code script.RemoteValue} results.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class RemoteValues {
+
+    private static final Gson GSON = new Gson();
+
+    private RemoteValues() {
+        // Utility class
+    }
+
+    /**
+     * Get the value of a successful {@code script.callFunction} response.
+     *
+     * @param response the command response
+     * @return the remote value
+     * @throws VibiumException if the script threw an exception
+     */
+    public static JsonObject result(JsonObject response) {
+        JsonObject evaluateResult = response.getAsJsonObject("result");
+        if ("exception".equals(evaluateResult.get("type").getAsString())) {
+            JsonObject details = evaluateResult.getAsJsonObject("exceptionDetails");
+            String text = details != null && details.has("text") ? details.get("text").getAsString() : "unknown error";
+            throw new VibiumException("Script error: " + text);
+        }
+        return evaluateResult.getAsJsonObject("result");
+    }
+
+    /**
+     * Convert a remote value to plain Java objects: {@code null}, {@link String},
+     * {@link Boolean}, {@link Double}, {@link List} or {@link Map}. DOM nodes and
+     * other references are returned as their raw {@link JsonObject}.
+     *
+     * @param value the remote value
+     * @return the Java representation
+     */
+    public static Object decode(JsonObject value) {
+        String type = value.get("type").getAsString();
+        JsonElement raw = value.get("value");
+
+        switch (type) {
+            case "undefined":
+            case "null":
+                return null;
+            case "string":
+                return raw.getAsString();
+            case "boolean":
+                return raw.getAsBoolean();
+            case "number":
+                return number(raw);
+            case "bigint":
+                return new BigInteger(raw.getAsString());
+            case "array":
+            case "set":
+                List<Object> list = new ArrayList<>();
+                for (JsonElement item : raw.getAsJsonArray()) {
+                    list.add(decode(item.getAsJsonObject()));
+                }
+                return list;
+            case "object":
+            case "map":
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (JsonElement entry : raw.getAsJsonArray()) {
+                    JsonElement key = entry.getAsJsonArray().get(0);
+                    String name = key.isJsonPrimitive()
+                            ? key.getAsString()
+                            : String.valueOf(decode(key.getAsJsonObject()));
+                    map.put(name, decode(entry.getAsJsonArray().get(1).getAsJsonObject()));
+                }
+                return map;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Convert a remote value to the requested Java type.
+     *
+     * <p>Strings, booleans and numbers are converted directly; {@code Object.class}
+     * yields the plain representation of {@link #decode(JsonObject)} and
+     * {@code JsonObject.class} the raw remote value. Other types are bound by Gson
+     * from the JSON equivalent of the remote value (see {@link #toJson(JsonObject)}).
+     *
+     * @param value the remote value
+     * @param type  the target type
+     * @param <T>   the target type
+     * @return the converted value, or null for {@code null} and {@code undefined}
+     * @throws VibiumException if a number is fractional for an integer type or
+     *                         does not fit the requested type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T decode(JsonObject value, Class<T> type) {
+        if (type == Object.class) {
+            return (T) decode(value);
+        }
+        if (type == JsonObject.class) {
+            return (T) value;
+        }
+
+        String kind = value.get("type").getAsString();
+        if ("undefined".equals(kind) || "null".equals(kind)) {
+            return null;
+        }
+
+        Class<?> boxed = boxed(type);
+        JsonElement raw = value.get("value");
+        if ("string".equals(kind) && boxed == String.class) {
+            return (T) raw.getAsString();
+        }
+        if ("boolean".equals(kind) && boxed == Boolean.class) {
+            return (T) Boolean.valueOf(raw.getAsBoolean());
+        }
+        if ("number".equals(kind) && Number.class.isAssignableFrom(boxed)) {
+            return (T) toNumber(number(raw), boxed);
+        }
+        return GSON.fromJson(toJson(value), type);
+    }
+
+    /**
+     * Convert a remote value to its JSON equivalent. Objects and maps become JSON
+     * objects, arrays and sets JSON arrays, and dates their ISO string. Nodes and
+     * other references are kept as the raw remote value.
+     *
+     * @param value the remote value
+     * @return the JSON equivalent
+     */
+    public static JsonElement toJson(JsonObject value) {
+        String type = value.get("type").getAsString();
+        JsonElement raw = value.get("value");
+
+        switch (type) {
+            case "undefined":
+            case "null":
+                return JsonNull.INSTANCE;
+            case "string":
+            case "boolean":
+            case "date":
+                return raw;
+            case "number":
+                return new JsonPrimitive(number(raw));
+            case "bigint":
+                return new JsonPrimitive(new BigInteger(raw.getAsString()));
+            case "array":
+            case "set":
+                JsonArray array = new JsonArray();
+                for (JsonElement item : raw.getAsJsonArray()) {
+                    array.add(toJson(item.getAsJsonObject()));
+                }
+                return array;
+            case "object":
+            case "map":
+                JsonObject object = new JsonObject();
+                for (JsonElement entry : raw.getAsJsonArray()) {
+                    JsonElement key = entry.getAsJsonArray().get(0);
+                    String name = key.isJsonPrimitive()
+                            ? key.getAsString()
+                            : String.valueOf(decode(key.getAsJsonObject()));
+                    object.add(name, toJson(entry.getAsJsonArray().get(1).getAsJsonObject()));
+                }
+                return object;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Get the shared reference of a node remote value.
+     *
+     * @param value the remote value
+     * @return the sharedId, or null if the value is not a node
+     */
+    public static String sharedId(JsonObject value) {
+        return value.has("sharedId") ? value.get("sharedId").getAsString() : null;
+    }
+
+    /**
+     * Decode a remote number, including the special values sent as strings.
+     */
+    static double number(JsonElement raw) {
+        if (raw.isJsonPrimitive() && raw.getAsJsonPrimitive().isString()) {
+            switch (raw.getAsString()) {
+                case "NaN":
+                    return Double.NaN;
+                case "-0":
+                    return -0.0;
+                case "Infinity":
+                    return Double.POSITIVE_INFINITY;
+                case "-Infinity":
+                    return Double.NEGATIVE_INFINITY;
+                default:
+                    return Double.parseDouble(raw.getAsString());
+            }
+        }
+        return raw.getAsDouble();
+    }
+
+    /**
+     * Convert a decoded number to the requested boxed type.
+     *
+     * @throws VibiumException if the number is not integral for an integer type,
+     *                         or does not fit the type
+     */
+    private static Number toNumber(double d, Class<?> type) {
+        if (type == Integer.class) {
+            return (int) integral(d, type, Integer.MIN_VALUE, Integer.MAX_VALUE + 1.0);
+        } else if (type == Long.class) {
+            return (long) integral(d, type, -0x1p63, 0x1p63);
+        } else if (type == Short.class) {
+            return (short) integral(d, type, Short.MIN_VALUE, Short.MAX_VALUE + 1.0);
+        } else if (type == Byte.class) {
+            return (byte) integral(d, type, Byte.MIN_VALUE, Byte.MAX_VALUE + 1.0);
+        } else if (type == BigInteger.class) {
+            return new BigDecimal(integral(d, type, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY))
+                    .toBigInteger();
+        } else if (type == Float.class) {
+            float f = (float) d;
+            if (Float.isInfinite(f) && !Double.isInfinite(d)) {
+                throw cannotConvert(d, type);
+            }
+            return f;
+        } else if (type == BigDecimal.class) {
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                throw cannotConvert(d, type);
+            }
+            return BigDecimal.valueOf(d);
+        }
+        return d;
+    }
+
+    /**
+     * Check that a number is a whole number in {@code [min, max)}.
+     */
+    private static double integral(double d, Class<?> type, double min, double max) {
+        if (d != Math.rint(d) || Double.isInfinite(d) || d < min || d >= max) {
+            throw cannotConvert(d, type);
+        }
+        return d;
+    }
+
+    private static VibiumException cannotConvert(double d, Class<?> type) {
+        return new VibiumException("Cannot convert number " + d + " to " + type.getSimpleName());
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return type;
+    }
+}
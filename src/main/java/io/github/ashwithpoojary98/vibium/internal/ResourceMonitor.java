@@ -0,0 +1,150 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import io.github.ashwithpoojary98.vibium.model.ResourceUsage;
+import io.github.ashwithpoojary98.vibium.options.ResourceLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Samples CPU time, resident memory and open file descriptors of a process
+ * tree and enforces {@link ResourceLimits}.
+ *
+ * <p>Memory and file descriptors are read from {@code /proc} and are only
+ * available on Linux; elsewhere they are reported as {@code -1}.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class ResourceMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceMonitor.class);
+    private static final Path PROC = Paths.get("/proc");
+
+    /** Shared scheduler for all monitored processes - uses a daemon thread */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "vibium-resource-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ResourceMonitor() {
+        // Utility class
+    }
+
+    /**
+     * Sample a process and all of its descendants.
+     *
+     * @param root the root process
+     * @return the aggregated usage
+     */
+    public static ResourceUsage sample(ProcessHandle root) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root);
+        tree.addAll(root.descendants().collect(Collectors.toList()));
+
+        boolean procAvailable = Files.isDirectory(PROC.resolve(String.valueOf(root.pid())));
+        Duration cpu = Duration.ZERO;
+        long rss = procAvailable ? 0 : -1;
+        long files = procAvailable ? 0 : -1;
+
+        for (ProcessHandle ph : tree) {
+            cpu = cpu.plus(ph.info().totalCpuDuration().orElse(Duration.ZERO));
+            if (procAvailable) {
+                rss += Math.max(0, readRssBytes(ph.pid()));
+                files += Math.max(0, countOpenFiles(ph.pid()));
+            }
+        }
+        return new ResourceUsage(tree.size(), cpu, rss, files, Instant.now());
+    }
+
+    /**
+     * Periodically sample a clicker process tree and act on limit violations.
+     *
+     * @param process the process to monitor
+     * @param limits  the limits to enforce
+     * @return the scheduled task, cancelled when the process stops or dies
+     */
+    static ScheduledFuture<?> watch(ClickerProcess process, ResourceLimits limits) {
+        long interval = limits.getSampleInterval().toMillis();
+        log.debug("Monitoring process on port {} every {}ms", process.getPort(), interval);
+
+        AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+        ScheduledFuture<?> task = scheduler.scheduleAtFixedRate(() -> {
+            if (!process.isAlive()) {
+                // The browser died without stop(), which would have cancelled us
+                log.debug("Process on port {} exited, monitoring stopped", process.getPort());
+                ScheduledFuture<?> current = self.get();
+                if (current != null) {
+                    current.cancel(false);
+                }
+                return;
+            }
+            try {
+                ResourceUsage usage = process.sampleResources();
+                log.trace("Process on port {}: {}", process.getPort(), usage);
+
+                if (limits.isExceededBy(usage)) {
+                    log.warn("Browser on port {} exceeded resource limits: {}", process.getPort(), usage);
+                    if (limits.getOnExceeded() != null) {
+                        limits.getOnExceeded().accept(usage);
+                    }
+                    if (limits.isRecycle()) {
+                        log.info("Recycling browser on port {}", process.getPort());
+                        process.stop();
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("Error sampling process on port {}: {}", process.getPort(), e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        self.set(task);
+        return task;
+    }
+
+    /**
+     * Read VmRSS from /proc/[pid]/status, or -1 if unavailable.
+     */
+    static long readRssBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(pid + "/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    String[] parts = line.substring(6).trim().split("\\s+");
+                    return Long.parseLong(parts[0]) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Process exited or /proc is not readable
+        }
+        return -1;
+    }
+
+    /**
+     * Count entries of /proc/[pid]/fd, or -1 if unavailable.
+     */
+    static long countOpenFiles(long pid) {
+        long count = 0;
+        try (DirectoryStream<Path> fds = Files.newDirectoryStream(PROC.resolve(pid + "/fd"))) {
+            for (Path ignored : fds) {
+                count++;
+            }
+            return count;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
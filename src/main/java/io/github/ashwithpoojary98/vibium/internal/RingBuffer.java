@@ -0,0 +1,122 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size ring buffer that overwrites its oldest items, without locks.
+ *
+ * <p>All slots are allocated up front. A writer claims a sequence number,
+ * stores its item in the slot and then publishes the sequence number for that
+ * slot. Readers copy the most recent slots and keep only those whose published
+ * sequence is the one they expect before and after reading the item, so a
+ * snapshot never contains an item that was overwritten while it was copied.
+ * Adding never blocks and never allocates.
+ *
+ * <p>Thread-safe for any number of writers and readers.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ *
+ * @param <T> the item type
+ */
+public final class RingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLong floor = new AtomicLong();
+
+    /**
+     * Create a ring buffer.
+     *
+     * @param capacity the minimum number of items kept, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, -1);
+        }
+    }
+
+    /**
+     * Add an item, overwriting the oldest one when the buffer is full.
+     *
+     * @param item the item
+     */
+    public void add(T item) {
+        long sequence = cursor.getAndIncrement();
+        int slot = (int) (sequence & mask);
+        sequences.set(slot, -1);
+        items.set(slot, item);
+        sequences.set(slot, sequence);
+    }
+
+    /**
+     * Copy the items currently held, oldest first.
+     *
+     * @return the items; items being written concurrently may be missing
+     */
+    public List<T> snapshot() {
+        long end = cursor.get();
+        long start = Math.max(floor.get(), end - capacity());
+        List<T> result = new ArrayList<>((int) Math.max(0, end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            int slot = (int) (sequence & mask);
+            if (sequences.get(slot) != sequence) {
+                continue;
+            }
+            T item = items.get(slot);
+            if (sequences.get(slot) == sequence) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forget the items added so far. Items are released as they are overwritten.
+     */
+    public void clear() {
+        floor.accumulateAndGet(cursor.get(), Math::max);
+    }
+
+    /**
+     * Number of items ever added.
+     *
+     * @return the item count
+     */
+    public long getTotal() {
+        return cursor.get();
+    }
+
+    /**
+     * Number of items lost because the buffer was full.
+     *
+     * @return the overwritten item count
+     */
+    public long getOverwritten() {
+        return Math.max(0, cursor.get() - capacity());
+    }
+
+    /**
+     * Number of items the buffer holds.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
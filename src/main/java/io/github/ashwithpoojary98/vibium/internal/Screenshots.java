@@ -0,0 +1,75 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.Box;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
+
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Capturing screenshots with {@code browsingContext.captureScreenshot}.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class Screenshots {
+
+    private Screenshots() {
+        // Utility class
+    }
+
+    /**
+     * Capture a screenshot.
+     *
+     * @param client    the BiDi client
+     * @param contextId the browsing context ID
+     * @param options   the clip, origin and format
+     * @return CompletableFuture containing the encoded image bytes
+     */
+    public static CompletableFuture<byte[]> capture(BiDiClient client, String contextId, ScreenshotOptions options) {
+        return client.sendCommand("browsingContext.captureScreenshot", params(contextId, options))
+                .thenApply(result -> Base64.getDecoder().decode(result.get("data").getAsString()));
+    }
+
+    /**
+     * Build the {@code browsingContext.captureScreenshot} parameters.
+     *
+     * @param contextId the browsing context ID
+     * @param options   the clip, origin and format
+     * @return the command parameters
+     */
+    public static JsonObject params(String contextId, ScreenshotOptions options) {
+        JsonObject params = new JsonObject();
+        params.addProperty("context", contextId);
+
+        if (options.getOrigin() == ScreenshotOptions.Origin.DOCUMENT) {
+            params.addProperty("origin", "document");
+        }
+
+        if (options.getFormat() != ScreenshotOptions.Format.PNG || options.getQuality() != null) {
+            JsonObject format = new JsonObject();
+            format.addProperty("type", options.getFormat().getMimeType());
+            if (options.getQuality() != null) {
+                format.addProperty("quality", options.getQuality());
+            }
+            params.add("format", format);
+        }
+
+        if (options.getClipElement() != null) {
+            JsonObject clip = new JsonObject();
+            clip.addProperty("type", "element");
+            clip.add("element", LocalValues.reference(options.getClipElement()));
+            params.add("clip", clip);
+        } else if (options.getClip() != null) {
+            Box box = options.getClip();
+            JsonObject clip = new JsonObject();
+            clip.addProperty("type", "box");
+            clip.addProperty("x", box.getX());
+            clip.addProperty("y", box.getY());
+            clip.addProperty("width", box.getWidth());
+            clip.addProperty("height", box.getHeight());
+            params.add("clip", clip);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,329 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Flow.Publisher} of the items a page function pushes through a BiDi
+ * channel ({@code script.message} events).
+ *
+ * <p>The page function only runs when subscribed, and it may only push an item
+ * once the subscriber has requested it: each {@link Flow.Subscription#request(long)}
+ * grants the page that many credits and {@code emit} waits while it has none.
+ * Memory on both sides is therefore bounded by the outstanding demand. Items
+ * are delivered in the order they were pushed, even though events may be
+ * dispatched out of order.
+ *
+ * <p>The stream fails if its context starts navigating or its realm is
+ * destroyed, since the page function cannot outlive its document.
+ *
+ * <p>Each publisher supports a single subscriber.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ *
+ * @param <T> the item type
+ */
+public final class ScriptStream<T> implements Flow.Publisher<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ScriptStream.class);
+    private static final String MESSAGE_EVENT = "script.message";
+    private static final String REALM_DESTROYED_EVENT = "script.realmDestroyed";
+    private static final String NAVIGATION_STARTED_EVENT = "browsingContext.navigationStarted";
+
+    private final BiDiClient client;
+    private final CompletableFuture<String> contextId;
+    private final String functionDeclaration;
+    private final JsonObject[] arguments;
+    private final Class<T> type;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Create a stream.
+     *
+     * @param client              the BiDi client
+     * @param contextId           the browsing context to run the function in
+     * @param functionDeclaration a function {@code (emit, ...args) => ...}
+     * @param type                the type to convert items to
+     * @param arguments           the encoded extra arguments (see {@link LocalValues})
+     */
+    public ScriptStream(BiDiClient client, CompletableFuture<String> contextId, String functionDeclaration,
+                        Class<T> type, JsonObject... arguments) {
+        this.client = client;
+        this.contextId = contextId;
+        this.functionDeclaration = functionDeclaration;
+        this.type = type;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("ScriptStream supports a single subscriber"));
+            return;
+        }
+        new StreamSubscription(subscriber).start();
+    }
+
+    private final class StreamSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final String channel = "vibium-stream-" + UUID.randomUUID();
+        private final Consumer<JsonObject> handler = this::onMessage;
+        private final Consumer<JsonObject> realmHandler = this::onRealmDestroyed;
+        private final Consumer<JsonObject> navigationHandler = this::onNavigationStarted;
+
+        /** Messages received ahead of their turn, by sequence number */
+        private final Map<Long, JsonObject> pending = new TreeMap<>();
+        private long nextSeq;
+
+        /** Demand requested before the page function was running */
+        private long ungranted;
+        private String context;
+        private String realm;
+        private boolean started;
+        private boolean terminated;
+
+        StreamSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void start() {
+            client.on(MESSAGE_EVENT, handler);
+            client.on(REALM_DESTROYED_EVENT, realmHandler);
+            client.on(NAVIGATION_STARTED_EVENT, navigationHandler);
+            subscriber.onSubscribe(this);
+
+            client.subscribe(MESSAGE_EVENT, REALM_DESTROYED_EVENT, NAVIGATION_STARTED_EVENT)
+                    .thenCompose(v -> contextId)
+                    .thenCompose(id -> {
+                        synchronized (this) {
+                            context = id;
+                        }
+                        JsonObject[] args = new JsonObject[arguments.length + 2];
+                        args[0] = channelValue();
+                        args[1] = LocalValues.of(channel);
+                        System.arraycopy(arguments, 0, args, 2, arguments.length);
+
+                        JsonObject params = PageScripts.callParams(id,
+                                PageScripts.stream(functionDeclaration), args);
+                        // The function runs until the stream ends; only wait for it to start
+                        params.addProperty("awaitPromise", false);
+                        return client.sendCommand("script.callFunction", params);
+                    })
+                    .thenAccept(response -> {
+                        RemoteValues.result(response);
+                        JsonElement realmId = response.getAsJsonObject("result").get("realm");
+                        long credit;
+                        synchronized (this) {
+                            realm = realmId != null ? realmId.getAsString() : null;
+                            started = true;
+                            credit = ungranted;
+                            ungranted = 0;
+                        }
+                        grant(credit);
+                    })
+                    .exceptionally(error -> {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        fail(cause instanceof VibiumException
+                                ? cause
+                                : new VibiumException("Failed to start stream: " + cause.getMessage(), cause));
+                        return null;
+                    });
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelPage();
+                fail(new IllegalArgumentException("Requested items must be positive: " + n));
+                return;
+            }
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                if (!started) {
+                    ungranted = saturatedAdd(ungranted, n);
+                    return;
+                }
+            }
+            grant(n);
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+                pending.clear();
+            }
+            detach();
+            cancelPage();
+        }
+
+        /**
+         * Stop the page function; its pending {@code emit} rejects.
+         */
+        private void cancelPage() {
+            String id;
+            synchronized (this) {
+                id = context;
+            }
+            if (id != null) {
+                client.sendCommand("script.callFunction",
+                                PageScripts.callParams(id, PageScripts.CANCEL_STREAM, LocalValues.of(channel)))
+                        .exceptionally(error -> {
+                            log.debug("Could not cancel stream {}: {}", channel, error.getMessage());
+                            return null;
+                        });
+            }
+        }
+
+        private void grant(long n) {
+            String id;
+            synchronized (this) {
+                if (n == 0 || terminated) {
+                    return;
+                }
+                id = context;
+            }
+            client.sendCommand("script.callFunction",
+                            PageScripts.callParams(id, PageScripts.GRANT_STREAM,
+                                    LocalValues.of(channel), LocalValues.of(n)))
+                    .exceptionally(error -> {
+                        fail(new VibiumException("Stream failed: " + error.getMessage(), error));
+                        return null;
+                    });
+        }
+
+        private JsonObject channelValue() {
+            JsonObject properties = new JsonObject();
+            properties.addProperty("channel", channel);
+            properties.addProperty("ownership", "none");
+
+            JsonObject value = new JsonObject();
+            value.addProperty("type", "channel");
+            value.add("value", properties);
+            return value;
+        }
+
+        /**
+         * Handle a {@code script.message}: {@code {seq, item}}, {@code {seq, done}}
+         * or {@code {seq, error}}. Delivery is serialized by the lock.
+         */
+        private synchronized void onMessage(JsonObject params) {
+            if (terminated || !channel.equals(params.get("channel").getAsString())) {
+                return;
+            }
+
+            JsonObject message = fields(params.getAsJsonObject("data"));
+            pending.put((long) RemoteValues.number(message.getAsJsonObject("seq").get("value")), message);
+
+            while (!terminated && pending.containsKey(nextSeq)) {
+                JsonObject next = pending.remove(nextSeq++);
+                if (next.has("item")) {
+                    T item;
+                    try {
+                        item = RemoteValues.decode(next.getAsJsonObject("item"), type);
+                    } catch (RuntimeException e) {
+                        cancelPage();
+                        fail(e);
+                        return;
+                    }
+                    subscriber.onNext(item);
+                } else if (next.has("error")) {
+                    fail(new VibiumException("Script error: "
+                            + RemoteValues.decode(next.getAsJsonObject("error"))));
+                } else {
+                    complete();
+                }
+            }
+        }
+
+        private void complete() {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+            }
+            detach();
+            subscriber.onComplete();
+        }
+
+        private void fail(Throwable error) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+                pending.clear();
+            }
+            detach();
+            subscriber.onError(error);
+        }
+
+        private void onRealmDestroyed(JsonObject params) {
+            synchronized (this) {
+                if (realm == null || !realm.equals(params.get("realm").getAsString())) {
+                    return;
+                }
+            }
+            fail(new VibiumException("Stream ended: the page realm was destroyed"));
+        }
+
+        private void onNavigationStarted(JsonObject params) {
+            String navigated = params.get("context").getAsString();
+            synchronized (this) {
+                if (!navigated.equals(context)) {
+                    return;
+                }
+            }
+            fail(new VibiumException("Stream ended: context " + navigated + " navigated"));
+        }
+
+        private void detach() {
+            client.off(MESSAGE_EVENT, handler);
+            client.off(REALM_DESTROYED_EVENT, realmHandler);
+            client.off(NAVIGATION_STARTED_EVENT, navigationHandler);
+        }
+    }
+
+    /**
+     * Index the properties of an object remote value by name.
+     */
+    private static JsonObject fields(JsonObject object) {
+        JsonObject fields = new JsonObject();
+        for (JsonElement entry : object.getAsJsonArray("value")) {
+            fields.add(entry.getAsJsonArray().get(0).getAsString(), entry.getAsJsonArray().get(1));
+        }
+        return fields;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cookies and web storage of a session, saved to and restored from a file.
+ *
+ * <p>The file is a compact JSON document: {@code {"version":1,"cookies":[...],
+ * "origins":{origin: {"localStorage":{...},"sessionStorage":{...}}}}}, where
+ * cookies keep the BiDi {@code network.Cookie} fields needed by
+ * {@code storage.setCookie}.
+ *
+ * <p><b>Note:</b> This is an internal class and may change without notice.
+ */
+public final class StorageState {
+
+    private static final int VERSION = 1;
+    private static final String[] COOKIE_FIELDS = {
+            "name", "value", "domain", "path", "httpOnly", "secure", "sameSite", "expiry"};
+
+    private final JsonArray cookies;
+    private final JsonObject origins;
+
+    /**
+     * Create a state from BiDi cookies and per-origin storage.
+     *
+     * @param cookies the {@code cookies} of a {@code storage.getCookies} result
+     * @param origins {@code {localStorage, sessionStorage}} item maps by origin
+     */
+    public StorageState(JsonArray cookies, JsonObject origins) {
+        this.cookies = new JsonArray();
+        for (JsonElement cookie : cookies) {
+            this.cookies.add(partialCookie(cookie.getAsJsonObject()));
+        }
+        this.origins = origins;
+    }
+
+    /**
+     * Read a state written by {@link #write(Path)}.
+     *
+     * @param file the state file
+     * @return the state
+     * @throws IOException if the file cannot be read or is not a storage state
+     */
+    public static StorageState read(Path file) throws IOException {
+        JsonObject root;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            root = JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Not a storage state file: " + file, e);
+        }
+        if (!root.has("version") || root.get("version").getAsInt() != VERSION) {
+            throw new IOException("Unsupported storage state version in " + file);
+        }
+        return new StorageState(root.getAsJsonArray("cookies"), root.getAsJsonObject("origins"));
+    }
+
+    /**
+     * Write the state, replacing the file atomically where supported.
+     *
+     * @param file the state file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        JsonObject root = new JsonObject();
+        root.addProperty("version", VERSION);
+        root.add("cookies", cookies);
+        root.add("origins", origins);
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(root.toString());
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Build one {@code storage.setCookie} parameter object per saved cookie.
+     *
+     * @param partition the partition descriptor to store the cookies in
+     * @return the command parameters
+     */
+    public List<JsonObject> setCookieParams(JsonObject partition) {
+        List<JsonObject> params = new ArrayList<>(cookies.size());
+        for (JsonElement cookie : cookies) {
+            JsonObject command = new JsonObject();
+            command.add("cookie", cookie.deepCopy());
+            command.add("partition", partition);
+            params.add(command);
+        }
+        return params;
+    }
+
+    /**
+     * Build the preload function that restores the saved web storage.
+     *
+     * @return the function declaration, see {@link PageScripts#storageRestorer(String)}
+     */
+    public String restorer() {
+        return PageScripts.storageRestorer(origins.toString());
+    }
+
+    /**
+     * Check whether any origin has saved web storage.
+     *
+     * @return true if a restorer is needed
+     */
+    public boolean hasWebStorage() {
+        return origins.size() > 0;
+    }
+
+    /**
+     * Number of saved cookies.
+     *
+     * @return the cookie count
+     */
+    public int getCookieCount() {
+        return cookies.size();
+    }
+
+    /**
+     * Number of origins with saved web storage.
+     *
+     * @return the origin count
+     */
+    public int getOriginCount() {
+        return origins.size();
+    }
+
+    private static JsonObject partialCookie(JsonObject cookie) {
+        JsonObject partial = new JsonObject();
+        for (String field : COOKIE_FIELDS) {
+            JsonElement value = cookie.get(field);
+            if (value != null && !value.isJsonNull()) {
+                partial.add(field, value);
+            }
+        }
+        return partial;
+    }
+}
@@ -14,11 +14,18 @@ public final class BrowsingContextInfo {
     private final String url;
     private final List<BrowsingContextInfo> children;
     private final String parent;
+    private final String userContext;
 
     public BrowsingContextInfo(String context, String url, List<BrowsingContextInfo> children, String parent) {
+        this(context, url, children, parent, null);
+    }
+
+    public BrowsingContextInfo(String context, String url, List<BrowsingContextInfo> children, String parent,
+                               String userContext) {
         this.context = context;
         this.url = url;
         this.children = children;
         this.parent = parent;
+        this.userContext = userContext;
     }
 }
@@ -0,0 +1,42 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.Getter;
+
+/**
+ * Statistics of a response cache.
+ */
+@Getter
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long revalidations;
+    private final long bytesSaved;
+    private final int entries;
+    private final long sizeBytes;
+
+    public CacheStats(long hits, long misses, long revalidations, long bytesSaved, int entries, long sizeBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.revalidations = revalidations;
+        this.bytesSaved = bytesSaved;
+        this.entries = entries;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Get the share of cacheable requests answered from the cache.
+     *
+     * @return the hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats[hits=%d, misses=%d, ratio=%.2f, saved=%d bytes, entries=%d, size=%d bytes]",
+                hits, misses, getHitRatio(), bytesSaved, entries, sizeBytes);
+    }
+}
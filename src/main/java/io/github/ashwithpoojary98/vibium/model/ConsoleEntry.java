@@ -0,0 +1,77 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * A console message or uncaught JavaScript error reported by a page.
+ */
+@Getter
+public final class ConsoleEntry {
+
+    /**
+     * Severity of an entry, from least to most severe.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR;
+
+        /**
+         * Parse a BiDi log level.
+         *
+         * @param level the level, e.g. {@code warn}
+         * @return the level, or {@link #INFO} if unknown
+         */
+        public static Level of(String level) {
+            if (level == null) {
+                return INFO;
+            }
+            switch (level) {
+                case "debug":
+                    return DEBUG;
+                case "warn":
+                    return WARN;
+                case "error":
+                    return ERROR;
+                default:
+                    return INFO;
+            }
+        }
+    }
+
+    private final Level level;
+    private final String type;
+    private final String method;
+    private final String text;
+    private final long timestamp;
+    private final String context;
+    private final String url;
+    private final int lineNumber;
+
+    public ConsoleEntry(Level level, String type, String method, String text, long timestamp,
+                        String context, String url, int lineNumber) {
+        this.level = level;
+        this.type = type;
+        this.method = method;
+        this.text = text;
+        this.timestamp = timestamp;
+        this.context = context;
+        this.url = url;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Check whether the entry is an uncaught error rather than a console call.
+     *
+     * @return true for JavaScript errors
+     */
+    public boolean isJavaScriptError() {
+        return "javascript".equals(type);
+    }
+
+    @Override
+    public String toString() {
+        String location = url == null || url.isEmpty() ? "" : " (" + url + ":" + (lineNumber + 1) + ")";
+        return "[" + level.name().toLowerCase(Locale.ROOT) + "] " + text + location;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of comparing two screenshots.
+ */
+@Getter
+public final class DiffResult {
+
+    /** Mask value of a pixel that is equal within the tolerance */
+    public static final byte SAME = 0;
+    /** Mask value of a changed pixel */
+    public static final byte CHANGED = 1;
+    /** Mask value of a pixel that only differs by anti-aliasing */
+    public static final byte ANTI_ALIASED = 2;
+    /** Mask value of a pixel inside an ignored region */
+    public static final byte IGNORED = 3;
+
+    private final int width;
+    private final int height;
+    private final long changedPixels;
+    private final long antiAliasedPixels;
+    private final long comparedPixels;
+    private final List<Box> changedRegions;
+
+    @Getter(AccessLevel.NONE)
+    private final byte[] mask;
+
+    public DiffResult(int width, int height, long changedPixels, long antiAliasedPixels,
+                      long comparedPixels, List<Box> changedRegions, byte[] mask) {
+        this.width = width;
+        this.height = height;
+        this.changedPixels = changedPixels;
+        this.antiAliasedPixels = antiAliasedPixels;
+        this.comparedPixels = comparedPixels;
+        this.changedRegions = Collections.unmodifiableList(changedRegions);
+        this.mask = mask;
+    }
+
+    /**
+     * Check whether no pixel changed.
+     *
+     * @return true if the images match
+     */
+    public boolean isIdentical() {
+        return changedPixels == 0;
+    }
+
+    /**
+     * Get the share of compared pixels that changed.
+     *
+     * @return between 0 and 1
+     */
+    public double getMismatchRatio() {
+        return comparedPixels == 0 ? 0 : (double) changedPixels / comparedPixels;
+    }
+
+    /**
+     * Get the mask value of a pixel.
+     *
+     * @param x the column
+     * @param y the row
+     * @return {@link #SAME}, {@link #CHANGED}, {@link #ANTI_ALIASED} or {@link #IGNORED}
+     */
+    public byte maskAt(int x, int y) {
+        return mask[y * width + x];
+    }
+
+    /**
+     * Render the diff mask: changed pixels red, anti-aliased pixels yellow,
+     * ignored pixels grey and everything else transparent.
+     *
+     * @return the mask image
+     */
+    public BufferedImage toMaskImage() {
+        int[] argb = new int[mask.length];
+        for (int i = 0; i < mask.length; i++) {
+            switch (mask[i]) {
+                case CHANGED:
+                    argb[i] = 0xFFFF0000;
+                    break;
+                case ANTI_ALIASED:
+                    argb[i] = 0xFFFFFF00;
+                    break;
+                case IGNORED:
+                    argb[i] = 0x80808080;
+                    break;
+                default:
+                    break;
+            }
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+        return image;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DiffResult[%dx%d, changed=%d (%.4f%%), regions=%d]",
+                width, height, changedPixels, getMismatchRatio() * 100, changedRegions.size());
+    }
+}
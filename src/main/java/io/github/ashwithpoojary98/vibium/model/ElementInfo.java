@@ -4,6 +4,9 @@ import lombok.Getter;
 
 /**
  * Information about a DOM element including its tag, text content, and bounding box.
+ *
+ * <p>When known, {@code sharedId} is the BiDi remote reference to the node, a
+ * stable handle that stays valid for as long as the node is in the document.
  */
 @Getter
 public final class ElementInfo {
@@ -11,11 +14,13 @@ public final class ElementInfo {
     private final String tagName;
     private final String textContent;
     private final Box box;
+    private final String sharedId;
 
     private ElementInfo(Builder builder) {
         this.tagName = builder.tagName;
         this.textContent = builder.textContent;
         this.box = builder.box;
+        this.sharedId = builder.sharedId;
     }
 
     public static Builder builder() {
@@ -26,6 +31,7 @@ public final class ElementInfo {
         private String tagName;
         private String textContent;
         private Box box;
+        private String sharedId;
 
         public Builder tagName(String tagName) {
             this.tagName = tagName;
@@ -42,6 +48,11 @@ public final class ElementInfo {
             return this;
         }
 
+        public Builder sharedId(String sharedId) {
+            this.sharedId = sharedId;
+            return this;
+        }
+
         public ElementInfo build() {
             return new ElementInfo(this);
         }
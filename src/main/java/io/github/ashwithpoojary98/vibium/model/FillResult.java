@@ -0,0 +1,39 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of filling a form: the fields that were set and why the others were not.
+ */
+@Getter
+public final class FillResult {
+
+    /** Selectors of the fields that were set, in the order given */
+    private final List<String> filled;
+
+    /** Reason of each field that could not be set, by selector */
+    private final Map<String, String> failures;
+
+    public FillResult(List<String> filled, Map<String, String> failures) {
+        this.filled = Collections.unmodifiableList(filled);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Check whether every field was set.
+     *
+     * @return true if there were no failures
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "FillResult[filled=" + filled.size() + ", failures=" + failures + "]";
+    }
+}
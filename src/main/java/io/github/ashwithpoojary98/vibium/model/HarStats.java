@@ -0,0 +1,28 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.Getter;
+
+/**
+ * Statistics of a HAR recording.
+ */
+@Getter
+public final class HarStats {
+
+    private final long entries;
+    private final long failedRequests;
+    private final long bodies;
+    private final long bodyBytes;
+
+    public HarStats(long entries, long failedRequests, long bodies, long bodyBytes) {
+        this.entries = entries;
+        this.failedRequests = failedRequests;
+        this.bodies = bodies;
+        this.bodyBytes = bodyBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HarStats[entries=%d, failed=%d, bodies=%d, bodyBytes=%d]",
+                entries, failedRequests, bodies, bodyBytes);
+    }
+}
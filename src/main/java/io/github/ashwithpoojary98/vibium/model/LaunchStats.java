@@ -0,0 +1,44 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the JVM-wide launch queue.
+ */
+@Getter
+public final class LaunchStats {
+
+    private final int queued;
+    private final int starting;
+    private final long admitted;
+    private final Duration lastWait;
+    private final Duration maxWait;
+    private final Duration totalWait;
+
+    public LaunchStats(int queued, int starting, long admitted,
+                       Duration lastWait, Duration maxWait, Duration totalWait) {
+        this.queued = queued;
+        this.starting = starting;
+        this.admitted = admitted;
+        this.lastWait = lastWait;
+        this.maxWait = maxWait;
+        this.totalWait = totalWait;
+    }
+
+    /**
+     * Get the mean time launches spent queued.
+     *
+     * @return the average wait, or zero if nothing was admitted yet
+     */
+    public Duration getAverageWait() {
+        return admitted == 0 ? Duration.ZERO : totalWait.dividedBy(admitted);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LaunchStats[queued=%d, starting=%d, admitted=%d, avgWait=%dms, maxWait=%dms]",
+                queued, starting, admitted, getAverageWait().toMillis(), maxWait.toMillis());
+    }
+}
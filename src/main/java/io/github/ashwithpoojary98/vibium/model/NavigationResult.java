@@ -2,17 +2,35 @@ package io.github.ashwithpoojary98.vibium.model;
 
 import lombok.Getter;
 
+import java.time.Duration;
+
 /**
  * Result from a navigation command.
+ *
+ * <p>Phase timings are measured from the moment the navigation was requested;
+ * a phase that was not observed before the navigation finished is null.
  */
 @Getter
 public final class NavigationResult {
 
     private final String navigation;
     private final String url;
+    private final Duration domContentLoaded;
+    private final Duration load;
+    private final Duration networkIdle;
+    private final Duration total;
 
     public NavigationResult(String navigation, String url) {
+        this(navigation, url, null, null, null, null);
+    }
+
+    public NavigationResult(String navigation, String url, Duration domContentLoaded,
+                            Duration load, Duration networkIdle, Duration total) {
         this.navigation = navigation;
         this.url = url;
+        this.domContentLoaded = domContentLoaded;
+        this.load = load;
+        this.networkIdle = networkIdle;
+        this.total = total;
     }
 }
@@ -0,0 +1,35 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Resource usage of a browser process tree (clicker, driver and browser processes).
+ *
+ * <p>Values that cannot be read on the current platform are reported as {@code -1}.
+ */
+@Getter
+public final class ResourceUsage {
+
+    private final int processCount;
+    private final Duration cpuTime;
+    private final long rssBytes;
+    private final long openFiles;
+    private final Instant sampledAt;
+
+    public ResourceUsage(int processCount, Duration cpuTime, long rssBytes, long openFiles, Instant sampledAt) {
+        this.processCount = processCount;
+        this.cpuTime = cpuTime;
+        this.rssBytes = rssBytes;
+        this.openFiles = openFiles;
+        this.sampledAt = sampledAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResourceUsage[processes=%d, cpu=%dms, rss=%dKB, openFiles=%d]",
+                processCount, cpuTime.toMillis(), rssBytes / 1024, openFiles);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.ashwithpoojary98.vibium.model;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Statistics of a screencast.
+ */
+@Getter
+public final class ScreencastStats {
+
+    private final long framesWritten;
+    private final long framesDropped;
+    private final long bytesWritten;
+    private final Duration duration;
+
+    public ScreencastStats(long framesWritten, long framesDropped, long bytesWritten, Duration duration) {
+        this.framesWritten = framesWritten;
+        this.framesDropped = framesDropped;
+        this.bytesWritten = bytesWritten;
+        this.duration = duration;
+    }
+
+    /**
+     * Get the frame rate actually written.
+     *
+     * @return frames per second
+     */
+    public double getAchievedFps() {
+        long millis = duration.toMillis();
+        return millis == 0 ? 0 : framesWritten * 1000.0 / millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScreencastStats[written=%d, dropped=%d, fps=%.1f, bytes=%d]",
+                framesWritten, framesDropped, getAchievedFps(), bytesWritten);
+    }
+}
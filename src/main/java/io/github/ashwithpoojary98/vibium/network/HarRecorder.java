@@ -0,0 +1,605 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.Bytes;
+import io.github.ashwithpoojary98.vibium.model.HarStats;
+import io.github.ashwithpoojary98.vibium.options.HarOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A running HAR recording started with {@link io.github.ashwithpoojary98.vibium.VibeAsync#recordHar}.
+ *
+ * <p>Every request of the session's context and its frames becomes one HAR
+ * entry as soon as it completes or fails. Entries are streamed to the file by
+ * a dedicated writer thread, so memory holds only the requests currently in
+ * flight, however long the session runs. The file is a valid HAR once
+ * {@link #stop()} has closed it.
+ *
+ * <p>With {@link HarOptions#isCaptureBodies()}, the browser keeps response
+ * bodies up to {@link HarOptions#getMaxBodySize()} for the recorder, which
+ * fetches each one once and writes it to a file next to the HAR, named by its
+ * SHA-1 so repeated assets are stored once. The entry references the file
+ * through {@code response.content._file}, as Playwright's HAR files do.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * HarRecorder har = vibe.recordHar(Path.of("crawl.har")).join();
+ * vibe.go("https://example.com").join();
+ * HarStats stats = har.stop().join();
+ * }</pre>
+ */
+public final class HarRecorder implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HarRecorder.class);
+
+    private static final String REQUEST_STARTED = "network.beforeRequestSent";
+    private static final String RESPONSE_STARTED = "network.responseStarted";
+    private static final String RESPONSE_COMPLETED = "network.responseCompleted";
+    private static final String FETCH_ERROR = "network.fetchError";
+    private static final String CONTEXT_CREATED = "browsingContext.contextCreated";
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_PENDING = 10_000;
+
+    private static final Gson GSON = new Gson();
+    private static final Map<String, String> EXTENSIONS = Map.ofEntries(
+            Map.entry("text/html", "html"), Map.entry("text/css", "css"), Map.entry("text/plain", "txt"),
+            Map.entry("text/javascript", "js"), Map.entry("application/javascript", "js"),
+            Map.entry("application/json", "json"), Map.entry("image/png", "png"), Map.entry("image/jpeg", "jpg"),
+            Map.entry("image/gif", "gif"), Map.entry("image/webp", "webp"), Map.entry("image/svg+xml", "svg"),
+            Map.entry("font/woff2", "woff2"), Map.entry("font/woff", "woff"));
+
+    private final BiDiClient client;
+    private final Path file;
+    private final Path bodyDirectory;
+    private final HarOptions options;
+
+    /** The session's context and the frames created in it */
+    private final Set<String> contexts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Start and first-byte timestamps of requests in flight, by request ID. Bounded,
+     * since a start event handled after its request completed is never removed.
+     */
+    private final Map<String, long[]> pending = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > MAX_PENDING;
+        }
+    };
+
+    private final Set<CompletableFuture<Void>> bodyWrites = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor writer;
+    private final JsonWriter json;
+
+    private final Consumer<JsonObject> onRequestStarted = params -> mark(params, 0);
+    private final Consumer<JsonObject> onResponseStarted = params -> mark(params, 1);
+    private final Consumer<JsonObject> onResponseCompleted = params -> onFinished(params, null);
+    private final Consumer<JsonObject> onFetchError = params -> onFinished(params,
+            params.has("errorText") ? params.get("errorText").getAsString() : "net::ERR_FAILED");
+    private final Consumer<JsonObject> onContextCreated = this::onContextCreated;
+
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong bodies = new AtomicLong();
+    private final AtomicLong bodyBytes = new AtomicLong();
+
+    private volatile String collector;
+    private volatile IOException failure;
+    private CompletableFuture<HarStats> stopped;
+
+    private HarRecorder(BiDiClient client, String context, Path file, HarOptions options) throws IOException {
+        this.client = client;
+        this.file = file;
+        String name = file.getFileName().toString();
+        this.bodyDirectory = file.resolveSibling(
+                (name.endsWith(".har") ? name.substring(0, name.length() - 4) : name) + "-bodies");
+        this.options = options;
+        this.contexts.add(context);
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "vibium-har-writer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.json = new JsonWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+        Package pkg = HarRecorder.class.getPackage();
+        String version = pkg != null && pkg.getImplementationVersion() != null
+                ? pkg.getImplementationVersion() : "unknown";
+        json.beginObject().name("log").beginObject()
+                .name("version").value("1.2")
+                .name("creator").beginObject().name("name").value("vibium").name("version").value(version).endObject()
+                .name("entries").beginArray();
+        json.flush();
+    }
+
+    /**
+     * Start recording a browsing context and its frames.
+     *
+     * @param client  the BiDi client
+     * @param context the top-level browsing context ID
+     * @param file    the HAR file to write, replaced if it exists
+     * @param options the body capture options
+     * @return future completed with the recorder once events are enabled
+     */
+    public static CompletableFuture<HarRecorder> start(BiDiClient client, String context, Path file,
+                                                       HarOptions options) {
+        HarRecorder recorder;
+        try {
+            recorder = new HarRecorder(client, context, file, options);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(
+                    new VibiumException("Failed to create HAR file " + file + ": " + e.getMessage(), e));
+        }
+        client.on(REQUEST_STARTED, recorder.onRequestStarted);
+        client.on(RESPONSE_STARTED, recorder.onResponseStarted);
+        client.on(RESPONSE_COMPLETED, recorder.onResponseCompleted);
+        client.on(FETCH_ERROR, recorder.onFetchError);
+        client.on(CONTEXT_CREATED, recorder.onContextCreated);
+
+        CompletableFuture<Void> ready = client.subscribe(
+                REQUEST_STARTED, RESPONSE_STARTED, RESPONSE_COMPLETED, FETCH_ERROR, CONTEXT_CREATED);
+        if (options.isCaptureBodies()) {
+            ready = ready.thenCompose(v -> recorder.addCollector(context));
+        }
+        return ready.thenApply(v -> {
+            log.debug("Recording HAR of {} to {}", context, file);
+            return recorder;
+        }).whenComplete((result, error) -> {
+            if (error != null) {
+                recorder.stop();
+            }
+        });
+    }
+
+    /**
+     * Get the statistics so far.
+     *
+     * @return the entries and bodies written
+     */
+    public HarStats getStats() {
+        return new HarStats(entries.get(), failedRequests.get(), bodies.get(), bodyBytes.get());
+    }
+
+    /**
+     * Stop recording, wait for pending entries to be written and close the file.
+     *
+     * @return CompletableFuture containing the final statistics; fails if an
+     *         entry could not be written
+     */
+    public synchronized CompletableFuture<HarStats> stop() {
+        if (stopped != null) {
+            return stopped;
+        }
+        client.off(REQUEST_STARTED, onRequestStarted);
+        client.off(RESPONSE_STARTED, onResponseStarted);
+        client.off(RESPONSE_COMPLETED, onResponseCompleted);
+        client.off(FETCH_ERROR, onFetchError);
+        client.off(CONTEXT_CREATED, onContextCreated);
+
+        stopped = CompletableFuture.allOf(bodyWrites.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(error -> null)
+                .completeOnTimeout(null, STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApplyAsync(v -> finish(), writer)
+                .whenComplete((stats, error) -> {
+                    writer.shutdown();
+                    removeCollector(collector);
+                });
+        return stopped;
+    }
+
+    /**
+     * Also record another top-level context and its frames, e.g. the fresh tab
+     * of a session after {@link io.github.ashwithpoojary98.vibium.VibeAsync#reset()}.
+     * Response bodies are then collected for that context instead.
+     *
+     * @param context the top-level browsing context ID
+     * @return CompletableFuture that completes once the context is recorded
+     */
+    public synchronized CompletableFuture<Void> follow(String context) {
+        if (stopped != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        contexts.add(context);
+        if (!options.isCaptureBodies()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String previous = collector;
+        return addCollector(context).thenRun(() -> {
+            if (!Objects.equals(previous, collector)) {
+                removeCollector(previous);
+            }
+        });
+    }
+
+    /**
+     * Check whether {@link #stop()} was called.
+     *
+     * @return true once the recording stopped
+     */
+    public synchronized boolean isStopped() {
+        return stopped != null;
+    }
+
+    /**
+     * Stop recording and wait for the file to be closed.
+     */
+    @Override
+    public void close() {
+        stop().join();
+    }
+
+    private CompletableFuture<Void> addCollector(String context) {
+        JsonObject params = new JsonObject();
+        JsonArray types = new JsonArray();
+        types.add("response");
+        params.add("dataTypes", types);
+        params.addProperty("maxEncodedDataSize", options.getMaxBodySize());
+        JsonArray scope = new JsonArray();
+        scope.add(context);
+        params.add("contexts", scope);
+        return client.sendCommand("network.addDataCollector", params).handle((result, error) -> {
+            if (error != null) {
+                log.warn("Response bodies will not be recorded: {}", error.getMessage());
+            } else {
+                collector = result.get("collector").getAsString();
+            }
+            return null;
+        });
+    }
+
+    private void removeCollector(String id) {
+        if (id == null) {
+            return;
+        }
+        JsonObject params = new JsonObject();
+        params.addProperty("collector", id);
+        client.sendCommand("network.removeDataCollector", params).exceptionally(error -> {
+            log.debug("Failed to remove data collector {}: {}", id, error.getMessage());
+            return null;
+        });
+    }
+
+    private void onContextCreated(JsonObject params) {
+        if (params.has("parent") && !params.get("parent").isJsonNull()
+                && contexts.contains(params.get("parent").getAsString())) {
+            contexts.add(params.get("context").getAsString());
+        }
+    }
+
+    private void mark(JsonObject params, int slot) {
+        if (!isOurs(params)) {
+            return;
+        }
+        String id = params.getAsJsonObject("request").get("request").getAsString();
+        synchronized (pending) {
+            pending.computeIfAbsent(id, k -> new long[2])[slot] = timestamp(params);
+        }
+    }
+
+    private void onFinished(JsonObject params, String errorText) {
+        if (!isOurs(params)) {
+            return;
+        }
+        String id = params.getAsJsonObject("request").get("request").getAsString();
+        long[] marks;
+        synchronized (pending) {
+            marks = pending.remove(id);
+        }
+        JsonObject entry = entry(params, marks, errorText);
+        if (errorText != null) {
+            failedRequests.incrementAndGet();
+        }
+
+        String collectorId = collector;
+        if (collectorId == null || errorText != null || !hasBody(params)) {
+            enqueue(entry, null);
+            return;
+        }
+        JsonObject getData = new JsonObject();
+        getData.addProperty("dataType", "response");
+        getData.addProperty("request", id);
+        getData.addProperty("collector", collectorId);
+        getData.addProperty("disown", true);
+        CompletableFuture<Void> write = client.sendCommand("network.getData", getData)
+                .handle((result, error) -> error != null ? null : result)
+                // Decode on the writer thread, not the WebSocket thread that completes getData
+                .thenAcceptAsync(result -> write(entry,
+                        result == null ? null : Bytes.decode(result.getAsJsonObject("bytes"))), writer);
+        bodyWrites.add(write);
+        write.whenComplete((v, error) -> {
+            bodyWrites.remove(write);
+            if (error != null) {
+                log.debug("HAR entry dropped for {}: {}", id, error.getMessage());
+            }
+        });
+    }
+
+    private void enqueue(JsonObject entry, byte[] body) {
+        try {
+            writer.execute(() -> write(entry, body));
+        } catch (RejectedExecutionException e) {
+            log.debug("HAR entry dropped after stop");
+        }
+    }
+
+    /**
+     * Write one entry and its body. Runs on the writer thread only.
+     */
+    private void write(JsonObject entry, byte[] body) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            if (body != null) {
+                JsonObject content = entry.getAsJsonObject("response").getAsJsonObject("content");
+                if (body.length > options.getMaxBodySize()) {
+                    body = Arrays.copyOf(body, (int) options.getMaxBodySize());
+                    content.addProperty("_truncated", true);
+                }
+                content.addProperty("_file", spill(body, content.get("mimeType").getAsString()));
+                bodies.incrementAndGet();
+                bodyBytes.addAndGet(body.length);
+            }
+            GSON.toJson(entry, json);
+            entries.incrementAndGet();
+            if (writer.getQueue().isEmpty()) {
+                json.flush();
+            }
+        } catch (IOException e) {
+            failure = e;
+            log.warn("HAR entry could not be written: {}", e.getMessage());
+        } catch (JsonIOException e) {
+            failure = new IOException(e.getMessage(), e);
+            log.warn("HAR entry could not be written: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Close the JSON document. Runs on the writer thread after all entries.
+     */
+    private HarStats finish() {
+        try {
+            json.endArray().endObject().endObject();
+            json.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw new VibiumException("Failed to write HAR file " + file + ": " + failure.getMessage(), failure);
+        }
+        HarStats stats = getStats();
+        log.debug("HAR recording stopped: {}", stats);
+        return stats;
+    }
+
+    /**
+     * Write a body to the body directory, once per distinct content.
+     *
+     * @return the path of the body file relative to the HAR file
+     */
+    private String spill(byte[] body, String mimeType) throws IOException {
+        String type = mimeType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        String name = Bytes.digest("SHA-1", body) + "." + EXTENSIONS.getOrDefault(type, "bin");
+        Files.createDirectories(bodyDirectory);
+        try {
+            Files.write(bodyDirectory.resolve(name), body, StandardOpenOption.CREATE_NEW);
+        } catch (FileAlreadyExistsException e) {
+            // Same content already saved for an earlier entry
+        }
+        return bodyDirectory.getFileName() + "/" + name;
+    }
+
+    private boolean isOurs(JsonObject params) {
+        return params.has("request") && params.has("context") && !params.get("context").isJsonNull()
+                && contexts.contains(params.get("context").getAsString());
+    }
+
+    private static boolean hasBody(JsonObject params) {
+        if (!params.has("response")) {
+            return false;
+        }
+        int status = params.getAsJsonObject("response").get("status").getAsInt();
+        return status != 204 && status != 304 && (status < 300 || status >= 400);
+    }
+
+    /**
+     * Convert a completed or failed request to a HAR entry.
+     */
+    static JsonObject entry(JsonObject params, long[] marks, String errorText) {
+        JsonObject request = params.getAsJsonObject("request");
+        JsonObject response = params.has("response") ? params.getAsJsonObject("response") : new JsonObject();
+        JsonObject timing = request.has("timings") ? request.getAsJsonObject("timings") : new JsonObject();
+
+        long ended = timestamp(params);
+        long started = marks != null && marks[0] > 0 ? marks[0]
+                : number(timing, "timeOrigin") > 0 ? (long) (number(timing, "timeOrigin") + number(timing, "requestTime"))
+                : ended;
+        long firstByte = marks != null ? marks[1] : 0;
+
+        double dns = span(timing, "dnsStart", "dnsEnd");
+        double connect = span(timing, "connectStart", "connectEnd");
+        double ssl = span(timing, "tlsStart", "connectEnd");
+        double wait;
+        double receive;
+        if (number(timing, "requestStart") > 0 && number(timing, "responseStart") > 0) {
+            wait = number(timing, "responseStart") - number(timing, "requestStart");
+            receive = Math.max(0, number(timing, "responseEnd") - number(timing, "responseStart"));
+        } else if (firstByte > 0) {
+            wait = Math.max(0, firstByte - started);
+            receive = Math.max(0, ended - firstByte);
+        } else {
+            wait = Math.max(0, ended - started);
+            receive = 0;
+        }
+
+        String protocol = response.has("protocol") ? response.get("protocol").getAsString() : "";
+        JsonArray requestHeaders = headers(request);
+        JsonArray responseHeaders = headers(response);
+
+        JsonObject harRequest = new JsonObject();
+        harRequest.addProperty("method", request.has("method") ? request.get("method").getAsString() : "GET");
+        harRequest.addProperty("url", request.get("url").getAsString());
+        harRequest.addProperty("httpVersion", protocol);
+        harRequest.add("cookies", new JsonArray());
+        harRequest.add("headers", requestHeaders);
+        harRequest.add("queryString", queryString(request.get("url").getAsString()));
+        harRequest.addProperty("headersSize", (long) number(request, "headersSize", -1));
+        harRequest.addProperty("bodySize", (long) number(request, "bodySize", -1));
+
+        String mimeType = response.has("mimeType") ? response.get("mimeType").getAsString() : "";
+        JsonObject content = new JsonObject();
+        content.addProperty("size", (long) number(response.has("content") ? response.getAsJsonObject("content")
+                : new JsonObject(), "size", 0));
+        content.addProperty("mimeType", mimeType);
+
+        JsonObject harResponse = new JsonObject();
+        harResponse.addProperty("status", (int) number(response, "status", 0));
+        harResponse.addProperty("statusText", response.has("statusText") ? response.get("statusText").getAsString() : "");
+        harResponse.addProperty("httpVersion", protocol);
+        harResponse.add("cookies", new JsonArray());
+        harResponse.add("headers", responseHeaders);
+        harResponse.add("content", content);
+        harResponse.addProperty("redirectURL", header(responseHeaders, "location"));
+        harResponse.addProperty("headersSize", (long) number(response, "headersSize", -1));
+        harResponse.addProperty("bodySize", (long) number(response, "bodySize", -1));
+        if (response.has("fromCache") && response.get("fromCache").getAsBoolean()) {
+            harResponse.addProperty("_fromCache", true);
+        }
+
+        JsonObject timings = new JsonObject();
+        timings.addProperty("blocked", -1);
+        timings.addProperty("dns", dns);
+        timings.addProperty("connect", connect);
+        timings.addProperty("send", 0);
+        timings.addProperty("wait", wait);
+        timings.addProperty("receive", receive);
+        timings.addProperty("ssl", ssl);
+
+        JsonObject entry = new JsonObject();
+        entry.addProperty("startedDateTime", Instant.ofEpochMilli(started).toString());
+        entry.addProperty("time", Math.max(0, dns) + Math.max(0, connect) + wait + receive);
+        entry.add("request", harRequest);
+        entry.add("response", harResponse);
+        entry.add("cache", new JsonObject());
+        entry.add("timings", timings);
+        if (errorText != null) {
+            entry.addProperty("_failureText", errorText);
+        }
+        return entry;
+    }
+
+    private static JsonArray headers(JsonObject message) {
+        JsonArray headers = new JsonArray();
+        if (!message.has("headers")) {
+            return headers;
+        }
+        for (JsonElement element : message.getAsJsonArray("headers")) {
+            JsonObject header = element.getAsJsonObject();
+            JsonObject har = new JsonObject();
+            har.addProperty("name", header.get("name").getAsString());
+            har.addProperty("value", Bytes.headerValue(header.getAsJsonObject("value")));
+            headers.add(har);
+        }
+        return headers;
+    }
+
+    private static String header(JsonArray headers, String name) {
+        for (JsonElement element : headers) {
+            JsonObject header = element.getAsJsonObject();
+            if (name.equalsIgnoreCase(header.get("name").getAsString())) {
+                return header.get("value").getAsString();
+            }
+        }
+        return "";
+    }
+
+    private static JsonArray queryString(String url) {
+        JsonArray query = new JsonArray();
+        String raw;
+        try {
+            raw = URI.create(url).getRawQuery();
+        } catch (IllegalArgumentException e) {
+            return query;
+        }
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            JsonObject param = new JsonObject();
+            param.addProperty("name", decodeComponent(equals < 0 ? pair : pair.substring(0, equals)));
+            param.addProperty("value", equals < 0 ? "" : decodeComponent(pair.substring(equals + 1)));
+            query.add(param);
+        }
+        return query;
+    }
+
+    private static String decodeComponent(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    private static long timestamp(JsonObject params) {
+        return params.has("timestamp") ? params.get("timestamp").getAsLong() : System.currentTimeMillis();
+    }
+
+    private static double span(JsonObject timing, String start, String end) {
+        double from = number(timing, start);
+        double to = number(timing, end);
+        return from > 0 && to >= from ? to - from : -1;
+    }
+
+    private static double number(JsonObject object, String key) {
+        return number(object, key, 0);
+    }
+
+    private static double number(JsonObject object, String key, double fallback) {
+        return object.has(key) && !object.get(key).isJsonNull() ? object.get(key).getAsDouble() : fallback;
+    }
+}
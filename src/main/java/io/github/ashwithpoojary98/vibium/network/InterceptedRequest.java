@@ -0,0 +1,216 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A request paused by a {@link NetworkInterceptor}, waiting for a decision.
+ *
+ * <p>The request is resolved by exactly one of {@link #fail()},
+ * {@link #continueRequest()} and {@link #provideResponse(int, Map, byte[])};
+ * later calls are ignored.
+ */
+@Getter
+public final class InterceptedRequest {
+
+    private final String id;
+    private final String context;
+    private final String url;
+    private final String host;
+    private final String method;
+    private final ResourceType resourceType;
+    private final boolean navigation;
+    private final boolean thirdParty;
+    private final Map<String, String> headers;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final BiDiClient client;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean resolved = new AtomicBoolean();
+
+    InterceptedRequest(BiDiClient client, String id, String context, String url, String method,
+                       ResourceType resourceType, boolean navigation, String pageHost,
+                       Map<String, String> headers) {
+        this.client = client;
+        this.id = id;
+        this.context = context;
+        this.url = url;
+        this.host = hostOf(url);
+        this.method = method;
+        this.resourceType = resourceType;
+        this.navigation = navigation;
+        this.thirdParty = pageHost != null && host != null && !site(host).equals(site(pageHost));
+        this.headers = Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Decode a {@code network.beforeRequestSent} event.
+     *
+     * @param client   the BiDi client
+     * @param params   the event parameters
+     * @param pageHost the host of the document loaded in the request's context, or null
+     * @return the request
+     */
+    static InterceptedRequest from(BiDiClient client, JsonObject params, String pageHost) {
+        JsonObject request = params.getAsJsonObject("request");
+        String url = request.get("url").getAsString();
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (request.has("headers")) {
+            for (JsonElement header : request.getAsJsonArray("headers")) {
+                JsonObject entry = header.getAsJsonObject();
+                JsonObject value = entry.getAsJsonObject("value");
+                if ("string".equals(value.get("type").getAsString())) {
+                    headers.merge(entry.get("name").getAsString().toLowerCase(Locale.ROOT),
+                            value.get("value").getAsString(), (a, b) -> a + ", " + b);
+                }
+            }
+        }
+
+        return new InterceptedRequest(client,
+                request.get("request").getAsString(),
+                stringOrNull(params, "context"),
+                url,
+                request.has("method") ? request.get("method").getAsString() : "GET",
+                ResourceType.of(stringOrNull(request, "destination"), stringOrNull(request, "initiatorType"), url),
+                stringOrNull(params, "navigation") != null,
+                pageHost,
+                headers);
+    }
+
+    /**
+     * Abort the request; the page sees a network error.
+     *
+     * @return CompletableFuture that completes when the browser accepted the decision
+     */
+    public CompletableFuture<Void> fail() {
+        return resolve("network.failRequest");
+    }
+
+    /**
+     * Let the request go to the network unchanged.
+     *
+     * @return CompletableFuture that completes when the browser accepted the decision
+     */
+    public CompletableFuture<Void> continueRequest() {
+        return resolve("network.continueRequest");
+    }
+
+    /**
+     * Answer the request without contacting the server.
+     *
+     * @param statusCode the HTTP status, e.g. 200
+     * @param headers    the response headers
+     * @param body       the response body
+     * @return CompletableFuture that completes when the browser accepted the response
+     */
+    public CompletableFuture<Void> provideResponse(int statusCode, Map<String, List<String>> headers, byte[] body) {
+        if (!claim()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        JsonArray encodedHeaders = new JsonArray();
+        headers.forEach((name, values) -> values.forEach(value -> {
+            JsonObject bytes = new JsonObject();
+            bytes.addProperty("type", "string");
+            bytes.addProperty("value", value);
+            JsonObject header = new JsonObject();
+            header.addProperty("name", name);
+            header.add("value", bytes);
+            encodedHeaders.add(header);
+        }));
+        JsonObject encodedBody = new JsonObject();
+        encodedBody.addProperty("type", "base64");
+        encodedBody.addProperty("value", Base64.getEncoder().encodeToString(body));
+
+        JsonObject params = new JsonObject();
+        params.addProperty("statusCode", statusCode);
+        params.add("headers", encodedHeaders);
+        params.add("body", encodedBody);
+        return send("network.provideResponse", params);
+    }
+
+    /**
+     * Check whether a decision was already made for this request.
+     *
+     * @return true once the request was failed, continued or answered
+     */
+    public boolean isResolved() {
+        return resolved.get();
+    }
+
+    /**
+     * Claim the request for a decision. Only the first claim succeeds.
+     *
+     * @return true if the caller may resolve the request
+     */
+    boolean claim() {
+        return resolved.compareAndSet(false, true);
+    }
+
+    /**
+     * Send a command for this request.
+     *
+     * @param method the BiDi command
+     * @param params the command parameters, without the request ID
+     * @return CompletableFuture that completes when the command succeeded
+     */
+    CompletableFuture<Void> send(String method, JsonObject params) {
+        params.addProperty("request", id);
+        return client.sendCommand(method, params).thenApply(result -> null);
+    }
+
+    private CompletableFuture<Void> resolve(String method) {
+        if (!claim()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return send(method, new JsonObject());
+    }
+
+    /**
+     * Approximate the registrable domain of a host by its last two labels.
+     * IP addresses and single-label hosts are their own site.
+     */
+    static String site(String host) {
+        if (host.indexOf(':') >= 0 || host.chars().allMatch(c -> c == '.' || Character.isDigit(c))) {
+            return host;
+        }
+        int last = host.lastIndexOf('.');
+        if (last < 0) {
+            return host;
+        }
+        int previous = host.lastIndexOf('.', last - 1);
+        return previous < 0 ? host : host.substring(previous + 1);
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String stringOrNull(JsonObject object, String key) {
+        return object.has(key) && !object.get(key).isJsonNull() ? object.get(key).getAsString() : null;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url + " (" + resourceType + ")";
+    }
+}
@@ -0,0 +1,226 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.BrowsingContextCache;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pauses requests with {@code network.addIntercept} and passes each one
+ * through a chain of {@link RequestHandler}s.
+ *
+ * <p>Handlers run in order until one resolves the request. Requests that no
+ * handler resolved, or whose handler failed, continue unchanged, so a broken
+ * handler never stalls the page.
+ *
+ * <p>Every intercepted request costs one extra round trip to the browser, even
+ * when it is allowed; keep the interceptor scoped to the contexts that need it.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * NetworkInterceptor interceptor = vibe.intercept(rules).join();
+ * vibe.go("https://example.com").join();
+ * interceptor.close();
+ * }</pre>
+ */
+public final class NetworkInterceptor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkInterceptor.class);
+
+    private static final String REQUEST_STARTED = "network.beforeRequestSent";
+
+    private final BiDiClient client;
+    /** Context tree giving the URL of the page each request belongs to */
+    private final BrowsingContextCache tree;
+    private final List<RequestHandler> handlers;
+    private final Consumer<JsonObject> onRequest = this::onRequest;
+
+    /** ID of the current intercept, replaced by {@link #retarget(List)} */
+    private volatile CompletableFuture<String> intercept = new CompletableFuture<>();
+    private volatile boolean closed;
+
+    private final LongAdder intercepted = new LongAdder();
+    private final LongAdder unresolved = new LongAdder();
+
+    private NetworkInterceptor(BiDiClient client, BrowsingContextCache tree, List<RequestHandler> handlers) {
+        this.client = client;
+        this.tree = tree;
+        this.handlers = handlers;
+    }
+
+    /**
+     * Start intercepting requests.
+     *
+     * @param client   the BiDi client
+     * @param tree     the loaded context tree, used to tell third-party requests
+     * @param contexts the top-level browsing contexts to intercept, or empty for all
+     * @param handlers the handler chain
+     * @return future completed with the interceptor once requests are paused
+     */
+    public static CompletableFuture<NetworkInterceptor> start(BiDiClient client, BrowsingContextCache tree,
+                                                              List<String> contexts,
+                                                              List<RequestHandler> handlers) {
+        NetworkInterceptor interceptor = new NetworkInterceptor(client, tree, new ArrayList<>(handlers));
+        client.on(REQUEST_STARTED, interceptor.onRequest);
+
+        return client.subscribe(REQUEST_STARTED)
+                .thenCompose(v -> interceptor.addIntercept(contexts))
+                .thenApply(id -> {
+                    log.debug("Intercepting requests ({}, {} handlers)", id, handlers.size());
+                    interceptor.intercept.complete(id);
+                    return interceptor;
+                })
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        client.off(REQUEST_STARTED, interceptor.onRequest);
+                        interceptor.intercept.completeExceptionally(error);
+                    }
+                });
+    }
+
+    /**
+     * Number of requests paused by this interceptor.
+     *
+     * @return the intercepted request count
+     */
+    public long getInterceptedCount() {
+        return intercepted.sum();
+    }
+
+    /**
+     * Number of requests that no handler resolved and that were continued.
+     *
+     * @return the continued request count
+     */
+    public long getContinuedCount() {
+        return unresolved.sum();
+    }
+
+    /**
+     * Intercept the requests of other top-level contexts instead, e.g. the
+     * fresh tab of a session after {@link io.github.ashwithpoojary98.vibium.VibeAsync#reset()}.
+     * The handler chain and counters are kept.
+     *
+     * @param contexts the top-level browsing contexts to intercept, or empty for all
+     * @return CompletableFuture that completes once the new contexts are intercepted
+     */
+    public CompletableFuture<Void> retarget(List<String> contexts) {
+        if (closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<String> previous = intercept;
+        return addIntercept(contexts).thenAccept(id -> {
+            intercept = CompletableFuture.completedFuture(id);
+            previous.thenAccept(this::removeIntercept);
+            if (closed) {
+                removeIntercept(id);
+            }
+        });
+    }
+
+    /**
+     * Check whether {@link #close()} was called.
+     *
+     * @return true once the interceptor stopped
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stop intercepting. Requests already paused are still resolved.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        client.off(REQUEST_STARTED, onRequest);
+        intercept.thenAccept(this::removeIntercept);
+    }
+
+    private CompletableFuture<String> addIntercept(List<String> contexts) {
+        JsonObject params = new JsonObject();
+        JsonArray phases = new JsonArray();
+        phases.add("beforeRequestSent");
+        params.add("phases", phases);
+        if (!contexts.isEmpty()) {
+            JsonArray scope = new JsonArray();
+            contexts.forEach(scope::add);
+            params.add("contexts", scope);
+        }
+        return client.sendCommand("network.addIntercept", params)
+                .thenApply(result -> result.get("intercept").getAsString());
+    }
+
+    private void removeIntercept(String id) {
+        JsonObject params = new JsonObject();
+        params.addProperty("intercept", id);
+        client.sendCommand("network.removeIntercept", params).exceptionally(error -> {
+            log.debug("Failed to remove intercept {}: {}", id, error.getMessage());
+            return null;
+        });
+    }
+
+    private void onRequest(JsonObject params) {
+        if (!params.has("request")) {
+            return;
+        }
+        String context = params.has("context") && !params.get("context").isJsonNull()
+                ? params.get("context").getAsString() : null;
+        boolean navigation = params.has("navigation") && !params.get("navigation").isJsonNull();
+        BrowsingContextInfo page = navigation || context == null ? null : tree.get(context);
+        String pageHost = page == null || page.getUrl() == null ? null : InterceptedRequest.hostOf(page.getUrl());
+
+        boolean blocked = params.has("isBlocked") && params.get("isBlocked").getAsBoolean();
+        if (!blocked || !params.has("intercepts")) {
+            return;
+        }
+        // The event can be dispatched before addIntercept returned our ID
+        intercept.thenAccept(id -> {
+            if (isOurs(params.getAsJsonArray("intercepts"), id)) {
+                InterceptedRequest request = InterceptedRequest.from(client, params, pageHost);
+                intercepted.increment();
+                runChain(request);
+            }
+        });
+    }
+
+    private void runChain(InterceptedRequest request) {
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (RequestHandler handler : handlers) {
+            chain = chain.thenCompose(v -> request.isResolved()
+                    ? CompletableFuture.completedFuture(null)
+                    : handler.handle(request).toCompletableFuture());
+        }
+        chain.whenComplete((v, error) -> {
+            if (error != null) {
+                log.warn("Request handler failed for {}: {}", request, error.getMessage());
+            }
+            if (!request.isResolved()) {
+                unresolved.increment();
+                request.continueRequest().exceptionally(e -> {
+                    log.debug("Failed to continue {}: {}", request, e.getMessage());
+                    return null;
+                });
+            }
+        });
+    }
+
+    private static boolean isOurs(JsonArray intercepts, String id) {
+        for (JsonElement element : intercepts) {
+            if (id.equals(element.getAsString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A step of a {@link NetworkInterceptor}'s handler chain.
+ *
+ * <p>Handlers run in order until one of them resolves the request, e.g. with
+ * {@link InterceptedRequest#fail()}. A request no handler resolved continues
+ * to the network unchanged.
+ */
+@FunctionalInterface
+public interface RequestHandler {
+
+    /**
+     * Handle an intercepted request.
+     *
+     * @param request the paused request
+     * @return stage completed once the handler is done with the request
+     */
+    CompletionStage<Void> handle(InterceptedRequest request);
+}
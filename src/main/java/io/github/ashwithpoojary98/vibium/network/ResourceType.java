@@ -0,0 +1,107 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import java.util.Locale;
+
+/**
+ * What a request loads, derived from its fetch destination.
+ */
+public enum ResourceType {
+    /** A page or frame */
+    DOCUMENT,
+    STYLESHEET,
+    SCRIPT,
+    IMAGE,
+    FONT,
+    /** Audio, video and text tracks */
+    MEDIA,
+    /** {@code fetch()} and {@code XMLHttpRequest} */
+    FETCH,
+    OTHER;
+
+    /**
+     * Classify a request from its BiDi {@code destination} and {@code initiatorType},
+     * falling back to the URL's file extension when the browser reports neither.
+     *
+     * @param destination   the fetch destination, e.g. {@code image} (may be null or empty)
+     * @param initiatorType the initiator type, e.g. {@code xmlhttprequest} (may be null)
+     * @param url           the request URL
+     * @return the resource type
+     */
+    public static ResourceType of(String destination, String initiatorType, String url) {
+        if (destination != null) {
+            switch (destination) {
+                case "document":
+                case "frame":
+                case "iframe":
+                    return DOCUMENT;
+                case "style":
+                    return STYLESHEET;
+                case "script":
+                case "worker":
+                case "sharedworker":
+                case "serviceworker":
+                    return SCRIPT;
+                case "image":
+                    return IMAGE;
+                case "font":
+                    return FONT;
+                case "audio":
+                case "video":
+                case "track":
+                    return MEDIA;
+                default:
+                    break;
+            }
+        }
+        if ("fetch".equals(initiatorType) || "xmlhttprequest".equals(initiatorType)) {
+            return FETCH;
+        }
+        return fromExtension(url);
+    }
+
+    private static ResourceType fromExtension(String url) {
+        String path = url;
+        int end = path.length();
+        int query = path.indexOf('?');
+        int fragment = path.indexOf('#');
+        if (query >= 0) {
+            end = query;
+        }
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        int dot = path.lastIndexOf('.', end);
+        if (dot < 0 || dot < path.lastIndexOf('/', end)) {
+            return OTHER;
+        }
+        switch (path.substring(dot + 1, end).toLowerCase(Locale.ROOT)) {
+            case "png":
+            case "jpg":
+            case "jpeg":
+            case "gif":
+            case "webp":
+            case "avif":
+            case "svg":
+            case "ico":
+                return IMAGE;
+            case "woff":
+            case "woff2":
+            case "ttf":
+            case "otf":
+                return FONT;
+            case "mp4":
+            case "webm":
+            case "mp3":
+            case "ogg":
+            case "m3u8":
+                return MEDIA;
+            case "css":
+                return STYLESHEET;
+            case "js":
+            case "mjs":
+                return SCRIPT;
+            default:
+                return OTHER;
+        }
+    }
+}
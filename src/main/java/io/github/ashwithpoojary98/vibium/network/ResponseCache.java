@@ -0,0 +1,498 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.Bytes;
+import io.github.ashwithpoojary98.vibium.internal.ContentStore;
+import io.github.ashwithpoojary98.vibium.model.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A disk-backed HTTP cache for static assets, served through request interception.
+ *
+ * <p>Intercepted {@code GET} requests for scripts, stylesheets, images and fonts
+ * are looked up by URL. Fresh entries are answered with
+ * {@code network.provideResponse} without touching the network. On a miss the
+ * browser's own request continues, with its cookies and credentials, and the
+ * response body is taken from a {@code network.addDataCollector} collector when
+ * the response completes. It is stored if its {@code Cache-Control},
+ * {@code Expires} or validators allow it. A {@code 304} answer to the
+ * browser's own revalidation of a stale entry refreshes that entry.
+ *
+ * <p>Bodies are kept in a content-addressed store with an LRU size limit, so
+ * assets served under several URLs are stored once. Caches are shared: every
+ * {@link #open(Path, long)} of the same directory in the JVM returns the same
+ * instance, which can be passed to any number of sessions.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ResponseCache cache = ResponseCache.open(Path.of("build/http-cache"), 512L << 20);
+ * vibe.intercept(rules, cache).join();
+ * vibe.go("https://example.com").join();
+ * System.out.println(cache.getStats());
+ * }</pre>
+ */
+public final class ResponseCache implements RequestHandler, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private static final Map<Path, ResponseCache> OPEN = new ConcurrentHashMap<>();
+
+    private static final String RESPONSE_COMPLETED = "network.responseCompleted";
+    private static final String FETCH_ERROR = "network.fetchError";
+
+    private static final Set<ResourceType> CACHEABLE_TYPES =
+            EnumSet.of(ResourceType.SCRIPT, ResourceType.STYLESHEET, ResourceType.IMAGE, ResourceType.FONT);
+    private static final Set<String> DROPPED_HEADERS = Set.of(":status", "connection", "keep-alive",
+            "transfer-encoding", "content-encoding", "content-length", "set-cookie");
+
+    private static final long MAX_BODY_SIZE = 16L << 20;
+    private static final int MAX_PENDING = 10_000;
+    private static final Duration MAX_HEURISTIC_LIFETIME = Duration.ofDays(1);
+
+    private static final Gson GSON = new Gson();
+    private static final Type HEADERS_TYPE = new TypeToken<Map<String, List<String>>>() { }.getType();
+
+    /**
+     * A response ready to be provided to the browser.
+     */
+    private static final class Cached {
+        final Map<String, List<String>> headers;
+        final byte[] body;
+
+        Cached(Map<String, List<String>> headers, byte[] body) {
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * A missed request continued to the network, waiting for its response.
+     */
+    private static final class Pending {
+        final String key;
+        final ContentStore.Entry entry;
+
+        Pending(String key, ContentStore.Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * The response listeners and data collector of one browser connection.
+     */
+    private final class Attachment {
+        final BiDiClient client;
+        final Consumer<JsonObject> onCompleted = this::onCompleted;
+        final Consumer<JsonObject> onFailed = this::onFailed;
+        final CompletableFuture<String> collector;
+
+        /** Missed requests by request ID. Bounded, since a request can vanish with its context */
+        final Map<String, Pending> pending = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pending> eldest) {
+                return size() > MAX_PENDING;
+            }
+        };
+
+        Attachment(BiDiClient client) {
+            this.client = client;
+            client.on(RESPONSE_COMPLETED, onCompleted);
+            client.on(FETCH_ERROR, onFailed);
+
+            JsonObject params = new JsonObject();
+            JsonArray types = new JsonArray();
+            types.add("response");
+            params.add("dataTypes", types);
+            params.addProperty("maxEncodedDataSize", MAX_BODY_SIZE);
+            this.collector = client.subscribe(RESPONSE_COMPLETED, FETCH_ERROR)
+                    .thenCompose(v -> client.sendCommand("network.addDataCollector", params))
+                    .thenApply(result -> result.get("collector").getAsString());
+        }
+
+        void expect(String request, Pending miss) {
+            synchronized (pending) {
+                pending.put(request, miss);
+            }
+        }
+
+        Pending take(JsonObject params) {
+            if (!params.has("request")) {
+                return null;
+            }
+            String request = params.getAsJsonObject("request").get("request").getAsString();
+            synchronized (pending) {
+                return pending.remove(request);
+            }
+        }
+
+        void onFailed(JsonObject params) {
+            if (take(params) != null) {
+                misses.increment();
+            }
+        }
+
+        void onCompleted(JsonObject params) {
+            Pending miss = take(params);
+            if (miss == null) {
+                return;
+            }
+            misses.increment();
+            String request = params.getAsJsonObject("request").get("request").getAsString();
+            JsonObject response = params.getAsJsonObject("response");
+            int status = response.get("status").getAsInt();
+            List<JsonObject> rawHeaders = new ArrayList<>();
+            if (response.has("headers")) {
+                response.getAsJsonArray("headers").forEach(header -> rawHeaders.add(header.getAsJsonObject()));
+            }
+            Map<String, List<String>> headers = filterHeaders(rawHeaders);
+
+            if (status == 304 && miss.entry != null) {
+                Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                merged.putAll(headersOf(miss.entry.getMetadata()));
+                merged.putAll(headers);
+                if (store.update(miss.key, metadata(merged)) != null) {
+                    revalidations.increment();
+                }
+                return;
+            }
+            boolean setsCookie = rawHeaders.stream()
+                    .anyMatch(header -> "set-cookie".equalsIgnoreCase(header.get("name").getAsString()));
+            boolean storable = status == 200 && !setsCookie && isStorable(headers);
+            if (!storable && (status == 204 || status == 304 || status >= 300 && status < 400)) {
+                return;
+            }
+            collector.thenCompose(id -> {
+                JsonObject data = new JsonObject();
+                data.addProperty("dataType", "response");
+                data.addProperty("request", request);
+                data.addProperty("collector", id);
+                if (!storable) {
+                    return client.sendCommand("network.disownData", data).thenApply(result -> (JsonObject) null);
+                }
+                data.addProperty("disown", true);
+                return client.sendCommand("network.getData", data);
+            }).thenAcceptAsync(result -> {
+                // Command futures complete on the socket thread; decoding, hashing
+                // and writing bodies of up to MAX_BODY_SIZE must not stall it
+                if (result != null) {
+                    try {
+                        store.put(miss.key, Bytes.decode(result.getAsJsonObject("bytes")), metadata(headers));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }, writer).exceptionally(error -> {
+                log.debug("Response of {} not cached: {}", miss.key, error.getMessage());
+                return null;
+            });
+        }
+
+        void detach() {
+            client.off(RESPONSE_COMPLETED, onCompleted);
+            client.off(FETCH_ERROR, onFailed);
+            collector.thenAccept(id -> {
+                JsonObject params = new JsonObject();
+                params.addProperty("collector", id);
+                client.sendCommand("network.removeDataCollector", params).exceptionally(error -> {
+                    log.debug("Failed to remove data collector {}: {}", id, error.getMessage());
+                    return null;
+                });
+            });
+        }
+    }
+
+    private final Path directory;
+    private final ContentStore store;
+    private final Clock clock;
+    /** Decodes and stores collected bodies, off the WebSocket thread */
+    private final Executor writer;
+
+    /** Response capture per browser connection using this cache */
+    private final Map<BiDiClient, Attachment> attachments = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    ResponseCache(Path directory, ContentStore store, Clock clock, Executor writer) {
+        this.directory = directory;
+        this.store = store;
+        this.clock = clock;
+        this.writer = writer;
+    }
+
+    /**
+     * Open the cache stored in a directory, or return the instance already open
+     * in this JVM. The size limit of the first call applies.
+     *
+     * @param directory the cache directory, created if needed
+     * @param maxBytes  the maximum total size of the cached bodies
+     * @return the shared cache
+     */
+    public static ResponseCache open(Path directory, long maxBytes) {
+        Path normalized = directory.toAbsolutePath().normalize();
+        return OPEN.computeIfAbsent(normalized,
+                dir -> new ResponseCache(dir, new ContentStore(dir, maxBytes), Clock.systemUTC(),
+                        ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Answer the request from the cache, or let it continue and store its response.
+     *
+     * @param request the paused request
+     * @return stage completed once the request was answered or continued, or left to the next handler
+     */
+    @Override
+    public CompletionStage<Void> handle(InterceptedRequest request) {
+        if (!isCacheable(request)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Map<String, String> requestDirectives = directives(request.getHeaders().get("cache-control"));
+        if (requestDirectives.containsKey("no-store")) {
+            return CompletableFuture.completedFuture(null);
+        }
+        boolean forceRevalidate = requestDirectives.containsKey("no-cache")
+                || "0".equals(requestDirectives.get("max-age"));
+
+        String key = request.getUrl();
+        ContentStore.Entry entry = store.get(key);
+        if (entry != null && !forceRevalidate && isFresh(entry.getMetadata())) {
+            Cached cached = readStored(entry);
+            if (cached != null) {
+                hits.increment();
+                bytesSaved.add(cached.body.length);
+                return request.provideResponse(200, cached.headers, cached.body);
+            }
+        }
+
+        BiDiClient client = request.getClient();
+        Attachment attachment = attachments.computeIfAbsent(client, Attachment::new);
+        return attachment.collector.handle((collector, error) -> {
+            if (error != null) {
+                // Retried by the next miss; this request is left to the browser uncached
+                attachments.remove(client, attachment);
+                attachment.detach();
+                log.debug("Responses cannot be collected: {}", error.getMessage());
+                misses.increment();
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            attachment.expect(request.getId(), new Pending(key, entry));
+            return request.continueRequest();
+        }).thenCompose(continued -> continued);
+    }
+
+    /**
+     * Get the statistics.
+     *
+     * @return hits, misses, bytes saved and the store size
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), revalidations.sum(), bytesSaved.sum(),
+                store.size(), store.getTotalBytes());
+    }
+
+    /**
+     * Close the cache and release its directory. Sessions still using it must
+     * stop intercepting first.
+     */
+    @Override
+    public void close() {
+        OPEN.remove(directory, this);
+        attachments.values().forEach(Attachment::detach);
+        attachments.clear();
+        store.close();
+    }
+
+    private Cached readStored(ContentStore.Entry entry) {
+        try {
+            byte[] body = store.read(entry);
+            if (body == null) {
+                store.remove(entry.getKey());
+                return null;
+            }
+            return new Cached(headersOf(entry.getMetadata()), body);
+        } catch (IOException e) {
+            log.debug("Failed to read cached {}: {}", entry.getKey(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isCacheable(InterceptedRequest request) {
+        return "GET".equals(request.getMethod())
+                && CACHEABLE_TYPES.contains(request.getResourceType())
+                && (request.getUrl().startsWith("http://") || request.getUrl().startsWith("https://"))
+                && !request.getHeaders().containsKey("authorization");
+    }
+
+    private boolean isStorable(Map<String, List<String>> headers) {
+        Map<String, String> directives = directives(first(headers, "cache-control"));
+        if (directives.containsKey("no-store") || directives.containsKey("private")) {
+            return false;
+        }
+        String vary = first(headers, "vary");
+        if (vary != null && !vary.trim().equalsIgnoreCase("accept-encoding")) {
+            return false;
+        }
+        return lifetime(headers).compareTo(Duration.ZERO) > 0
+                || first(headers, "etag") != null || first(headers, "last-modified") != null;
+    }
+
+    private boolean isFresh(JsonObject metadata) {
+        return clock.millis() < metadata.get("expiresAt").getAsLong();
+    }
+
+    private JsonObject metadata(Map<String, List<String>> headers) {
+        JsonObject metadata = new JsonObject();
+        metadata.add("headers", GSON.toJsonTree(headers, HEADERS_TYPE));
+        metadata.addProperty("expiresAt", clock.millis() + lifetime(headers).toMillis());
+        String etag = first(headers, "etag");
+        if (etag != null) {
+            metadata.addProperty("etag", etag);
+        }
+        String lastModified = first(headers, "last-modified");
+        if (lastModified != null) {
+            metadata.addProperty("lastModified", lastModified);
+        }
+        return metadata;
+    }
+
+    /**
+     * How long a response stays fresh: {@code s-maxage}, {@code max-age},
+     * {@code Expires}, or 10% of its age since {@code Last-Modified} (capped at a
+     * day), minus its {@code Age}. Zero with {@code no-cache}.
+     */
+    Duration lifetime(Map<String, List<String>> headers) {
+        Map<String, String> directives = directives(first(headers, "cache-control"));
+        if (directives.containsKey("no-cache")) {
+            return Duration.ZERO;
+        }
+
+        Duration lifetime = Duration.ZERO;
+        Long maxAge = seconds(directives.getOrDefault("s-maxage", directives.get("max-age")));
+        ZonedDateTime date = date(first(headers, "date"));
+        long now = date != null ? date.toInstant().toEpochMilli() : clock.millis();
+        if (maxAge != null) {
+            lifetime = Duration.ofSeconds(maxAge);
+        } else if (first(headers, "expires") != null) {
+            ZonedDateTime expires = date(first(headers, "expires"));
+            lifetime = expires == null ? Duration.ZERO : Duration.ofMillis(expires.toInstant().toEpochMilli() - now);
+        } else if (date(first(headers, "last-modified")) != null) {
+            long age = now - date(first(headers, "last-modified")).toInstant().toEpochMilli();
+            lifetime = Duration.ofMillis(Math.min(age / 10, MAX_HEURISTIC_LIFETIME.toMillis()));
+        }
+
+        Long age = seconds(first(headers, "age"));
+        if (age != null) {
+            lifetime = lifetime.minusSeconds(age);
+        }
+        return lifetime.isNegative() ? Duration.ZERO : lifetime;
+    }
+
+    /**
+     * Convert BiDi response headers to a header map without hop-by-hop and cookie headers.
+     */
+    private static Map<String, List<String>> filterHeaders(List<JsonObject> headers) {
+        Map<String, List<String>> filtered = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (JsonObject header : headers) {
+            String name = header.get("name").getAsString().toLowerCase(Locale.ROOT);
+            if (!DROPPED_HEADERS.contains(name)) {
+                filtered.computeIfAbsent(name, k -> new ArrayList<>())
+                        .add(Bytes.headerValue(header.getAsJsonObject("value")));
+            }
+        }
+        return filtered;
+    }
+
+    private static Map<String, List<String>> headersOf(JsonObject metadata) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(GSON.fromJson(metadata.get("headers"), HEADERS_TYPE));
+        return headers;
+    }
+
+    private static String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Parse {@code Cache-Control} directives, lowercased, with unquoted values.
+     */
+    static Map<String, String> directives(String cacheControl) {
+        Map<String, String> directives = new HashMap<>();
+        if (cacheControl == null) {
+            return directives;
+        }
+        for (String part : cacheControl.split(",")) {
+            String directive = part.trim();
+            if (directive.isEmpty()) {
+                continue;
+            }
+            int equals = directive.indexOf('=');
+            if (equals < 0) {
+                directives.put(directive.toLowerCase(Locale.ROOT), "");
+            } else {
+                String value = directive.substring(equals + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                directives.put(directive.substring(0, equals).trim().toLowerCase(Locale.ROOT), value);
+            }
+        }
+        return directives;
+    }
+
+    private static Long seconds(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ZonedDateTime date(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
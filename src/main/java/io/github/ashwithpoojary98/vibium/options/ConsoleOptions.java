@@ -0,0 +1,100 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import io.github.ashwithpoojary98.vibium.model.ConsoleEntry;
+import lombok.Getter;
+
+/**
+ * Options for capturing console messages and JavaScript errors.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * vibe.captureConsole(ConsoleOptions.builder()
+ *     .capacity(500)
+ *     .minLevel(ConsoleEntry.Level.WARN)
+ *     .build());
+ * }</pre>
+ */
+@Getter
+public final class ConsoleOptions {
+
+    private final int capacity;
+    private final ConsoleEntry.Level minLevel;
+    private final boolean dumpOnFailure;
+
+    private ConsoleOptions(Builder builder) {
+        this.capacity = builder.capacity;
+        this.minLevel = builder.minLevel;
+        this.dumpOnFailure = builder.dumpOnFailure;
+    }
+
+    /**
+     * Create a new builder for ConsoleOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link ConsoleOptions}.
+     */
+    public static final class Builder {
+
+        private int capacity = 1024;
+        private ConsoleEntry.Level minLevel = ConsoleEntry.Level.DEBUG;
+        private boolean dumpOnFailure = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Set how many recent entries are kept. Older entries are overwritten.
+         *
+         * @param capacity the entry count, rounded up to a power of two (defaults to 1024)
+         * @return this builder
+         */
+        public Builder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Set the least severe level kept. Less severe entries are discarded
+         * as they arrive.
+         *
+         * @param minLevel the level (defaults to {@link ConsoleEntry.Level#DEBUG})
+         * @return this builder
+         */
+        public Builder minLevel(ConsoleEntry.Level minLevel) {
+            this.minLevel = minLevel;
+            return this;
+        }
+
+        /**
+         * Set whether the captured entries are logged when a {@code Vibe} call fails.
+         *
+         * @param dumpOnFailure true to log entries on failure (defaults to true)
+         * @return this builder
+         */
+        public Builder dumpOnFailure(boolean dumpOnFailure) {
+            this.dumpOnFailure = dumpOnFailure;
+            return this;
+        }
+
+        /**
+         * Build the ConsoleOptions instance.
+         *
+         * @return a new ConsoleOptions
+         */
+        public ConsoleOptions build() {
+            if (capacity <= 0 || capacity > (1 << 30)) {
+                throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+            }
+            if (minLevel == null) {
+                throw new IllegalArgumentException("minLevel is required");
+            }
+            return new ConsoleOptions(this);
+        }
+    }
+}
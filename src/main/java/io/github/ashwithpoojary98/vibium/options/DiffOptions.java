@@ -0,0 +1,118 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import io.github.ashwithpoojary98.vibium.model.Box;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options for comparing screenshots with {@link io.github.ashwithpoojary98.vibium.ScreenshotDiff}.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * DiffOptions options = DiffOptions.builder()
+ *     .threshold(0.1)
+ *     .ignore(new Box(0, 0, 1920, 80))   // header with a clock
+ *     .build();
+ * }</pre>
+ */
+@Getter
+public final class DiffOptions {
+
+    private final double threshold;
+    private final boolean detectAntiAliasing;
+    private final List<Box> ignoreRegions;
+    private final int tileSize;
+
+    private DiffOptions(Builder builder) {
+        this.threshold = builder.threshold;
+        this.detectAntiAliasing = builder.detectAntiAliasing;
+        this.ignoreRegions = Collections.unmodifiableList(new ArrayList<>(builder.ignoreRegions));
+        this.tileSize = builder.tileSize;
+    }
+
+    /**
+     * Create a new builder for DiffOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link DiffOptions}.
+     */
+    public static final class Builder {
+
+        private double threshold = 0.1;
+        private boolean detectAntiAliasing = true;
+        private final List<Box> ignoreRegions = new ArrayList<>();
+        private int tileSize = 64;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the color tolerance. Pixels whose perceived (YIQ) color difference is
+         * below the threshold are considered equal.
+         *
+         * @param threshold between 0 (exact) and 1 (defaults to 0.1)
+         * @return this builder
+         */
+        public Builder threshold(double threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * Set whether pixels that only differ by anti-aliasing are ignored.
+         *
+         * @param detectAntiAliasing true to ignore anti-aliasing (default)
+         * @return this builder
+         */
+        public Builder detectAntiAliasing(boolean detectAntiAliasing) {
+            this.detectAntiAliasing = detectAntiAliasing;
+            return this;
+        }
+
+        /**
+         * Exclude a region from the comparison, e.g. a clock or an ad slot.
+         *
+         * @param region the region in image pixels
+         * @return this builder
+         */
+        public Builder ignore(Box region) {
+            this.ignoreRegions.add(region);
+            return this;
+        }
+
+        /**
+         * Set the edge length of the tiles compared in parallel.
+         *
+         * @param tileSize pixels per tile edge (defaults to 64)
+         * @return this builder
+         */
+        public Builder tileSize(int tileSize) {
+            this.tileSize = tileSize;
+            return this;
+        }
+
+        /**
+         * Build the DiffOptions instance.
+         *
+         * @return a new DiffOptions
+         */
+        public DiffOptions build() {
+            if (threshold < 0 || threshold > 1) {
+                throw new IllegalArgumentException("threshold must be between 0 and 1: " + threshold);
+            }
+            if (tileSize <= 0) {
+                throw new IllegalArgumentException("tileSize must be positive: " + tileSize);
+            }
+            return new DiffOptions(this);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Options for filling a form in one call.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * vibe.fill(fields, FillOptions.builder()
+ *     .timeout(Duration.ofSeconds(5))
+ *     .keystrokes(true)
+ *     .build());
+ * }</pre>
+ */
+@Getter
+public final class FillOptions {
+
+    private final Duration timeout;
+    private final boolean keystrokes;
+
+    private FillOptions(Builder builder) {
+        this.timeout = builder.timeout;
+        this.keystrokes = builder.keystrokes;
+    }
+
+    /**
+     * Create a new builder for FillOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link FillOptions}.
+     */
+    public static final class Builder {
+
+        private Duration timeout = Duration.ofSeconds(30);
+        private boolean keystrokes;
+
+        private Builder() {
+        }
+
+        /**
+         * Set how long to wait for all fields to exist. Fields still missing
+         * afterwards are reported as failures.
+         *
+         * @param timeout the maximum wait, zero not to wait (defaults to 30 seconds)
+         * @return this builder
+         */
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Set whether text fields are typed with real key events instead of
+         * having their value set, for pages that react to individual keys.
+         * Selects, checkboxes and radio buttons are always set directly.
+         *
+         * @param keystrokes true to type text fields (defaults to false)
+         * @return this builder
+         */
+        public Builder keystrokes(boolean keystrokes) {
+            this.keystrokes = keystrokes;
+            return this;
+        }
+
+        /**
+         * Build the FillOptions instance.
+         *
+         * @return a new FillOptions
+         */
+        public FillOptions build() {
+            if (timeout == null || timeout.isNegative()) {
+                throw new IllegalArgumentException("timeout must not be negative");
+            }
+            return new FillOptions(this);
+        }
+    }
+}
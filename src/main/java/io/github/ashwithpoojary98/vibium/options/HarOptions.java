@@ -0,0 +1,85 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import lombok.Getter;
+
+/**
+ * Options for recording a HAR file.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * HarOptions options = HarOptions.builder()
+ *     .captureBodies(true)
+ *     .maxBodySize(512 * 1024)
+ *     .build();
+ *
+ * HarRecorder har = vibe.recordHar(Path.of("crawl.har"), options);
+ * }</pre>
+ */
+@Getter
+public final class HarOptions {
+
+    private final boolean captureBodies;
+    private final long maxBodySize;
+
+    private HarOptions(Builder builder) {
+        this.captureBodies = builder.captureBodies;
+        this.maxBodySize = builder.maxBodySize;
+    }
+
+    /**
+     * Create a new builder for HarOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link HarOptions}.
+     */
+    public static final class Builder {
+
+        private boolean captureBodies = false;
+        private long maxBodySize = 1024 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Set whether response bodies are saved. Bodies are written to files
+         * next to the HAR and referenced from each entry, never kept in memory.
+         *
+         * @param captureBodies true to save bodies (defaults to false)
+         * @return this builder
+         */
+        public Builder captureBodies(boolean captureBodies) {
+            this.captureBodies = captureBodies;
+            return this;
+        }
+
+        /**
+         * Set the largest body saved per entry. The browser does not retain
+         * larger bodies at all.
+         *
+         * @param maxBodySize the limit in bytes (defaults to 1 MiB)
+         * @return this builder
+         */
+        public Builder maxBodySize(long maxBodySize) {
+            this.maxBodySize = maxBodySize;
+            return this;
+        }
+
+        /**
+         * Build the HarOptions instance.
+         *
+         * @return a new HarOptions
+         */
+        public HarOptions build() {
+            if (maxBodySize <= 0) {
+                throw new IllegalArgumentException("maxBodySize must be positive");
+            }
+            return new HarOptions(this);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * JVM-wide admission limits for launching browsers.
+ *
+ * <p>Launches beyond the limits are queued in FIFO order until a slot frees up
+ * and the host has enough memory and CPU headroom. All limits are off by default.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * BrowserAsync.setLaunchLimits(LaunchLimits.builder()
+ *     .maxConcurrentStarts(4)
+ *     .maxLiveBrowsers(16)
+ *     .minAvailableMemoryBytes(1024L * 1024 * 1024)
+ *     .maxLoadPerCore(1.5)
+ *     .build());
+ * }</pre>
+ */
+@Getter
+public final class LaunchLimits {
+
+    private final int maxConcurrentStarts;
+    private final int maxLiveBrowsers;
+    private final long minAvailableMemoryBytes;
+    private final double maxLoadPerCore;
+    private final Duration admissionTimeout;
+    private final Duration pollInterval;
+
+    private LaunchLimits(Builder builder) {
+        this.maxConcurrentStarts = builder.maxConcurrentStarts;
+        this.maxLiveBrowsers = builder.maxLiveBrowsers;
+        this.minAvailableMemoryBytes = builder.minAvailableMemoryBytes;
+        this.maxLoadPerCore = builder.maxLoadPerCore;
+        this.admissionTimeout = builder.admissionTimeout;
+        this.pollInterval = builder.pollInterval;
+    }
+
+    /**
+     * Create a new builder for LaunchLimits.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link LaunchLimits}.
+     */
+    public static final class Builder {
+
+        private int maxConcurrentStarts = 0;
+        private int maxLiveBrowsers = 0;
+        private long minAvailableMemoryBytes = 0;
+        private double maxLoadPerCore = 0;
+        private Duration admissionTimeout = Duration.ofMinutes(5);
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximum number of browsers starting at the same time.
+         *
+         * @param maxConcurrentStarts the limit (0 for unlimited)
+         * @return this builder
+         */
+        public Builder maxConcurrentStarts(int maxConcurrentStarts) {
+            this.maxConcurrentStarts = maxConcurrentStarts;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of browsers alive in this JVM, including those starting.
+         *
+         * @param maxLiveBrowsers the limit (0 for unlimited)
+         * @return this builder
+         */
+        public Builder maxLiveBrowsers(int maxLiveBrowsers) {
+            this.maxLiveBrowsers = maxLiveBrowsers;
+            return this;
+        }
+
+        /**
+         * Set the minimum available host memory (MemAvailable) required to start a browser.
+         *
+         * @param minAvailableMemoryBytes the threshold in bytes (0 to disable)
+         * @return this builder
+         */
+        public Builder minAvailableMemoryBytes(long minAvailableMemoryBytes) {
+            this.minAvailableMemoryBytes = minAvailableMemoryBytes;
+            return this;
+        }
+
+        /**
+         * Set the maximum one-minute load average per CPU core at which a browser may start.
+         *
+         * @param maxLoadPerCore the threshold (0 to disable)
+         * @return this builder
+         */
+        public Builder maxLoadPerCore(double maxLoadPerCore) {
+            this.maxLoadPerCore = maxLoadPerCore;
+            return this;
+        }
+
+        /**
+         * Set how long a launch may wait in the queue before failing.
+         *
+         * @param admissionTimeout the timeout
+         * @return this builder
+         */
+        public Builder admissionTimeout(Duration admissionTimeout) {
+            this.admissionTimeout = admissionTimeout;
+            return this;
+        }
+
+        /**
+         * Set how often host headroom is re-checked while launches are queued.
+         *
+         * @param pollInterval the interval
+         * @return this builder
+         */
+        public Builder pollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        /**
+         * Build the LaunchLimits instance.
+         *
+         * @return a new LaunchLimits
+         */
+        public LaunchLimits build() {
+            return new LaunchLimits(this);
+        }
+    }
+}
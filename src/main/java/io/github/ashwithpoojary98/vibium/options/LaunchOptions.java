@@ -1,5 +1,7 @@
 package io.github.ashwithpoojary98.vibium.options;
 
+import io.github.ashwithpoojary98.vibium.network.RequestRules;
+import io.github.ashwithpoojary98.vibium.network.ResponseCache;
 import lombok.Getter;
 
 /**
@@ -21,11 +23,17 @@ public final class LaunchOptions {
     private final boolean headless;
     private final Integer port;
     private final String executablePath;
+    private final ResourceLimits resourceLimits;
+    private final RequestRules requestRules;
+    private final ResponseCache responseCache;
 
     private LaunchOptions(Builder builder) {
         this.headless = builder.headless;
         this.port = builder.port;
         this.executablePath = builder.executablePath;
+        this.resourceLimits = builder.resourceLimits;
+        this.requestRules = builder.requestRules;
+        this.responseCache = builder.responseCache;
     }
 
     /**
@@ -45,6 +53,9 @@ public final class LaunchOptions {
         private boolean headless = false;
         private Integer port = null;
         private String executablePath = null;
+        private ResourceLimits resourceLimits = null;
+        private RequestRules requestRules = null;
+        private ResponseCache responseCache = null;
 
         private Builder() {
         }
@@ -82,6 +93,40 @@ public final class LaunchOptions {
             return this;
         }
 
+        /**
+         * Set resource limits for monitoring the launched browser process tree.
+         *
+         * @param resourceLimits the limits (null to disable monitoring)
+         * @return this builder
+         */
+        public Builder resourceLimits(ResourceLimits resourceLimits) {
+            this.resourceLimits = resourceLimits;
+            return this;
+        }
+
+        /**
+         * Block requests in every page of the browser, e.g. images, fonts and trackers.
+         *
+         * @param requestRules the rules (null to load everything)
+         * @return this builder
+         */
+        public Builder requestRules(RequestRules requestRules) {
+            this.requestRules = requestRules;
+            return this;
+        }
+
+        /**
+         * Serve static assets of every page of the browser from a shared disk cache.
+         * Requests blocked by {@link #requestRules(RequestRules)} never reach it.
+         *
+         * @param responseCache the cache (null to always use the network)
+         * @return this builder
+         */
+        public Builder responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
         /**
          * Build the LaunchOptions instance.
          *
@@ -0,0 +1,127 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Options for navigating to a URL.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * // Return as soon as the DOM is parsed
+ * NavigateOptions fast = NavigateOptions.builder()
+ *     .waitUntil(NavigateOptions.WaitUntil.INTERACTIVE)
+ *     .build();
+ *
+ * // Wait until at most 2 requests were in flight for 500 ms
+ * NavigateOptions settled = NavigateOptions.builder()
+ *     .networkIdle(Duration.ofMillis(500), 2)
+ *     .build();
+ *
+ * NavigationResult result = vibe.go("https://example.com", settled).join();
+ * }</pre>
+ */
+@Getter
+public final class NavigateOptions {
+
+    /**
+     * When a navigation is considered finished.
+     */
+    public enum WaitUntil {
+        /** Return as soon as the navigation started */
+        NONE,
+        /** Wait for the DOM to be parsed ({@code DOMContentLoaded}) */
+        INTERACTIVE,
+        /** Wait for the page and its resources to load ({@code load}) */
+        COMPLETE,
+        /** Wait for {@code load}, then for the network to be quiet */
+        NETWORK_IDLE
+    }
+
+    private final WaitUntil waitUntil;
+    private final Duration quietPeriod;
+    private final int maxInflight;
+    private final Duration timeout;
+
+    private NavigateOptions(Builder builder) {
+        this.waitUntil = builder.waitUntil;
+        this.quietPeriod = builder.quietPeriod;
+        this.maxInflight = builder.maxInflight;
+        this.timeout = builder.timeout;
+    }
+
+    /**
+     * Create a new builder for NavigateOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link NavigateOptions}.
+     */
+    public static final class Builder {
+
+        private WaitUntil waitUntil = WaitUntil.COMPLETE;
+        private Duration quietPeriod = Duration.ofMillis(500);
+        private int maxInflight = 0;
+        private Duration timeout = Duration.ofSeconds(30);
+
+        private Builder() {
+        }
+
+        /**
+         * Set when the navigation is considered finished.
+         *
+         * @param waitUntil the wait condition (defaults to {@link WaitUntil#COMPLETE})
+         * @return this builder
+         */
+        public Builder waitUntil(WaitUntil waitUntil) {
+            this.waitUntil = waitUntil;
+            return this;
+        }
+
+        /**
+         * Wait for the network to be idle: after {@code load}, at most
+         * {@code maxInflight} requests of the page may be in flight for the
+         * whole quiet period.
+         *
+         * @param quietPeriod how long the network must stay quiet
+         * @param maxInflight the number of requests tolerated, e.g. long-polling
+         * @return this builder
+         */
+        public Builder networkIdle(Duration quietPeriod, int maxInflight) {
+            this.waitUntil = WaitUntil.NETWORK_IDLE;
+            this.quietPeriod = quietPeriod;
+            this.maxInflight = maxInflight;
+            return this;
+        }
+
+        /**
+         * Set the maximum time to wait for the navigation, including the wait
+         * for network idle.
+         *
+         * @param timeout the timeout (defaults to 30 seconds)
+         * @return this builder
+         */
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Build the NavigateOptions instance.
+         *
+         * @return a new NavigateOptions
+         */
+        public NavigateOptions build() {
+            if (quietPeriod.isNegative() || maxInflight < 0) {
+                throw new IllegalArgumentException("quietPeriod and maxInflight must not be negative");
+            }
+            return new NavigateOptions(this);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import io.github.ashwithpoojary98.vibium.model.ResourceUsage;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Thresholds for monitoring a launched browser's process tree.
+ *
+ * <p>The tree is sampled periodically. When resident memory or open file
+ * descriptors exceed a limit, a warning is logged, the {@code onExceeded}
+ * callback is invoked and, if {@code recycle} is set, the browser is stopped so
+ * that the caller can launch a fresh one.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ResourceLimits limits = ResourceLimits.builder()
+ *     .maxRssBytes(2L * 1024 * 1024 * 1024)
+ *     .maxOpenFiles(4096)
+ *     .recycle(true)
+ *     .build();
+ *
+ * LaunchOptions options = LaunchOptions.builder()
+ *     .resourceLimits(limits)
+ *     .build();
+ * }</pre>
+ */
+@Getter
+public final class ResourceLimits {
+
+    private final long maxRssBytes;
+    private final long maxOpenFiles;
+    private final Duration sampleInterval;
+    private final boolean recycle;
+    private final Consumer<ResourceUsage> onExceeded;
+
+    private ResourceLimits(Builder builder) {
+        this.maxRssBytes = builder.maxRssBytes;
+        this.maxOpenFiles = builder.maxOpenFiles;
+        this.sampleInterval = builder.sampleInterval;
+        this.recycle = builder.recycle;
+        this.onExceeded = builder.onExceeded;
+    }
+
+    /**
+     * Check whether a sample crosses any of the configured limits.
+     *
+     * @param usage the sampled usage
+     * @return true if a limit is exceeded
+     */
+    public boolean isExceededBy(ResourceUsage usage) {
+        return (maxRssBytes > 0 && usage.getRssBytes() > maxRssBytes)
+                || (maxOpenFiles > 0 && usage.getOpenFiles() > maxOpenFiles);
+    }
+
+    /**
+     * Create a new builder for ResourceLimits.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link ResourceLimits}.
+     */
+    public static final class Builder {
+
+        private long maxRssBytes = 0;
+        private long maxOpenFiles = 0;
+        private Duration sampleInterval = Duration.ofSeconds(10);
+        private boolean recycle = false;
+        private Consumer<ResourceUsage> onExceeded = null;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximum resident memory of the whole process tree.
+         *
+         * @param maxRssBytes limit in bytes (0 to disable)
+         * @return this builder
+         */
+        public Builder maxRssBytes(long maxRssBytes) {
+            this.maxRssBytes = maxRssBytes;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of open file descriptors of the whole process tree.
+         *
+         * @param maxOpenFiles limit (0 to disable)
+         * @return this builder
+         */
+        public Builder maxOpenFiles(long maxOpenFiles) {
+            this.maxOpenFiles = maxOpenFiles;
+            return this;
+        }
+
+        /**
+         * Set how often the process tree is sampled.
+         *
+         * @param sampleInterval the sampling interval
+         * @return this builder
+         */
+        public Builder sampleInterval(Duration sampleInterval) {
+            this.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        /**
+         * Set whether to stop the browser when a limit is exceeded.
+         *
+         * @param recycle true to stop the browser
+         * @return this builder
+         */
+        public Builder recycle(boolean recycle) {
+            this.recycle = recycle;
+            return this;
+        }
+
+        /**
+         * Set a callback invoked with the offending sample when a limit is exceeded.
+         *
+         * @param onExceeded the callback (null for none)
+         * @return this builder
+         */
+        public Builder onExceeded(Consumer<ResourceUsage> onExceeded) {
+            this.onExceeded = onExceeded;
+            return this;
+        }
+
+        /**
+         * Build the ResourceLimits instance.
+         *
+         * @return a new ResourceLimits
+         */
+        public ResourceLimits build() {
+            return new ResourceLimits(this);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import lombok.Getter;
+
+/**
+ * Options for continuous screencast capture.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ScreencastOptions options = ScreencastOptions.builder()
+ *     .fps(10)
+ *     .format(ScreenshotOptions.Format.JPEG)
+ *     .quality(0.7)
+ *     .maxInflight(2)
+ *     .build();
+ *
+ * Screencast screencast = vibe.startScreencast(options, FrameSink.mjpeg(Path.of("session.mjpeg")));
+ * }</pre>
+ */
+@Getter
+public final class ScreencastOptions {
+
+    private final double fps;
+    private final ScreenshotOptions.Format format;
+    private final Double quality;
+    private final int maxInflight;
+
+    private ScreencastOptions(Builder builder) {
+        this.fps = builder.fps;
+        this.format = builder.format;
+        this.quality = builder.quality;
+        this.maxInflight = builder.maxInflight;
+    }
+
+    /**
+     * Create a new builder for ScreencastOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The options of each captured frame.
+     *
+     * @return the screenshot options
+     */
+    public ScreenshotOptions toScreenshotOptions() {
+        ScreenshotOptions.Builder builder = ScreenshotOptions.builder().format(format);
+        if (quality != null) {
+            builder.quality(quality);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builder for {@link ScreencastOptions}.
+     */
+    public static final class Builder {
+
+        private double fps = 5;
+        private ScreenshotOptions.Format format = ScreenshotOptions.Format.JPEG;
+        private Double quality;
+        private int maxInflight = 2;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the target frame rate.
+         *
+         * @param fps frames per second (defaults to 5)
+         * @return this builder
+         */
+        public Builder fps(double fps) {
+            this.fps = fps;
+            return this;
+        }
+
+        /**
+         * Set the image encoding of each frame.
+         *
+         * @param format the format (defaults to {@link ScreenshotOptions.Format#JPEG})
+         * @return this builder
+         */
+        public Builder format(ScreenshotOptions.Format format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Set the quality of lossy formats.
+         *
+         * @param quality between 0 and 1 (defaults to the browser's choice)
+         * @return this builder
+         */
+        public Builder quality(double quality) {
+            this.quality = quality;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of screenshot commands in flight. A frame is
+         * dropped when it is due while this many captures are still pending.
+         *
+         * @param maxInflight the limit (defaults to 2)
+         * @return this builder
+         */
+        public Builder maxInflight(int maxInflight) {
+            this.maxInflight = maxInflight;
+            return this;
+        }
+
+        /**
+         * Build the ScreencastOptions instance.
+         *
+         * @return a new ScreencastOptions
+         */
+        public ScreencastOptions build() {
+            if (fps <= 0 || maxInflight <= 0) {
+                throw new IllegalArgumentException("fps and maxInflight must be positive");
+            }
+            return new ScreencastOptions(this);
+        }
+    }
+}
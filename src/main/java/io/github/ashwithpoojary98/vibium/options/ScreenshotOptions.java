@@ -0,0 +1,173 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import io.github.ashwithpoojary98.vibium.model.Box;
+import lombok.Getter;
+
+/**
+ * Options for capturing screenshots.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ScreenshotOptions options = ScreenshotOptions.builder()
+ *     .clip(new Box(0, 0, 800, 200))
+ *     .format(ScreenshotOptions.Format.JPEG)
+ *     .quality(0.8)
+ *     .build();
+ *
+ * byte[] jpeg = vibe.screenshot(options).join();
+ * }</pre>
+ */
+@Getter
+public final class ScreenshotOptions {
+
+    /**
+     * The image encoding.
+     */
+    @Getter
+    public enum Format {
+        PNG("image/png"),
+        JPEG("image/jpeg"),
+        WEBP("image/webp");
+
+        private final String mimeType;
+
+        Format(String mimeType) {
+            this.mimeType = mimeType;
+        }
+    }
+
+    /**
+     * What the clip rectangle is relative to.
+     */
+    public enum Origin {
+        /** The visible part of the page */
+        VIEWPORT,
+        /** The whole document, including content scrolled out of view */
+        DOCUMENT
+    }
+
+    private final Box clip;
+    private final String clipElement;
+    private final Origin origin;
+    private final Format format;
+    private final Double quality;
+
+    private ScreenshotOptions(Builder builder) {
+        this.clip = builder.clip;
+        this.clipElement = builder.clipElement;
+        this.origin = builder.origin;
+        this.format = builder.format;
+        this.quality = builder.quality;
+    }
+
+    /**
+     * Create a new builder for ScreenshotOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a builder initialized with these options.
+     *
+     * @return a new Builder instance
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.clip = clip;
+        builder.clipElement = clipElement;
+        builder.origin = origin;
+        builder.format = format;
+        builder.quality = quality;
+        return builder;
+    }
+
+    /**
+     * Builder for {@link ScreenshotOptions}.
+     */
+    public static final class Builder {
+
+        private Box clip;
+        private String clipElement;
+        private Origin origin = Origin.VIEWPORT;
+        private Format format = Format.PNG;
+        private Double quality;
+
+        private Builder() {
+        }
+
+        /**
+         * Capture only a rectangle, relative to the {@link #origin(Origin) origin}.
+         *
+         * @param clip the rectangle in CSS pixels
+         * @return this builder
+         */
+        public Builder clip(Box clip) {
+            this.clip = clip;
+            this.clipElement = null;
+            return this;
+        }
+
+        /**
+         * Capture only the bounds of a node, e.g. {@link io.github.ashwithpoojary98.vibium.ElementAsync#getSharedId()}.
+         *
+         * @param sharedId the node's shared reference
+         * @return this builder
+         */
+        public Builder clipElement(String sharedId) {
+            this.clipElement = sharedId;
+            this.clip = null;
+            return this;
+        }
+
+        /**
+         * Set what the capture is relative to.
+         *
+         * @param origin the origin (defaults to {@link Origin#VIEWPORT})
+         * @return this builder
+         */
+        public Builder origin(Origin origin) {
+            this.origin = origin;
+            return this;
+        }
+
+        /**
+         * Set the image encoding.
+         *
+         * @param format the format (defaults to {@link Format#PNG})
+         * @return this builder
+         */
+        public Builder format(Format format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Set the quality of lossy formats.
+         *
+         * @param quality between 0 and 1 (defaults to the browser's choice)
+         * @return this builder
+         */
+        public Builder quality(double quality) {
+            this.quality = quality;
+            return this;
+        }
+
+        /**
+         * Build the ScreenshotOptions instance.
+         *
+         * @return a new ScreenshotOptions
+         */
+        public ScreenshotOptions build() {
+            if (quality != null && (quality < 0 || quality > 1)) {
+                throw new IllegalArgumentException("quality must be between 0 and 1: " + quality);
+            }
+            if (quality != null && format == Format.PNG) {
+                throw new IllegalArgumentException("quality only applies to JPEG and WebP");
+            }
+            return new ScreenshotOptions(this);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import lombok.Getter;
+
+/**
+ * Options for taking a {@link io.github.ashwithpoojary98.vibium.snapshot.DomSnapshot}.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * SnapshotOptions options = SnapshotOptions.builder()
+ *     .boxes(true)
+ *     .maxNodes(20_000)
+ *     .build();
+ *
+ * DomSnapshot snapshot = vibe.snapshot("#results", options).join();
+ * }</pre>
+ */
+@Getter
+public final class SnapshotOptions {
+
+    private final boolean boxes;
+    private final boolean text;
+    private final int maxNodes;
+
+    private SnapshotOptions(Builder builder) {
+        this.boxes = builder.boxes;
+        this.text = builder.text;
+        this.maxNodes = builder.maxNodes;
+    }
+
+    /**
+     * Create a new builder for SnapshotOptions.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link SnapshotOptions}.
+     */
+    public static final class Builder {
+
+        private boolean boxes = false;
+        private boolean text = true;
+        private int maxNodes = 0;
+
+        private Builder() {
+        }
+
+        /**
+         * Set whether to record the bounding box of every element. This forces
+         * a layout in the page and makes the snapshot larger.
+         *
+         * @param boxes whether to include boxes (defaults to false)
+         * @return this builder
+         */
+        public Builder boxes(boolean boxes) {
+            this.boxes = boxes;
+            return this;
+        }
+
+        /**
+         * Set whether to record text nodes.
+         *
+         * @param text whether to include text (defaults to true)
+         * @return this builder
+         */
+        public Builder text(boolean text) {
+            this.text = text;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of elements to record. Elements past the limit
+         * are skipped and the snapshot is marked as truncated.
+         *
+         * @param maxNodes the limit (defaults to 0, unlimited)
+         * @return this builder
+         */
+        public Builder maxNodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        /**
+         * Build the SnapshotOptions instance.
+         *
+         * @return a new SnapshotOptions
+         */
+        public SnapshotOptions build() {
+            if (maxNodes < 0) {
+                throw new IllegalArgumentException("maxNodes must not be negative: " + maxNodes);
+            }
+            return new SnapshotOptions(this);
+        }
+    }
+}
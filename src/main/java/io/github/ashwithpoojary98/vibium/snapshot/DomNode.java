@@ -0,0 +1,253 @@
+package io.github.ashwithpoojary98.vibium.snapshot;
+
+import io.github.ashwithpoojary98.vibium.model.Box;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An element of a {@link DomSnapshot}.
+ *
+ * <p>Nodes are immutable and detached from the page: reading them never talks
+ * to the browser. Tag names and attribute strings are shared between all nodes
+ * of a snapshot.
+ */
+public final class DomNode {
+
+    private static final String[] NO_CLASSES = new String[0];
+
+    private final DomSnapshot snapshot;
+    private final int index;
+    private final String tagName;
+    private final String[] attributes;
+    private final String[] classes;
+    private final Box box;
+    private final DomNode parent;
+    private final List<DomNode> children = new ArrayList<>();
+    private final int siblingIndex;
+
+    /** Exclusive end of this node's subtree in the snapshot's document order */
+    int end;
+    /** Range of the text nodes inside this node's subtree */
+    int textStart;
+    int textEnd;
+
+    DomNode(DomSnapshot snapshot, int index, String tagName, String[] attributes, Box box, DomNode parent) {
+        this.snapshot = snapshot;
+        this.index = index;
+        this.tagName = tagName;
+        this.attributes = attributes;
+        this.box = box;
+        this.parent = parent;
+        this.siblingIndex = parent == null ? 0 : parent.children.size();
+        if (parent != null) {
+            parent.children.add(this);
+        }
+        String classAttribute = getAttribute("class");
+        this.classes = classAttribute == null || classAttribute.isBlank()
+                ? NO_CLASSES : classAttribute.trim().split("\\s+");
+    }
+
+    /**
+     * Get the element's tag name, e.g. {@code div}.
+     *
+     * @return the local name
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Get an attribute value.
+     *
+     * @param name the attribute name
+     * @return the value, or null if the element has no such attribute
+     */
+    public String getAttribute(String name) {
+        for (int i = 0; i < attributes.length; i += 2) {
+            if (attributes[i].equals(name)) {
+                return attributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check whether the element has an attribute.
+     *
+     * @param name the attribute name
+     * @return true if present, even when empty
+     */
+    public boolean hasAttribute(String name) {
+        return getAttribute(name) != null;
+    }
+
+    /**
+     * Get all attributes in document order.
+     *
+     * @return an unmodifiable map of attribute names to values
+     */
+    public Map<String, String> getAttributes() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < attributes.length; i += 2) {
+            map.put(attributes[i], attributes[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Get the {@code id} attribute.
+     *
+     * @return the ID, or null
+     */
+    public String getId() {
+        return getAttribute("id");
+    }
+
+    /**
+     * Check whether the element's {@code class} attribute contains a class.
+     *
+     * @param className the class name
+     * @return true if the element has the class
+     */
+    public boolean hasClass(String className) {
+        for (String c : classes) {
+            if (c.equals(className)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the text content of the element and its descendants, trimmed.
+     * Empty when the snapshot was taken without text.
+     *
+     * @return the text
+     */
+    public String getText() {
+        return snapshot.text(textStart, textEnd, -1).trim();
+    }
+
+    /**
+     * Get the text of the element's own text nodes, excluding descendants, trimmed.
+     *
+     * @return the text
+     */
+    public String getOwnText() {
+        return snapshot.text(textStart, textEnd, index).trim();
+    }
+
+    /**
+     * Get the bounding box at the time of the snapshot.
+     *
+     * @return the box, or null if the snapshot was taken without boxes
+     */
+    public Box getBox() {
+        return box;
+    }
+
+    /**
+     * Get the parent element.
+     *
+     * @return the parent, or null for the snapshot root
+     */
+    public DomNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Get the child elements.
+     *
+     * @return an unmodifiable list of children in document order
+     */
+    public List<DomNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Get the position of this element in document order within the snapshot.
+     *
+     * @return the index, 0 for the root
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Find the first descendant matching a CSS selector.
+     *
+     * @param selector the CSS selector
+     * @return the first match in document order, or null
+     */
+    public DomNode query(String selector) {
+        return snapshot.query(Selector.parse(selector), index + 1, end);
+    }
+
+    /**
+     * Find all descendants matching a CSS selector.
+     *
+     * @param selector the CSS selector
+     * @return the matches in document order
+     */
+    public List<DomNode> queryAll(String selector) {
+        return snapshot.queryAll(Selector.parse(selector), index + 1, end);
+    }
+
+    /**
+     * Check whether this element matches a CSS selector.
+     *
+     * @param selector the CSS selector
+     * @return true if it matches
+     */
+    public boolean matches(String selector) {
+        return Selector.parse(selector).matches(this);
+    }
+
+    /**
+     * Check whether this element is inside another one.
+     *
+     * @param ancestor the possible ancestor
+     * @return true if this element is a descendant of {@code ancestor}
+     */
+    public boolean isDescendantOf(DomNode ancestor) {
+        return ancestor.snapshot == snapshot && ancestor.index < index && index < ancestor.end;
+    }
+
+    String getAttributeIgnoreCase(String name) {
+        for (int i = 0; i < attributes.length; i += 2) {
+            if (attributes[i].equalsIgnoreCase(name)) {
+                return attributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    int getSiblingIndex() {
+        return siblingIndex;
+    }
+
+    DomNode previousSibling() {
+        return parent == null || siblingIndex == 0 ? null : parent.children.get(siblingIndex - 1);
+    }
+
+    List<DomNode> siblings() {
+        return parent == null ? Collections.singletonList(this) : parent.children;
+    }
+
+    String[] classes() {
+        return classes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("<").append(tagName);
+        for (int i = 0; i < attributes.length; i += 2) {
+            sb.append(' ').append(attributes[i]).append("=\"").append(attributes[i + 1]).append('"');
+        }
+        return sb.append('>').toString();
+    }
+}
@@ -0,0 +1,307 @@
+package io.github.ashwithpoojary98.vibium.snapshot;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.ashwithpoojary98.vibium.model.Box;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable copy of a DOM subtree, taken in one round trip by
+ * {@link io.github.ashwithpoojary98.vibium.VibeAsync#snapshot(String, io.github.ashwithpoojary98.vibium.options.SnapshotOptions)}.
+ *
+ * <p>Queries run locally against the copy, so a page can be scraped with many
+ * selectors without talking to the browser again. Elements are indexed by ID,
+ * class and tag name, so most queries only test a few candidates.
+ *
+ * <p>Selectors only see the snapshot: {@code :root} matches the snapshot's root
+ * element, and ancestors above it are unknown. See {@link Selector} for the
+ * supported syntax.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * DomSnapshot snapshot = vibe.snapshot("#results", SnapshotOptions.builder().build()).join();
+ * for (DomNode row : snapshot.queryAll("li.result")) {
+ *     String title = row.query("h3").getText();
+ *     String link = row.query("a[href]").getAttribute("href");
+ * }
+ * }</pre>
+ */
+public final class DomSnapshot {
+
+    private final List<DomNode> nodes = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final List<Integer> textOwners = new ArrayList<>();
+    private final boolean truncated;
+
+    private final Map<String, List<DomNode>> byId = new HashMap<>();
+    private final Map<String, List<DomNode>> byClass = new HashMap<>();
+    private final Map<String, List<DomNode>> byTag = new HashMap<>();
+
+    private DomSnapshot(JsonObject payload) {
+        JsonArray dictionary = payload.getAsJsonArray("strings");
+        String[] strings = new String[dictionary.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = dictionary.get(i).getAsString();
+        }
+
+        JsonArray rows = payload.getAsJsonArray("nodes");
+        int[] rowToNode = new int[rows.size()];
+        Deque<DomNode> open = new ArrayDeque<>();
+        for (int row = 0; row < rows.size(); row++) {
+            JsonArray values = rows.get(row).getAsJsonArray();
+            int parentRow = values.get(0).getAsInt();
+            DomNode parent = parentRow < 0 ? null : nodes.get(rowToNode[parentRow]);
+            while (!open.isEmpty() && open.peek() != parent) {
+                close(open.pop());
+            }
+
+            int tag = values.get(1).getAsInt();
+            if (tag < 0) {
+                texts.add(values.get(2).getAsString());
+                textOwners.add(parent == null ? -1 : parent.getIndex());
+                continue;
+            }
+
+            DomNode node = new DomNode(this, nodes.size(), strings[tag], attributes(values.get(2), strings),
+                    box(values), parent);
+            node.textStart = texts.size();
+            rowToNode[row] = node.getIndex();
+            nodes.add(node);
+            open.push(node);
+            index(node);
+        }
+        while (!open.isEmpty()) {
+            close(open.pop());
+        }
+        this.truncated = payload.has("truncated") && payload.get("truncated").getAsBoolean();
+    }
+
+    /**
+     * Decode a snapshot serialized by the page script.
+     *
+     * @param json the serialized snapshot
+     * @return the snapshot
+     */
+    public static DomSnapshot parse(String json) {
+        return new DomSnapshot(JsonParser.parseString(json).getAsJsonObject());
+    }
+
+    /**
+     * Get the element the snapshot was taken of.
+     *
+     * @return the root element
+     */
+    public DomNode getRoot() {
+        return nodes.get(0);
+    }
+
+    /**
+     * Get all elements.
+     *
+     * @return an unmodifiable list of elements in document order
+     */
+    public List<DomNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Check whether elements were skipped because of
+     * {@link io.github.ashwithpoojary98.vibium.options.SnapshotOptions#getMaxNodes()}.
+     *
+     * @return true if the snapshot is incomplete
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Find the first element matching a CSS selector, including the root.
+     *
+     * @param selector the CSS selector
+     * @return the first match in document order, or null
+     */
+    public DomNode query(String selector) {
+        return query(Selector.parse(selector), 0, nodes.size());
+    }
+
+    /**
+     * Find all elements matching a CSS selector, including the root.
+     *
+     * @param selector the CSS selector
+     * @return the matches in document order
+     */
+    public List<DomNode> queryAll(String selector) {
+        return queryAll(Selector.parse(selector), 0, nodes.size());
+    }
+
+    /**
+     * Find the first element matching a parsed selector, including the root.
+     *
+     * @param selector the selector
+     * @return the first match in document order, or null
+     */
+    public DomNode query(Selector selector) {
+        return query(selector, 0, nodes.size());
+    }
+
+    /**
+     * Find all elements matching a parsed selector, including the root.
+     *
+     * @param selector the selector
+     * @return the matches in document order
+     */
+    public List<DomNode> queryAll(Selector selector) {
+        return queryAll(selector, 0, nodes.size());
+    }
+
+    DomNode query(Selector selector, int from, int to) {
+        DomNode first = null;
+        for (Selector.Complex alternative : selector.alternatives()) {
+            List<DomNode> candidates = candidates(alternative);
+            for (int i = lowerBound(candidates, from); i < candidates.size(); i++) {
+                DomNode node = candidates.get(i);
+                if (node.getIndex() >= to || (first != null && node.getIndex() >= first.getIndex())) {
+                    break;
+                }
+                if (alternative.matches(node)) {
+                    first = node;
+                    break;
+                }
+            }
+        }
+        return first;
+    }
+
+    List<DomNode> queryAll(Selector selector, int from, int to) {
+        List<Selector.Complex> alternatives = selector.alternatives();
+        if (alternatives.size() == 1) {
+            List<DomNode> matches = new ArrayList<>();
+            collect(alternatives.get(0), from, to, matches);
+            return matches;
+        }
+
+        BitSet matched = new BitSet(nodes.size());
+        List<DomNode> matches = new ArrayList<>();
+        for (Selector.Complex alternative : alternatives) {
+            matches.clear();
+            collect(alternative, from, to, matches);
+            for (DomNode node : matches) {
+                matched.set(node.getIndex());
+            }
+        }
+        matches.clear();
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            matches.add(nodes.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Concatenate the text nodes in a range, optionally only those of one element.
+     */
+    String text(int start, int end, int owner) {
+        if (start >= end) {
+            return "";
+        }
+        if (end - start == 1 && (owner < 0 || textOwners.get(start) == owner)) {
+            return texts.get(start);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            if (owner < 0 || textOwners.get(i) == owner) {
+                sb.append(texts.get(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    private void collect(Selector.Complex alternative, int from, int to, List<DomNode> matches) {
+        List<DomNode> candidates = candidates(alternative);
+        for (int i = lowerBound(candidates, from); i < candidates.size(); i++) {
+            DomNode node = candidates.get(i);
+            if (node.getIndex() >= to) {
+                break;
+            }
+            if (alternative.matches(node)) {
+                matches.add(node);
+            }
+        }
+    }
+
+    /**
+     * The smallest indexed list that contains every element the selector can match.
+     */
+    private List<DomNode> candidates(Selector.Complex alternative) {
+        if (alternative.subjectId() != null) {
+            return byId.getOrDefault(alternative.subjectId(), Collections.emptyList());
+        }
+        if (alternative.subjectClass() != null) {
+            return byClass.getOrDefault(alternative.subjectClass(), Collections.emptyList());
+        }
+        if (alternative.subjectTag() != null) {
+            return byTag.getOrDefault(alternative.subjectTag(), Collections.emptyList());
+        }
+        return nodes;
+    }
+
+    /**
+     * Binary search the first candidate at or after a document position.
+     */
+    private static int lowerBound(List<DomNode> candidates, int from) {
+        int low = 0;
+        int high = candidates.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (candidates.get(middle).getIndex() < from) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void close(DomNode node) {
+        node.end = nodes.size();
+        node.textEnd = texts.size();
+    }
+
+    private void index(DomNode node) {
+        byTag.computeIfAbsent(node.getTagName().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(node);
+        String id = node.getId();
+        if (id != null && !id.isEmpty()) {
+            byId.computeIfAbsent(id, k -> new ArrayList<>()).add(node);
+        }
+        for (String className : node.classes()) {
+            byClass.computeIfAbsent(className, k -> new ArrayList<>()).add(node);
+        }
+    }
+
+    private static String[] attributes(JsonElement encoded, String[] strings) {
+        JsonArray pairs = encoded.getAsJsonArray();
+        String[] attributes = new String[pairs.size()];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = strings[pairs.get(i).getAsInt()];
+        }
+        return attributes;
+    }
+
+    private static Box box(JsonArray values) {
+        if (values.size() < 7) {
+            return null;
+        }
+        return new Box(values.get(3).getAsDouble(), values.get(4).getAsDouble(),
+                values.get(5).getAsDouble(), values.get(6).getAsDouble());
+    }
+}
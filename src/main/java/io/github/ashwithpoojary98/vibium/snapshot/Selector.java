@@ -0,0 +1,520 @@
+package io.github.ashwithpoojary98.vibium.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * A parsed CSS selector that matches {@link DomNode}s of a snapshot.
+ *
+ * <p>Supported syntax:
+ * <ul>
+ *   <li>type {@code div}, universal {@code *}, {@code #id} and {@code .class}</li>
+ *   <li>attributes {@code [a]}, {@code [a=v]}, {@code [a~=v]}, {@code [a|=v]},
+ *       {@code [a^=v]}, {@code [a$=v]}, {@code [a*=v]}, with an optional {@code i} flag</li>
+ *   <li>combinators: descendant, {@code >}, {@code +} and {@code ~}; selector lists with {@code ,}</li>
+ *   <li>{@code :root}, {@code :empty}, {@code :first-child}, {@code :last-child},
+ *       {@code :only-child}, {@code :first-of-type}, {@code :last-of-type},
+ *       {@code :only-of-type}, {@code :nth-child()}, {@code :nth-last-child()},
+ *       {@code :nth-of-type()}, {@code :nth-last-of-type()}, {@code :not()},
+ *       {@code :is()} and {@code :where()}</li>
+ * </ul>
+ *
+ * <p>Selectors are immutable and can be parsed once and reused across snapshots.
+ */
+public final class Selector {
+
+    private final String source;
+    private final List<Complex> alternatives;
+
+    private Selector(String source, List<Complex> alternatives) {
+        this.source = source;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Parse a CSS selector.
+     *
+     * @param selector the CSS selector
+     * @return the parsed selector
+     * @throws IllegalArgumentException if the selector is invalid or unsupported
+     */
+    public static Selector parse(String selector) {
+        Parser parser = new Parser(selector);
+        List<Complex> alternatives = parser.list();
+        if (!parser.atEnd()) {
+            throw parser.error("Unexpected character");
+        }
+        return new Selector(selector, Collections.unmodifiableList(alternatives));
+    }
+
+    /**
+     * Check whether an element matches.
+     *
+     * @param node the element
+     * @return true if any selector of the list matches
+     */
+    public boolean matches(DomNode node) {
+        return matchesAny(alternatives, node);
+    }
+
+    List<Complex> alternatives() {
+        return alternatives;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static boolean matchesAny(List<Complex> alternatives, DomNode node) {
+        for (Complex alternative : alternatives) {
+            if (alternative.matches(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compound selectors joined by combinators, e.g. {@code ul.menu > li a}.
+     * {@code combinators[i]} joins {@code compounds[i]} and {@code compounds[i + 1]}.
+     */
+    static final class Complex {
+
+        private final Compound[] compounds;
+        private final char[] combinators;
+
+        Complex(List<Compound> compounds, List<Character> combinators) {
+            this.compounds = compounds.toArray(new Compound[0]);
+            this.combinators = new char[combinators.size()];
+            for (int i = 0; i < this.combinators.length; i++) {
+                this.combinators[i] = combinators.get(i);
+            }
+        }
+
+        boolean matches(DomNode node) {
+            return matches(node, compounds.length - 1);
+        }
+
+        /** The ID the matched element must have, if any */
+        String subjectId() {
+            return subject().id;
+        }
+
+        /** A class the matched element must have, if any */
+        String subjectClass() {
+            return subject().classes.isEmpty() ? null : subject().classes.get(0);
+        }
+
+        /** The tag name the matched element must have, if any */
+        String subjectTag() {
+            return subject().tag;
+        }
+
+        private Compound subject() {
+            return compounds[compounds.length - 1];
+        }
+
+        /**
+         * Match right to left, backtracking over ancestors and siblings.
+         */
+        private boolean matches(DomNode node, int k) {
+            if (!compounds[k].matches(node)) {
+                return false;
+            }
+            if (k == 0) {
+                return true;
+            }
+            switch (combinators[k - 1]) {
+                case '>':
+                    return node.getParent() != null && matches(node.getParent(), k - 1);
+                case '+':
+                    return node.previousSibling() != null && matches(node.previousSibling(), k - 1);
+                case '~':
+                    for (DomNode s = node.previousSibling(); s != null; s = s.previousSibling()) {
+                        if (matches(s, k - 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                default:
+                    for (DomNode a = node.getParent(); a != null; a = a.getParent()) {
+                        if (matches(a, k - 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Simple selectors that all apply to one element, e.g. {@code a.nav[href]}.
+     */
+    static final class Compound {
+
+        String tag;
+        String id;
+        final List<String> classes = new ArrayList<>();
+        final List<Predicate<DomNode>> conditions = new ArrayList<>();
+
+        boolean matches(DomNode node) {
+            if (tag != null && !tag.equalsIgnoreCase(node.getTagName())) {
+                return false;
+            }
+            if (id != null && !id.equals(node.getId())) {
+                return false;
+            }
+            for (String className : classes) {
+                if (!node.hasClass(className)) {
+                    return false;
+                }
+            }
+            for (Predicate<DomNode> condition : conditions) {
+                if (!condition.test(node)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return tag == null && id == null && classes.isEmpty() && conditions.isEmpty();
+        }
+    }
+
+    /**
+     * Recursive descent parser for the supported subset of Selectors Level 4.
+     */
+    private static final class Parser {
+
+        private final String input;
+        private int pos;
+
+        Parser(String input) {
+            this.input = input;
+        }
+
+        boolean atEnd() {
+            skipWhitespace();
+            return pos >= input.length();
+        }
+
+        List<Complex> list() {
+            List<Complex> alternatives = new ArrayList<>();
+            do {
+                skipWhitespace();
+                alternatives.add(complex());
+                skipWhitespace();
+            } while (consume(','));
+            return alternatives;
+        }
+
+        private Complex complex() {
+            List<Compound> compounds = new ArrayList<>();
+            List<Character> combinators = new ArrayList<>();
+            compounds.add(compound());
+            while (true) {
+                boolean whitespace = skipWhitespace();
+                char c = peek();
+                if (c == '>' || c == '+' || c == '~') {
+                    pos++;
+                    skipWhitespace();
+                    combinators.add(c);
+                } else if (whitespace && c != 0 && c != ',' && c != ')') {
+                    combinators.add(' ');
+                } else {
+                    break;
+                }
+                compounds.add(compound());
+            }
+            return new Complex(compounds, combinators);
+        }
+
+        private Compound compound() {
+            Compound compound = new Compound();
+            boolean universal = consume('*');
+            if (!universal && isIdentifierStart(peek())) {
+                compound.tag = identifier().toLowerCase(Locale.ROOT);
+            }
+            while (true) {
+                char c = peek();
+                if (c == '#') {
+                    pos++;
+                    compound.id = identifier();
+                } else if (c == '.') {
+                    pos++;
+                    compound.classes.add(identifier());
+                } else if (c == '[') {
+                    pos++;
+                    compound.conditions.add(attribute());
+                } else if (c == ':') {
+                    pos++;
+                    compound.conditions.add(pseudoClass());
+                } else {
+                    break;
+                }
+            }
+            if (!universal && compound.isEmpty()) {
+                throw error("Expected a selector");
+            }
+            return compound;
+        }
+
+        private Predicate<DomNode> attribute() {
+            skipWhitespace();
+            String name = identifier().toLowerCase(Locale.ROOT);
+            skipWhitespace();
+            if (consume(']')) {
+                return node -> node.getAttributeIgnoreCase(name) != null;
+            }
+
+            char operator = peek();
+            if (operator == '=') {
+                pos++;
+            } else if ("~|^$*".indexOf(operator) >= 0 && peekAt(1) == '=') {
+                pos += 2;
+            } else {
+                throw error("Expected an attribute operator");
+            }
+            skipWhitespace();
+            String expected = peek() == '"' || peek() == '\'' ? string() : identifier();
+            skipWhitespace();
+            boolean ignoreCase = false;
+            if (peek() == 'i' || peek() == 'I' || peek() == 's' || peek() == 'S') {
+                ignoreCase = Character.toLowerCase(peek()) == 'i';
+                pos++;
+                skipWhitespace();
+            }
+            expect(']');
+
+            String value = ignoreCase ? expected.toLowerCase(Locale.ROOT) : expected;
+            boolean fold = ignoreCase;
+            return node -> {
+                String actual = node.getAttributeIgnoreCase(name);
+                if (actual == null) {
+                    return false;
+                }
+                if (fold) {
+                    actual = actual.toLowerCase(Locale.ROOT);
+                }
+                switch (operator) {
+                    case '=':
+                        return actual.equals(value);
+                    case '~':
+                        for (String word : actual.trim().split("\\s+")) {
+                            if (word.equals(value)) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    case '|':
+                        return actual.equals(value) || actual.startsWith(value + "-");
+                    case '^':
+                        return !value.isEmpty() && actual.startsWith(value);
+                    case '$':
+                        return !value.isEmpty() && actual.endsWith(value);
+                    default:
+                        return !value.isEmpty() && actual.contains(value);
+                }
+            };
+        }
+
+        private Predicate<DomNode> pseudoClass() {
+            String name = identifier().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "root":
+                    return node -> node.getParent() == null;
+                case "empty":
+                    return node -> node.getChildren().isEmpty() && node.getOwnText().isEmpty();
+                case "first-child":
+                    return node -> node.getSiblingIndex() == 0;
+                case "last-child":
+                    return node -> node.getSiblingIndex() == node.siblings().size() - 1;
+                case "only-child":
+                    return node -> node.siblings().size() == 1;
+                case "first-of-type":
+                    return node -> typeIndex(node, false) == 1;
+                case "last-of-type":
+                    return node -> typeIndex(node, true) == 1;
+                case "only-of-type":
+                    return node -> typeIndex(node, false) == 1 && typeIndex(node, true) == 1;
+                case "nth-child":
+                case "nth-last-child":
+                case "nth-of-type":
+                case "nth-last-of-type":
+                    return nth(name);
+                case "not":
+                case "is":
+                case "where":
+                    expect('(');
+                    List<Complex> inner = list();
+                    expect(')');
+                    return "not".equals(name)
+                            ? node -> !matchesAny(inner, node)
+                            : node -> matchesAny(inner, node);
+                default:
+                    throw error("Unsupported pseudo-class :" + name);
+            }
+        }
+
+        private Predicate<DomNode> nth(String name) {
+            expect('(');
+            int close = input.indexOf(')', pos);
+            if (close < 0) {
+                throw error("Expected ')'");
+            }
+            String formula = input.substring(pos, close).replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+            pos = close + 1;
+
+            int coefficient;
+            int offset;
+            try {
+                if ("odd".equals(formula)) {
+                    coefficient = 2;
+                    offset = 1;
+                } else if ("even".equals(formula)) {
+                    coefficient = 2;
+                    offset = 0;
+                } else if (formula.indexOf('n') >= 0) {
+                    String a = formula.substring(0, formula.indexOf('n'));
+                    String b = formula.substring(formula.indexOf('n') + 1);
+                    coefficient = a.isEmpty() || "+".equals(a) ? 1 : "-".equals(a) ? -1 : Integer.parseInt(a);
+                    offset = b.isEmpty() ? 0 : Integer.parseInt(b.startsWith("+") ? b.substring(1) : b);
+                } else {
+                    coefficient = 0;
+                    offset = Integer.parseInt(formula);
+                }
+            } catch (NumberFormatException e) {
+                throw error("Invalid :" + name + " argument '" + formula + "'");
+            }
+
+            int a = coefficient;
+            int b = offset;
+            boolean fromEnd = name.contains("last");
+            boolean ofType = name.endsWith("of-type");
+            return node -> {
+                int position = ofType ? typeIndex(node, fromEnd)
+                        : fromEnd ? node.siblings().size() - node.getSiblingIndex() : node.getSiblingIndex() + 1;
+                if (a == 0) {
+                    return position == b;
+                }
+                int steps = position - b;
+                return steps % a == 0 && steps / a >= 0;
+            };
+        }
+
+        /**
+         * 1-based position of a node among its siblings with the same tag name.
+         */
+        private static int typeIndex(DomNode node, boolean fromEnd) {
+            List<DomNode> siblings = node.siblings();
+            int position = 1;
+            int step = fromEnd ? 1 : -1;
+            for (int i = node.getSiblingIndex() + step; i >= 0 && i < siblings.size(); i += step) {
+                if (siblings.get(i).getTagName().equals(node.getTagName())) {
+                    position++;
+                }
+            }
+            return position;
+        }
+
+        private String identifier() {
+            StringBuilder sb = new StringBuilder();
+            while (pos < input.length()) {
+                char c = input.charAt(pos);
+                if (c == '\\') {
+                    pos++;
+                    sb.appendCodePoint(escape());
+                } else if (isIdentifierStart(c) || (c >= '0' && c <= '9') || c == '-') {
+                    sb.append(c);
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (sb.length() == 0) {
+                throw error("Expected an identifier");
+            }
+            return sb.toString();
+        }
+
+        private String string() {
+            char quote = input.charAt(pos++);
+            StringBuilder sb = new StringBuilder();
+            while (pos < input.length() && input.charAt(pos) != quote) {
+                char c = input.charAt(pos++);
+                if (c == '\\' && pos < input.length()) {
+                    sb.appendCodePoint(escape());
+                } else {
+                    sb.append(c);
+                }
+            }
+            expect(quote);
+            return sb.toString();
+        }
+
+        /**
+         * Decode an escape after the backslash: up to 6 hex digits and an optional
+         * space, or any other character taken literally.
+         */
+        private int escape() {
+            if (pos >= input.length()) {
+                throw error("Unterminated escape");
+            }
+            int start = pos;
+            while (pos < input.length() && pos - start < 6 && Character.digit(input.charAt(pos), 16) >= 0) {
+                pos++;
+            }
+            if (pos == start) {
+                return input.charAt(pos++);
+            }
+            int codePoint = Integer.parseInt(input.substring(start, pos), 16);
+            if (pos < input.length() && input.charAt(pos) == ' ') {
+                pos++;
+            }
+            return codePoint;
+        }
+
+        private static boolean isIdentifierStart(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '-' || c == '\\' || c >= 0x80;
+        }
+
+        private boolean skipWhitespace() {
+            int start = pos;
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private char peek() {
+            return peekAt(0);
+        }
+
+        private char peekAt(int offset) {
+            return pos + offset < input.length() ? input.charAt(pos + offset) : 0;
+        }
+
+        private boolean consume(char c) {
+            if (peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " in selector '" + input + "'");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.Box;
+import io.github.ashwithpoojary98.vibium.model.ElementInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Actions}.
+ */
+class ActionsTest {
+
+    @Test
+    void toJson_dragAndDrop_usesOnePointerSource() {
+        JsonArray sources = new Actions().dragAndDrop(element("n-1"), element("n-2")).toJson();
+
+        assertEquals(1, sources.size());
+        JsonObject pointer = sources.get(0).getAsJsonObject();
+        assertEquals("pointer", pointer.get("type").getAsString());
+        assertEquals("vibium-mouse", pointer.get("id").getAsString());
+        JsonArray actions = pointer.getAsJsonArray("actions");
+        assertEquals(4, actions.size());
+        assertEquals("n-1", actions.get(0).getAsJsonObject().getAsJsonObject("origin")
+                .getAsJsonObject("element").get("sharedId").getAsString());
+        assertEquals("pointerDown", type(actions, 1));
+        assertEquals("n-2", actions.get(2).getAsJsonObject().getAsJsonObject("origin")
+                .getAsJsonObject("element").get("sharedId").getAsString());
+        assertEquals("pointerUp", type(actions, 3));
+    }
+
+    @Test
+    void toJson_mixedSources_padWithPausesToKeepOrder() {
+        JsonArray sources = new Actions()
+                .keyDown(Keys.SHIFT)
+                .click(element("n-1"))
+                .keyUp(Keys.SHIFT)
+                .scroll(10, 20, 0, 300)
+                .toJson();
+
+        assertEquals(3, sources.size());
+        JsonArray pointer = sources.get(0).getAsJsonObject().getAsJsonArray("actions");
+        JsonArray keys = sources.get(1).getAsJsonObject().getAsJsonArray("actions");
+        JsonArray wheel = sources.get(2).getAsJsonObject().getAsJsonArray("actions");
+        assertEquals(6, pointer.size());
+        assertEquals(6, keys.size());
+        assertEquals(6, wheel.size());
+        assertEquals("keyDown", type(keys, 0));
+        assertEquals("pause", type(pointer, 0));
+        assertEquals("pointerMove", type(pointer, 1));
+        assertEquals("pause", type(keys, 3));
+        assertEquals("keyUp", type(keys, 4));
+        assertEquals("scroll", type(wheel, 5));
+        assertEquals(300, wheel.get(5).getAsJsonObject().get("deltaY").getAsInt());
+    }
+
+    @Test
+    void sendKeys_typesEachCharacterAndMapsNewline() {
+        JsonArray keys = new Actions().sendKeys("a\n").pause(Duration.ofMillis(50)).toJson()
+                .get(1).getAsJsonObject().getAsJsonArray("actions");
+
+        assertEquals(5, keys.size());
+        assertEquals("a", keys.get(0).getAsJsonObject().get("value").getAsString());
+        assertEquals(Keys.ENTER, keys.get(2).getAsJsonObject().get("value").getAsString());
+        assertEquals("pause", type(keys, 4));
+    }
+
+    @Test
+    void keyDown_withWord_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new Actions().keyDown("Shift"));
+    }
+
+    @Test
+    void moveTo_elementWithoutReference_throws() {
+        ElementInfo info = ElementInfo.builder().tagName("div").textContent("").box(new Box(0, 0, 1, 1)).build();
+        ElementAsync element = new ElementAsync(null, "ctx-1", "div", info);
+
+        assertThrows(IllegalArgumentException.class, () -> new Actions().moveTo(element));
+    }
+
+    private static String type(JsonArray actions, int index) {
+        return actions.get(index).getAsJsonObject().get("type").getAsString();
+    }
+
+    private static ElementAsync element(String sharedId) {
+        ElementInfo info = ElementInfo.builder()
+                .tagName("div")
+                .textContent("")
+                .box(new Box(0, 0, 10, 10))
+                .sharedId(sharedId)
+                .build();
+        return new ElementAsync(null, "ctx-1", "div", info);
+    }
+}
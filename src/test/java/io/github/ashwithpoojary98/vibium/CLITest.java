@@ -104,6 +104,7 @@ class CLITest {
             assertTrue(output.contains("Usage"));
             assertTrue(output.contains("Commands"));
             assertTrue(output.contains("install"));
+            assertTrue(output.contains("reap"));
             assertTrue(output.contains("version"));
             assertTrue(output.contains("help"));
         } finally {
@@ -142,6 +143,13 @@ class CLITest {
         assertEquals(CLI.Command.INSTALL, command);
     }
 
+    @Test
+    void command_from_withReap_returnsReap() {
+        CLI.Command command = CLI.Command.from("reap");
+
+        assertEquals(CLI.Command.REAP, command);
+    }
+
     @Test
     void command_from_withVersion_returnsVersion() {
         CLI.Command command = CLI.Command.from("version");
@@ -0,0 +1,44 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Condition}.
+ */
+class ConditionTest {
+
+    @Test
+    void toJson_elementCondition_includesOperands() {
+        JsonObject spec = parse(Condition.attribute("#save", "disabled", null));
+
+        assertEquals("attribute", spec.get("op").getAsString());
+        assertEquals("#save", spec.get("selector").getAsString());
+        assertEquals("disabled", spec.get("name").getAsString());
+        assertTrue(spec.get("value").isJsonNull());
+    }
+
+    @Test
+    void toJson_combinedConditions_nest() {
+        Condition condition = Condition.countAtLeast("li", 3).and(Condition.not(Condition.visible(".spinner")));
+
+        JsonObject spec = parse(condition);
+
+        assertEquals("and", spec.get("op").getAsString());
+        assertEquals(3, spec.getAsJsonArray("all").get(0).getAsJsonObject().get("count").getAsInt());
+        assertEquals("not", spec.getAsJsonArray("all").get(1).getAsJsonObject().get("op").getAsString());
+        assertEquals("(count(li) >= 3 and not(visible(.spinner)))", condition.toString());
+    }
+
+    @Test
+    void factories_nullSelector_throws() {
+        assertThrows(NullPointerException.class, () -> Condition.visible(null));
+    }
+
+    private static JsonObject parse(Condition condition) {
+        return JsonParser.parseString(condition.toJson()).getAsJsonObject();
+    }
+}
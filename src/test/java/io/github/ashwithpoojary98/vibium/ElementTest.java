@@ -1,9 +1,13 @@
 package io.github.ashwithpoojary98.vibium;
 
 import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.exception.BiDiException;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
 import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.PageScripts;
 import io.github.ashwithpoojary98.vibium.model.Box;
 import io.github.ashwithpoojary98.vibium.model.ElementInfo;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -202,4 +207,175 @@ class ElementTest {
     void asyncElement_getClient_returnsClient() {
         assertSame(client, asyncElement.getClient());
     }
+
+    @Test
+    void click_withSharedId_preparesAndClicksReference() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        when(client.sendCommand(eq("script.callFunction"), any(JsonObject.class)))
+                .thenAnswer(invocation -> {
+                    JsonObject params = invocation.getArgument(1);
+                    assertEquals(PageScripts.PREPARE_ACTION, params.get("functionDeclaration").getAsString());
+                    assertEquals("node-1", params.getAsJsonArray("arguments").get(0).getAsJsonObject()
+                            .get("sharedId").getAsString());
+                    return CompletableFuture.completedFuture(success());
+                });
+        when(client.sendCommand(eq("input.performActions"), any(JsonObject.class)))
+                .thenAnswer(invocation -> {
+                    JsonObject params = invocation.getArgument(1);
+                    JsonObject move = params.getAsJsonArray("actions").get(0).getAsJsonObject()
+                            .getAsJsonArray("actions").get(0).getAsJsonObject();
+                    assertEquals("node-1", move.getAsJsonObject("origin")
+                            .getAsJsonObject("element").get("sharedId").getAsString());
+                    return CompletableFuture.completedFuture(new JsonObject());
+                });
+
+        handled.click();
+
+        verify(client, never()).sendCommand(eq("vibium:click"), any(JsonObject.class));
+    }
+
+    @Test
+    void click_withStaleSharedId_fallsBackToSelector() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        when(client.sendCommand(eq("script.callFunction"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.failedFuture(new BiDiException("no such node")));
+        when(client.sendCommand(eq("vibium:click"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.completedFuture(new JsonObject()));
+
+        handled.click();
+
+        verify(client).sendCommand(eq("vibium:click"), any(JsonObject.class));
+        verify(client, never()).sendCommand(eq("input.performActions"), any(JsonObject.class));
+    }
+
+    @Test
+    void type_withSharedId_clicksThenTypesEveryCharacter() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        when(client.sendCommand(eq("script.callFunction"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.completedFuture(success()));
+        when(client.sendCommand(eq("input.performActions"), any(JsonObject.class)))
+                .thenAnswer(invocation -> {
+                    JsonObject params = invocation.getArgument(1);
+                    JsonObject keys = params.getAsJsonArray("actions").get(1).getAsJsonObject();
+                    assertEquals("key", keys.get("type").getAsString());
+                    // 3 pauses while the pointer clicks, then keyDown + keyUp per character
+                    assertEquals(3 + 4, keys.getAsJsonArray("actions").size());
+                    return CompletableFuture.completedFuture(new JsonObject());
+                });
+
+        handled.type("hi");
+
+        verify(client, never()).sendCommand(eq("vibium:type"), any(JsonObject.class));
+    }
+
+    @Test
+    void click_withSharedIdNotActionable_doesNotFallBack() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        JsonObject details = new JsonObject();
+        details.addProperty("text", "Error: vibium:not actionable: disabled");
+        JsonObject evaluateResult = new JsonObject();
+        evaluateResult.addProperty("type", "exception");
+        evaluateResult.add("exceptionDetails", details);
+        JsonObject response = new JsonObject();
+        response.add("result", evaluateResult);
+        when(client.sendCommand(eq("script.callFunction"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        VibiumException error = assertThrows(VibiumException.class, handled::click);
+        assertTrue(error.getMessage().contains("disabled"));
+        verify(client, never()).sendCommand(eq("vibium:click"), any(JsonObject.class));
+    }
+
+    @Test
+    void clear_withStaleSharedId_fallsBackToSelector() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        when(client.sendCommand(eq("script.callFunction"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.failedFuture(new BiDiException("no such node")));
+        when(client.sendCommand(eq("vibium:clear"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.completedFuture(new JsonObject()));
+
+        handled.clear();
+
+        verify(client).sendCommand(eq("vibium:clear"), any(JsonObject.class));
+    }
+
+    @Test
+    void getAttribute_withSharedIdAndOtherError_doesNotFallBack() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        when(client.sendCommand(eq("script.callFunction"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.failedFuture(new BiDiException("invalid argument")));
+
+        assertThrows(BiDiException.class, () -> handled.getAttribute("class"));
+        verify(client, never()).sendCommand(eq("vibium:getAttribute"), any(JsonObject.class));
+    }
+
+    @Test
+    void getAttribute_withSharedId_callsFunctionOnReference() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        JsonObject value = new JsonObject();
+        value.addProperty("type", "string");
+        value.addProperty("value", "btn-primary");
+        JsonObject evaluateResult = new JsonObject();
+        evaluateResult.addProperty("type", "success");
+        evaluateResult.add("result", value);
+        JsonObject response = new JsonObject();
+        response.add("result", evaluateResult);
+        when(client.sendCommand(eq("script.callFunction"), any(JsonObject.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertEquals("btn-primary", handled.getAttribute("class"));
+        verify(client, never()).sendCommand(eq("vibium:getAttribute"), any(JsonObject.class));
+    }
+
+    @Test
+    void screenshot_withoutSharedId_clipsToBox() {
+        JsonObject response = new JsonObject();
+        response.addProperty("data", "AQID");
+        when(client.sendCommand(eq("browsingContext.captureScreenshot"), any(JsonObject.class)))
+                .thenAnswer(invocation -> {
+                    JsonObject clip = invocation.<JsonObject>getArgument(1).getAsJsonObject("clip");
+                    assertEquals("box", clip.get("type").getAsString());
+                    assertEquals(100, clip.get("x").getAsDouble());
+                    assertEquals(30, clip.get("height").getAsDouble());
+                    return CompletableFuture.completedFuture(response);
+                });
+
+        assertArrayEquals(new byte[]{1, 2, 3}, element.screenshot());
+    }
+
+    @Test
+    void screenshot_withSharedId_clipsToElement() {
+        Element handled = new Element(new ElementAsync(client, "context-123", "#submit-btn", withHandle("node-1")));
+        JsonObject response = new JsonObject();
+        response.addProperty("data", "AQID");
+        when(client.sendCommand(eq("browsingContext.captureScreenshot"), any(JsonObject.class)))
+                .thenAnswer(invocation -> {
+                    JsonObject params = invocation.getArgument(1);
+                    assertEquals("element", params.getAsJsonObject("clip").get("type").getAsString());
+                    assertEquals("image/jpeg", params.getAsJsonObject("format").get("type").getAsString());
+                    return CompletableFuture.completedFuture(response);
+                });
+
+        handled.screenshot(ScreenshotOptions.builder().format(ScreenshotOptions.Format.JPEG).build());
+    }
+
+    private static JsonObject success() {
+        JsonObject undefined = new JsonObject();
+        undefined.addProperty("type", "undefined");
+        JsonObject evaluateResult = new JsonObject();
+        evaluateResult.addProperty("type", "success");
+        evaluateResult.add("result", undefined);
+        JsonObject response = new JsonObject();
+        response.add("result", evaluateResult);
+        return response;
+    }
+
+    private ElementInfo withHandle(String sharedId) {
+        return ElementInfo.builder()
+                .tagName("button")
+                .textContent("Click me")
+                .box(box)
+                .sharedId(sharedId)
+                .build();
+    }
 }
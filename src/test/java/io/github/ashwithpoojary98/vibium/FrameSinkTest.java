@@ -0,0 +1,51 @@
+package io.github.ashwithpoojary98.vibium;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FrameSink}.
+ */
+class FrameSinkTest {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, 1, 2, (byte) 0xFF, (byte) 0xD9};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void imageSequence_writesOneFilePerFrame() throws IOException {
+        try (FrameSink sink = FrameSink.imageSequence(tempDir.resolve("frames"), "jpg")) {
+            sink.write(0, Duration.ZERO, JPEG);
+            sink.write(1, Duration.ofMillis(100), JPEG);
+        }
+
+        assertArrayEquals(JPEG, Files.readAllBytes(tempDir.resolve("frames/frame-000000.jpg")));
+        assertTrue(Files.exists(tempDir.resolve("frames/frame-000001.jpg")));
+    }
+
+    @Test
+    void mjpeg_concatenatesFrames() throws IOException {
+        Path file = tempDir.resolve("out.mjpeg");
+        try (FrameSink sink = FrameSink.mjpeg(file)) {
+            sink.write(0, Duration.ZERO, JPEG);
+            sink.write(1, Duration.ofMillis(100), JPEG);
+        }
+
+        assertEquals(JPEG.length * 2L, Files.size(file));
+    }
+
+    @Test
+    void mjpeg_withNonJpegFrame_throws() throws IOException {
+        try (FrameSink sink = FrameSink.mjpeg(tempDir.resolve("out.mjpeg"))) {
+            assertThrows(IOException.class, () -> sink.write(0, Duration.ZERO, new byte[]{(byte) 0x89, 'P'}));
+        }
+    }
+}
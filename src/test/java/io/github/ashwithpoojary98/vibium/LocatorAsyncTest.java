@@ -0,0 +1,156 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.exception.ElementNotFoundException;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static io.github.ashwithpoojary98.vibium.LocatorFilter.has;
+import static io.github.ashwithpoojary98.vibium.LocatorFilter.hasText;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link LocatorAsync}.
+ */
+@ExtendWith(MockitoExtension.class)
+class LocatorAsyncTest {
+
+    @Mock
+    private BiDiClient client;
+
+    private VibeAsync vibe;
+
+    @BeforeEach
+    void setUp() {
+        vibe = new VibeAsync(client, null, "ctx-1");
+    }
+
+    @Test
+    void locator_chain_recordsStepsWithoutContactingBrowser() {
+        LocatorAsync locator = vibe.locator("form")
+                .locator("input[name=q]")
+                .nth(2)
+                .filter(hasText("x"));
+
+        assertEquals("[{\"op\":\"css\",\"selector\":\"form\"},"
+                + "{\"op\":\"css\",\"selector\":\"input[name=q]\"},"
+                + "{\"op\":\"nth\",\"index\":2},"
+                + "{\"op\":\"hasText\",\"text\":\"x\"}]", locator.toJson());
+        assertEquals("locator(form) >> locator(input[name=q]) >> nth(2) >> filter(hasText(\"x\"))",
+                locator.toString());
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void locator_xpathAndFilters_encodeSteps() {
+        LocatorAsync base = vibe.locator(".list");
+        LocatorAsync refined = base.locator(".//li").filter(has("a.active")).last();
+
+        assertEquals("[{\"op\":\"css\",\"selector\":\".list\"}]", base.toJson());
+        assertEquals("[{\"op\":\"css\",\"selector\":\".list\"},"
+                + "{\"op\":\"xpath\",\"selector\":\".//li\"},"
+                + "{\"op\":\"has\",\"steps\":[{\"op\":\"css\",\"selector\":\"a.active\"}]},"
+                + "{\"op\":\"nth\",\"index\":-1}]", refined.toJson());
+    }
+
+    @Test
+    void element_resolvesWholeChainInOneCall() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(located(1, "n-1"))));
+        LocatorAsync locator = vibe.locator("form").locator("button");
+
+        ElementAsync element = locator.element(Duration.ofSeconds(2)).join();
+
+        assertEquals("button", element.getTagName());
+        assertEquals("Go", element.getText());
+        assertEquals("n-1", element.getInfo().getSharedId());
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client, times(1)).sendCommand(eq("script.callFunction"), params.capture(), any(Duration.class));
+        JsonArray arguments = params.getValue().getAsJsonArray("arguments");
+        assertEquals(locator.toJson(), arguments.get(0).getAsJsonObject().get("value").getAsString());
+        assertTrue(arguments.get(1).getAsJsonObject().get("value").getAsLong() <= 2000);
+        assertEquals(1, arguments.get(2).getAsJsonObject().get("value").getAsInt());
+    }
+
+    @Test
+    void element_noMatchInTime_failsWithElementNotFound() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(located(0))));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> vibe.locator("#missing").element(Duration.ofMillis(100)).join());
+
+        ElementNotFoundException notFound = assertInstanceOf(ElementNotFoundException.class, e.getCause());
+        assertEquals("locator(#missing)", notFound.getSelector());
+    }
+
+    @Test
+    void count_readsTotalWithoutWaiting() {
+        when(client.sendCommand(eq("script.callFunction"), any()))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(located(3))));
+
+        assertEquals(3, vibe.locator("li").count().join());
+
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client).sendCommand(eq("script.callFunction"), params.capture());
+        JsonArray arguments = params.getValue().getAsJsonArray("arguments");
+        assertEquals(0, arguments.get(1).getAsJsonObject().get("value").getAsLong());
+        assertEquals(0, arguments.get(2).getAsJsonObject().get("value").getAsInt());
+    }
+
+    /**
+     * A {@code LOCATE} result with {@code total} matches and one row per shared ID.
+     */
+    private static JsonObject located(int total, String... sharedIds) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < sharedIds.length; i++) {
+            rows.append(i == 0 ? "" : ",")
+                    .append("[0,\"Go\",1,2,3,4,\":root > body:nth-child(2) > button:nth-child(")
+                    .append(i + 1).append(")\"]");
+        }
+        JsonArray items = new JsonArray();
+        items.add(remote("string", "{\"total\":" + total + ",\"tags\":[\"button\"],\"rows\":[" + rows + "]}"));
+        for (String sharedId : sharedIds) {
+            JsonObject node = new JsonObject();
+            node.addProperty("type", "node");
+            node.addProperty("sharedId", sharedId);
+            items.add(node);
+        }
+        JsonObject array = new JsonObject();
+        array.addProperty("type", "array");
+        array.add("value", items);
+        return array;
+    }
+
+    private static JsonObject remote(String type, String value) {
+        JsonObject remote = new JsonObject();
+        remote.addProperty("type", type);
+        remote.addProperty("value", value);
+        return remote;
+    }
+
+    private static JsonObject evaluateResult(JsonObject value) {
+        JsonObject inner = new JsonObject();
+        inner.addProperty("type", "success");
+        inner.add("result", value);
+        JsonObject response = new JsonObject();
+        response.add("result", inner);
+        return response;
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.model.ScreencastStats;
+import io.github.ashwithpoojary98.vibium.options.ScreencastOptions;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link Screencast}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScreencastTest {
+
+    @Mock
+    private BiDiClient client;
+
+    @Test
+    void tick_withPendingCaptures_dropsFramesInsteadOfQueueing() throws Exception {
+        List<CompletableFuture<JsonObject>> pending = Collections.synchronizedList(new ArrayList<>());
+        when(client.sendCommand(eq("browsingContext.captureScreenshot"), any(), any(Duration.class)))
+                .thenAnswer(invocation -> {
+                    CompletableFuture<JsonObject> future = new CompletableFuture<>();
+                    pending.add(future);
+                    return future;
+                });
+        RecordingSink sink = new RecordingSink();
+
+        Screencast screencast = start(ScreencastOptions.builder().fps(200).maxInflight(2).build(), sink);
+        Thread.sleep(100);
+
+        verify(client, times(2)).sendCommand(eq("browsingContext.captureScreenshot"), any(), any(Duration.class));
+        assertTrue(screencast.getStats().getFramesDropped() > 0);
+
+        pending.forEach(future -> future.complete(frame()));
+        ScreencastStats stats = screencast.stop().join();
+
+        assertTrue(stats.getFramesWritten() >= 2);
+        assertTrue(sink.closed);
+    }
+
+    @Test
+    void stop_writesFramesInSequenceAndReportsFps() throws Exception {
+        when(client.sendCommand(eq("browsingContext.captureScreenshot"), any(), any(Duration.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(frame()));
+        RecordingSink sink = new RecordingSink();
+
+        Screencast screencast = start(ScreencastOptions.builder().fps(50).build(), sink);
+        Thread.sleep(200);
+        ScreencastStats stats = screencast.stop().join();
+
+        assertTrue(stats.getFramesWritten() > 0);
+        assertEquals(stats.getFramesWritten(), sink.sequences.size());
+        for (int i = 0; i < sink.sequences.size(); i++) {
+            assertEquals(i, sink.sequences.get(i));
+        }
+        assertEquals(stats.getFramesWritten() * 3, stats.getBytesWritten());
+        assertTrue(stats.getAchievedFps() > 0);
+    }
+
+    @Test
+    void stop_completesOnceCapturesFinish() throws Exception {
+        CompletableFuture<JsonObject> capture = new CompletableFuture<>();
+        when(client.sendCommand(eq("browsingContext.captureScreenshot"), any(), any(Duration.class)))
+                .thenReturn(capture);
+        RecordingSink sink = new RecordingSink();
+
+        Screencast screencast = start(ScreencastOptions.builder().fps(200).maxInflight(1).build(), sink);
+        Thread.sleep(50);
+        CompletableFuture<ScreencastStats> stopped = screencast.stop();
+        Thread.sleep(50);
+        assertFalse(stopped.isDone());
+
+        capture.complete(frame());
+
+        assertEquals(1, stopped.get(5, TimeUnit.SECONDS).getFramesWritten());
+        assertTrue(sink.closed);
+    }
+
+    @Test
+    void stop_isIdempotent() {
+        Screencast screencast = new Screencast(client, "ctx-1", ScreencastOptions.builder().build(), new RecordingSink());
+
+        assertSame(screencast.stop(), screencast.stop());
+    }
+
+    @Test
+    void options_withNonPositiveFps_throws() {
+        assertThrows(IllegalArgumentException.class, () -> ScreencastOptions.builder().fps(0).build());
+    }
+
+    @Test
+    void options_toScreenshotOptions_carriesFormatAndQuality() {
+        ScreenshotOptions screenshot = ScreencastOptions.builder()
+                .format(ScreenshotOptions.Format.WEBP)
+                .quality(0.5)
+                .build()
+                .toScreenshotOptions();
+
+        assertEquals(ScreenshotOptions.Format.WEBP, screenshot.getFormat());
+        assertEquals(0.5, screenshot.getQuality());
+    }
+
+    private Screencast start(ScreencastOptions options, FrameSink sink) {
+        Screencast screencast = new Screencast(client, "ctx-1", options, sink);
+        screencast.start();
+        return screencast;
+    }
+
+    private static JsonObject frame() {
+        JsonObject result = new JsonObject();
+        result.addProperty("data", "/9j/");
+        return result;
+    }
+
+    private static final class RecordingSink implements FrameSink {
+
+        final List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean closed;
+
+        @Override
+        public void write(long sequence, Duration timestamp, byte[] image) {
+            sequences.add(sequence);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
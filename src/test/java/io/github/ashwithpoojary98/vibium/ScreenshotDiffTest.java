@@ -0,0 +1,138 @@
+package io.github.ashwithpoojary98.vibium;
+
+import io.github.ashwithpoojary98.vibium.model.Box;
+import io.github.ashwithpoojary98.vibium.model.DiffResult;
+import io.github.ashwithpoojary98.vibium.options.DiffOptions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ScreenshotDiff}.
+ */
+class ScreenshotDiffTest {
+
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int BLACK = 0xFF000000;
+
+    private static final DiffOptions DEFAULTS = DiffOptions.builder().tileSize(16).build();
+
+    @Test
+    void compare_identicalRasters_isIdentical() {
+        int[] pixels = filled(100, 80, WHITE);
+
+        DiffResult result = new ScreenshotDiff(DEFAULTS).compare(pixels, pixels.clone(), 100, 80);
+
+        assertTrue(result.isIdentical());
+        assertEquals(8000, result.getComparedPixels());
+        assertTrue(result.getChangedRegions().isEmpty());
+    }
+
+    @Test
+    void compare_changedBlocks_reportsOneRegionPerBlock() {
+        int[] expected = filled(100, 80, WHITE);
+        int[] actual = expected.clone();
+        fill(actual, 100, 10, 10, 30, 20, BLACK);
+        fill(actual, 100, 70, 60, 5, 5, BLACK);
+
+        DiffResult result = new ScreenshotDiff(DEFAULTS).compare(expected, actual, 100, 80);
+
+        assertEquals(30 * 20 + 5 * 5, result.getChangedPixels());
+        assertEquals(2, result.getChangedRegions().size());
+        Box first = result.getChangedRegions().get(0);
+        assertEquals(10, first.getX());
+        assertEquals(10, first.getY());
+        assertEquals(30, first.getWidth());
+        assertEquals(20, first.getHeight());
+        assertEquals(DiffResult.CHANGED, result.maskAt(15, 15));
+        assertEquals(DiffResult.SAME, result.maskAt(50, 50));
+    }
+
+    @Test
+    void compare_withIgnoredRegion_skipsPixelsInside() {
+        int[] expected = filled(100, 80, WHITE);
+        int[] actual = expected.clone();
+        fill(actual, 100, 10, 10, 30, 20, BLACK);
+        DiffOptions options = DiffOptions.builder().tileSize(16).ignore(new Box(0, 0, 50, 40)).build();
+
+        DiffResult result = new ScreenshotDiff(options).compare(expected, actual, 100, 80);
+
+        assertTrue(result.isIdentical());
+        assertEquals(8000 - 50 * 40, result.getComparedPixels());
+        assertEquals(DiffResult.IGNORED, result.maskAt(15, 15));
+    }
+
+    @Test
+    void compare_withinThreshold_isIdentical() {
+        int[] expected = filled(40, 40, WHITE);
+        int[] actual = filled(40, 40, 0xFFFAFAFA);
+
+        assertTrue(new ScreenshotDiff(DEFAULTS).compare(expected, actual, 40, 40).isIdentical());
+        DiffOptions strict = DiffOptions.builder().threshold(0).build();
+        assertEquals(1600, new ScreenshotDiff(strict).compare(expected, actual, 40, 40).getChangedPixels());
+    }
+
+    @Test
+    void compare_antiAliasedEdge_isNotCountedAsChanged() {
+        int[] expected = filled(20, 20, WHITE);
+        fill(expected, 20, 0, 0, 10, 20, BLACK);
+        int[] actual = expected.clone();
+        // A grey pixel smoothing the vertical edge between black and white
+        actual[10 * 20 + 10] = 0xFF808080;
+
+        DiffResult result = new ScreenshotDiff(DEFAULTS).compare(expected, actual, 20, 20);
+
+        assertEquals(0, result.getChangedPixels());
+        assertEquals(1, result.getAntiAliasedPixels());
+        DiffOptions noAa = DiffOptions.builder().detectAntiAliasing(false).build();
+        assertEquals(1, new ScreenshotDiff(noAa).compare(expected, actual, 20, 20).getChangedPixels());
+    }
+
+    @Test
+    void compare_encodedPngs_decodesBoth() throws IOException {
+        BufferedImage expected = image(30, 30, WHITE);
+        BufferedImage actual = image(30, 30, WHITE);
+        actual.setRGB(5, 5, BLACK);
+
+        DiffResult result = new ScreenshotDiff(DEFAULTS).compare(png(expected), png(actual));
+
+        assertEquals(1, result.getChangedPixels());
+        assertEquals(30, result.getWidth());
+    }
+
+    @Test
+    void compare_differentSizes_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ScreenshotDiff(DEFAULTS).compare(image(10, 10, WHITE), image(10, 11, WHITE)));
+    }
+
+    private static int[] filled(int width, int height, int color) {
+        int[] pixels = new int[width * height];
+        Arrays.fill(pixels, color);
+        return pixels;
+    }
+
+    private static void fill(int[] pixels, int stride, int x, int y, int width, int height, int color) {
+        for (int row = y; row < y + height; row++) {
+            Arrays.fill(pixels, row * stride + x, row * stride + x + width, color);
+        }
+    }
+
+    private static BufferedImage image(int width, int height, int color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, filled(width, height, color), 0, width);
+        return image;
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,707 @@
+package io.github.ashwithpoojary98.vibium;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.exception.BiDiException;
+import io.github.ashwithpoojary98.vibium.exception.ElementNotFoundException;
+import io.github.ashwithpoojary98.vibium.exception.WaitTimeoutException;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.model.Box;
+import io.github.ashwithpoojary98.vibium.model.ElementInfo;
+import io.github.ashwithpoojary98.vibium.model.FillResult;
+import io.github.ashwithpoojary98.vibium.model.NavigationResult;
+import io.github.ashwithpoojary98.vibium.options.FillOptions;
+import io.github.ashwithpoojary98.vibium.options.NavigateOptions;
+import io.github.ashwithpoojary98.vibium.options.SnapshotOptions;
+import io.github.ashwithpoojary98.vibium.snapshot.DomSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link VibeAsync}.
+ */
+@ExtendWith(MockitoExtension.class)
+class VibeAsyncTest {
+
+    @Mock
+    private BiDiClient client;
+
+    private VibeAsync vibe;
+
+    @BeforeEach
+    void setUp() {
+        vibe = new VibeAsync(client, null, "ctx-1");
+    }
+
+    @Test
+    void reset_createsFreshContextAndClosesOldOnes() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject result = new JsonObject();
+            switch (method) {
+                case "browser.createUserContext":
+                    result.addProperty("userContext", "uc-1");
+                    break;
+                case "browsingContext.create":
+                    result.addProperty("context", "ctx-new");
+                    break;
+                case "browsingContext.getTree":
+                    JsonArray contexts = new JsonArray();
+                    contexts.add(context("ctx-1", "default"));
+                    contexts.add(context("ctx-2", "default"));
+                    contexts.add(context("ctx-new", "uc-1"));
+                    result.add("contexts", contexts);
+                    break;
+                default:
+                    break;
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+
+        vibe.reset().join();
+
+        ArgumentCaptor<String> methods = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client, atLeastOnce()).sendCommand(methods.capture(), params.capture());
+
+        List<String> closed = new ArrayList<>();
+        for (int i = 0; i < methods.getAllValues().size(); i++) {
+            if (methods.getAllValues().get(i).equals("browsingContext.close")) {
+                closed.add(params.getAllValues().get(i).get("context").getAsString());
+            }
+        }
+        assertEquals(List.of("ctx-1", "ctx-2"), closed.stream().sorted().collect(Collectors.toList()));
+        assertFalse(methods.getAllValues().contains("browser.removeUserContext"));
+        assertEquals("ctx-new", vibe.getContext());
+    }
+
+    @Test
+    void reset_twice_removesPreviousUserContext() {
+        int[] created = {0};
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject result = new JsonObject();
+            if (method.equals("browser.createUserContext")) {
+                result.addProperty("userContext", "uc-" + (++created[0]));
+            } else if (method.equals("browsingContext.create")) {
+                result.addProperty("context", "ctx-" + created[0]);
+            } else if (method.equals("browsingContext.getTree")) {
+                result.add("contexts", new JsonArray());
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+
+        vibe.reset().join();
+        vibe.reset().join();
+
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client).sendCommand(eq("browser.removeUserContext"), params.capture());
+        assertEquals("uc-1", params.getValue().get("userContext").getAsString());
+        assertEquals("ctx-2", vibe.getContext());
+    }
+
+    @Test
+    void reset_movesInterceptorToFreshTab() {
+        int[] intercepts = {0};
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject result = new JsonObject();
+            if (method.equals("network.addIntercept")) {
+                result.addProperty("intercept", "i-" + (++intercepts[0]));
+            } else if (method.equals("browser.createUserContext")) {
+                result.addProperty("userContext", "uc-1");
+            } else if (method.equals("browsingContext.create")) {
+                result.addProperty("context", "ctx-new");
+            } else if (method.equals("browsingContext.getTree")) {
+                result.add("contexts", new JsonArray());
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+        vibe.intercept(request -> CompletableFuture.completedFuture(null)).join();
+
+        vibe.reset().join();
+
+        ArgumentCaptor<JsonObject> added = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client, times(2)).sendCommand(eq("network.addIntercept"), added.capture());
+        assertEquals("ctx-new", added.getAllValues().get(1).getAsJsonArray("contexts").get(0).getAsString());
+        ArgumentCaptor<JsonObject> removed = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client).sendCommand(eq("network.removeIntercept"), removed.capture());
+        assertEquals("i-1", removed.getValue().get("intercept").getAsString());
+    }
+
+    @Test
+    void newIsolatedSession_createsUserContextAndTab() {
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject result = new JsonObject();
+            if (method.equals("browser.createUserContext")) {
+                result.addProperty("userContext", "uc-9");
+            } else if (method.equals("browsingContext.create")) {
+                JsonObject params = invocation.getArgument(1);
+                assertEquals("uc-9", params.get("userContext").getAsString());
+                result.addProperty("context", "ctx-9");
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+
+        VibeAsync session = vibe.newIsolatedSession().join();
+
+        assertTrue(session.isIsolated());
+        assertFalse(vibe.isIsolated());
+        assertEquals("ctx-9", session.getContext());
+        assertSame(client, session.getClient());
+    }
+
+    @Test
+    void quit_onIsolatedSession_removesUserContextOnly() {
+        when(client.isConnected()).thenReturn(true);
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject result = new JsonObject();
+            if (method.equals("browser.createUserContext")) {
+                result.addProperty("userContext", "uc-9");
+            } else if (method.equals("browsingContext.create")) {
+                result.addProperty("context", "ctx-9");
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+        VibeAsync session = vibe.newIsolatedSession().join();
+
+        session.quit();
+
+        ArgumentCaptor<String> methods = ArgumentCaptor.forClass(String.class);
+        verify(client, atLeastOnce()).sendCommand(methods.capture(), any());
+        assertTrue(methods.getAllValues().contains("browser.removeUserContext"));
+        assertFalse(methods.getAllValues().contains("browser.close"));
+        verify(client, never()).close();
+    }
+
+    @Test
+    void go_withoutContext_resolvesFromCacheWithoutBlocking() {
+        VibeAsync fresh = new VibeAsync(client, null);
+        CompletableFuture<JsonObject> tree = new CompletableFuture<>();
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            if (method.equals("browsingContext.getTree")) {
+                return tree;
+            }
+            return CompletableFuture.completedFuture(new JsonObject());
+        });
+        when(client.sendCommand(eq("browsingContext.navigate"), any(), any(Duration.class))).thenAnswer(invocation -> {
+            JsonObject params = invocation.getArgument(1);
+            assertEquals("ctx-a", params.get("context").getAsString());
+            return CompletableFuture.completedFuture(new JsonObject());
+        });
+
+        CompletableFuture<NavigationResult> navigation = fresh.go("https://example.com");
+        assertFalse(navigation.isDone());
+
+        JsonArray contexts = new JsonArray();
+        contexts.add(context("ctx-a", "default"));
+        JsonObject result = new JsonObject();
+        result.add("contexts", contexts);
+        tree.complete(result);
+
+        navigation.join();
+        assertEquals("ctx-a", fresh.getContext());
+    }
+
+    @Test
+    void go_withInteractive_returnsNavigationResult() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(eq("browsingContext.navigate"), any(), any(Duration.class)))
+                .thenAnswer(invocation -> {
+                    JsonObject params = invocation.getArgument(1);
+                    assertEquals("interactive", params.get("wait").getAsString());
+                    assertTrue(invocation.<Duration>getArgument(2).compareTo(Duration.ofSeconds(5)) <= 0);
+                    JsonObject result = new JsonObject();
+                    result.addProperty("navigation", "nav-1");
+                    result.addProperty("url", "https://example.com/home");
+                    return CompletableFuture.completedFuture(result);
+                });
+
+        NavigationResult result = vibe.go("https://example.com", NavigateOptions.builder()
+                .waitUntil(NavigateOptions.WaitUntil.INTERACTIVE)
+                .timeout(Duration.ofSeconds(5))
+                .build()).join();
+
+        assertEquals("nav-1", result.getNavigation());
+        assertEquals("https://example.com/home", result.getUrl());
+        assertNotNull(result.getTotal());
+        assertNull(result.getNetworkIdle());
+        verify(client).off(eq("browsingContext.load"), any());
+    }
+
+    @Test
+    void go_withNetworkIdle_sharesOneTimeoutWithNavigation() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenReturn(CompletableFuture.completedFuture(new JsonObject()));
+        when(client.sendCommand(eq("browsingContext.navigate"), any(), any(Duration.class)))
+                .thenAnswer(invocation -> CompletableFuture.supplyAsync(JsonObject::new,
+                        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)));
+        long start = System.nanoTime();
+
+        CompletionException error = assertThrows(CompletionException.class, () -> vibe.go("https://example.com",
+                NavigateOptions.builder()
+                        .waitUntil(NavigateOptions.WaitUntil.NETWORK_IDLE)
+                        .networkIdle(Duration.ofSeconds(10), 0)
+                        .timeout(Duration.ofMillis(300))
+                        .build()).join());
+
+        assertInstanceOf(WaitTimeoutException.class, error.getCause());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void findAll_decodesCompactRowsAndHandles() {
+        when(client.sendCommand(eq("script.callFunction"), any())).thenAnswer(invocation -> {
+            JsonObject params = invocation.getArgument(1);
+            assertEquals("li", params.getAsJsonArray("arguments").get(0)
+                    .getAsJsonObject().get("value").getAsString());
+            String summary = "{\"total\":2,\"tags\":[\"li\"],\"rows\":["
+                    + "[0,\"One\",1,2,3,4,\":root > body:nth-child(2) > li:nth-child(1)\"],"
+                    + "[0,\"Two\",5,6,7,8,\":root > body:nth-child(2) > li:nth-child(2)\"]]}";
+            JsonArray items = new JsonArray();
+            items.add(remote("string", summary));
+            items.add(node("n-1"));
+            items.add(node("n-2"));
+            JsonObject array = new JsonObject();
+            array.addProperty("type", "array");
+            array.add("value", items);
+            return CompletableFuture.completedFuture(evaluateResult(array));
+        });
+
+        List<ElementAsync> elements = vibe.findAll("li").join();
+
+        assertEquals(2, elements.size());
+        assertEquals("li", elements.get(1).getTagName());
+        assertEquals("Two", elements.get(1).getText());
+        assertEquals(5, elements.get(1).getBox().getX());
+        assertEquals("n-2", elements.get(1).getInfo().getSharedId());
+        assertEquals(":root > body:nth-child(2) > li:nth-child(2)", elements.get(1).getSelector());
+    }
+
+    @Test
+    void snapshot_decodesSerializedSubtree() {
+        when(client.sendCommand(eq("script.callFunction"), any())).thenAnswer(invocation -> {
+            JsonObject params = invocation.getArgument(1);
+            assertEquals("#list", params.getAsJsonArray("arguments").get(0)
+                    .getAsJsonObject().get("value").getAsString());
+            String json = "{\"strings\":[\"ul\",\"li\"],\"nodes\":["
+                    + "[-1,0,[],0,0,100,40],[0,1,[],0,0,100,20],[1,-1,\"One\"],[0,1,[],0,20,100,20]],"
+                    + "\"truncated\":true}";
+            return CompletableFuture.completedFuture(evaluateResult(remote("string", json)));
+        });
+
+        DomSnapshot snapshot = vibe.snapshot("#list", SnapshotOptions.builder().boxes(true).build()).join();
+
+        assertEquals(2, snapshot.queryAll("li").size());
+        assertEquals("One", snapshot.query("li").getText());
+        assertEquals(20, snapshot.query("li:last-child").getBox().getY());
+        assertTrue(snapshot.isTruncated());
+    }
+
+    @Test
+    void snapshot_withoutMatch_failsWithElementNotFound() {
+        JsonObject nothing = new JsonObject();
+        nothing.addProperty("type", "null");
+        when(client.sendCommand(eq("script.callFunction"), any()))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(nothing)));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> vibe.snapshot("#missing", SnapshotOptions.builder().build()).join());
+        assertInstanceOf(ElementNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    void waitFor_conditionHolds_sendsOneCallWithRemainingTime() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(remote("boolean", "true"))));
+
+        vibe.waitFor(Condition.visible("#ok"), Duration.ofSeconds(2)).join();
+
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client, times(1)).sendCommand(eq("script.callFunction"), params.capture(), any(Duration.class));
+        JsonArray arguments = params.getValue().getAsJsonArray("arguments");
+        assertEquals("{\"op\":\"visible\",\"selector\":\"#ok\"}",
+                arguments.get(0).getAsJsonObject().get("value").getAsString());
+        assertTrue(arguments.get(1).getAsJsonObject().get("value").getAsLong() <= 2000);
+    }
+
+    @Test
+    void waitFor_conditionNeverHolds_failsWithWaitTimeout() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(remote("boolean", "false"))));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> vibe.waitFor(Condition.detached(".spinner"), Duration.ofMillis(100)).join());
+
+        WaitTimeoutException timeout = assertInstanceOf(WaitTimeoutException.class, e.getCause());
+        assertEquals("detached(.spinner)", timeout.getCondition());
+    }
+
+    @Test
+    void waitFor_documentReplaced_restartsWatcher() {
+        CompletableFuture<JsonObject> destroyed = new CompletableFuture<>();
+        destroyed.completeExceptionally(new BiDiException("unknown error: Execution context was destroyed."));
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(destroyed)
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(remote("boolean", "true"))));
+
+        vibe.waitFor(Condition.urlContains("/done"), Duration.ofSeconds(5)).join();
+
+        verify(client, times(2)).sendCommand(eq("script.callFunction"), any(), any(Duration.class));
+    }
+
+    @Test
+    void waitFor_otherBiDiError_failsWithoutRestart() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.failedFuture(new BiDiException("invalid argument: bad selector")));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> vibe.waitFor(Condition.urlContains("/done"), Duration.ofSeconds(5)).join());
+
+        assertInstanceOf(BiDiException.class, e.getCause());
+        verify(client, times(1)).sendCommand(eq("script.callFunction"), any(), any(Duration.class));
+    }
+
+    @Test
+    void find_missingFrame_failsWithoutRestart() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.failedFuture(new BiDiException("no such frame: ctx-1")));
+
+        assertThrows(CompletionException.class, () -> vibe.find("#gone").join());
+
+        verify(client, times(1)).sendCommand(eq("script.callFunction"), any(), any(Duration.class));
+    }
+
+    @Test
+    void perform_sendsWholeSequenceInOneCommand() {
+        when(client.sendCommand(eq("input.performActions"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new JsonObject()));
+
+        vibe.perform(new Actions().moveTo(10, 20).click().keyDown(Keys.CONTROL).sendKeys("a").keyUp(Keys.CONTROL))
+                .join();
+
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client, times(1)).sendCommand(eq("input.performActions"), params.capture());
+        assertEquals("ctx-1", params.getValue().get("context").getAsString());
+        assertEquals(2, params.getValue().getAsJsonArray("actions").size());
+    }
+
+    @Test
+    void perform_emptyActions_sendsNothing() {
+        vibe.perform(new Actions()).join();
+
+        verify(client, never()).sendCommand(anyString(), any());
+    }
+
+    @Test
+    void fill_setsAllFieldsInOneCallAndReportsFailures() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(filled("[null,null,\"not found\"]"))));
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("#name", "Ada");
+        fields.put("#terms", true);
+        fields.put("#missing", "x");
+
+        FillResult result = vibe.fill(fields, FillOptions.builder().timeout(Duration.ofSeconds(1)).build()).join();
+
+        assertEquals(List.of("#name", "#terms"), result.getFilled());
+        assertEquals("not found", result.getFailures().get("#missing"));
+        assertFalse(result.isComplete());
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client, times(1)).sendCommand(eq("script.callFunction"), params.capture(), any(Duration.class));
+        assertEquals("[[\"#name\",\"Ada\"],[\"#terms\",true],[\"#missing\",\"x\"]]",
+                params.getValue().getAsJsonArray("arguments").get(0).getAsJsonObject().get("value").getAsString());
+        verify(client, never()).sendCommand(eq("input.performActions"), any());
+    }
+
+    @Test
+    void fill_keystrokes_typesClearedFieldsInOneActionCommand() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(evaluateResult(
+                        filled("[\"vibium:type\",null,\"vibium:type\"]", "n-1", "n-3"))));
+        when(client.sendCommand(eq("input.performActions"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new JsonObject()));
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("#first", "Ada");
+        fields.put("#country", "uk");
+        fields.put("#last", "L");
+
+        FillResult result = vibe.fill(fields, FillOptions.builder().keystrokes(true).build()).join();
+
+        assertTrue(result.isComplete());
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client, times(1)).sendCommand(eq("input.performActions"), params.capture());
+        String actions = params.getValue().toString();
+        assertTrue(actions.contains("\"sharedId\":\"n-1\""));
+        assertTrue(actions.contains("\"sharedId\":\"n-3\""));
+    }
+
+    @Test
+    void saveStorageState_thenLoad_restoresCookiesAndStorage(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("state.json");
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject params = invocation.getArgument(1);
+            JsonObject result = new JsonObject();
+            switch (method) {
+                case "browsingContext.getTree":
+                    JsonObject tab = context("ctx-1", "default");
+                    tab.getAsJsonArray("children").add(context("frame-1", "default"));
+                    JsonArray contexts = new JsonArray();
+                    contexts.add(tab);
+                    result.add("contexts", contexts);
+                    return CompletableFuture.completedFuture(result);
+                case "storage.getCookies":
+                    JsonObject value = new JsonObject();
+                    value.addProperty("type", "string");
+                    value.addProperty("value", "abc");
+                    JsonObject cookie = new JsonObject();
+                    cookie.addProperty("name", "sid");
+                    cookie.add("value", value);
+                    cookie.addProperty("domain", "a.test");
+                    cookie.addProperty("path", "/");
+                    cookie.addProperty("size", 6);
+                    JsonArray cookies = new JsonArray();
+                    cookies.add(cookie);
+                    result.add("cookies", cookies);
+                    return CompletableFuture.completedFuture(result);
+                case "script.callFunction":
+                    if ("ctx-1".equals(params.getAsJsonObject("target").get("context").getAsString())) {
+                        return CompletableFuture.completedFuture(evaluateResult(remote("string",
+                                "{\"origin\":\"https://a.test\",\"localStorage\":{\"token\":\"t-1\"},"
+                                        + "\"sessionStorage\":{}}")));
+                    }
+                    JsonObject nothing = new JsonObject();
+                    nothing.addProperty("type", "null");
+                    return CompletableFuture.completedFuture(evaluateResult(nothing));
+                case "script.addPreloadScript":
+                    result.addProperty("script", "preload-1");
+                    return CompletableFuture.completedFuture(result);
+                default:
+                    return CompletableFuture.completedFuture(result);
+            }
+        });
+
+        vibe.saveStorageState(file).join();
+        vibe.loadStorageState(file).join();
+
+        ArgumentCaptor<JsonObject> cookie = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client).sendCommand(eq("storage.setCookie"), cookie.capture());
+        assertEquals("sid", cookie.getValue().getAsJsonObject("cookie").get("name").getAsString());
+        assertFalse(cookie.getValue().getAsJsonObject("cookie").has("size"));
+        assertEquals("ctx-1", cookie.getValue().getAsJsonObject("partition").get("context").getAsString());
+        ArgumentCaptor<JsonObject> preload = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client).sendCommand(eq("script.addPreloadScript"), preload.capture());
+        assertTrue(preload.getValue().get("functionDeclaration").getAsString().contains("t-1"));
+        assertEquals("default", preload.getValue().getAsJsonArray("userContexts").get(0).getAsString());
+
+        when(client.isConnected()).thenReturn(true);
+        vibe.quit();
+
+        verify(client).sendCommand(eq("script.removePreloadScript"),
+                argThat(params -> "preload-1".equals(params.get("script").getAsString())));
+    }
+
+    @Test
+    void find_capturesSharedIdFromMatchingCall() {
+        when(client.sendCommand(eq("script.callFunction"), any(), any())).thenAnswer(invocation -> {
+            String summary = "{\"total\":1,\"tags\":[\"button\"],\"rows\":["
+                    + "[0,\"Go\",1,2,3,4,\":root > body:nth-child(2) > button:nth-child(1)\"]]}";
+            JsonArray items = new JsonArray();
+            items.add(remote("string", summary));
+            items.add(node("n-7"));
+            JsonObject array = new JsonObject();
+            array.addProperty("type", "array");
+            array.add("value", items);
+            return CompletableFuture.completedFuture(evaluateResult(array));
+        });
+
+        ElementAsync element = vibe.find("button").join();
+
+        assertEquals("n-7", element.getSharedId());
+        assertEquals("button", element.getSelector());
+        assertEquals("Go", element.getText());
+        verify(client, times(1)).sendCommand(eq("script.callFunction"), any(), any());
+    }
+
+    @Test
+    void registerFunction_installsOnceAndCallsByName() {
+        List<JsonObject> calls = new ArrayList<>();
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject params = invocation.getArgument(1);
+            if (method.equals("script.addPreloadScript")) {
+                JsonObject result = new JsonObject();
+                result.addProperty("script", "preload-1");
+                return CompletableFuture.completedFuture(result);
+            }
+            calls.add(params);
+            return CompletableFuture.completedFuture(evaluateResult(remote("number", "3")));
+        });
+
+        ScriptHandle<Integer> add = vibe.registerFunction("add", "(a, b) => a + b", Integer.class).join();
+        int sum = add.call(1, 2).join();
+
+        assertEquals(3, sum);
+        assertEquals(2, calls.size());
+        assertTrue(calls.get(0).get("functionDeclaration").getAsString().contains("(a, b) => a + b"));
+        JsonObject call = calls.get(1);
+        assertFalse(call.get("functionDeclaration").getAsString().contains("a + b"));
+        assertEquals("add", call.getAsJsonArray("arguments").get(0).getAsJsonObject().get("value").getAsString());
+        assertEquals(3, call.getAsJsonArray("arguments").size());
+    }
+
+    @Test
+    void registerFunction_sameNameTwice_removesPreviousPreloadScript() {
+        int[] ids = {0};
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            JsonObject result = new JsonObject();
+            if (invocation.getArgument(0).equals("script.addPreloadScript")) {
+                result.addProperty("script", "preload-" + ++ids[0]);
+                return CompletableFuture.completedFuture(result);
+            }
+            return CompletableFuture.completedFuture(evaluateResult(remote("undefined", null)));
+        });
+
+        vibe.registerFunction("helper", "() => 1").join();
+        vibe.registerFunction("helper", "() => 2").join();
+
+        ArgumentCaptor<JsonObject> removed = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client).sendCommand(eq("script.removePreloadScript"), removed.capture());
+        assertEquals("preload-1", removed.getValue().get("script").getAsString());
+    }
+
+    @Test
+    void scriptHandle_call_whenMissingInRealm_installsAndRetries() {
+        int[] invocations = {0};
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            String method = invocation.getArgument(0);
+            JsonObject params = invocation.getArgument(1);
+            if (method.equals("script.addPreloadScript")) {
+                JsonObject result = new JsonObject();
+                result.addProperty("script", "preload-1");
+                return CompletableFuture.completedFuture(result);
+            }
+            boolean isCall = params.getAsJsonArray("arguments").size() > 0;
+            if (isCall && invocations[0]++ == 0) {
+                return CompletableFuture.completedFuture(exceptionResult("Error: vibium:unregistered title"));
+            }
+            return CompletableFuture.completedFuture(evaluateResult(remote("string", "Example")));
+        });
+
+        ScriptHandle<String> title = vibe.registerFunction("title", "() => document.title", String.class).join();
+
+        assertEquals("Example", title.call().join());
+        assertEquals(2, invocations[0]);
+        // install, failed call, re-install and the successful call
+        verify(client, times(4)).sendCommand(eq("script.callFunction"), any());
+    }
+
+    @Test
+    void evaluateFunction_sendsArgumentsAndConstantDeclaration() {
+        ElementAsync element = new ElementAsync(client, "ctx-1", "#name",
+                ElementInfo.builder().tagName("input").textContent("").box(new Box(0, 0, 1, 1)).sharedId("n-3").build());
+        when(client.sendCommand(eq("script.callFunction"), any())).thenAnswer(invocation -> {
+            JsonObject params = invocation.getArgument(1);
+            JsonArray args = params.getAsJsonArray("arguments");
+            assertEquals("(el, suffix) => el.id + suffix", params.get("functionDeclaration").getAsString());
+            assertEquals("n-3", args.get(0).getAsJsonObject().get("sharedId").getAsString());
+            assertEquals("!", args.get(1).getAsJsonObject().get("value").getAsString());
+            return CompletableFuture.completedFuture(evaluateResult(remote("string", "name!")));
+        });
+
+        String result = vibe.evaluateFunction("(el, suffix) => el.id + suffix", String.class, element, "!").join();
+
+        assertEquals("name!", result);
+    }
+
+    private static JsonObject exceptionResult(String text) {
+        JsonObject details = new JsonObject();
+        details.addProperty("text", text);
+        JsonObject evaluateResult = new JsonObject();
+        evaluateResult.addProperty("type", "exception");
+        evaluateResult.add("exceptionDetails", details);
+        JsonObject response = new JsonObject();
+        response.add("result", evaluateResult);
+        return response;
+    }
+
+    private static JsonObject filled(String results, String... sharedIds) {
+        JsonArray items = new JsonArray();
+        items.add(remote("string", results));
+        for (String sharedId : sharedIds) {
+            items.add(node(sharedId));
+        }
+        JsonObject array = new JsonObject();
+        array.addProperty("type", "array");
+        array.add("value", items);
+        return array;
+    }
+
+    private static JsonObject remote(String type, String value) {
+        JsonObject remote = new JsonObject();
+        remote.addProperty("type", type);
+        remote.addProperty("value", value);
+        return remote;
+    }
+
+    private static JsonObject node(String sharedId) {
+        JsonObject node = new JsonObject();
+        node.addProperty("type", "node");
+        node.addProperty("sharedId", sharedId);
+        return node;
+    }
+
+    private static JsonObject evaluateResult(JsonObject value) {
+        JsonObject inner = new JsonObject();
+        inner.addProperty("type", "success");
+        inner.add("result", value);
+        JsonObject response = new JsonObject();
+        response.add("result", inner);
+        return response;
+    }
+
+    private static JsonObject context(String id, String userContext) {
+        JsonObject info = new JsonObject();
+        info.addProperty("context", id);
+        info.addProperty("url", "about:blank");
+        info.addProperty("userContext", userContext);
+        info.add("children", new JsonArray());
+        return info;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AhoCorasick}.
+ */
+class AhoCorasickTest {
+
+    @Test
+    void find_returnsValueOfEarliestEndingMatch() {
+        AhoCorasick matcher = AhoCorasick.builder()
+                .add("/analytics.js", 1)
+                .add("pixel", 2)
+                .add("ads/", 3)
+                .build();
+
+        assertEquals(2, matcher.find("https://x.test/pixel.gif?ads/"));
+        assertEquals(3, matcher.find("https://x.test/ads/banner.png"));
+        assertEquals(1, matcher.find("https://x.test/ANALYTICS.JS"));
+        assertEquals(-1, matcher.find("https://x.test/index.html"));
+    }
+
+    @Test
+    void find_followsFailureLinksIntoOtherPatterns() {
+        AhoCorasick matcher = AhoCorasick.builder()
+                .add("abcd", 1)
+                .add("bce", 2)
+                .add("c", 3)
+                .build();
+
+        assertEquals(3, matcher.find("xabce"));
+        assertEquals(-1, AhoCorasick.builder().add("abcd", 1).add("bce", 2).build().find("abcbcx"));
+        assertEquals(2, AhoCorasick.builder().add("abcd", 1).add("bce", 2).build().find("abce"));
+    }
+
+    @Test
+    void find_withPatternInsideAnother_matchesShorterOne() {
+        AhoCorasick matcher = AhoCorasick.builder()
+                .add("tracking-pixel", 1)
+                .add("king", 2)
+                .build();
+
+        assertEquals(2, matcher.find("/tracking-p"));
+    }
+
+    @Test
+    void build_withoutPatterns_neverMatches() {
+        AhoCorasick matcher = AhoCorasick.builder().add("", 1).build();
+
+        assertEquals(-1, matcher.find("anything"));
+        assertEquals(1, matcher.size());
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BrowsingContextCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+class BrowsingContextCacheTest {
+
+    @Mock
+    private BiDiClient client;
+
+    private final Map<String, Consumer<JsonObject>> handlers = new HashMap<>();
+    private BrowsingContextCache cache;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            handlers.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(client).on(anyString(), any());
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        JsonObject frame = context("frame-1", "https://example.com/frame", new JsonArray());
+        JsonArray tabChildren = new JsonArray();
+        tabChildren.add(frame);
+        JsonArray contexts = new JsonArray();
+        contexts.add(context("tab-1", "https://example.com", tabChildren));
+        JsonObject tree = new JsonObject();
+        tree.add("contexts", contexts);
+        when(client.sendCommand(eq("browsingContext.getTree"), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(tree));
+
+        cache = new BrowsingContextCache(client);
+        cache.ready().join();
+    }
+
+    @Test
+    void ready_loadsTreeOnlyOnce() {
+        cache.ready().join();
+
+        verify(client, times(1)).sendCommand(eq("browsingContext.getTree"), isNull());
+    }
+
+    @Test
+    void ready_afterFailedLoad_retries() {
+        JsonObject empty = new JsonObject();
+        empty.add("contexts", new JsonArray());
+        when(client.sendCommand(eq("browsingContext.getTree"), isNull()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("closed")))
+                .thenReturn(CompletableFuture.completedFuture(empty));
+        BrowsingContextCache fresh = new BrowsingContextCache(client);
+
+        assertThrows(CompletionException.class, () -> fresh.ready().join());
+        fresh.ready().join();
+
+        verify(client, times(3)).sendCommand(eq("browsingContext.getTree"), isNull());
+    }
+
+    @Test
+    void get_findsTopLevelAndNestedContexts() {
+        assertEquals("https://example.com", cache.get("tab-1").getUrl());
+        assertEquals("tab-1", cache.get("frame-1").getParent());
+        assertEquals(List.of("frame-1"), ids(cache.getChildren("tab-1")));
+        assertEquals(List.of("tab-1"), ids(cache.getTopLevelContexts()));
+    }
+
+    @Test
+    void contextCreated_addsContext() {
+        handlers.get("browsingContext.contextCreated")
+                .accept(context("tab-2", "about:blank", new JsonArray()));
+
+        assertTrue(cache.contains("tab-2"));
+        assertEquals(List.of("tab-1", "tab-2"), ids(cache.getTopLevelContexts()));
+    }
+
+    @Test
+    void contextDestroyed_removesContextAndFrames() {
+        JsonObject params = new JsonObject();
+        params.addProperty("context", "tab-1");
+        handlers.get("browsingContext.contextDestroyed").accept(params);
+
+        assertNull(cache.get("tab-1"));
+        assertNull(cache.get("frame-1"));
+        assertTrue(cache.getTopLevelContexts().isEmpty());
+    }
+
+    @Test
+    void contextCreated_afterDestroyed_isIgnored() {
+        JsonObject params = new JsonObject();
+        params.addProperty("context", "tab-3");
+        handlers.get("browsingContext.contextDestroyed").accept(params);
+        handlers.get("browsingContext.contextCreated")
+                .accept(context("tab-3", "about:blank", new JsonArray()));
+
+        assertFalse(cache.contains("tab-3"));
+    }
+
+    @Test
+    void load_updatesUrl() {
+        JsonObject params = new JsonObject();
+        params.addProperty("context", "tab-1");
+        params.addProperty("url", "https://example.com/next");
+        handlers.get("browsingContext.load").accept(params);
+
+        assertEquals("https://example.com/next", cache.get("tab-1").getUrl());
+    }
+
+    @Test
+    void navigationStarted_updatesUrlBeforeLoad() {
+        JsonObject params = new JsonObject();
+        params.addProperty("context", "tab-1");
+        params.addProperty("url", "https://other.test/");
+        handlers.get("browsingContext.navigationStarted").accept(params);
+
+        assertEquals("https://other.test/", cache.get("tab-1").getUrl());
+    }
+
+    private static List<String> ids(List<BrowsingContextInfo> infos) {
+        return infos.stream().map(BrowsingContextInfo::getContext).collect(Collectors.toList());
+    }
+
+    private static JsonObject context(String id, String url, JsonArray children) {
+        JsonObject info = new JsonObject();
+        info.addProperty("context", id);
+        info.addProperty("url", url);
+        info.add("children", children);
+        return info;
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Bytes}.
+ */
+class BytesTest {
+
+    @Test
+    void decode_stringAndBase64Values_returnContent() {
+        assertArrayEquals("héllo".getBytes(StandardCharsets.UTF_8), Bytes.decode(value("string", "héllo")));
+        assertArrayEquals(new byte[]{0, 1, (byte) 0xFF}, Bytes.decode(value("base64", "AAH/")));
+    }
+
+    @Test
+    void headerValue_base64Value_readsLatin1() {
+        assertEquals("café", Bytes.headerValue(value("base64", "Y2Fm6Q==")));
+        assertEquals("text/css", Bytes.headerValue(value("string", "text/css")));
+    }
+
+    @Test
+    void digest_knownInput_returnsLowercaseHex() {
+        byte[] abc = "abc".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d", Bytes.digest("SHA-1", abc));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                Bytes.digest("SHA-256", abc));
+        assertThrows(IllegalStateException.class, () -> Bytes.digest("NO-SUCH", abc));
+    }
+
+    private static JsonObject value(String type, String value) {
+        JsonObject bytes = new JsonObject();
+        bytes.addProperty("type", type);
+        bytes.addProperty("value", value);
+        return bytes;
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import io.github.ashwithpoojary98.vibium.model.ConsoleEntry;
+import io.github.ashwithpoojary98.vibium.options.ConsoleOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ConsoleCollector}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConsoleCollectorTest {
+
+    @Mock
+    private BiDiClient client;
+
+    @Mock
+    private BrowsingContextCache contexts;
+
+    private Consumer<JsonObject> onEntry;
+
+    @BeforeEach
+    void setUp() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void onEntry_keepsEntriesOfSessionAtOrAboveMinLevel() {
+        ConsoleCollector collector = start(ConsoleOptions.builder().minLevel(ConsoleEntry.Level.INFO).build());
+
+        onEntry.accept(entry("debug", "ctx-1", "noise"));
+        onEntry.accept(entry("warn", "ctx-1", "careful"));
+        onEntry.accept(entry("error", "ctx-other", "not ours"));
+
+        List<ConsoleEntry> entries = collector.getEntries();
+        assertEquals(1, entries.size());
+        assertEquals(ConsoleEntry.Level.WARN, entries.get(0).getLevel());
+        assertEquals("careful", entries.get(0).getText());
+        assertEquals("https://example.com/app.js", entries.get(0).getUrl());
+        assertEquals(41, entries.get(0).getLineNumber());
+    }
+
+    @Test
+    void onEntry_fromChildFrame_isKept() {
+        when(contexts.get("frame-1")).thenReturn(
+                new BrowsingContextInfo("frame-1", "about:blank",
+                        List.of(), "ctx-1"));
+        ConsoleCollector collector = start(ConsoleOptions.builder().build());
+
+        onEntry.accept(entry("info", "frame-1", "from frame"));
+
+        assertEquals("from frame", collector.getEntries().get(0).getText());
+    }
+
+    @Test
+    void onEntry_overCapacity_keepsMostRecent() {
+        ConsoleCollector collector = start(ConsoleOptions.builder().capacity(2).build());
+
+        for (int i = 0; i < 5; i++) {
+            onEntry.accept(entry("info", "ctx-1", "m" + i));
+        }
+
+        List<ConsoleEntry> entries = collector.getEntries();
+        assertEquals(List.of("m3", "m4"), List.of(entries.get(0).getText(), entries.get(1).getText()));
+        assertEquals(3, collector.getOverwritten());
+    }
+
+    @Test
+    void close_unregistersHandler() {
+        ConsoleCollector collector = start(ConsoleOptions.builder().build());
+
+        collector.close();
+
+        verify(client).off("log.entryAdded", onEntry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConsoleCollector start(ConsoleOptions options) {
+        ConsoleCollector collector = ConsoleCollector.start(client, "ctx-1", contexts, options).join();
+        ArgumentCaptor<Consumer<JsonObject>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(client).onInline(eq("log.entryAdded"), captor.capture());
+        onEntry = captor.getValue();
+        return collector;
+    }
+
+    private static JsonObject entry(String level, String context, String text) {
+        JsonObject frame = new JsonObject();
+        frame.addProperty("url", "https://example.com/app.js");
+        frame.addProperty("functionName", "run");
+        frame.addProperty("lineNumber", 41);
+        frame.addProperty("columnNumber", 3);
+        JsonArray frames = new JsonArray();
+        frames.add(frame);
+        JsonObject stackTrace = new JsonObject();
+        stackTrace.add("callFrames", frames);
+        JsonObject source = new JsonObject();
+        source.addProperty("realm", "realm-1");
+        source.addProperty("context", context);
+        JsonObject params = new JsonObject();
+        params.addProperty("type", "console");
+        params.addProperty("method", "log");
+        params.addProperty("level", level);
+        params.addProperty("text", text);
+        params.addProperty("timestamp", 1000);
+        params.add("source", source);
+        params.add("stackTrace", stackTrace);
+        return params;
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ContentStore}.
+ */
+class ContentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void put_thenGet_returnsValueAndMetadata() throws IOException {
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            store.put("a", bytes("hello"), meta("text/plain"));
+
+            ContentStore.Entry entry = store.get("a");
+            assertEquals("hello", new String(store.read(entry), StandardCharsets.UTF_8));
+            assertEquals("text/plain", entry.getMetadata().get("type").getAsString());
+            assertEquals(5, store.getTotalBytes());
+        }
+    }
+
+    @Test
+    void put_sameContentUnderTwoKeys_storesOneBlob() throws IOException {
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            store.put("a", bytes("shared"), meta("x"));
+            store.put("b", bytes("shared"), meta("y"));
+
+            assertEquals(2, store.size());
+            assertEquals(6, store.getTotalBytes());
+            assertEquals(1, blobCount());
+        }
+    }
+
+    @Test
+    void put_replacingWithSameContent_keepsBlob() throws IOException {
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            store.put("a", bytes("same"), meta("1"));
+            store.put("a", bytes("same"), meta("2"));
+
+            assertArrayEquals(bytes("same"), store.read(store.get("a")));
+            assertEquals("2", store.get("a").getMetadata().get("type").getAsString());
+        }
+    }
+
+    @Test
+    void put_overLimit_evictsLeastRecentlyUsed() throws IOException {
+        try (ContentStore store = new ContentStore(directory, 10)) {
+            store.put("a", bytes("aaaa"), meta("x"));
+            store.put("b", bytes("bbbb"), meta("x"));
+            store.get("a");
+            store.put("c", bytes("cccc"), meta("x"));
+
+            assertNotNull(store.get("a"));
+            assertNull(store.get("b"));
+            assertNotNull(store.get("c"));
+            assertEquals(8, store.getTotalBytes());
+            assertEquals(2, blobCount());
+        }
+    }
+
+    @Test
+    void remove_deletesUnreferencedBlob() throws IOException {
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            store.put("a", bytes("gone"), meta("x"));
+            store.remove("a");
+
+            assertNull(store.get("a"));
+            assertEquals(0, store.getTotalBytes());
+            assertEquals(0, blobCount());
+        }
+    }
+
+    @Test
+    void open_afterClose_replaysJournal() throws IOException {
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            store.put("a", bytes("one"), meta("x"));
+            store.put("b", bytes("two"), meta("y"));
+            store.remove("a");
+            store.update("b", meta("z"));
+        }
+
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            assertNull(store.get("a"));
+            assertEquals("z", store.get("b").getMetadata().get("type").getAsString());
+            assertArrayEquals(bytes("two"), store.read(store.get("b")));
+            assertEquals(1, blobCount());
+        }
+    }
+
+    @Test
+    void open_withTornJournalLine_skipsIt() throws IOException {
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            store.put("a", bytes("one"), meta("x"));
+        }
+        Files.writeString(directory.resolve("index.log"), "{\"op\":\"put\",\"key\":",
+                StandardOpenOption.APPEND);
+
+        try (ContentStore store = new ContentStore(directory, 1024)) {
+            assertEquals(1, store.size());
+        }
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> walk = Files.walk(directory.resolve("blobs"))) {
+            return walk.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static JsonObject meta(String type) {
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("type", type);
+        return metadata;
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link HostSuffixMatcher}.
+ */
+class HostSuffixMatcherTest {
+
+    @Test
+    void match_includesSubdomainsButNotLookalikes() {
+        HostSuffixMatcher matcher = new HostSuffixMatcher();
+        matcher.add("doubleclick.net", 1);
+
+        assertEquals(1, matcher.match("doubleclick.net"));
+        assertEquals(1, matcher.match("ad.g.DoubleClick.net"));
+        assertEquals(-1, matcher.match("notdoubleclick.net"));
+        assertEquals(-1, matcher.match("net"));
+    }
+
+    @Test
+    void match_returnsMostSpecificDomain() {
+        HostSuffixMatcher matcher = new HostSuffixMatcher();
+        matcher.add("example.com", 1);
+        matcher.add("*.ads.example.com", 2);
+        matcher.add(".cdn.example.com.", 3);
+
+        assertEquals(2, matcher.match("x.ads.example.com"));
+        assertEquals(3, matcher.match("cdn.example.com"));
+        assertEquals(1, matcher.match("www.example.com"));
+        assertEquals(3, matcher.size());
+    }
+
+    @Test
+    void match_withEmptyHost_returnsNoMatch() {
+        HostSuffixMatcher matcher = new HostSuffixMatcher();
+        matcher.add("example.com", 1);
+
+        assertEquals(-1, matcher.match(""));
+        assertEquals(-1, matcher.match(null));
+    }
+}
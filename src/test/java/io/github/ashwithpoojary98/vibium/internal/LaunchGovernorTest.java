@@ -0,0 +1,130 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import io.github.ashwithpoojary98.vibium.model.LaunchStats;
+import io.github.ashwithpoojary98.vibium.options.LaunchLimits;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LaunchGovernor}.
+ */
+class LaunchGovernorTest {
+
+    @Test
+    void acquire_beyondConcurrentStarts_queuesInFifoOrder() throws Exception {
+        LaunchGovernor governor = new LaunchGovernor(
+                LaunchLimits.builder().maxConcurrentStarts(1).build(), () -> 0);
+
+        CompletableFuture<LaunchGovernor.Permit> first = governor.acquire();
+        CompletableFuture<LaunchGovernor.Permit> second = governor.acquire();
+        CompletableFuture<LaunchGovernor.Permit> third = governor.acquire();
+
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertFalse(third.isDone());
+
+        first.get().release();
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+
+        second.get().release();
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    void acquire_withDefaultLimits_admitsEveryLaunch() {
+        LaunchGovernor governor = new LaunchGovernor(LaunchLimits.builder().build(), () -> 0);
+
+        for (int i = 0; i < Runtime.getRuntime().availableProcessors() + 4; i++) {
+            assertTrue(governor.acquire().isDone());
+        }
+        assertEquals(0, governor.stats().getQueued());
+    }
+
+    @Test
+    void permit_releasedTwice_onlyFreesOneSlot() throws Exception {
+        LaunchGovernor governor = new LaunchGovernor(
+                LaunchLimits.builder().maxConcurrentStarts(1).build(), () -> 0);
+
+        LaunchGovernor.Permit permit = governor.acquire().get();
+        permit.release();
+        permit.release();
+        governor.acquire();
+        CompletableFuture<LaunchGovernor.Permit> queued = governor.acquire();
+
+        assertFalse(queued.isDone());
+    }
+
+    @Test
+    void acquire_atLiveBrowserCap_waitsForBrowserToExit() throws Exception {
+        AtomicInteger live = new AtomicInteger(2);
+        LaunchGovernor governor = new LaunchGovernor(
+                LaunchLimits.builder().maxLiveBrowsers(2).build(), live::get);
+
+        CompletableFuture<LaunchGovernor.Permit> permit = governor.acquire();
+        assertFalse(permit.isDone());
+
+        live.decrementAndGet();
+        governor.drain();
+
+        assertTrue(permit.isDone());
+    }
+
+    @Test
+    void acquire_pastAdmissionTimeout_failsWithVibiumException() {
+        LaunchGovernor governor = new LaunchGovernor(LaunchLimits.builder()
+                .maxLiveBrowsers(1)
+                .admissionTimeout(Duration.ofMillis(50))
+                .build(), () -> 1);
+
+        CompletableFuture<LaunchGovernor.Permit> permit = governor.acquire();
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> permit.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(VibiumException.class, ex.getCause());
+        assertEquals(0, governor.stats().getQueued());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void acquire_withoutMemoryHeadroom_staysQueued() {
+        LaunchGovernor governor = new LaunchGovernor(LaunchLimits.builder()
+                .minAvailableMemoryBytes(Long.MAX_VALUE)
+                .pollInterval(Duration.ofMillis(10))
+                .build(), () -> 0);
+
+        CompletableFuture<LaunchGovernor.Permit> permit = governor.acquire();
+
+        assertFalse(permit.isDone());
+        assertEquals(1, governor.stats().getQueued());
+    }
+
+    @Test
+    void stats_recordAdmissionsAndWaits() throws Exception {
+        LaunchGovernor governor = new LaunchGovernor(
+                LaunchLimits.builder().maxConcurrentStarts(1).build(), () -> 0);
+
+        LaunchGovernor.Permit first = governor.acquire().get();
+        CompletableFuture<LaunchGovernor.Permit> second = governor.acquire();
+        Thread.sleep(20);
+        first.release();
+        second.get();
+
+        LaunchStats stats = governor.stats();
+        assertEquals(2, stats.getAdmitted());
+        assertEquals(1, stats.getStarting());
+        assertEquals(0, stats.getQueued());
+        assertTrue(stats.getMaxWait().toMillis() >= 20);
+        assertTrue(stats.getAverageWait().compareTo(stats.getMaxWait()) <= 0);
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LocalValues}.
+ */
+class LocalValuesTest {
+
+    @Test
+    void of_primitives() {
+        assertEquals("null", LocalValues.of(null).get("type").getAsString());
+        assertEquals("hi", LocalValues.of("hi").get("value").getAsString());
+        assertEquals("boolean", LocalValues.of(true).get("type").getAsString());
+        assertEquals(3, LocalValues.of(3).get("value").getAsInt());
+        assertEquals("bigint", LocalValues.of(BigInteger.TEN).get("type").getAsString());
+    }
+
+    @Test
+    void of_specialNumbers_usesStringForm() {
+        assertEquals("NaN", LocalValues.of(Double.NaN).get("value").getAsString());
+        assertEquals("-Infinity", LocalValues.of(Double.NEGATIVE_INFINITY).get("value").getAsString());
+        assertEquals("-0", LocalValues.of(-0.0).get("value").getAsString());
+        assertEquals(0, LocalValues.of(0).get("value").getAsInt());
+    }
+
+    @Test
+    void of_listAndArray_encodeArrays() {
+        JsonObject list = LocalValues.of(List.of("a", 1));
+        JsonObject array = LocalValues.of(new int[]{1, 2, 3});
+
+        assertEquals("array", list.get("type").getAsString());
+        assertEquals(2, list.getAsJsonArray("value").size());
+        assertEquals(3, array.getAsJsonArray("value").size());
+    }
+
+    @Test
+    void of_mapWithStringKeys_encodesObject() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "x");
+        map.put("tags", List.of("a"));
+
+        JsonObject local = LocalValues.of(map);
+
+        assertEquals("object", local.get("type").getAsString());
+        JsonArray first = local.getAsJsonArray("value").get(0).getAsJsonArray();
+        assertEquals("name", first.get(0).getAsString());
+        assertEquals("x", first.get(1).getAsJsonObject().get("value").getAsString());
+    }
+
+    @Test
+    void of_mapWithOtherKeys_encodesMap() {
+        JsonObject local = LocalValues.of(Map.of(1, "one"));
+
+        assertEquals("map", local.get("type").getAsString());
+    }
+
+    @Test
+    void of_handle_encodesReference() {
+        Object handle = new Object();
+
+        JsonObject local = LocalValues.of(List.of(handle), v -> v == handle ? "n-1" : null);
+
+        JsonObject reference = local.getAsJsonArray("value").get(0).getAsJsonObject();
+        assertEquals("n-1", reference.get("sharedId").getAsString());
+    }
+
+    @Test
+    void of_unsupportedType_throws() {
+        assertThrows(IllegalArgumentException.class, () -> LocalValues.of(new Object()));
+    }
+}
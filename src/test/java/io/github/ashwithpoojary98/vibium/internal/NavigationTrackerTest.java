@@ -0,0 +1,121 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link NavigationTracker}.
+ */
+@ExtendWith(MockitoExtension.class)
+class NavigationTrackerTest {
+
+    private static final Duration QUIET = Duration.ofMillis(50);
+
+    @Mock
+    private BiDiClient client;
+
+    @Mock
+    private BrowsingContextCache contexts;
+
+    private NavigationTracker tracker;
+    private Consumer<JsonObject> started;
+    private Consumer<JsonObject> finished;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        tracker = NavigationTracker.start(client, "ctx-1", contexts, true, QUIET, 0).join();
+
+        ArgumentCaptor<Consumer<JsonObject>> startCaptor = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<Consumer<JsonObject>> finishCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(client).on(eq("network.beforeRequestSent"), startCaptor.capture());
+        verify(client).on(eq("network.responseCompleted"), finishCaptor.capture());
+        started = startCaptor.getValue();
+        finished = finishCaptor.getValue();
+    }
+
+    @Test
+    void awaitNetworkIdle_withNoRequests_completesAfterQuietPeriod() throws Exception {
+        CompletableFuture<Void> idle = tracker.awaitNetworkIdle();
+
+        idle.get(5, TimeUnit.SECONDS);
+
+        assertNotNull(tracker.result("nav", "url").getNetworkIdle());
+    }
+
+    @Test
+    void awaitNetworkIdle_waitsForInflightRequests() throws Exception {
+        started.accept(request("ctx-1", "r1"));
+        CompletableFuture<Void> idle = tracker.awaitNetworkIdle();
+
+        Thread.sleep(QUIET.toMillis() * 3);
+        assertFalse(idle.isDone());
+        assertEquals(1, tracker.getInflightCount());
+
+        finished.accept(request("ctx-1", "r1"));
+        idle.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void requests_finishedBeforeStartEvent_areNotCounted() {
+        finished.accept(request("ctx-1", "r1"));
+        started.accept(request("ctx-1", "r1"));
+
+        assertEquals(0, tracker.getInflightCount());
+    }
+
+    @Test
+    void requests_ofOtherContexts_areIgnored() {
+        started.accept(request("ctx-2", "r1"));
+
+        assertEquals(0, tracker.getInflightCount());
+    }
+
+    @Test
+    void requests_ofChildFrames_areCounted() {
+        when(contexts.get("frame-2")).thenReturn(new BrowsingContextInfo("frame-2", "about:blank", List.of(), "frame-1"));
+        when(contexts.get("frame-1")).thenReturn(new BrowsingContextInfo("frame-1", "about:blank", List.of(), "ctx-1"));
+
+        started.accept(request("frame-2", "r1"));
+        assertEquals(1, tracker.getInflightCount());
+
+        finished.accept(request("frame-2", "r1"));
+        assertEquals(0, tracker.getInflightCount());
+    }
+
+    @Test
+    void close_removesHandlers() {
+        tracker.close();
+
+        verify(client).off(eq("network.beforeRequestSent"), any());
+        verify(client).off(eq("browsingContext.domContentLoaded"), any());
+    }
+
+    private static JsonObject request(String context, String id) {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", id);
+        JsonObject params = new JsonObject();
+        params.addProperty("context", context);
+        params.add("request", request);
+        return params;
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the persistent process registry in {@link ProcessManager}.
+ */
+class ProcessManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Process sleeper;
+
+    @AfterEach
+    void cleanup() {
+        if (sleeper != null) {
+            sleeper.destroyForcibly();
+        }
+    }
+
+    @Test
+    void registryEntry_formatAndParse_roundTrip() {
+        ProcessManager.RegistryEntry entry = new ProcessManager.RegistryEntry(10, 15, 20, 30);
+
+        Optional<ProcessManager.RegistryEntry> parsed = ProcessManager.RegistryEntry.parse(entry.format());
+
+        assertTrue(parsed.isPresent());
+        assertEquals(10, parsed.get().ownerPid);
+        assertEquals(15, parsed.get().ownerStartMillis);
+        assertEquals(20, parsed.get().clickerPid);
+        assertEquals(30, parsed.get().startMillis);
+    }
+
+    @Test
+    void registryEntry_parse_rejectsMalformedLines() {
+        assertFalse(ProcessManager.RegistryEntry.parse("").isPresent());
+        assertFalse(ProcessManager.RegistryEntry.parse("1 2").isPresent());
+        assertFalse(ProcessManager.RegistryEntry.parse("a b c").isPresent());
+        assertFalse(ProcessManager.RegistryEntry.parse("10 20 30").isPresent());
+        assertFalse(ProcessManager.RegistryEntry.parse("10 15 20 30 40").isPresent());
+    }
+
+    @Test
+    void recordEntry_withCorruptLines_dropsThem() throws Exception {
+        Path registry = tempDir.resolve("processes.registry");
+        Files.writeString(registry, "10 20 30\ngarbage\n");
+        ProcessManager.RegistryEntry entry = new ProcessManager.RegistryEntry(10, 15, 20, 30);
+
+        ProcessManager.recordEntry(registry, entry);
+
+        assertEquals(List.of(entry.format()), Files.readAllLines(registry));
+    }
+
+    @Test
+    void reapOrphans_withLiveOwner_keepsEntry() throws Exception {
+        Path registry = tempDir.resolve("processes.registry");
+        long self = ProcessHandle.current().pid();
+        long selfStart = ProcessManager.startMillis(ProcessHandle.current());
+        ProcessManager.recordEntry(registry, new ProcessManager.RegistryEntry(self, selfStart, self, 0));
+
+        int reaped = ProcessManager.reapOrphans(registry);
+
+        assertEquals(0, reaped);
+        assertEquals(List.of(self + " " + selfStart + " " + self + " 0"), Files.readAllLines(registry));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void reapOrphans_withReusedOwnerPid_killsTree() throws Exception {
+        Path registry = tempDir.resolve("processes.registry");
+        sleeper = new ProcessBuilder("sleep", "60").start();
+        long start = ProcessManager.startMillis(sleeper.toHandle());
+        ProcessManager.recordEntry(registry,
+                new ProcessManager.RegistryEntry(ProcessHandle.current().pid(), 1L, sleeper.pid(), start));
+
+        int reaped = ProcessManager.reapOrphans(registry);
+
+        assertEquals(1, reaped);
+        assertTrue(sleeper.waitFor(5, TimeUnit.SECONDS));
+        assertTrue(Files.readAllLines(registry).isEmpty());
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void reapOrphans_withDeadOwner_killsTreeAndDropsEntry() throws Exception {
+        Path registry = tempDir.resolve("processes.registry");
+        sleeper = new ProcessBuilder("sleep", "60").start();
+        long start = ProcessManager.startMillis(sleeper.toHandle());
+        ProcessManager.recordEntry(registry,
+                new ProcessManager.RegistryEntry(deadPid(), 0, sleeper.pid(), start));
+
+        int reaped = ProcessManager.reapOrphans(registry);
+
+        assertEquals(1, reaped);
+        assertTrue(sleeper.waitFor(5, TimeUnit.SECONDS));
+        assertTrue(Files.readAllLines(registry).isEmpty());
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void reapOrphans_withReusedPid_doesNotKill() throws Exception {
+        Path registry = tempDir.resolve("processes.registry");
+        sleeper = new ProcessBuilder("sleep", "60").start();
+        ProcessManager.recordEntry(registry,
+                new ProcessManager.RegistryEntry(deadPid(), 0, sleeper.pid(), 1L));
+
+        int reaped = ProcessManager.reapOrphans(registry);
+
+        assertEquals(0, reaped);
+        assertTrue(sleeper.isAlive());
+        assertTrue(Files.readAllLines(registry).isEmpty());
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void register_processExitsWithoutStop_isUnregistered() throws Exception {
+        sleeper = new ProcessBuilder("sleep", "60").start();
+        int before = ProcessManager.getActiveCount();
+        new ClickerProcess(sleeper, 0);
+        assertEquals(before + 1, ProcessManager.getActiveCount());
+
+        sleeper.destroyForcibly().onExit().get(5, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ProcessManager.getActiveCount() > before && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(before, ProcessManager.getActiveCount());
+    }
+
+    private static long deadPid() throws Exception {
+        Process process = new ProcessBuilder("true").start();
+        process.waitFor();
+        return process.pid();
+    }
+}
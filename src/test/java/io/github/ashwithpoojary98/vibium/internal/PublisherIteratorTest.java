@@ -0,0 +1,78 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PublisherIterator}.
+ */
+class PublisherIteratorTest {
+
+    @Test
+    void next_requestsInBatches() {
+        FakePublisher publisher = new FakePublisher();
+        PublisherIterator<Integer> iterator = new PublisherIterator<>(publisher, 4);
+        assertEquals(List.of(4L), publisher.requests);
+
+        for (int i = 0; i < 4; i++) {
+            publisher.subscriber.onNext(i);
+        }
+        publisher.subscriber.onComplete();
+
+        List<Integer> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+
+        assertEquals(List.of(0, 1, 2, 3), items);
+        assertEquals(List.of(4L, 2L, 2L), publisher.requests);
+    }
+
+    @Test
+    void hasNext_afterError_throws() {
+        FakePublisher publisher = new FakePublisher();
+        PublisherIterator<Integer> iterator = new PublisherIterator<>(publisher, 2);
+
+        publisher.subscriber.onError(new VibiumException("Script error: boom"));
+
+        assertThrows(VibiumException.class, iterator::hasNext);
+    }
+
+    @Test
+    void close_cancelsSubscription() {
+        FakePublisher publisher = new FakePublisher();
+        PublisherIterator<Integer> iterator = new PublisherIterator<>(publisher, 2);
+
+        iterator.close();
+
+        assertTrue(publisher.cancelled);
+        assertFalse(iterator.hasNext());
+    }
+
+    private static final class FakePublisher implements Flow.Publisher<Integer> {
+
+        final List<Long> requests = new ArrayList<>();
+        Flow.Subscriber<? super Integer> subscriber;
+        boolean cancelled;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RemoteValues}.
+ */
+class RemoteValuesTest {
+
+    @Test
+    void decode_primitives() {
+        assertNull(RemoteValues.decode(json("{\"type\":\"undefined\"}")));
+        assertNull(RemoteValues.decode(json("{\"type\":\"null\"}")));
+        assertEquals("hi", RemoteValues.decode(json("{\"type\":\"string\",\"value\":\"hi\"}")));
+        assertEquals(true, RemoteValues.decode(json("{\"type\":\"boolean\",\"value\":true}")));
+        assertEquals(1.5, RemoteValues.decode(json("{\"type\":\"number\",\"value\":1.5}")));
+    }
+
+    @Test
+    void decode_specialNumbers() {
+        assertTrue(Double.isNaN((Double) RemoteValues.decode(json("{\"type\":\"number\",\"value\":\"NaN\"}"))));
+        assertEquals(Double.NEGATIVE_INFINITY,
+                RemoteValues.decode(json("{\"type\":\"number\",\"value\":\"-Infinity\"}")));
+    }
+
+    @Test
+    void decode_arrayAndObject() {
+        Object decoded = RemoteValues.decode(json("{\"type\":\"object\",\"value\":["
+                + "[\"name\",{\"type\":\"string\",\"value\":\"x\"}],"
+                + "[\"items\",{\"type\":\"array\",\"value\":[{\"type\":\"number\",\"value\":1}]}]]}"));
+
+        Map<?, ?> map = (Map<?, ?>) decoded;
+        assertEquals("x", map.get("name"));
+        assertEquals(List.of(1.0), map.get("items"));
+    }
+
+    @Test
+    void sharedId_readsNodeReference() {
+        assertEquals("node-1", RemoteValues.sharedId(json("{\"type\":\"node\",\"sharedId\":\"node-1\"}")));
+        assertNull(RemoteValues.sharedId(json("{\"type\":\"string\",\"value\":\"x\"}")));
+    }
+
+    @Test
+    void result_withException_throws() {
+        JsonObject response = json("{\"result\":{\"type\":\"exception\","
+                + "\"exceptionDetails\":{\"text\":\"ReferenceError: x is not defined\"}}}");
+
+        VibiumException ex = assertThrows(VibiumException.class, () -> RemoteValues.result(response));
+        assertTrue(ex.getMessage().contains("ReferenceError"));
+    }
+
+    @Test
+    void decodeAs_primitiveTypes() {
+        assertEquals(42, RemoteValues.decode(json("{\"type\":\"number\",\"value\":42}"), int.class));
+        assertEquals(42L, RemoteValues.decode(json("{\"type\":\"number\",\"value\":42}"), Long.class));
+        assertEquals("x", RemoteValues.decode(json("{\"type\":\"string\",\"value\":\"x\"}"), String.class));
+        assertEquals(Boolean.TRUE, RemoteValues.decode(json("{\"type\":\"boolean\",\"value\":true}"), Boolean.class));
+        assertNull(RemoteValues.decode(json("{\"type\":\"undefined\"}"), String.class));
+    }
+
+    @Test
+    void decodeAs_fractionalNumberToInteger_throws() {
+        assertThrows(VibiumException.class,
+                () -> RemoteValues.decode(json("{\"type\":\"number\",\"value\":1.5}"), int.class));
+    }
+
+    @Test
+    void decodeAs_numberOutOfRange_throws() {
+        assertThrows(VibiumException.class,
+                () -> RemoteValues.decode(json("{\"type\":\"number\",\"value\":3000000000}"), Integer.class));
+        assertThrows(VibiumException.class,
+                () -> RemoteValues.decode(json("{\"type\":\"number\",\"value\":\"Infinity\"}"), long.class));
+        assertThrows(VibiumException.class,
+                () -> RemoteValues.decode(json("{\"type\":\"number\",\"value\":\"NaN\"}"), Short.class));
+        assertEquals(3000000000L,
+                RemoteValues.decode(json("{\"type\":\"number\",\"value\":3000000000}"), Long.class));
+    }
+
+    @Test
+    void decodeAs_bean_bindsObjectFields() {
+        Point point = RemoteValues.decode(json("{\"type\":\"object\",\"value\":["
+                + "[\"x\",{\"type\":\"number\",\"value\":3}],"
+                + "[\"label\",{\"type\":\"string\",\"value\":\"a\"}]]}"), Point.class);
+
+        assertEquals(3, point.x);
+        assertEquals("a", point.label);
+    }
+
+    @Test
+    void decodeAs_array_bindsJavaArray() {
+        int[] values = RemoteValues.decode(json("{\"type\":\"array\",\"value\":["
+                + "{\"type\":\"number\",\"value\":1},{\"type\":\"number\",\"value\":2}]}"), int[].class);
+
+        assertArrayEquals(new int[]{1, 2}, values);
+    }
+
+    @Test
+    void toJson_keepsNodeReferences() {
+        JsonObject node = json("{\"type\":\"node\",\"sharedId\":\"n-1\"}");
+
+        assertSame(node, RemoteValues.toJson(node));
+    }
+
+    static final class Point {
+        int x;
+        String label;
+    }
+
+    private static JsonObject json(String text) {
+        return JsonParser.parseString(text).getAsJsonObject();
+    }
+}
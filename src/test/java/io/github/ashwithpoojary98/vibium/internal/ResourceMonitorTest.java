@@ -0,0 +1,62 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import io.github.ashwithpoojary98.vibium.model.ResourceUsage;
+import io.github.ashwithpoojary98.vibium.options.ResourceLimits;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ResourceMonitor}.
+ */
+class ResourceMonitorTest {
+
+    @Test
+    void sample_currentProcess_countsAtLeastItself() {
+        ResourceUsage usage = ResourceMonitor.sample(ProcessHandle.current());
+
+        assertTrue(usage.getProcessCount() >= 1);
+        assertNotNull(usage.getCpuTime());
+        assertNotNull(usage.getSampledAt());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void sample_onLinux_readsMemoryAndFiles() {
+        ResourceUsage usage = ResourceMonitor.sample(ProcessHandle.current());
+
+        assertTrue(usage.getRssBytes() > 0);
+        assertTrue(usage.getOpenFiles() > 0);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void readRssBytes_forMissingProcess_returnsMinusOne() {
+        assertEquals(-1, ResourceMonitor.readRssBytes(Long.MAX_VALUE));
+        assertEquals(-1, ResourceMonitor.countOpenFiles(Long.MAX_VALUE));
+    }
+
+    @Test
+    void watch_deadProcess_cancelsItself() throws InterruptedException {
+        ClickerProcess process = mock(ClickerProcess.class);
+        when(process.isAlive()).thenReturn(false);
+
+        ScheduledFuture<?> task = ResourceMonitor.watch(process,
+                ResourceLimits.builder().sampleInterval(Duration.ofMillis(10)).build());
+
+        for (int i = 0; i < 200 && !task.isCancelled(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(task.isCancelled());
+        verify(process, never()).sampleResources();
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RingBuffer}.
+ */
+class RingBufferTest {
+
+    @Test
+    void constructor_roundsCapacityUpToPowerOfTwo() {
+        assertEquals(8, new RingBuffer<String>(5).capacity());
+        assertEquals(1, new RingBuffer<String>(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(0));
+    }
+
+    @Test
+    void snapshot_belowCapacity_returnsAllInOrder() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        ring.add(1);
+        ring.add(2);
+
+        assertEquals(List.of(1, 2), ring.snapshot());
+        assertEquals(0, ring.getOverwritten());
+    }
+
+    @Test
+    void add_whenFull_overwritesOldest() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 10; i++) {
+            ring.add(i);
+        }
+
+        assertEquals(List.of(6, 7, 8, 9), ring.snapshot());
+        assertEquals(10, ring.getTotal());
+        assertEquals(6, ring.getOverwritten());
+    }
+
+    @Test
+    void clear_hidesEarlierItems() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        ring.add(1);
+        ring.clear();
+        ring.add(2);
+
+        assertEquals(List.of(2), ring.snapshot());
+    }
+
+    @Test
+    void snapshot_duringConcurrentWrites_isOrderedAndRecent() throws InterruptedException {
+        RingBuffer<Long> ring = new RingBuffer<>(64);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> problem = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            started.countDown();
+            for (long i = 0; running.get(); i++) {
+                ring.add(i);
+            }
+        });
+        writer.start();
+        started.await();
+
+        for (int round = 0; round < 10_000 && problem.get() == null; round++) {
+            List<Long> snapshot = ring.snapshot();
+            for (int i = 1; i < snapshot.size(); i++) {
+                if (snapshot.get(i) <= snapshot.get(i - 1)) {
+                    problem.set("out of order: " + snapshot);
+                }
+            }
+            if (snapshot.size() > 64) {
+                problem.set("too many items: " + snapshot.size());
+            }
+        }
+        running.set(false);
+        writer.join();
+
+        assertNull(problem.get());
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.model.Box;
+import io.github.ashwithpoojary98.vibium.options.ScreenshotOptions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Screenshots}.
+ */
+class ScreenshotsTest {
+
+    @Test
+    void params_withDefaults_onlySetsContext() {
+        JsonObject params = Screenshots.params("ctx-1", ScreenshotOptions.builder().build());
+
+        assertEquals("ctx-1", params.get("context").getAsString());
+        assertEquals(1, params.size());
+    }
+
+    @Test
+    void params_withJpegClipBox_setsFormatAndClip() {
+        JsonObject params = Screenshots.params("ctx-1", ScreenshotOptions.builder()
+                .clip(new Box(10, 20, 200, 50))
+                .origin(ScreenshotOptions.Origin.DOCUMENT)
+                .format(ScreenshotOptions.Format.JPEG)
+                .quality(0.6)
+                .build());
+
+        assertEquals("document", params.get("origin").getAsString());
+        assertEquals("image/jpeg", params.getAsJsonObject("format").get("type").getAsString());
+        assertEquals(0.6, params.getAsJsonObject("format").get("quality").getAsDouble());
+        JsonObject clip = params.getAsJsonObject("clip");
+        assertEquals("box", clip.get("type").getAsString());
+        assertEquals(200, clip.get("width").getAsDouble());
+    }
+
+    @Test
+    void params_withClipElement_referencesNode() {
+        JsonObject params = Screenshots.params("ctx-1", ScreenshotOptions.builder()
+                .clipElement("n-1")
+                .build());
+
+        JsonObject clip = params.getAsJsonObject("clip");
+        assertEquals("element", clip.get("type").getAsString());
+        assertEquals("n-1", clip.getAsJsonObject("element").get("sharedId").getAsString());
+    }
+}
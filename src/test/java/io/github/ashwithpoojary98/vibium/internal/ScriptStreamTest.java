@@ -0,0 +1,227 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.exception.VibiumException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ScriptStream}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScriptStreamTest {
+
+    @Mock
+    private BiDiClient client;
+
+    private final List<JsonObject> calls = new ArrayList<>();
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+    private Consumer<JsonObject> handler;
+    private String channel;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(eq("script.callFunction"), any())).thenAnswer(invocation -> {
+            calls.add(invocation.getArgument(1));
+            JsonObject evaluateResult = new JsonObject();
+            evaluateResult.addProperty("type", "success");
+            JsonObject undefined = new JsonObject();
+            undefined.addProperty("type", "undefined");
+            evaluateResult.add("result", undefined);
+            evaluateResult.addProperty("realm", "realm-1");
+            JsonObject response = new JsonObject();
+            response.add("result", evaluateResult);
+            return CompletableFuture.completedFuture(response);
+        });
+
+        new ScriptStream<>(client, CompletableFuture.completedFuture("ctx-1"),
+                "async (emit) => {}", String.class).subscribe(subscriber);
+
+        ArgumentCaptor<Consumer<JsonObject>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(client).on(eq("script.message"), captor.capture());
+        handler = captor.getValue();
+        channel = calls.get(0).getAsJsonArray("arguments").get(0).getAsJsonObject()
+                .getAsJsonObject("value").get("channel").getAsString();
+    }
+
+    @Test
+    void subscribe_startsFunctionWithoutAwaitingIt() {
+        JsonObject start = calls.get(0);
+
+        assertFalse(start.get("awaitPromise").getAsBoolean());
+        assertEquals("channel", start.getAsJsonArray("arguments").get(0).getAsJsonObject().get("type").getAsString());
+    }
+
+    @Test
+    void request_grantsCreditToPage() {
+        subscriber.subscription.request(5);
+
+        JsonObject grant = calls.get(calls.size() - 1);
+        assertEquals(PageScripts.GRANT_STREAM, grant.get("functionDeclaration").getAsString());
+        assertEquals(5, grant.getAsJsonArray("arguments").get(1).getAsJsonObject().get("value").getAsInt());
+    }
+
+    @Test
+    void messages_outOfOrder_areDeliveredInOrder() {
+        handler.accept(message(1, "item", string("b")));
+        handler.accept(message(2, "done", bool()));
+        assertTrue(subscriber.items.isEmpty());
+
+        handler.accept(message(0, "item", string("a")));
+
+        assertEquals(List.of("a", "b"), subscriber.items);
+        assertTrue(subscriber.completed);
+        verify(client).off(eq("script.message"), any());
+    }
+
+    @Test
+    void messages_fromOtherChannel_areIgnored() {
+        JsonObject other = message(0, "item", string("x"));
+        other.addProperty("channel", "other");
+
+        handler.accept(other);
+
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    void errorMessage_failsSubscriber() {
+        handler.accept(message(0, "error", string("TypeError: boom")));
+
+        assertInstanceOf(VibiumException.class, subscriber.error);
+        assertTrue(subscriber.error.getMessage().contains("boom"));
+    }
+
+    @Test
+    void cancel_stopsPageFunction() {
+        subscriber.subscription.cancel();
+        handler.accept(message(0, "item", string("late")));
+
+        verify(client, atLeastOnce()).sendCommand(anyString(), any());
+        assertEquals(PageScripts.CANCEL_STREAM, calls.get(calls.size() - 1).get("functionDeclaration").getAsString());
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void navigationOfContext_failsSubscriber() {
+        ArgumentCaptor<Consumer<JsonObject>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(client).on(eq("browsingContext.navigationStarted"), captor.capture());
+        JsonObject other = new JsonObject();
+        other.addProperty("context", "ctx-2");
+        JsonObject navigation = new JsonObject();
+        navigation.addProperty("context", "ctx-1");
+
+        captor.getValue().accept(other);
+        assertNull(subscriber.error);
+        captor.getValue().accept(navigation);
+
+        assertInstanceOf(VibiumException.class, subscriber.error);
+        verify(client).off(eq("script.message"), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void realmDestroyed_failsSubscriber() {
+        ArgumentCaptor<Consumer<JsonObject>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(client).on(eq("script.realmDestroyed"), captor.capture());
+        JsonObject destroyed = new JsonObject();
+        destroyed.addProperty("realm", "realm-1");
+
+        captor.getValue().accept(destroyed);
+
+        assertInstanceOf(VibiumException.class, subscriber.error);
+        assertFalse(subscriber.completed);
+    }
+
+    private JsonObject message(long seq, String key, JsonObject value) {
+        JsonArray fields = new JsonArray();
+        fields.add(field("seq", number(seq)));
+        fields.add(field(key, value));
+        JsonObject data = new JsonObject();
+        data.addProperty("type", "object");
+        data.add("value", fields);
+
+        JsonObject params = new JsonObject();
+        params.addProperty("channel", channel);
+        params.add("data", data);
+        return params;
+    }
+
+    private static JsonArray field(String name, JsonObject value) {
+        JsonArray pair = new JsonArray();
+        pair.add(name);
+        pair.add(value);
+        return pair;
+    }
+
+    private static JsonObject string(String value) {
+        JsonObject remote = new JsonObject();
+        remote.addProperty("type", "string");
+        remote.addProperty("value", value);
+        return remote;
+    }
+
+    private static JsonObject number(long value) {
+        JsonObject remote = new JsonObject();
+        remote.addProperty("type", "number");
+        remote.addProperty("value", value);
+        return remote;
+    }
+
+    private static JsonObject bool() {
+        JsonObject remote = new JsonObject();
+        remote.addProperty("type", "boolean");
+        remote.addProperty("value", true);
+        return remote;
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<String> {
+
+        final List<String> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
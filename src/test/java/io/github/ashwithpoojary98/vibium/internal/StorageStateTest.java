@@ -0,0 +1,84 @@
+package io.github.ashwithpoojary98.vibium.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StorageState}.
+ */
+class StorageStateTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void write_thenRead_keepsCookiesAndOrigins() throws IOException {
+        Path file = dir.resolve("state.json");
+        new StorageState(cookies(), origins()).write(file);
+
+        StorageState state = StorageState.read(file);
+
+        assertEquals(1, state.getCookieCount());
+        assertEquals(1, state.getOriginCount());
+        assertTrue(state.hasWebStorage());
+        assertTrue(state.restorer().contains("https://a.test"));
+    }
+
+    @Test
+    void restorer_marksLocalAndSessionStorageWithStateDigest() {
+        String restorer = new StorageState(cookies(), origins()).restorer();
+        String token = Bytes.digest("SHA-1", origins().toString().getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(restorer.contains("restore(localStorage, state.localStorage)"));
+        assertTrue(restorer.contains("restore(sessionStorage, state.sessionStorage)"));
+        assertTrue(restorer.contains("'" + token + "'"));
+        assertNotEquals(restorer, new StorageState(cookies(), new JsonObject()).restorer());
+    }
+
+    @Test
+    void setCookieParams_keepsOnlySettableFields() {
+        JsonObject partition = new JsonObject();
+        partition.addProperty("type", "context");
+        partition.addProperty("context", "ctx-1");
+
+        List<JsonObject> params = new StorageState(cookies(), new JsonObject()).setCookieParams(partition);
+
+        assertEquals(1, params.size());
+        JsonObject cookie = params.get(0).getAsJsonObject("cookie");
+        assertEquals("sid", cookie.get("name").getAsString());
+        assertEquals("abc", cookie.getAsJsonObject("value").get("value").getAsString());
+        assertTrue(cookie.get("httpOnly").getAsBoolean());
+        assertFalse(cookie.has("size"));
+        assertEquals("ctx-1", params.get(0).getAsJsonObject("partition").get("context").getAsString());
+    }
+
+    @Test
+    void read_otherFile_throws() throws IOException {
+        Path file = dir.resolve("other.json");
+        Files.writeString(file, "{\"log\":{}}");
+
+        assertThrows(IOException.class, () -> StorageState.read(file));
+    }
+
+    private static JsonArray cookies() {
+        return JsonParser.parseString("[{\"name\":\"sid\",\"value\":{\"type\":\"string\",\"value\":\"abc\"},"
+                + "\"domain\":\"a.test\",\"path\":\"/\",\"size\":6,\"httpOnly\":true,\"secure\":false,"
+                + "\"sameSite\":\"lax\"}]").getAsJsonArray();
+    }
+
+    private static JsonObject origins() {
+        return JsonParser.parseString("{\"https://a.test\":{\"localStorage\":{\"token\":\"t-1\"},"
+                + "\"sessionStorage\":{}}}").getAsJsonObject();
+    }
+}
@@ -102,4 +102,21 @@ class ElementInfoTest {
         assertEquals("original", info.getTextContent());
         assertSame(box, info.getBox());
     }
+
+    @Test
+    void builder_withSharedId_setsHandle() {
+        ElementInfo info = ElementInfo.builder()
+                .tagName("div")
+                .sharedId("node-42")
+                .build();
+
+        assertEquals("node-42", info.getSharedId());
+    }
+
+    @Test
+    void builder_withoutSharedId_hasNullHandle() {
+        ElementInfo info = ElementInfo.builder().tagName("div").build();
+
+        assertNull(info.getSharedId());
+    }
 }
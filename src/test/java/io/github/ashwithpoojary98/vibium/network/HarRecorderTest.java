@@ -0,0 +1,170 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.model.HarStats;
+import io.github.ashwithpoojary98.vibium.options.HarOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link HarRecorder}.
+ */
+@ExtendWith(MockitoExtension.class)
+class HarRecorderTest {
+
+    @Mock
+    private BiDiClient client;
+
+    @TempDir
+    Path directory;
+
+    private final Map<String, Consumer<JsonObject>> handlers = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        doAnswer(invocation -> handlers.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(client).on(anyString(), any(Consumer.class));
+    }
+
+    @Test
+    void stop_afterRequests_writesValidHar() throws IOException {
+        Path file = directory.resolve("session.har");
+        HarRecorder recorder = HarRecorder.start(client, "ctx-1", file, HarOptions.builder().build()).join();
+
+        emit("network.beforeRequestSent", event("r-1", "ctx-1", "https://example.com/a?x=1&y=%20", 1000));
+        emit("network.responseStarted", event("r-1", "ctx-1", "https://example.com/a?x=1&y=%20", 1040));
+        emit("network.responseCompleted", completed("r-1", "ctx-1", 200, 1100));
+        emit("network.responseCompleted", completed("r-2", "ctx-other", 200, 1100));
+        JsonObject error = event("r-3", "ctx-1", "https://example.com/b", 1200);
+        error.addProperty("errorText", "net::ERR_NAME_NOT_RESOLVED");
+        emit("network.fetchError", error);
+
+        HarStats stats = recorder.stop().join();
+
+        assertEquals(2, stats.getEntries());
+        assertEquals(1, stats.getFailedRequests());
+        JsonObject log = JsonParser.parseString(Files.readString(file)).getAsJsonObject().getAsJsonObject("log");
+        assertEquals("1.2", log.get("version").getAsString());
+        JsonArray entries = log.getAsJsonArray("entries");
+        JsonObject entry = entries.get(0).getAsJsonObject();
+        assertEquals("1970-01-01T00:00:01Z", entry.get("startedDateTime").getAsString());
+        assertEquals(40, entry.getAsJsonObject("timings").get("wait").getAsDouble());
+        assertEquals(60, entry.getAsJsonObject("timings").get("receive").getAsDouble());
+        assertEquals(100, entry.get("time").getAsDouble());
+        assertEquals(" ", entry.getAsJsonObject("request").getAsJsonArray("queryString")
+                .get(1).getAsJsonObject().get("value").getAsString());
+        assertEquals("text/css", entry.getAsJsonObject("response").getAsJsonArray("headers")
+                .get(0).getAsJsonObject().get("value").getAsString());
+        assertEquals("net::ERR_NAME_NOT_RESOLVED", entries.get(1).getAsJsonObject().get("_failureText").getAsString());
+    }
+
+    @Test
+    void onResponseCompleted_inChildFrame_isRecorded() throws IOException {
+        Path file = directory.resolve("frames.har");
+        HarRecorder recorder = HarRecorder.start(client, "ctx-1", file, HarOptions.builder().build()).join();
+        JsonObject frame = new JsonObject();
+        frame.addProperty("context", "frame-1");
+        frame.addProperty("parent", "ctx-1");
+
+        emit("browsingContext.contextCreated", frame);
+        emit("network.responseCompleted", completed("r-1", "frame-1", 200, 1100));
+
+        assertEquals(1, recorder.stop().join().getEntries());
+    }
+
+    @Test
+    void captureBodies_spillsBodiesNextToHar() throws IOException {
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            JsonObject result = new JsonObject();
+            if ("network.addDataCollector".equals(invocation.getArgument(0))) {
+                result.addProperty("collector", "c-1");
+            } else if ("network.getData".equals(invocation.getArgument(0))) {
+                JsonObject bytes = new JsonObject();
+                bytes.addProperty("type", "base64");
+                bytes.addProperty("value", Base64.getEncoder().encodeToString(
+                        "body{color:red}".getBytes(StandardCharsets.UTF_8)));
+                result.add("bytes", bytes);
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+        Path file = directory.resolve("bodies.har");
+        HarRecorder recorder = HarRecorder.start(client, "ctx-1", file,
+                HarOptions.builder().captureBodies(true).maxBodySize(4).build()).join();
+
+        emit("network.responseCompleted", completed("r-1", "ctx-1", 200, 1100));
+        HarStats stats = recorder.stop().join();
+
+        assertEquals(1, stats.getBodies());
+        JsonObject content = JsonParser.parseString(Files.readString(file)).getAsJsonObject()
+                .getAsJsonObject("log").getAsJsonArray("entries").get(0).getAsJsonObject()
+                .getAsJsonObject("response").getAsJsonObject("content");
+        assertTrue(content.get("_truncated").getAsBoolean());
+        assertEquals("body", Files.readString(directory.resolve(content.get("_file").getAsString())));
+        verify(client).sendCommand(eq("network.removeDataCollector"), any());
+    }
+
+    private void emit(String event, JsonObject params) {
+        handlers.get(event).accept(params);
+    }
+
+    private static JsonObject event(String id, String context, String url, long timestamp) {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", id);
+        request.addProperty("url", url);
+        request.addProperty("method", "GET");
+        JsonObject params = new JsonObject();
+        params.addProperty("context", context);
+        params.addProperty("timestamp", timestamp);
+        params.add("request", request);
+        return params;
+    }
+
+    private static JsonObject completed(String id, String context, int status, long timestamp) {
+        JsonObject params = event(id, context, "https://example.com/a?x=1&y=%20", timestamp);
+        JsonObject value = new JsonObject();
+        value.addProperty("type", "string");
+        value.addProperty("value", "text/css");
+        JsonObject header = new JsonObject();
+        header.addProperty("name", "Content-Type");
+        header.add("value", value);
+        JsonArray headers = new JsonArray();
+        headers.add(header);
+        JsonObject response = new JsonObject();
+        response.addProperty("url", "https://example.com/a");
+        response.addProperty("protocol", "h2");
+        response.addProperty("status", status);
+        response.addProperty("statusText", "OK");
+        response.addProperty("mimeType", "text/css");
+        response.add("headers", headers);
+        params.add("response", response);
+        return params;
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.BrowsingContextCache;
+import io.github.ashwithpoojary98.vibium.model.BrowsingContextInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link NetworkInterceptor}.
+ */
+@ExtendWith(MockitoExtension.class)
+class NetworkInterceptorTest {
+
+    @Mock
+    private BiDiClient client;
+
+    @Mock
+    private BrowsingContextCache tree;
+
+    private Consumer<JsonObject> onRequest;
+
+    @BeforeEach
+    void setUp() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            JsonObject result = new JsonObject();
+            if ("network.addIntercept".equals(invocation.getArgument(0))) {
+                result.addProperty("intercept", "i-1");
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+    }
+
+    @Test
+    void start_scopesInterceptToContexts() {
+        start(RequestRules.builder().build());
+
+        verify(client).sendCommand(eq("network.addIntercept"), argThat(params ->
+                params.getAsJsonArray("contexts").get(0).getAsString().equals("ctx-1")
+                        && params.getAsJsonArray("phases").get(0).getAsString().equals("beforeRequestSent")));
+    }
+
+    @Test
+    void onRequest_blockedByRule_failsRequest() {
+        NetworkInterceptor interceptor = start(RequestRules.builder().blockHosts("ads.test").build());
+
+        onRequest.accept(event("r-1", "https://x.ads.test/banner", "i-1"));
+
+        verify(client, timeout(1000)).sendCommand(eq("network.failRequest"),
+                argThat(params -> "r-1".equals(params.get("request").getAsString())));
+        verify(client, never()).sendCommand(eq("network.continueRequest"), any());
+        assertEquals(1, interceptor.getInterceptedCount());
+    }
+
+    @Test
+    void onRequest_notMatched_continuesRequest() {
+        NetworkInterceptor interceptor = start(RequestRules.builder().blockHosts("ads.test").build());
+
+        onRequest.accept(event("r-2", "https://example.com/", "i-1"));
+
+        verify(client, timeout(1000)).sendCommand(eq("network.continueRequest"),
+                argThat(params -> "r-2".equals(params.get("request").getAsString())));
+        assertEquals(1, interceptor.getContinuedCount());
+    }
+
+    @Test
+    void onRequest_failingHandler_stillContinuesRequest() {
+        start(request -> {
+            throw new IllegalStateException("boom");
+        });
+
+        onRequest.accept(event("r-3", "https://example.com/", "i-1"));
+
+        verify(client, timeout(1000)).sendCommand(eq("network.continueRequest"), any());
+    }
+
+    @Test
+    void onRequest_ofOtherIntercept_isIgnored() {
+        NetworkInterceptor interceptor = start(RequestRules.builder().build());
+
+        onRequest.accept(event("r-4", "https://example.com/", "i-other"));
+
+        assertEquals(0, interceptor.getInterceptedCount());
+        verify(client, never()).sendCommand(eq("network.continueRequest"), any());
+    }
+
+    @Test
+    void onRequest_judgesThirdPartyAgainstCachedPageUrl() {
+        when(tree.get("ctx-1")).thenReturn(
+                new BrowsingContextInfo("ctx-1", "https://www.example.com/", List.of(), null));
+        RequestRules rules = RequestRules.builder().blockThirdParty().build();
+        start(rules);
+
+        onRequest.accept(event("r-6", "https://cdn.example.com/app.js", "i-1"));
+        onRequest.accept(event("r-7", "https://tracker.test/t.js", "i-1"));
+
+        verify(client, timeout(1000)).sendCommand(eq("network.failRequest"),
+                argThat(params -> "r-7".equals(params.get("request").getAsString())));
+        assertEquals(1L, rules.getHits().get("third-party"));
+    }
+
+    @Test
+    void close_removesIntercept() {
+        NetworkInterceptor interceptor = start(RequestRules.builder().build());
+
+        interceptor.close();
+
+        verify(client).off("network.beforeRequestSent", onRequest);
+        verify(client).sendCommand(eq("network.removeIntercept"),
+                argThat(params -> "i-1".equals(params.get("intercept").getAsString())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private NetworkInterceptor start(RequestHandler handler) {
+        NetworkInterceptor interceptor = NetworkInterceptor.start(client, tree, List.of("ctx-1"), List.of(handler)).join();
+        ArgumentCaptor<Consumer<JsonObject>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(client).on(eq("network.beforeRequestSent"), captor.capture());
+        onRequest = captor.getValue();
+        return interceptor;
+    }
+
+    private static JsonObject event(String id, String url, String intercept) {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", id);
+        request.addProperty("url", url);
+        request.addProperty("method", "GET");
+        JsonArray intercepts = new JsonArray();
+        intercepts.add(intercept);
+        JsonObject params = new JsonObject();
+        params.addProperty("context", "ctx-1");
+        params.addProperty("isBlocked", true);
+        params.add("intercepts", intercepts);
+        params.add("request", request);
+        return params;
+    }
+}
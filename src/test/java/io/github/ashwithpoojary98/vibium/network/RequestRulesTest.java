@@ -0,0 +1,86 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RequestRules}.
+ */
+class RequestRulesTest {
+
+    private final RequestRules rules = RequestRules.builder()
+            .allowHosts("cdn.example.com")
+            .blockResourceTypes(ResourceType.IMAGE, ResourceType.FONT)
+            .blockHosts("trackers", List.of("# comment", "doubleclick.net", "", "tracker.test"))
+            .blockUrlsContaining("/analytics.js", "/collect?")
+            .blockThirdParty(ResourceType.SCRIPT)
+            .block("posts", r -> "POST".equals(r.getMethod()))
+            .build();
+
+    @Test
+    void match_appliesRulesInOrder() {
+        assertEquals("image", rules.match(request("https://example.com/logo.png", ResourceType.IMAGE)));
+        assertEquals("trackers", rules.match(request("https://ad.doubleclick.net/x", ResourceType.OTHER)));
+        assertEquals("urls", rules.match(request("https://example.com/js/analytics.js", ResourceType.OTHER)));
+        assertEquals("third-party", rules.match(request("https://widgets.other.test/w.js", ResourceType.SCRIPT)));
+        assertNull(rules.match(request("https://static.example.com/app.js", ResourceType.SCRIPT)));
+        assertNull(rules.match(request("https://example.com/", ResourceType.DOCUMENT)));
+    }
+
+    @Test
+    void match_allowedHost_isNeverBlocked() {
+        assertNull(rules.match(request("https://cdn.example.com/logo.png", ResourceType.IMAGE)));
+    }
+
+    @Test
+    void match_customPredicate_blocks() {
+        InterceptedRequest post = new InterceptedRequest(null, "r", "ctx", "https://example.com/api", "POST",
+                ResourceType.FETCH, false, "example.com", Collections.emptyMap());
+
+        assertEquals("posts", rules.match(post));
+    }
+
+    @Test
+    void getHits_countsPerRule() {
+        rules.match(request("https://example.com/a.png", ResourceType.IMAGE));
+        rules.match(request("https://example.com/b.png", ResourceType.IMAGE));
+        rules.match(request("https://tracker.test/t", ResourceType.OTHER));
+
+        Map<String, Long> hits = rules.getHits();
+
+        assertEquals(List.of("image", "font", "trackers", "urls", "third-party", "posts"), List.copyOf(hits.keySet()));
+        assertEquals(2L, hits.get("image"));
+        assertEquals(1L, hits.get("trackers"));
+        assertEquals(0L, hits.get("urls"));
+    }
+
+    @Test
+    void build_isUnaffectedByLaterBuilderChanges() {
+        RequestRules.Builder builder = RequestRules.builder().blockHosts("tracker.test");
+        RequestRules built = builder.build();
+
+        builder.blockHosts("example.com").allowHosts("tracker.test");
+
+        assertEquals("hosts", built.match(request("https://tracker.test/t", ResourceType.OTHER)));
+        assertNull(built.match(request("https://example.com/", ResourceType.OTHER)));
+    }
+
+    @Test
+    void resourceType_fallsBackToExtension() {
+        assertEquals(ResourceType.IMAGE, ResourceType.of("", null, "https://x.test/a/b.webp?v=1"));
+        assertEquals(ResourceType.FONT, ResourceType.of(null, null, "https://x.test/f.woff2#x"));
+        assertEquals(ResourceType.FETCH, ResourceType.of("", "xmlhttprequest", "https://x.test/api"));
+        assertEquals(ResourceType.OTHER, ResourceType.of("", null, "https://x.test/v1.2/items"));
+        assertEquals(ResourceType.MEDIA, ResourceType.of("video", null, "https://x.test/stream"));
+    }
+
+    private static InterceptedRequest request(String url, ResourceType type) {
+        return new InterceptedRequest(null, "r", "ctx", url, "GET", type, false, "www.example.com",
+                Collections.emptyMap());
+    }
+}
@@ -0,0 +1,268 @@
+package io.github.ashwithpoojary98.vibium.network;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.vibium.internal.BiDiClient;
+import io.github.ashwithpoojary98.vibium.internal.ContentStore;
+import io.github.ashwithpoojary98.vibium.model.CacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ResponseCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ResponseCacheTest {
+
+    private static final String URL = "https://cdn.example.com/site.css";
+
+    @Mock
+    private BiDiClient client;
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock();
+    private ResponseCache cache;
+
+    /** Body writes handed to the cache's writer, run by {@link #drainWrites()} */
+    private final Queue<Runnable> writes = new ArrayDeque<>();
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(directory, new ContentStore(directory, 1 << 20), clock, writes::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void handle_miss_continuesAndStoresCollectedBody() {
+        answerCommands();
+        InterceptedRequest request = request("r-1", ResourceType.STYLESHEET);
+        cache.handle(request).toCompletableFuture().join();
+
+        assertTrue(request.isResolved());
+        verify(client).sendCommand(eq("network.continueRequest"), any());
+        verify(client, never()).sendCommand(eq("network.provideResponse"), any());
+
+        completed().accept(response("r-1", 200, "max-age=60"));
+        assertEquals(0, cache.getStats().getEntries());
+        drainWrites();
+
+        JsonObject getData = command("network.getData");
+        assertEquals("r-1", getData.get("request").getAsString());
+        assertEquals("c-1", getData.get("collector").getAsString());
+        assertTrue(getData.get("disown").getAsBoolean());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(1, cache.getStats().getEntries());
+    }
+
+    @Test
+    void handle_freshHit_providesStoredResponse() {
+        answerCommands();
+        cache.handle(request("r-1", ResourceType.STYLESHEET)).toCompletableFuture().join();
+        completed().accept(response("r-1", 200, "max-age=60"));
+        drainWrites();
+
+        InterceptedRequest hit = request("r-2", ResourceType.STYLESHEET);
+        cache.handle(hit).toCompletableFuture().join();
+
+        JsonObject params = command("network.provideResponse");
+        assertEquals("r-2", params.get("request").getAsString());
+        assertEquals(200, params.get("statusCode").getAsInt());
+        assertEquals("body{}", new String(Base64.getDecoder().decode(
+                params.getAsJsonObject("body").get("value").getAsString()), StandardCharsets.UTF_8));
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(6, stats.getBytesSaved());
+        assertEquals(0.5, stats.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    void handle_staleEntryAnswered304_refreshesEntry() {
+        answerCommands();
+        cache.handle(request("r-1", ResourceType.STYLESHEET)).toCompletableFuture().join();
+        completed().accept(response("r-1", 200, "max-age=60"));
+        drainWrites();
+        clock.advance(Duration.ofMinutes(2));
+
+        cache.handle(request("r-2", ResourceType.STYLESHEET)).toCompletableFuture().join();
+        completed().accept(response("r-2", 304, "max-age=60"));
+        cache.handle(request("r-3", ResourceType.STYLESHEET)).toCompletableFuture().join();
+
+        assertEquals(1, cache.getStats().getRevalidations());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals("r-3", command("network.provideResponse").get("request").getAsString());
+    }
+
+    @Test
+    void handle_noStoreResponse_disownsBodyWithoutStoring() {
+        answerCommands();
+        cache.handle(request("r-1", ResourceType.STYLESHEET)).toCompletableFuture().join();
+        completed().accept(response("r-1", 200, "no-store"));
+
+        assertEquals("r-1", command("network.disownData").get("request").getAsString());
+        verify(client, never()).sendCommand(eq("network.getData"), any());
+        assertEquals(0, cache.getStats().getEntries());
+    }
+
+    @Test
+    void handle_documentRequest_isIgnored() {
+        InterceptedRequest request = request("r-1", ResourceType.DOCUMENT);
+        cache.handle(request).toCompletableFuture().join();
+
+        assertFalse(request.isResolved());
+        verify(client, never()).sendCommand(anyString(), any());
+    }
+
+    @Test
+    void lifetime_prefersSharedMaxAgeAndSubtractsAge() {
+        assertEquals(Duration.ofSeconds(90), cache.lifetime(Map.of(
+                "cache-control", List.of("max-age=10, s-maxage=100"), "age", List.of("10"))));
+        assertEquals(Duration.ZERO, cache.lifetime(Map.of("cache-control", List.of("no-cache, max-age=100"))));
+    }
+
+    @Test
+    void lifetime_withoutMaxAge_usesExpiresOrLastModified() {
+        assertEquals(Duration.ofHours(1), cache.lifetime(Map.of(
+                "date", List.of("Mon, 01 Jan 2024 00:00:00 GMT"),
+                "expires", List.of("Mon, 01 Jan 2024 01:00:00 GMT"))));
+        assertEquals(Duration.ofHours(1), cache.lifetime(Map.of(
+                "date", List.of("Mon, 01 Jan 2024 10:00:00 GMT"),
+                "last-modified", List.of("Mon, 01 Jan 2024 00:00:00 GMT"))));
+    }
+
+    @Test
+    void open_sameDirectory_returnsSharedInstance() {
+        Path shared = directory.resolve("shared");
+        ResponseCache first = ResponseCache.open(shared, 1024);
+        try {
+            assertSame(first, ResponseCache.open(shared.resolve("..").resolve("shared"), 2048));
+        } finally {
+            first.close();
+        }
+        ResponseCache reopened = ResponseCache.open(shared, 1024);
+        assertNotSame(first, reopened);
+        reopened.close();
+    }
+
+    private void drainWrites() {
+        for (Runnable write = writes.poll(); write != null; write = writes.poll()) {
+            write.run();
+        }
+    }
+
+    private void answerCommands() {
+        when(client.subscribe(any(String[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.sendCommand(anyString(), any())).thenAnswer(invocation -> {
+            JsonObject result = new JsonObject();
+            if ("network.addDataCollector".equals(invocation.getArgument(0))) {
+                result.addProperty("collector", "c-1");
+            } else if ("network.getData".equals(invocation.getArgument(0))) {
+                JsonObject bytes = new JsonObject();
+                bytes.addProperty("type", "string");
+                bytes.addProperty("value", "body{}");
+                result.add("bytes", bytes);
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<JsonObject> completed() {
+        ArgumentCaptor<Consumer<JsonObject>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(client).on(eq("network.responseCompleted"), listener.capture());
+        return listener.getValue();
+    }
+
+    private InterceptedRequest request(String id, ResourceType type) {
+        return new InterceptedRequest(client, id, "ctx-1", URL, "GET", type, false, null, Map.of());
+    }
+
+    private static JsonObject response(String id, int status, String cacheControl) {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", id);
+        request.addProperty("url", URL);
+        JsonArray headers = new JsonArray();
+        headers.add(header("Content-Type", "text/css"));
+        headers.add(header("ETag", "\"v1\""));
+        headers.add(header("Cache-Control", cacheControl));
+        JsonObject response = new JsonObject();
+        response.addProperty("status", status);
+        response.add("headers", headers);
+        JsonObject params = new JsonObject();
+        params.add("request", request);
+        params.add("response", response);
+        return params;
+    }
+
+    private static JsonObject header(String name, String value) {
+        JsonObject bytes = new JsonObject();
+        bytes.addProperty("type", "string");
+        bytes.addProperty("value", value);
+        JsonObject header = new JsonObject();
+        header.addProperty("name", name);
+        header.add("value", bytes);
+        return header;
+    }
+
+    private JsonObject command(String method) {
+        ArgumentCaptor<JsonObject> params = ArgumentCaptor.forClass(JsonObject.class);
+        verify(client).sendCommand(eq(method), params.capture());
+        return params.getValue();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import io.github.ashwithpoojary98.vibium.model.ResourceUsage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResourceLimits}.
+ */
+class ResourceLimitsTest {
+
+    @Test
+    void builder_withDefaults_hasCorrectValues() {
+        ResourceLimits limits = ResourceLimits.builder().build();
+
+        assertEquals(0, limits.getMaxRssBytes());
+        assertEquals(0, limits.getMaxOpenFiles());
+        assertEquals(Duration.ofSeconds(10), limits.getSampleInterval());
+        assertFalse(limits.isRecycle());
+        assertNull(limits.getOnExceeded());
+    }
+
+    @Test
+    void builder_withAllOptions_setsAll() {
+        ResourceLimits limits = ResourceLimits.builder()
+                .maxRssBytes(1024)
+                .maxOpenFiles(64)
+                .sampleInterval(Duration.ofSeconds(1))
+                .recycle(true)
+                .onExceeded(usage -> { })
+                .build();
+
+        assertEquals(1024, limits.getMaxRssBytes());
+        assertEquals(64, limits.getMaxOpenFiles());
+        assertEquals(Duration.ofSeconds(1), limits.getSampleInterval());
+        assertTrue(limits.isRecycle());
+        assertNotNull(limits.getOnExceeded());
+    }
+
+    @Test
+    void isExceededBy_withNoLimits_returnsFalse() {
+        ResourceLimits limits = ResourceLimits.builder().build();
+
+        assertFalse(limits.isExceededBy(usage(Long.MAX_VALUE, Long.MAX_VALUE)));
+    }
+
+    @Test
+    void isExceededBy_withRssOverLimit_returnsTrue() {
+        ResourceLimits limits = ResourceLimits.builder().maxRssBytes(1000).build();
+
+        assertTrue(limits.isExceededBy(usage(1001, 0)));
+        assertFalse(limits.isExceededBy(usage(1000, 0)));
+    }
+
+    @Test
+    void isExceededBy_withOpenFilesOverLimit_returnsTrue() {
+        ResourceLimits limits = ResourceLimits.builder().maxOpenFiles(10).build();
+
+        assertTrue(limits.isExceededBy(usage(0, 11)));
+        assertFalse(limits.isExceededBy(usage(0, 10)));
+    }
+
+    @Test
+    void launchOptions_acceptsResourceLimits() {
+        ResourceLimits limits = ResourceLimits.builder().maxRssBytes(1).build();
+        LaunchOptions options = LaunchOptions.builder().resourceLimits(limits).build();
+
+        assertSame(limits, options.getResourceLimits());
+    }
+
+    private static ResourceUsage usage(long rss, long files) {
+        return new ResourceUsage(1, Duration.ZERO, rss, files, Instant.now());
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.ashwithpoojary98.vibium.options;
+
+import io.github.ashwithpoojary98.vibium.model.Box;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ScreenshotOptions}.
+ */
+class ScreenshotOptionsTest {
+
+    @Test
+    void builder_withDefaults_isViewportPng() {
+        ScreenshotOptions options = ScreenshotOptions.builder().build();
+
+        assertEquals(ScreenshotOptions.Format.PNG, options.getFormat());
+        assertEquals(ScreenshotOptions.Origin.VIEWPORT, options.getOrigin());
+        assertNull(options.getClip());
+        assertNull(options.getQuality());
+    }
+
+    @Test
+    void builder_clipElement_replacesClipBox() {
+        ScreenshotOptions options = ScreenshotOptions.builder()
+                .clip(new Box(0, 0, 10, 10))
+                .clipElement("n-1")
+                .build();
+
+        assertNull(options.getClip());
+        assertEquals("n-1", options.getClipElement());
+    }
+
+    @Test
+    void builder_withQualityOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> ScreenshotOptions.builder()
+                .format(ScreenshotOptions.Format.JPEG)
+                .quality(1.5)
+                .build());
+    }
+
+    @Test
+    void builder_withQualityForPng_throws() {
+        assertThrows(IllegalArgumentException.class, () -> ScreenshotOptions.builder()
+                .quality(0.5)
+                .build());
+    }
+
+    @Test
+    void toBuilder_copiesAllFields() {
+        ScreenshotOptions options = ScreenshotOptions.builder()
+                .format(ScreenshotOptions.Format.WEBP)
+                .quality(0.7)
+                .origin(ScreenshotOptions.Origin.DOCUMENT)
+                .build();
+
+        ScreenshotOptions copy = options.toBuilder().build();
+
+        assertEquals(ScreenshotOptions.Format.WEBP, copy.getFormat());
+        assertEquals(0.7, copy.getQuality());
+        assertEquals(ScreenshotOptions.Origin.DOCUMENT, copy.getOrigin());
+    }
+}
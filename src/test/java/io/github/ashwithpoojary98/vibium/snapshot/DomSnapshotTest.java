@@ -0,0 +1,135 @@
+package io.github.ashwithpoojary98.vibium.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DomSnapshot}, {@link DomNode} and {@link Selector}.
+ */
+class DomSnapshotTest {
+
+    /**
+     * <pre>
+     * &lt;div id="main" class="list"&gt;
+     *   &lt;ul&gt;
+     *     &lt;li class="item first" data-id="1"&gt;Apple&lt;/li&gt;
+     *     &lt;li class="item"&gt;Banana &lt;b&gt;ripe&lt;/b&gt;&lt;/li&gt;
+     *     &lt;li class="item" data-id="3"&gt;&lt;/li&gt;
+     *   &lt;/ul&gt;
+     *   &lt;a href="https://x.test/page"&gt;Link&lt;/a&gt;
+     * &lt;/div&gt;
+     * </pre>
+     */
+    private static final String PAYLOAD = "{\"strings\":[\"div\",\"id\",\"main\",\"class\",\"list\",\"ul\",\"li\","
+            + "\"item first\",\"data-id\",\"1\",\"item\",\"b\",\"3\",\"a\",\"href\",\"https://x.test/page\"],"
+            + "\"nodes\":["
+            + "[-1,0,[1,2,3,4]],"
+            + "[0,5,[]],"
+            + "[1,6,[3,7,8,9]],"
+            + "[2,-1,\"Apple\"],"
+            + "[1,6,[3,10]],"
+            + "[4,-1,\"Banana \"],"
+            + "[4,11,[]],"
+            + "[6,-1,\"ripe\"],"
+            + "[1,6,[3,10,8,12]],"
+            + "[0,13,[14,15]],"
+            + "[9,-1,\"Link\"]"
+            + "],\"truncated\":false}";
+
+    private final DomSnapshot snapshot = DomSnapshot.parse(PAYLOAD);
+
+    @Test
+    void parse_buildsTreeInDocumentOrder() {
+        DomNode root = snapshot.getRoot();
+
+        assertEquals(7, snapshot.getNodes().size());
+        assertEquals("div", root.getTagName());
+        assertEquals("main", root.getId());
+        assertEquals(2, root.getChildren().size());
+        assertEquals(3, root.getChildren().get(0).getChildren().size());
+        assertSame(root, root.getChildren().get(1).getParent());
+        assertFalse(snapshot.isTruncated());
+        assertNull(root.getBox());
+    }
+
+    @Test
+    void parse_internsRepeatedStrings() {
+        List<DomNode> items = snapshot.queryAll("li");
+
+        assertSame(items.get(0).getTagName(), items.get(1).getTagName());
+        assertSame(items.get(1).getAttribute("class"), items.get(2).getAttribute("class"));
+    }
+
+    @Test
+    void text_concatenatesDescendantsInOrder() {
+        DomNode banana = snapshot.getNodes().get(3);
+
+        assertEquals("Banana ripe", banana.getText());
+        assertEquals("Banana", banana.getOwnText());
+        assertEquals("AppleBanana ripeLink", snapshot.getRoot().getText());
+    }
+
+    @Test
+    void queryAll_withClassAndAttributes_matchesInDocumentOrder() {
+        assertEquals(List.of("1", "3"), attributes(snapshot.queryAll("li.item[data-id]"), "data-id"));
+        assertEquals(1, snapshot.queryAll("[class~=first]").size());
+        assertEquals(1, snapshot.queryAll("a[href^='https://'][href$=page]").size());
+        assertEquals(1, snapshot.queryAll("a[HREF*=\"X.TEST\" i]").size());
+        assertTrue(snapshot.queryAll("a[href*=\"X.TEST\"]").isEmpty());
+    }
+
+    @Test
+    void queryAll_withCombinators_matches() {
+        assertEquals(3, snapshot.queryAll("#main > ul li").size());
+        assertEquals(0, snapshot.queryAll("#main > li").size());
+        assertEquals(List.of("3"), attributes(snapshot.queryAll("li.first + li + li"), "data-id"));
+        assertEquals(2, snapshot.queryAll("li.first ~ li").size());
+        assertEquals("Link", snapshot.query("ul ~ a").getText());
+    }
+
+    @Test
+    void queryAll_withPseudoClasses_matches() {
+        assertEquals("1", snapshot.query("li:first-child").getAttribute("data-id"));
+        assertEquals("3", snapshot.query("li:last-of-type").getAttribute("data-id"));
+        assertEquals(2, snapshot.queryAll("li:nth-child(odd)").size());
+        assertEquals("Banana ripe", snapshot.query("li:nth-child(2n)").getText());
+        assertEquals(2, snapshot.queryAll("li:nth-last-child(-n+2)").size());
+        assertEquals(2, snapshot.queryAll("li:not(.first)").size());
+        assertEquals("3", snapshot.query("li:empty").getAttribute("data-id"));
+        assertSame(snapshot.getRoot(), snapshot.query(":root"));
+    }
+
+    @Test
+    void queryAll_withSelectorList_returnsUnionInDocumentOrder() {
+        List<String> tags = snapshot.queryAll("a, b, ul").stream()
+                .map(DomNode::getTagName)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("ul", "b", "a"), tags);
+    }
+
+    @Test
+    void query_onNode_onlySearchesDescendants() {
+        DomNode banana = snapshot.getNodes().get(3);
+
+        assertEquals("ripe", banana.query("b").getText());
+        assertNull(banana.query("a"));
+        assertTrue(banana.query("b").isDescendantOf(snapshot.getRoot()));
+        assertTrue(banana.matches("ul > li.item"));
+    }
+
+    @Test
+    void parse_invalidSelector_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Selector.parse("li["));
+        assertThrows(IllegalArgumentException.class, () -> Selector.parse("li:hover"));
+        assertThrows(IllegalArgumentException.class, () -> Selector.parse("> li"));
+    }
+
+    private static List<String> attributes(List<DomNode> nodes, String name) {
+        return nodes.stream().map(n -> n.getAttribute(name)).collect(Collectors.toList());
+    }
+}